@@ -0,0 +1,234 @@
+package collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code AliasTable} class contains an immutable, precomputed table for
+ * drawing weighted random elements in constant time using Walker's alias
+ * method (as refined by Vose).
+ *
+ * <p> Construction of a table with {@code n} outcomes is &Omicron;(n). Each
+ * subsequent draw consumes a single random index and a single random
+ * {@code double}, and is &Omicron;(1) regardless of the amount of outcomes or
+ * the skew of their weights.
+ *
+ * <p> Instances of this class are immutable and may be shared between threads,
+ * provided that each thread uses its own source of randomness (such as the
+ * default {@link ThreadLocalRandom}).
+ *
+ * @param <T> The type of outcome drawn from this table.
+ * @author Oliver Abdulrahim
+ * @see CollectionUtilities#weightedSampler(java.util.Map)
+ */
+public final class AliasTable<T> {
+
+    /**
+     * The outcomes of this table, in the order of their given weights.
+     */
+    private final List<T> outcomes;
+
+    /**
+     * The probability of keeping the column drawn at a given index, as opposed
+     * to taking its alias.
+     */
+    private final double[] probability;
+
+    /**
+     * The index of the alternative outcome of each column.
+     */
+    private final int[] alias;
+
+    /**
+     * Constructs a new {@code AliasTable} with the given outcomes and their
+     * respective weights. Weights need not sum to {@code 1}; each outcome is
+     * drawn with probability proportional to its weight.
+     *
+     * @param outcomes The outcomes to draw from.
+     * @param weights The non-negative weight of each outcome, in the same order
+     *        as {@code outcomes}.
+     * @throws IllegalArgumentException if the given arguments differ in size,
+     *         are empty, contain a negative or non-finite weight, or if all
+     *         weights are {@code 0}.
+     * @throws NullPointerException if either argument is {@code null}.
+     */
+    public AliasTable(List<? extends T> outcomes, double[] weights) {
+        Objects.requireNonNull(outcomes, "Invalid null outcomes!");
+        Objects.requireNonNull(weights, "Invalid null weights!");
+        if (outcomes.size() != weights.length) {
+            throw new IllegalArgumentException("Outcomes = " + outcomes.size()
+                    + ", Weights = " + weights.length);
+        }
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("No outcomes to draw from!");
+        }
+        this.outcomes = Collections.unmodifiableList(new ArrayList<>(outcomes));
+        this.probability = new double[weights.length];
+        this.alias = new int[weights.length];
+        build(weights);
+    }
+
+    /**
+     * Constructs a new {@code AliasTable} from the keys of the given map, using
+     * their respective values as weights.
+     *
+     * @param <T> The type of outcome drawn from the table.
+     * @param weights The map of outcomes to their non-negative weights.
+     * @return A new {@code AliasTable} for the given map.
+     * @throws IllegalArgumentException if the given map is empty, contains a
+     *         negative or non-finite weight, or if all weights are {@code 0}.
+     * @throws NullPointerException if the given map or any of its values are
+     *         {@code null}.
+     */
+    public static <T> AliasTable<T> of(Map<? extends T, ? extends Number>
+            weights)
+    {
+        Objects.requireNonNull(weights, "Invalid null map!");
+        List<T> outcomes = new ArrayList<>(weights.size());
+        double[] w = new double[weights.size()];
+        int i = 0;
+        for (Map.Entry<? extends T, ? extends Number> e : weights.entrySet()) {
+            outcomes.add(e.getKey());
+            w[i++] = e.getValue().doubleValue();
+        }
+        return new AliasTable<>(outcomes, w);
+    }
+
+    /**
+     * Builds the probability and alias columns of this table from the given
+     * weights using Vose's stable variant of the alias method.
+     *
+     * @param weights The weights to build this table with.
+     */
+    private void build(double[] weights) {
+        final int n = weights.length;
+        double sum = 0.0d;
+        for (double w : weights) {
+            if (!(w >= 0.0d) || Double.isInfinite(w)) {
+                throw new IllegalArgumentException("Invalid weight : " + w);
+            }
+            sum += w;
+        }
+        if (sum <= 0.0d) {
+            throw new IllegalArgumentException("All weights are zero!");
+        }
+        // Scaled so that the average column holds exactly 1.0
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / sum;
+            if (scaled[i] < 1.0d) {
+                small[smallSize++] = i;
+            }
+            else {
+                large[largeSize++] = i;
+            }
+        }
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0d;
+            if (scaled[more] < 1.0d) {
+                small[smallSize++] = more;
+            }
+            else {
+                large[largeSize++] = more;
+            }
+        }
+        // Whatever remains is within rounding error of 1.0
+        while (largeSize > 0) {
+            int more = large[--largeSize];
+            probability[more] = 1.0d;
+            alias[more] = more;
+        }
+        while (smallSize > 0) {
+            int less = small[--smallSize];
+            probability[less] = 1.0d;
+            alias[less] = less;
+        }
+    }
+
+    /**
+     * Returns the amount of outcomes in this table.
+     *
+     * @return The amount of outcomes in this table.
+     */
+    public int size() {
+        return outcomes.size();
+    }
+
+    /**
+     * Returns an unmodifiable view of the outcomes of this table, in the order
+     * that their weights were given.
+     *
+     * @return The outcomes of this table.
+     */
+    public List<T> outcomes() {
+        return outcomes;
+    }
+
+    /**
+     * Draws the index of a weighted random outcome from this table.
+     *
+     * @param rnd The source of randomness to draw with.
+     * @return The index of a random outcome, in the order that their weights
+     *         were given.
+     */
+    public int sampleIndex(Random rnd) {
+        int column = rnd.nextInt(probability.length);
+        return (rnd.nextDouble() < probability[column])
+                ? column
+                : alias[column];
+    }
+
+    /**
+     * Draws a weighted random outcome from this table.
+     *
+     * @param rnd The source of randomness to draw with.
+     * @return A random outcome.
+     */
+    public T sample(Random rnd) {
+        return outcomes.get(sampleIndex(rnd));
+    }
+
+    /**
+     * Draws a weighted random outcome from this table using the current
+     * thread's {@link ThreadLocalRandom}.
+     *
+     * @return A random outcome.
+     */
+    public T sample() {
+        return sample(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Draws {@code k} independent weighted random outcomes from this table
+     * (with replacement).
+     *
+     * @param k The amount of outcomes to draw.
+     * @param rnd The source of randomness to draw with.
+     * @return A {@code List} containing the drawn outcomes.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public List<T> sample(int k, Random rnd) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k : " + k + " < 0 !");
+        }
+        List<T> result = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            result.add(sample(rnd));
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,461 @@
+package collections;
+
+import functions.Bits;
+import java.util.Arrays;
+
+/**
+ * The {@code BitVector} class contains a compact vector of bits, of either a
+ * fixed or a growable size, that answers rank and select queries in constant
+ * and logarithmic time.
+ *
+ * <p> The bits are packed into an array of {@code long} words, as in
+ * {@link java.util.BitSet}. The <em>rank</em> of an index is the amount of set
+ * bits before it, and the <em>select</em> of a rank is the index of the set
+ * bit with that many set bits before it, so that {@code rank(select(k)) == k}.
+ * These are the building blocks of succinct structures such as compressed
+ * posting lists and wavelet trees.
+ *
+ * <p> To answer them quickly, the vector keeps the amount of set bits before
+ * each block of {@value #BLOCK_BITS} bits, which costs about 1.6% of the
+ * memory of the bits, and the block of every {@value #SELECT_SAMPLE}-th set
+ * bit. A rank then counts at most eight words past the start of its block,
+ * and a select binary searches only the blocks between two samples before
+ * counting within one. The index is built on the first rank or select after
+ * a change to the bits, so a vector that is filled first and queried
+ * afterwards pays for it once, and one that is only modified never pays for
+ * it.
+ *
+ * <p> A fixed vector has the size given at construction, and an index beyond
+ * it is an error. A growable vector instead grows to hold any bit that is
+ * set, or appended with {@link #append(boolean)}.
+ *
+ * <p> This implementation is <em>not</em> synchronized.
+ *
+ * @author Oliver Abdulrahim
+ * @see Bits
+ */
+public final class BitVector {
+
+    /**
+     * The base-2 logarithm of the amount of words in each block of the rank
+     * index.
+     */
+    private static final int BLOCK_SHIFT = 3;
+
+    /**
+     * The amount of bits in each block of the rank index.
+     */
+    private static final int BLOCK_BITS = 64 << BLOCK_SHIFT;
+
+    /**
+     * The amount of set bits between the samples of the select index.
+     */
+    private static final int SELECT_SAMPLE = 4096;
+
+    /**
+     * The words of this vector. Every bit at or past {@link #size} is clear.
+     */
+    private long[] words;
+
+    /**
+     * The amount of bits in this vector.
+     */
+    private long size;
+
+    /**
+     * Whether this vector grows to hold bits past its size.
+     */
+    private final boolean growable;
+
+    /**
+     * The amount of set bits before each block, followed by the amount of
+     * set bits in this vector.
+     */
+    private long[] blockRanks;
+
+    /**
+     * The block that holds every {@value #SELECT_SAMPLE}-th set bit, which
+     * narrows the search of a select to the blocks between two samples.
+     */
+    private int[] selectSamples;
+
+    /**
+     * Whether {@link #blockRanks} reflects the current bits.
+     */
+    private boolean ranksValid;
+
+    /**
+     * Creates a new {@code BitVector} of the given fixed size, whose bits are
+     * all clear.
+     *
+     * @param size The amount of bits.
+     * @throws IllegalArgumentException if the size is negative or too large.
+     */
+    public BitVector(long size) {
+        this(size, size, false);
+    }
+
+    /**
+     * Creates a new {@code BitVector} with the given properties.
+     *
+     * @param size The amount of bits.
+     * @param capacity The amount of bits to allocate.
+     * @param growable Whether the vector grows.
+     * @throws IllegalArgumentException if the size or capacity is negative or
+     *         too large.
+     */
+    private BitVector(long size, long capacity, boolean growable) {
+        if (size < 0 || capacity < size) {
+            throw new IllegalArgumentException("Invalid size : " + size);
+        }
+        this.words = new long[wordsFor(capacity)];
+        this.size = size;
+        this.growable = growable;
+    }
+
+    /**
+     * Creates a new, empty {@code BitVector} that grows as bits are set or
+     * appended.
+     *
+     * @return A new growable {@code BitVector}.
+     */
+    public static BitVector growable() {
+        return growable(0);
+    }
+
+    /**
+     * Creates a new, empty {@code BitVector} that grows as bits are set or
+     * appended, and that may hold the given amount of bits without
+     * reallocating.
+     *
+     * @param initialCapacity The amount of bits to allocate.
+     * @return A new growable {@code BitVector}.
+     * @throws IllegalArgumentException if the capacity is negative or too
+     *         large.
+     */
+    public static BitVector growable(long initialCapacity) {
+        return new BitVector(0, initialCapacity, true);
+    }
+
+    /**
+     * Returns the amount of words needed to hold the given amount of bits.
+     *
+     * @param bits The amount of bits.
+     * @return The amount of words.
+     * @throws IllegalArgumentException if the amount is negative or too
+     *         large for an array.
+     */
+    private static int wordsFor(long bits) {
+        long words = (bits + 63) >>> 6;
+        if (bits < 0 || words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Invalid capacity : " + bits);
+        }
+        return (int) words;
+    }
+
+    /**
+     * Ensures that the given index is within this vector.
+     *
+     * @param index The index to check.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index = " + index
+                    + ", Size = " + size);
+        }
+    }
+
+    /**
+     * Ensures that the given index may be written, growing this vector to
+     * hold it if this vector is growable.
+     *
+     * @param index The index to write.
+     * @throws IndexOutOfBoundsException if the index is negative, or past
+     *         the end of a fixed vector.
+     */
+    private void prepareWrite(long index) {
+        if (index >= size && growable && index >= 0) {
+            if (index >>> 6 >= words.length) {
+                long doubled = Math.min((long) words.length << 1,
+                        Integer.MAX_VALUE - 8);
+                words = Arrays.copyOf(words, (int) Math.max(doubled,
+                        wordsFor(index + 1)));
+            }
+            size = index + 1;
+        }
+        checkIndex(index);
+        ranksValid = false;
+    }
+
+    /**
+     * Returns the amount of bits in this vector.
+     *
+     * @return The size of this vector.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Tests if this vector grows to hold bits past its size.
+     *
+     * @return {@code true} if this vector is growable.
+     */
+    public boolean isGrowable() {
+        return growable;
+    }
+
+    /**
+     * Returns the bit at the given index.
+     *
+     * @param index The index of the bit.
+     * @return {@code true} if the bit is set.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public boolean get(long index) {
+        checkIndex(index);
+        return (words[(int) (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the bit at the given index.
+     *
+     * @param index The index of the bit.
+     * @throws IndexOutOfBoundsException if the index is negative, or out of
+     *         range of a fixed vector.
+     */
+    public void set(long index) {
+        prepareWrite(index);
+        words[(int) (index >>> 6)] |= 1L << index;
+    }
+
+    /**
+     * Sets the bit at the given index to the given value.
+     *
+     * @param index The index of the bit.
+     * @param value The value of the bit.
+     * @throws IndexOutOfBoundsException if the index is negative, or out of
+     *         range of a fixed vector.
+     */
+    public void set(long index, boolean value) {
+        if (value) {
+            set(index);
+        }
+        else {
+            clear(index);
+        }
+    }
+
+    /**
+     * Clears the bit at the given index.
+     *
+     * @param index The index of the bit.
+     * @throws IndexOutOfBoundsException if the index is negative, or out of
+     *         range of a fixed vector.
+     */
+    public void clear(long index) {
+        prepareWrite(index);
+        words[(int) (index >>> 6)] &= ~(1L << index);
+    }
+
+    /**
+     * Inverts the bit at the given index.
+     *
+     * @param index The index of the bit.
+     * @throws IndexOutOfBoundsException if the index is negative, or out of
+     *         range of a fixed vector.
+     */
+    public void flip(long index) {
+        prepareWrite(index);
+        words[(int) (index >>> 6)] ^= 1L << index;
+    }
+
+    /**
+     * Appends a bit to the end of this vector.
+     *
+     * @param value The value of the bit.
+     * @throws UnsupportedOperationException if this vector is fixed.
+     */
+    public void append(boolean value) {
+        if (!growable) {
+            throw new UnsupportedOperationException("Fixed size : " + size);
+        }
+        set(size, value);
+    }
+
+    /**
+     * Clears every bit of this vector, keeping its size.
+     */
+    public void clearAll() {
+        Arrays.fill(words, 0L);
+        ranksValid = false;
+    }
+
+    /**
+     * Builds the rank index if a bit has changed since it was last built.
+     */
+    private void ensureRanks() {
+        if (ranksValid) {
+            return;
+        }
+        int blocks = (words.length + (1 << BLOCK_SHIFT) - 1) >>> BLOCK_SHIFT;
+        if (blockRanks == null || blockRanks.length != blocks + 1) {
+            blockRanks = new long[blocks + 1];
+        }
+        long count = 0;
+        for (int b = 0; b < blocks; b++) {
+            blockRanks[b] = count;
+            int end = Math.min(words.length, (b + 1) << BLOCK_SHIFT);
+            for (int i = b << BLOCK_SHIFT; i < end; i++) {
+                count += Long.bitCount(words[i]);
+            }
+        }
+        blockRanks[blocks] = count;
+        selectSamples = new int[(int) ((count + SELECT_SAMPLE - 1)
+                / SELECT_SAMPLE)];
+        int b = 0;
+        for (int j = 0; j < selectSamples.length; j++) {
+            long rank = (long) j * SELECT_SAMPLE;
+            while (blockRanks[b + 1] <= rank) {
+                b++;
+            }
+            selectSamples[j] = b;
+        }
+        ranksValid = true;
+    }
+
+    /**
+     * Returns the amount of set bits in this vector.
+     *
+     * @return The population count of this vector.
+     */
+    public long cardinality() {
+        if (ranksValid) {
+            return blockRanks[blockRanks.length - 1];
+        }
+        return Bits.bitCount(words);
+    }
+
+    /**
+     * Returns the amount of set bits before the given index.
+     *
+     * @param index The index, between {@code 0} and {@link #size()},
+     *        inclusive.
+     * @return The amount of set bits at indices less than {@code index}.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public long rank(long index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index = " + index
+                    + ", Size = " + size);
+        }
+        ensureRanks();
+        int w = (int) (index >>> 6);
+        long rank = blockRanks[w >>> BLOCK_SHIFT];
+        for (int i = (w >>> BLOCK_SHIFT) << BLOCK_SHIFT; i < w; i++) {
+            rank += Long.bitCount(words[i]);
+        }
+        if ((index & 63) != 0) {
+            rank += Long.bitCount(words[w] & ~(-1L << index));
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the index of the set bit with the given amount of set bits
+     * before it.
+     *
+     * @param rank The amount of set bits before the bit to find.
+     * @return The index of the bit, or {@code -1} if this vector has
+     *         {@code rank} or fewer set bits.
+     */
+    public long select(long rank) {
+        ensureRanks();
+        int blocks = blockRanks.length - 1;
+        if (rank < 0 || rank >= blockRanks[blocks]) {
+            return -1;
+        }
+        int sample = (int) (rank / SELECT_SAMPLE);
+        int lo = selectSamples[sample];
+        int hi = (sample + 1 < selectSamples.length)
+                ? selectSamples[sample + 1]
+                : blocks - 1;
+        while (lo < hi) { // Finds the last block that starts at or below rank
+            int mid = (lo + hi + 1) >>> 1;
+            if (blockRanks[mid] <= rank) {
+                lo = mid;
+            }
+            else {
+                hi = mid - 1;
+            }
+        }
+        long remaining = rank - blockRanks[lo];
+        for (int i = lo << BLOCK_SHIFT; ; i++) {
+            int count = Long.bitCount(words[i]);
+            if (remaining < count) {
+                return ((long) i << 6) + Bits.select(words[i],
+                        (int) remaining);
+            }
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Returns the index of the first set bit at or after the given index.
+     *
+     * @param fromIndex The index to start at.
+     * @return The index of the next set bit, or {@code -1} if there is none.
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0}.
+     */
+    public long nextSetBit(long fromIndex) {
+        return Bits.nextSetBit(words, fromIndex);
+    }
+
+    /**
+     * Returns the index of the first clear bit at or after the given index.
+     *
+     * @param fromIndex The index to start at.
+     * @return The index of the next clear bit, or {@code -1} if there is none
+     *         before the end of this vector.
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0}.
+     */
+    public long nextClearBit(long fromIndex) {
+        long index = Bits.nextClearBit(words, fromIndex);
+        return (index < size) ? index : -1;
+    }
+
+    /**
+     * Returns the index of the last set bit at or before the given index.
+     *
+     * @param fromIndex The index to start at, or {@code -1}.
+     * @return The index of the previous set bit, or {@code -1} if there is
+     *         none.
+     * @throws IndexOutOfBoundsException if {@code fromIndex < -1}.
+     */
+    public long previousSetBit(long fromIndex) {
+        return Bits.previousSetBit(words, fromIndex);
+    }
+
+    /**
+     * Returns the words of this vector, in the form accepted by
+     * {@link java.util.BitSet#valueOf(long[])}.
+     *
+     * @return A new array of the words that hold the bits of this vector.
+     */
+    public long[] toLongArray() {
+        return Arrays.copyOf(words, wordsFor(size));
+    }
+
+    /**
+     * Returns a {@code String} representation of this vector.
+     *
+     * @return A {@code String} representation of this vector.
+     */
+    @Override
+    public String toString() {
+        return "BitVector[size = " + size + ", cardinality = "
+                + cardinality() + ", growable = " + growable + ']';
+    }
+
+}
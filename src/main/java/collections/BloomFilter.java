@@ -0,0 +1,401 @@
+package collections;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * The {@code BloomFilter} class contains an implementation of a Bloom filter,
+ * a compact, probabilistic set that answers membership queries with no false
+ * negatives and a configurable rate of false positives.
+ *
+ * <p> A filter sized for {@code n} insertions with a false positive
+ * probability of {@code p} uses roughly {@code -n ln(p) / (ln 2)^2} bits,
+ * which is about 9.6 bits per element for a 1% rate, regardless of the size
+ * of the elements themselves. This makes it well suited as a precheck before
+ * an expensive exact lookup, such as {@link LinkedList#contains(Object)}:
+ *
+ * <blockquote><pre>
+ * if (filter.mightContain(item) &amp;&amp; list.contains(item)) {
+ *     ...
+ * }</pre>
+ * </blockquote>
+ *
+ * <p> Each element is reduced to a 64-bit hash by a hash function, from which
+ * the bit positions are derived by double hashing. The default hash function
+ * hashes character sequences, byte arrays and integral numbers by their
+ * contents, and any other object by its {@code hashCode()}. Filters built
+ * with the same hash function and dimensions can be {@link #merge(BloomFilter)
+ * merged}, and can be transferred between processes as compact byte arrays
+ * with {@link #toByteArray()} and {@link #fromByteArray(byte[])}.
+ *
+ * <p> This implementation is <em>not</em> synchronized. To populate a filter
+ * from several threads, give each thread its own filter with the same
+ * dimensions and merge them afterward.
+ *
+ * @param <T> The type of element offered to this filter.
+ * @author Oliver Abdulrahim
+ * @see HyperLogLog
+ * @see CountMinSketch
+ */
+public final class BloomFilter<T> {
+
+    /**
+     * Identifies the serialized form of a {@code BloomFilter}.
+     */
+    private static final byte SERIAL_TAG = 'B';
+
+    /**
+     * The version of the serialized form of a {@code BloomFilter}.
+     */
+    private static final byte SERIAL_VERSION = 1;
+
+    /**
+     * The bits of this filter.
+     */
+    private final long[] bits;
+
+    /**
+     * The amount of addressable bits in {@link #bits}.
+     */
+    private final long bitSize;
+
+    /**
+     * The amount of bits set for each element.
+     */
+    private final int hashCount;
+
+    /**
+     * Reduces each element to a 64-bit hash.
+     */
+    private final ToLongFunction<? super T> hasher;
+
+    /**
+     * Constructs a {@code BloomFilter} with the given arguments.
+     *
+     * @param bits The bits of the filter.
+     * @param hashCount The amount of bits set for each element.
+     * @param hasher Reduces each element to a 64-bit hash.
+     */
+    private BloomFilter(long[] bits, int hashCount,
+            ToLongFunction<? super T> hasher)
+    {
+        this.bits = bits;
+        this.bitSize = (long) bits.length * Long.SIZE;
+        this.hashCount = hashCount;
+        this.hasher = Objects.requireNonNull(hasher, "Invalid null hasher!");
+    }
+
+    /**
+     * Creates a new, empty {@code BloomFilter} sized for the given amount of
+     * insertions and false positive probability, which uses the default hash
+     * function.
+     *
+     * @param <T> The type of element offered to the filter.
+     * @param expectedInsertions The amount of elements expected to be added.
+     * @param falsePositiveRate The desired probability that
+     *        {@link #mightContain(Object)} returns {@code true} for an element
+     *        that was never added, within ({@code 0}, {@code 1}).
+     * @return A new, empty {@code BloomFilter}.
+     * @throws IllegalArgumentException if either argument is out of range.
+     */
+    public static <T> BloomFilter<T> create(long expectedInsertions,
+            double falsePositiveRate)
+    {
+        return create(expectedInsertions, falsePositiveRate, Hashing :: hash64);
+    }
+
+    /**
+     * Creates a new, empty {@code BloomFilter} sized for the given amount of
+     * insertions and false positive probability, which uses the given hash
+     * function.
+     *
+     * @param <T> The type of element offered to the filter.
+     * @param expectedInsertions The amount of elements expected to be added.
+     * @param falsePositiveRate The desired false positive probability, within
+     *        ({@code 0}, {@code 1}).
+     * @param hasher Reduces each element to a well-distributed 64-bit hash.
+     * @return A new, empty {@code BloomFilter}.
+     * @throws IllegalArgumentException if either number is out of range.
+     * @throws NullPointerException if the given hash function is
+     *         {@code null}.
+     */
+    public static <T> BloomFilter<T> create(long expectedInsertions,
+            double falsePositiveRate, ToLongFunction<? super T> hasher)
+    {
+        if (expectedInsertions < 0) {
+            throw new IllegalArgumentException("Invalid insertions : "
+                    + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0.0d && falsePositiveRate < 1.0d)) {
+            throw new IllegalArgumentException("Invalid false positive rate : "
+                    + falsePositiveRate);
+        }
+        long n = Math.max(expectedInsertions, 1);
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(
+                -n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long words = Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE);
+        if (words > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Filter too large : "
+                    + optimalBits + " bits");
+        }
+        int k = (int) Math.max(1,
+                Math.round((double) words * Long.SIZE / n * ln2));
+        return new BloomFilter<>(new long[(int) words], k, hasher);
+    }
+
+    /**
+     * Adds the given element to this filter.
+     *
+     * @param element The element to add.
+     * @return {@code true} if the bits of this filter changed, which means
+     *         that the element was definitely not present before.
+     * @throws NullPointerException if the given element is {@code null}.
+     */
+    public boolean put(T element) {
+        return putHash(hasher.applyAsLong(
+                Objects.requireNonNull(element, "Invalid null element!")));
+    }
+
+    /**
+     * Adds an element with the given precomputed 64-bit hash to this filter.
+     *
+     * @param hash The hash of the element to add.
+     * @return {@code true} if the bits of this filter changed.
+     */
+    public boolean putHash(long hash) {
+        long h1 = hash;
+        long h2 = Hashing.fmix64(hash) | 1L; // Odd, so no probe repeats early
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Tests if the given element might have been added to this filter. A
+     * result of {@code false} is definite, whereas a result of {@code true}
+     * is wrong with roughly the probability given by
+     * {@link #expectedFalsePositiveRate()}.
+     *
+     * @param element The element to test.
+     * @return {@code false} if the element was definitely never added,
+     *         {@code true} if it might have been.
+     * @throws NullPointerException if the given element is {@code null}.
+     */
+    public boolean mightContain(T element) {
+        return mightContainHash(hasher.applyAsLong(
+                Objects.requireNonNull(element, "Invalid null element!")));
+    }
+
+    /**
+     * Tests if an element with the given precomputed 64-bit hash might have
+     * been added to this filter.
+     *
+     * @param hash The hash of the element to test.
+     * @return {@code false} if the element was definitely never added,
+     *         {@code true} if it might have been.
+     */
+    public boolean mightContainHash(long hash) {
+        long h1 = hash;
+        long h2 = Hashing.fmix64(hash) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitSize;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the amount of bits in this filter.
+     *
+     * @return The size of this filter, in bits.
+     */
+    public long bitSize() {
+        return bitSize;
+    }
+
+    /**
+     * Returns the amount of bits set for each element.
+     *
+     * @return The amount of hash functions of this filter.
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Returns the amount of bits currently set in this filter.
+     *
+     * @return The cardinality of the bits of this filter.
+     */
+    public long bitCount() {
+        long count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the probability that {@link #mightContain(Object)} returns
+     * {@code true} for an element that was never added, given the bits that
+     * are currently set.
+     *
+     * @return The current false positive probability.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow((double) bitCount() / bitSize, hashCount);
+    }
+
+    /**
+     * Returns an estimate of the amount of distinct elements that have been
+     * added to this filter.
+     *
+     * @return The approximate amount of distinct elements added.
+     */
+    public long approximateElementCount() {
+        long set = bitCount();
+        if (set == bitSize) {
+            return Long.MAX_VALUE;
+        }
+        double estimate = -Math.log1p(-(double) set / bitSize)
+                * bitSize / hashCount;
+        return Math.round(estimate);
+    }
+
+    /**
+     * Tests if the given filter can be merged into this one, which requires
+     * that both have the same amount of bits and hash functions.
+     *
+     * @param other The filter to test.
+     * @return {@code true} if the filters are compatible.
+     */
+    public boolean isCompatible(BloomFilter<?> other) {
+        return other != null && other.bitSize == bitSize
+                && other.hashCount == hashCount;
+    }
+
+    /**
+     * Adds every element of the given filter to this one, by combining their
+     * bits. The filters must have been created with the same dimensions and
+     * hash function.
+     *
+     * @param other The filter to merge into this one.
+     * @return This filter.
+     * @throws IllegalArgumentException if the filters are not compatible.
+     */
+    public BloomFilter<T> merge(BloomFilter<? extends T> other) {
+        if (!isCompatible(other)) {
+            throw new IllegalArgumentException("Incompatible filters!");
+        }
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] |= other.bits[i];
+        }
+        return this;
+    }
+
+    /**
+     * Returns a new, independent copy of this filter.
+     *
+     * @return A copy of this filter.
+     */
+    public BloomFilter<T> copy() {
+        return new BloomFilter<>(bits.clone(), hashCount, hasher);
+    }
+
+    /**
+     * Returns the compact serialized form of this filter, which contains its
+     * dimensions and bits but not its hash function.
+     *
+     * @return The serialized form of this filter.
+     * @throws IllegalStateException if the serialized form would not fit in
+     *         an array, which is the case for filters of more than about
+     *         <code>2<sup>34</sup></code> bits.
+     * @see #fromByteArray(byte[], java.util.function.ToLongFunction)
+     */
+    public byte[] toByteArray() {
+        long size = 2 + 4 + 4 + (long) bits.length * Long.BYTES;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Filter too large to serialize : "
+                    + size + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.put(SERIAL_TAG).put(SERIAL_VERSION)
+              .putInt(hashCount).putInt(bits.length);
+        for (long word : bits) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Reconstructs a filter that uses the default hash function from its
+     * serialized form.
+     *
+     * @param <T> The type of element offered to the filter.
+     * @param bytes The serialized form of a filter.
+     * @return The reconstructed filter.
+     * @throws IllegalArgumentException if the given bytes are malformed.
+     * @see #toByteArray()
+     */
+    public static <T> BloomFilter<T> fromByteArray(byte[] bytes) {
+        return fromByteArray(bytes, Hashing :: hash64);
+    }
+
+    /**
+     * Reconstructs a filter from its serialized form. The given hash function
+     * must be the same as the one that the filter was built with.
+     *
+     * @param <T> The type of element offered to the filter.
+     * @param bytes The serialized form of a filter.
+     * @param hasher Reduces each element to a 64-bit hash.
+     * @return The reconstructed filter.
+     * @throws IllegalArgumentException if the given bytes are malformed.
+     * @see #toByteArray()
+     */
+    public static <T> BloomFilter<T> fromByteArray(byte[] bytes,
+            ToLongFunction<? super T> hasher)
+    {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() != SERIAL_TAG || buffer.get() != SERIAL_VERSION) {
+                throw new IllegalArgumentException("Not a BloomFilter!");
+            }
+            int k = buffer.getInt();
+            int words = buffer.getInt();
+            if (k <= 0 || words <= 0 || buffer.remaining() != words * 8L) {
+                throw new IllegalArgumentException("Corrupt BloomFilter!");
+            }
+            long[] bits = new long[words];
+            buffer.asLongBuffer().get(bits);
+            return new BloomFilter<>(bits, k, hasher);
+        }
+        catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated BloomFilter!", e);
+        }
+    }
+
+    /**
+     * Returns a {@code String} representation of this filter.
+     *
+     * @return A {@code String} representation of this filter.
+     */
+    @Override
+    public String toString() {
+        return "BloomFilter[bits = " + bitSize + ", hashes = " + hashCount
+                + ", fpp = " + expectedFalsePositiveRate() + ']';
+    }
+
+}
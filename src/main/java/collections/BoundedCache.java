@@ -0,0 +1,1129 @@
+package collections;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * The {@code BoundedCache} class contains an implementation of a bounded,
+ * optionally loading cache that uses the W-TinyLFU eviction policy.
+ *
+ * <p> A plain least-recently-used cache evicts its most valuable entries
+ * whenever a large scan passes through it, because every scanned entry is,
+ * for a moment, the most recently used. This cache instead divides its
+ * capacity into three regions:
+ *
+ * <ul>
+ * <li> A small <em>window</em> (1% of the capacity) in LRU order that
+ *      absorbs bursts of new entries;
+ * <li> A <em>probation</em> segment holding entries that have left the window
+ *      or have been demoted; and
+ * <li> A <em>protected</em> segment (80% of the remaining capacity) holding
+ *      entries that were accessed again while on probation.
+ * </ul>
+ *
+ * When the cache is over its bound, an entry leaving the window competes with
+ * the least recently used entry on probation, and only the one that has been
+ * accessed more frequently in the recent past is kept. Frequencies are
+ * estimated by a {@link FrequencySketch}, a 4-bit Count-Min sketch that takes
+ * roughly 8 bytes per entry of capacity and periodically ages its counts.
+ *
+ * <p> The cache may be bounded by entry count or by total weight, and entries
+ * may expire a fixed duration after they are written or last accessed.
+ * Expired entries are removed as they are encountered. Each write also removes
+ * the expired entries at the head of every queue, which is cheap but may leave
+ * an expired entry behind one that has not expired, since entries move between
+ * the queues out of order of their last access. {@link #cleanUp()} examines
+ * every entry and removes all that have expired. Hit, miss, load and eviction
+ * counters are available through {@link #stats()}.
+ *
+ * <p> Instances are created with a {@link Builder}, as in the following
+ * example:
+ *
+ * <blockquote><pre>
+ * BoundedCache&lt;String, BufferedImage&gt; cache =
+ *         BoundedCache.&lt;String, BufferedImage&gt;builder()
+ *         .maximumSize(10_000)
+ *         .expireAfterAccess(10, TimeUnit.MINUTES)
+ *         .build(ImageUtilities :: readImage);</pre>
+ * </blockquote>
+ *
+ * <p> This implementation is thread-safe. All operations are guarded by a
+ * single lock, except that loading functions are run outside of the lock, so
+ * concurrent misses on the same key may load its value more than once; the
+ * first loaded value to be stored is the one returned to every caller.
+ * Neither keys nor values may be {@code null}.
+ *
+ * @param <K> The type of key used to look up entries.
+ * @param <V> The type of value stored within this cache.
+ * @author Oliver Abdulrahim
+ * @see CacheStats
+ */
+public final class BoundedCache<K, V> {
+
+    /**
+     * The fraction of the capacity given to the window region.
+     */
+    private static final double WINDOW_FRACTION = 0.01d;
+
+    /**
+     * The fraction of the main (non-window) capacity given to the protected
+     * segment.
+     */
+    private static final double PROTECTED_FRACTION = 0.80d;
+
+    /**
+     * The region of the cache that an entry resides in.
+     */
+    private enum Region {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    /**
+     * An entry of this cache, which is linked into one access-ordered region
+     * and into the write-ordered queue.
+     *
+     * @param <K> The type of key of the entry.
+     * @param <V> The type of value of the entry.
+     */
+    private static final class Node<K, V> {
+
+        /**
+         * The key of this entry.
+         */
+        final K key;
+
+        /**
+         * The value of this entry.
+         */
+        V value;
+
+        /**
+         * The weight of this entry, as computed by the weigher.
+         */
+        int weight;
+
+        /**
+         * The ticker reading when this entry was last written.
+         */
+        long writeTime;
+
+        /**
+         * The ticker reading when this entry was last read or written.
+         */
+        long accessTime;
+
+        /**
+         * The region this entry resides in.
+         */
+        Region region;
+
+        /**
+         * The neighbors of this entry in the access order of its region.
+         */
+        Node<K, V> previous, next;
+
+        /**
+         * The neighbors of this entry in the write order of the cache.
+         */
+        Node<K, V> previousWrite, nextWrite;
+
+        /**
+         * Constructs a {@code Node} with the given arguments.
+         *
+         * @param key The key of this entry.
+         * @param value The value of this entry.
+         * @param weight The weight of this entry.
+         * @param now The current ticker reading.
+         */
+        Node(K key, V value, int weight, long now) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+
+    }
+
+    /**
+     * A doubly-linked queue of entries in access order, linked through their
+     * {@code previous} and {@code next} fields.
+     *
+     * @param <K> The type of key of the entries.
+     * @param <V> The type of value of the entries.
+     */
+    private static final class AccessQueue<K, V> {
+
+        /**
+         * The least recently used entry.
+         */
+        Node<K, V> head;
+
+        /**
+         * The most recently used entry.
+         */
+        Node<K, V> tail;
+
+        /**
+         * Links the given entry as the most recently used.
+         *
+         * @param n The entry to link.
+         */
+        void addLast(Node<K, V> n) {
+            n.previous = tail;
+            n.next = null;
+            if (tail == null) {
+                head = n;
+            }
+            else {
+                tail.next = n;
+            }
+            tail = n;
+        }
+
+        /**
+         * Unlinks the given entry.
+         *
+         * @param n The entry to unlink.
+         */
+        void remove(Node<K, V> n) {
+            if (n.previous == null) {
+                head = n.next;
+            }
+            else {
+                n.previous.next = n.next;
+            }
+            if (n.next == null) {
+                tail = n.previous;
+            }
+            else {
+                n.next.previous = n.previous;
+            }
+            n.previous = null;
+            n.next = null;
+        }
+
+        /**
+         * Relinks the given entry as the most recently used.
+         *
+         * @param n The entry to relink.
+         */
+        void moveToBack(Node<K, V> n) {
+            if (n != tail) {
+                remove(n);
+                addLast(n);
+            }
+        }
+
+    }
+
+    /**
+     * A doubly-linked queue of entries in write order, linked through their
+     * {@code previousWrite} and {@code nextWrite} fields.
+     *
+     * @param <K> The type of key of the entries.
+     * @param <V> The type of value of the entries.
+     */
+    private static final class WriteQueue<K, V> {
+
+        /**
+         * The least recently written entry.
+         */
+        Node<K, V> head;
+
+        /**
+         * The most recently written entry.
+         */
+        Node<K, V> tail;
+
+        /**
+         * Links the given entry as the most recently written.
+         *
+         * @param n The entry to link.
+         */
+        void addLast(Node<K, V> n) {
+            n.previousWrite = tail;
+            n.nextWrite = null;
+            if (tail == null) {
+                head = n;
+            }
+            else {
+                tail.nextWrite = n;
+            }
+            tail = n;
+        }
+
+        /**
+         * Unlinks the given entry.
+         *
+         * @param n The entry to unlink.
+         */
+        void remove(Node<K, V> n) {
+            if (n.previousWrite == null) {
+                head = n.nextWrite;
+            }
+            else {
+                n.previousWrite.nextWrite = n.nextWrite;
+            }
+            if (n.nextWrite == null) {
+                tail = n.previousWrite;
+            }
+            else {
+                n.nextWrite.previousWrite = n.previousWrite;
+            }
+            n.previousWrite = null;
+            n.nextWrite = null;
+        }
+
+        /**
+         * Relinks the given entry as the most recently written.
+         *
+         * @param n The entry to relink.
+         */
+        void moveToBack(Node<K, V> n) {
+            if (n != tail) {
+                remove(n);
+                addLast(n);
+            }
+        }
+
+    }
+
+    /**
+     * Guards every mutable field of this cache.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Maps each key to its entry.
+     */
+    private final Map<K, Node<K, V>> data = new HashMap<>();
+
+    /**
+     * The window region, in access order.
+     */
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+
+    /**
+     * The probation segment of the main region, in access order.
+     */
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+
+    /**
+     * The protected segment of the main region, in access order.
+     */
+    private final AccessQueue<K, V> protectedSegment = new AccessQueue<>();
+
+    /**
+     * Every entry, in write order.
+     */
+    private final WriteQueue<K, V> writeOrder = new WriteQueue<>();
+
+    /**
+     * The admission filter of this cache.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * The maximum total weight of this cache.
+     */
+    private final long maximum;
+
+    /**
+     * The maximum total weight of the window region.
+     */
+    private final long windowMaximum;
+
+    /**
+     * The maximum total weight of the protected segment.
+     */
+    private final long protectedMaximum;
+
+    /**
+     * Computes the weight of each entry.
+     */
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+
+    /**
+     * The lifetime of an entry after it is written in nanoseconds, or
+     * {@code 0} if entries do not expire after writes.
+     */
+    private final long expireAfterWriteNanos;
+
+    /**
+     * The lifetime of an entry after it is accessed in nanoseconds, or
+     * {@code 0} if entries do not expire after accesses.
+     */
+    private final long expireAfterAccessNanos;
+
+    /**
+     * The source of time, in nanoseconds.
+     */
+    private final LongSupplier ticker;
+
+    /**
+     * The function that computes absent values, or {@code null} if this cache
+     * does not load values.
+     */
+    private final Function<? super K, ? extends V> loader;
+
+    /**
+     * The total weight of all entries.
+     */
+    private long weightedSize;
+
+    /**
+     * The total weight of the window region.
+     */
+    private long windowWeight;
+
+    /**
+     * The total weight of the protected segment.
+     */
+    private long protectedWeight;
+
+    /**
+     * The amount of lookups that found a live entry.
+     */
+    private long hitCount;
+
+    /**
+     * The amount of lookups that found no live entry.
+     */
+    private long missCount;
+
+    /**
+     * The amount of values successfully computed by a loading function.
+     */
+    private long loadSuccessCount;
+
+    /**
+     * The amount of loading functions that failed or returned {@code null}.
+     */
+    private long loadFailureCount;
+
+    /**
+     * The amount of entries removed due to the size bound or expiration.
+     */
+    private long evictionCount;
+
+    /**
+     * The total weight of the entries counted by {@link #evictionCount}.
+     */
+    private long evictionWeight;
+
+    /**
+     * Constructs a new {@code BoundedCache} from the given builder.
+     *
+     * @param builder The builder holding the configuration of this cache.
+     * @param loader The function that computes absent values, or {@code null}.
+     */
+    private BoundedCache(Builder<K, V> builder,
+            Function<? super K, ? extends V> loader)
+    {
+        this.maximum = builder.maximum;
+        this.weigher = builder.weigher;
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.expireAfterAccessNanos = builder.expireAfterAccessNanos;
+        this.ticker = builder.ticker;
+        this.loader = loader;
+        this.windowMaximum = (maximum == 0)
+                ? 0
+                : Math.max(1, (long) (maximum * WINDOW_FRACTION));
+        this.protectedMaximum =
+                (long) ((maximum - windowMaximum) * PROTECTED_FRACTION);
+        // A weighted cache holds an unknown amount of entries; size the
+        // sketch for its weight, within reason
+        this.sketch = new FrequencySketch(Math.min(maximum, 1 << 24));
+    }
+
+    /**
+     * Returns a new {@code Builder} for a {@code BoundedCache}.
+     *
+     * @param <K> The type of key of the cache.
+     * @param <V> The type of value of the cache.
+     * @return A new builder.
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns the value associated with the given key, or {@code null} if
+     * there is no live entry for it.
+     *
+     * @param key The key whose value to return.
+     * @return The cached value, or {@code null}.
+     * @throws NullPointerException if the given key is {@code null}.
+     */
+    public V getIfPresent(K key) {
+        Objects.requireNonNull(key, "Invalid null key!");
+        synchronized (lock) {
+            Node<K, V> n = lookup(key, ticker.getAsLong());
+            return (n == null) ? null : n.value;
+        }
+    }
+
+    /**
+     * Returns the value associated with the given key, computing it with the
+     * loading function of this cache if there is no live entry for it.
+     *
+     * @param key The key whose value to return.
+     * @return The cached or loaded value, or {@code null} if the loading
+     *         function returned {@code null}.
+     * @throws IllegalStateException if this cache was built without a loading
+     *         function.
+     * @throws NullPointerException if the given key is {@code null}.
+     */
+    public V get(K key) {
+        if (loader == null) {
+            throw new IllegalStateException("Cache has no loading function!");
+        }
+        return get(key, loader);
+    }
+
+    /**
+     * Returns the value associated with the given key, computing it with the
+     * given function if there is no live entry for it. If the function returns
+     * {@code null}, nothing is stored. Any exception thrown by the function is
+     * propagated to the caller.
+     *
+     * @param key The key whose value to return.
+     * @param mappingFunction The function that computes an absent value.
+     * @return The cached or computed value, or {@code null} if the function
+     *         returned {@code null}.
+     * @throws NullPointerException if either argument is {@code null}.
+     */
+    public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(key, "Invalid null key!");
+        Objects.requireNonNull(mappingFunction, "Invalid null function!");
+        synchronized (lock) {
+            Node<K, V> n = lookup(key, ticker.getAsLong());
+            if (n != null) {
+                return n.value;
+            }
+        }
+        V value;
+        try {
+            value = mappingFunction.apply(key);
+        }
+        catch (RuntimeException | Error e) {
+            synchronized (lock) {
+                loadFailureCount++;
+            }
+            throw e;
+        }
+        synchronized (lock) {
+            if (value == null) {
+                loadFailureCount++;
+                return null;
+            }
+            loadSuccessCount++;
+            long now = ticker.getAsLong();
+            Node<K, V> existing = data.get(key);
+            if (existing != null && !isExpired(existing, now)) {
+                return existing.value; // Loaded concurrently by another caller
+            }
+            write(key, value, now);
+            return value;
+        }
+    }
+
+    /**
+     * Associates the given value with the given key, replacing any existing
+     * value.
+     *
+     * @param key The key to associate the value with.
+     * @param value The value to cache.
+     * @throws IllegalArgumentException if the weigher of this cache returns a
+     *         negative weight.
+     * @throws NullPointerException if either argument is {@code null}.
+     */
+    public void put(K key, V value) {
+        Objects.requireNonNull(key, "Invalid null key!");
+        Objects.requireNonNull(value, "Invalid null value!");
+        synchronized (lock) {
+            write(key, value, ticker.getAsLong());
+        }
+    }
+
+    /**
+     * Removes the entry of the given key, if present. Invalidations are not
+     * counted as evictions.
+     *
+     * @param key The key whose entry to remove.
+     * @throws NullPointerException if the given key is {@code null}.
+     */
+    public void invalidate(K key) {
+        Objects.requireNonNull(key, "Invalid null key!");
+        synchronized (lock) {
+            Node<K, V> n = data.get(key);
+            if (n != null) {
+                unlink(n);
+            }
+        }
+    }
+
+    /**
+     * Removes every entry from this cache. Statistics are not reset.
+     */
+    public void invalidateAll() {
+        synchronized (lock) {
+            data.clear();
+            window.head = window.tail = null;
+            probation.head = probation.tail = null;
+            protectedSegment.head = protectedSegment.tail = null;
+            writeOrder.head = writeOrder.tail = null;
+            weightedSize = 0;
+            windowWeight = 0;
+            protectedWeight = 0;
+        }
+    }
+
+    /**
+     * Removes every expired entry from this cache. This examines every entry
+     * of the cache if entries expire after a time without access.
+     */
+    public void cleanUp() {
+        synchronized (lock) {
+            long now = ticker.getAsLong();
+            expire(now);
+            if (expireAfterAccessNanos > 0) {
+                expireAll(window, now);
+                expireAll(probation, now);
+                expireAll(protectedSegment, now);
+            }
+        }
+    }
+
+    /**
+     * Returns the amount of entries in this cache. This may include expired
+     * entries that have not yet been removed.
+     *
+     * @return The amount of entries in this cache.
+     */
+    public long size() {
+        synchronized (lock) {
+            return data.size();
+        }
+    }
+
+    /**
+     * Returns the total weight of the entries in this cache. For caches that
+     * are bounded by entry count, this is equal to {@link #size()}.
+     *
+     * @return The total weight of this cache.
+     */
+    public long weightedSize() {
+        synchronized (lock) {
+            return weightedSize;
+        }
+    }
+
+    /**
+     * Returns the maximum total weight of this cache.
+     *
+     * @return The bound of this cache.
+     */
+    public long maximum() {
+        return maximum;
+    }
+
+    /**
+     * Returns a snapshot of the statistics counters of this cache.
+     *
+     * @return The current statistics of this cache.
+     */
+    public CacheStats stats() {
+        synchronized (lock) {
+            return new CacheStats(hitCount, missCount, loadSuccessCount,
+                    loadFailureCount, evictionCount, evictionWeight);
+        }
+    }
+
+    /**
+     * Finds the live entry of the given key, recording the access in the
+     * frequency sketch and the statistics counters. Must be called while
+     * holding the lock.
+     *
+     * @param key The key to look up.
+     * @param now The current ticker reading.
+     * @return The live entry of the key, or {@code null}.
+     */
+    private Node<K, V> lookup(K key, long now) {
+        sketch.increment(key);
+        Node<K, V> n = data.get(key);
+        if (n != null && isExpired(n, now)) {
+            evict(n);
+            n = null;
+        }
+        if (n == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        n.accessTime = now;
+        onAccess(n);
+        return n;
+    }
+
+    /**
+     * Inserts or replaces the entry of the given key, then enforces the
+     * expiration and size policies. Must be called while holding the lock.
+     *
+     * @param key The key of the entry.
+     * @param value The value of the entry.
+     * @param now The current ticker reading.
+     */
+    private void write(K key, V value, long now) {
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Invalid weight : " + weight);
+        }
+        sketch.increment(key);
+        Node<K, V> n = data.get(key);
+        if (n == null) {
+            n = new Node<>(key, value, weight, now);
+            n.region = Region.WINDOW;
+            data.put(key, n);
+            window.addLast(n);
+            writeOrder.addLast(n);
+            windowWeight += weight;
+            weightedSize += weight;
+        }
+        else {
+            int delta = weight - n.weight;
+            weightedSize += delta;
+            if (n.region == Region.WINDOW) {
+                windowWeight += delta;
+            }
+            else if (n.region == Region.PROTECTED) {
+                protectedWeight += delta;
+            }
+            n.value = value;
+            n.weight = weight;
+            n.writeTime = now;
+            n.accessTime = now;
+            writeOrder.moveToBack(n);
+            onAccess(n);
+        }
+        expire(now);
+        evictToBound();
+    }
+
+    /**
+     * Updates the position of an entry that was just read or written,
+     * promoting it to the protected segment if it was on probation.
+     *
+     * @param n The accessed entry.
+     */
+    private void onAccess(Node<K, V> n) {
+        switch (n.region) {
+            case WINDOW:
+                window.moveToBack(n);
+                break;
+            case PROBATION:
+                probation.remove(n);
+                n.region = Region.PROTECTED;
+                protectedSegment.addLast(n);
+                protectedWeight += n.weight;
+                demoteFromProtected();
+                break;
+            case PROTECTED:
+                protectedSegment.moveToBack(n);
+                break;
+            default:
+                throw new AssertionError(n.region);
+        }
+    }
+
+    /**
+     * Moves the least recently used entries of the protected segment to
+     * probation until the protected segment is within its bound.
+     */
+    private void demoteFromProtected() {
+        while (protectedWeight > protectedMaximum
+                && protectedSegment.head != null) {
+            Node<K, V> demoted = protectedSegment.head;
+            protectedSegment.remove(demoted);
+            protectedWeight -= demoted.weight;
+            demoted.region = Region.PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    /**
+     * Moves entries that overflow the window to probation as candidates, then
+     * evicts entries until this cache is within its bound. Each candidate
+     * competes against the least recently used entry on probation, and the
+     * less frequently used of the two is evicted.
+     */
+    private void evictToBound() {
+        Node<K, V> candidate = null;
+        while (windowWeight > windowMaximum && window.head != null) {
+            Node<K, V> n = window.head;
+            window.remove(n);
+            windowWeight -= n.weight;
+            n.region = Region.PROBATION;
+            probation.addLast(n);
+            if (candidate == null) {
+                candidate = n;
+            }
+        }
+        while (weightedSize > maximum) {
+            Node<K, V> victim = probation.head;
+            if (victim == null) {
+                victim = (protectedSegment.head != null)
+                        ? protectedSegment.head
+                        : window.head;
+            }
+            if (victim == null) {
+                break;
+            }
+            if (candidate == null || candidate.region != Region.PROBATION) {
+                candidate = null;
+                evict(victim);
+            }
+            else if (candidate == victim || candidate.weight > maximum
+                    || !admit(candidate.key, victim.key)) {
+                Node<K, V> next = candidate.next;
+                evict(candidate);
+                candidate = next;
+            }
+            else {
+                evict(victim);
+            }
+        }
+    }
+
+    /**
+     * Determines whether a candidate entry should replace a victim entry,
+     * based on their estimated recent frequencies.
+     *
+     * @param candidateKey The key of the entry leaving the window.
+     * @param victimKey The key of the entry on probation.
+     * @return {@code true} if the victim should be evicted, {@code false} if
+     *         the candidate should be.
+     */
+    private boolean admit(K candidateKey, K victimKey) {
+        return sketch.frequency(candidateKey) > sketch.frequency(victimKey);
+    }
+
+    /**
+     * Evicts every expired entry that is at the head of its queue.
+     *
+     * @param now The current ticker reading.
+     */
+    private void expire(long now) {
+        if (expireAfterWriteNanos > 0) {
+            Node<K, V> n;
+            while ((n = writeOrder.head) != null
+                    && now - n.writeTime >= expireAfterWriteNanos) {
+                evict(n);
+            }
+        }
+        if (expireAfterAccessNanos > 0) {
+            expire(window, now);
+            expire(probation, now);
+            expire(protectedSegment, now);
+        }
+    }
+
+    /**
+     * Evicts entries from the head of the given queue while they have expired
+     * due to inactivity.
+     *
+     * @param queue The queue to expire entries from.
+     * @param now The current ticker reading.
+     */
+    private void expire(AccessQueue<K, V> queue, long now) {
+        Node<K, V> n;
+        while ((n = queue.head) != null
+                && now - n.accessTime >= expireAfterAccessNanos) {
+            evict(n);
+        }
+    }
+
+    /**
+     * Evicts every entry of the given queue that has expired due to
+     * inactivity, wherever it is in the queue.
+     *
+     * @param queue The queue to expire entries from.
+     * @param now The current ticker reading.
+     */
+    private void expireAll(AccessQueue<K, V> queue, long now) {
+        Node<K, V> n = queue.head;
+        while (n != null) {
+            Node<K, V> next = n.next;
+            if (now - n.accessTime >= expireAfterAccessNanos) {
+                evict(n);
+            }
+            n = next;
+        }
+    }
+
+    /**
+     * Tests if the given entry has expired.
+     *
+     * @param n The entry to test.
+     * @param now The current ticker reading.
+     * @return {@code true} if the entry has expired.
+     */
+    private boolean isExpired(Node<K, V> n, long now) {
+        return (expireAfterWriteNanos > 0
+                    && now - n.writeTime >= expireAfterWriteNanos)
+            || (expireAfterAccessNanos > 0
+                    && now - n.accessTime >= expireAfterAccessNanos);
+    }
+
+    /**
+     * Removes the given entry, counting it as an eviction.
+     *
+     * @param n The entry to evict.
+     */
+    private void evict(Node<K, V> n) {
+        unlink(n);
+        evictionCount++;
+        evictionWeight += n.weight;
+    }
+
+    /**
+     * Removes the given entry from the map and from every queue.
+     *
+     * @param n The entry to remove.
+     */
+    private void unlink(Node<K, V> n) {
+        data.remove(n.key);
+        writeOrder.remove(n);
+        weightedSize -= n.weight;
+        switch (n.region) {
+            case WINDOW:
+                window.remove(n);
+                windowWeight -= n.weight;
+                break;
+            case PROBATION:
+                probation.remove(n);
+                break;
+            case PROTECTED:
+                protectedSegment.remove(n);
+                protectedWeight -= n.weight;
+                break;
+            default:
+                throw new AssertionError(n.region);
+        }
+    }
+
+    /**
+     * Returns a {@code String} representation of this cache, including its
+     * size and statistics.
+     *
+     * @return A {@code String} representation of this cache.
+     */
+    @Override
+    public String toString() {
+        synchronized (lock) {
+            return "BoundedCache[size = " + data.size()
+                    + ", weightedSize = " + weightedSize
+                    + ", maximum = " + maximum + ", " + stats() + ']';
+        }
+    }
+
+    /**
+     * Configures and creates instances of {@code BoundedCache}. Exactly one of
+     * {@link #maximumSize(long)} or {@link #maximumWeight(long,
+     * ToIntBiFunction)} must be called.
+     *
+     * @param <K> The type of key of the cache.
+     * @param <V> The type of value of the cache.
+     */
+    public static final class Builder<K, V> {
+
+        /**
+         * Marks an unset bound.
+         */
+        private static final long UNSET = -1;
+
+        /**
+         * The maximum total weight of the cache.
+         */
+        private long maximum = UNSET;
+
+        /**
+         * Computes the weight of each entry.
+         */
+        private ToIntBiFunction<? super K, ? super V> weigher = (k, v) -> 1;
+
+        /**
+         * The lifetime of an entry after it is written, or {@code 0}.
+         */
+        private long expireAfterWriteNanos;
+
+        /**
+         * The lifetime of an entry after it is accessed, or {@code 0}.
+         */
+        private long expireAfterAccessNanos;
+
+        /**
+         * The source of time, in nanoseconds.
+         */
+        private LongSupplier ticker = System :: nanoTime;
+
+        /**
+         * Constructs a {@code Builder} with no bound or expiration.
+         */
+        Builder() {
+
+        }
+
+        /**
+         * Ensures that no bound has been configured yet.
+         *
+         * @throws IllegalStateException if a bound has been configured.
+         */
+        private void requireUnbounded() {
+            if (maximum != UNSET) {
+                throw new IllegalStateException("Bound was already set!");
+            }
+        }
+
+        /**
+         * Bounds the cache to the given amount of entries.
+         *
+         * @param maximumSize The maximum amount of entries.
+         * @return This builder.
+         * @throws IllegalArgumentException if the given size is negative.
+         * @throws IllegalStateException if a bound was already set.
+         */
+        public Builder<K, V> maximumSize(long maximumSize) {
+            requireUnbounded();
+            if (maximumSize < 0) {
+                throw new IllegalArgumentException("Invalid maximum size : "
+                        + maximumSize);
+            }
+            this.maximum = maximumSize;
+            return this;
+        }
+
+        /**
+         * Bounds the cache to the given total weight, as computed for each
+         * entry by the given weigher. The weight of an entry is computed once,
+         * when it is written.
+         *
+         * @param maximumWeight The maximum total weight of all entries.
+         * @param weigher Computes the non-negative weight of each entry.
+         * @return This builder.
+         * @throws IllegalArgumentException if the given weight is negative.
+         * @throws IllegalStateException if a bound was already set.
+         * @throws NullPointerException if the given weigher is {@code null}.
+         */
+        public Builder<K, V> maximumWeight(long maximumWeight,
+                ToIntBiFunction<? super K, ? super V> weigher)
+        {
+            requireUnbounded();
+            if (maximumWeight < 0) {
+                throw new IllegalArgumentException("Invalid maximum weight : "
+                        + maximumWeight);
+            }
+            this.maximum = maximumWeight;
+            this.weigher = Objects.requireNonNull(weigher, "Invalid weigher!");
+            return this;
+        }
+
+        /**
+         * Expires entries once the given duration has elapsed after they were
+         * last written.
+         *
+         * @param duration The lifetime of an entry after it is written.
+         * @param unit The unit of the given duration.
+         * @return This builder.
+         * @throws IllegalArgumentException if the duration is not positive.
+         */
+        public Builder<K, V> expireAfterWrite(long duration, TimeUnit unit) {
+            this.expireAfterWriteNanos = toNanos(duration, unit);
+            return this;
+        }
+
+        /**
+         * Expires entries once the given duration has elapsed after they were
+         * last read or written.
+         *
+         * @param duration The lifetime of an entry after it is accessed.
+         * @param unit The unit of the given duration.
+         * @return This builder.
+         * @throws IllegalArgumentException if the duration is not positive.
+         */
+        public Builder<K, V> expireAfterAccess(long duration, TimeUnit unit) {
+            this.expireAfterAccessNanos = toNanos(duration, unit);
+            return this;
+        }
+
+        /**
+         * Uses the given source of time, in nanoseconds, for expiration. This
+         * is primarily useful for simulations and testing.
+         *
+         * @param ticker The source of time.
+         * @return This builder.
+         * @throws NullPointerException if the given ticker is {@code null}.
+         */
+        public Builder<K, V> ticker(LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker, "Invalid ticker!");
+            return this;
+        }
+
+        /**
+         * Converts the given positive duration to nanoseconds.
+         *
+         * @param duration The duration to convert.
+         * @param unit The unit of the given duration.
+         * @return The duration in nanoseconds.
+         */
+        private static long toNanos(long duration, TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("Invalid duration : "
+                        + duration);
+            }
+            return Objects.requireNonNull(unit, "Invalid unit!")
+                    .toNanos(duration);
+        }
+
+        /**
+         * Creates a cache with the configuration of this builder that does
+         * not load absent values.
+         *
+         * @return A new cache.
+         * @throws IllegalStateException if no bound was set.
+         */
+        public BoundedCache<K, V> build() {
+            if (maximum == UNSET) {
+                throw new IllegalStateException("No bound was set!");
+            }
+            return new BoundedCache<>(this, null);
+        }
+
+        /**
+         * Creates a cache with the configuration of this builder that loads
+         * absent values with the given function.
+         *
+         * @param loader The function that computes absent values.
+         * @return A new loading cache.
+         * @throws IllegalStateException if no bound was set.
+         * @throws NullPointerException if the given function is {@code null}.
+         */
+        public BoundedCache<K, V> build(
+                Function<? super K, ? extends V> loader)
+        {
+            if (maximum == UNSET) {
+                throw new IllegalStateException("No bound was set!");
+            }
+            Objects.requireNonNull(loader, "Invalid null loader!");
+            return new BoundedCache<>(this, loader);
+        }
+
+    }
+
+}
@@ -0,0 +1,170 @@
+package collections;
+
+/**
+ * The {@code CacheStats} class contains an immutable snapshot of the
+ * performance counters of a {@link BoundedCache}.
+ *
+ * @author Oliver Abdulrahim
+ * @see BoundedCache#stats()
+ */
+public final class CacheStats {
+
+    /**
+     * The amount of lookups that found a live entry.
+     */
+    private final long hitCount;
+
+    /**
+     * The amount of lookups that found no live entry.
+     */
+    private final long missCount;
+
+    /**
+     * The amount of values successfully computed by a loading function.
+     */
+    private final long loadSuccessCount;
+
+    /**
+     * The amount of loading functions that failed or returned {@code null}.
+     */
+    private final long loadFailureCount;
+
+    /**
+     * The amount of entries removed due to the size bound or expiration.
+     */
+    private final long evictionCount;
+
+    /**
+     * The total weight of the entries counted by {@link #evictionCount}.
+     */
+    private final long evictionWeight;
+
+    /**
+     * Constructs a {@code CacheStats} with the given counters.
+     *
+     * @param hitCount The amount of hits.
+     * @param missCount The amount of misses.
+     * @param loadSuccessCount The amount of successful loads.
+     * @param loadFailureCount The amount of failed loads.
+     * @param evictionCount The amount of evicted entries.
+     * @param evictionWeight The total weight of evicted entries.
+     */
+    CacheStats(long hitCount, long missCount, long loadSuccessCount,
+            long loadFailureCount, long evictionCount, long evictionWeight)
+    {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+    }
+
+    /**
+     * Returns the amount of lookups that found a live entry.
+     *
+     * @return The amount of hits.
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the amount of lookups that found no live entry, including
+     * lookups of expired entries.
+     *
+     * @return The amount of misses.
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the total amount of lookups, which is the sum of the hits and
+     * the misses.
+     *
+     * @return The amount of lookups.
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Returns the fraction of lookups that were hits, or {@code 1.0} if there
+     * have been no lookups.
+     *
+     * @return The hit ratio, in the range [{@code 0}, {@code 1}].
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return (requests == 0) ? 1.0d : (double) hitCount / requests;
+    }
+
+    /**
+     * Returns the fraction of lookups that were misses, or {@code 0.0} if
+     * there have been no lookups.
+     *
+     * @return The miss ratio, in the range [{@code 0}, {@code 1}].
+     */
+    public double missRate() {
+        long requests = requestCount();
+        return (requests == 0) ? 0.0d : (double) missCount / requests;
+    }
+
+    /**
+     * Returns the amount of values successfully computed by a loading
+     * function.
+     *
+     * @return The amount of successful loads.
+     */
+    public long loadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * Returns the amount of loading functions that threw an exception or
+     * returned {@code null}.
+     *
+     * @return The amount of failed loads.
+     */
+    public long loadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * Returns the amount of entries removed due to the size bound or
+     * expiration. Explicit invalidations are not counted.
+     *
+     * @return The amount of evicted entries.
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the total weight of the entries counted by
+     * {@link #evictionCount()}.
+     *
+     * @return The total weight of evicted entries.
+     */
+    public long evictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * Returns a {@code String} representation of these statistics.
+     *
+     * @return A {@code String} representation of this object.
+     */
+    @Override
+    public String toString() {
+        return "CacheStats[hits = " + hitCount
+                + ", misses = " + missCount
+                + ", hitRate = " + hitRate()
+                + ", loadSuccesses = " + loadSuccessCount
+                + ", loadFailures = " + loadFailureCount
+                + ", evictions = " + evictionCount
+                + ", evictionWeight = " + evictionWeight + ']';
+    }
+
+}
@@ -1,12 +1,36 @@
 package collections;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The {@code CollectionUtilities} class contains utility methods related to the
@@ -37,16 +61,1167 @@ public final class CollectionUtilities {
         return list.get(index);
     } 
     
+    /**
+     * Returns a random element from the given {@code Iterable} in a single 
+     * pass, without requiring its size or random access to its elements.
+     * 
+     * @param <T> The type of the element contained in the source, and the
+     *            type of the object to return.
+     * @param source The {@code Iterable} to select a random element from.
+     * @return A random element from the given {@code Iterable}.
+     * @throws NoSuchElementException if the given source is empty.
+     */
+    public static <T> T randomElementFrom(Iterable<? extends T> source) {
+        List<T> sample = sample(source, 1);
+        if (sample.isEmpty()) {
+            throw new NoSuchElementException("Cannot select from empty source");
+        }
+        return sample.get(0);
+    }
+    
+    /**
+     * Selects {@code k} elements uniformly at random, without replacement, 
+     * from the given {@code Iterable} in a single pass using the current 
+     * thread's {@link ThreadLocalRandom}.
+     * 
+     * @param <T> The type of the elements to sample.
+     * @param source The {@code Iterable} to sample elements from.
+     * @param k The amount of elements to select.
+     * @return A {@code List} of at most {@code k} elements from the source.
+     * @see #sample(java.lang.Iterable, int, java.util.Random) 
+     */
+    public static <T> List<T> sample(Iterable<? extends T> source, int k) {
+        return sample(source, k, ThreadLocalRandom.current());
+    }
+    
+    /**
+     * Selects {@code k} elements uniformly at random, without replacement, 
+     * from the given {@code Iterable} in a single pass.
+     * 
+     * <p> This implementation uses reservoir sampling with Li's 
+     * "Algorithm L," which computes how many elements to skip between 
+     * replacements rather than drawing a random number per element. The source
+     * is traversed exactly once through its iterator, so this method is 
+     * suitable for sources whose size is unknown, very large, or that do not 
+     * support random access (such as a {@link LinkedList}). Only &Omicron;(k)
+     * additional memory is used.
+     * 
+     * <p> If the source contains fewer than {@code k} elements, all of them 
+     * are returned. The order of the returned elements is unspecified.
+     * 
+     * @param <T> The type of the elements to sample.
+     * @param source The {@code Iterable} to sample elements from.
+     * @param k The amount of elements to select.
+     * @param rnd The source of randomness to sample with.
+     * @return A {@code List} of at most {@code k} elements from the source.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public static <T> List<T> sample(Iterable<? extends T> source, int k, 
+            Random rnd) 
+    {
+        Objects.requireNonNull(source, "Invalid null source!");
+        return sample(source.iterator(), k, rnd);
+    }
+    
+    /**
+     * Selects {@code k} elements uniformly at random, without replacement, 
+     * from the given {@code Stream} in a single pass. This is a terminal 
+     * operation on the given stream.
+     * 
+     * @param <T> The type of the elements to sample.
+     * @param source The {@code Stream} to sample elements from.
+     * @param k The amount of elements to select.
+     * @return A {@code List} of at most {@code k} elements from the source.
+     * @see #sample(java.lang.Iterable, int, java.util.Random) 
+     */
+    public static <T> List<T> sample(Stream<? extends T> source, int k) {
+        return sample(source, k, ThreadLocalRandom.current());
+    }
+    
+    /**
+     * Selects {@code k} elements uniformly at random, without replacement, 
+     * from the given {@code Stream} in a single pass. This is a terminal 
+     * operation on the given stream.
+     * 
+     * @param <T> The type of the elements to sample.
+     * @param source The {@code Stream} to sample elements from.
+     * @param k The amount of elements to select.
+     * @param rnd The source of randomness to sample with.
+     * @return A {@code List} of at most {@code k} elements from the source.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @see #sample(java.lang.Iterable, int, java.util.Random) 
+     */
+    public static <T> List<T> sample(Stream<? extends T> source, int k, 
+            Random rnd) 
+    {
+        Objects.requireNonNull(source, "Invalid null source!");
+        return sample(source.iterator(), k, rnd);
+    }
+    
+    /**
+     * Implementation of reservoir sampling using "Algorithm L" over the 
+     * remaining elements of a given iterator.
+     * 
+     * @param <T> The type of the elements to sample.
+     * @param it The iterator to sample elements from.
+     * @param k The amount of elements to select.
+     * @param rnd The source of randomness to sample with.
+     * @return A {@code List} of at most {@code k} elements from the iterator.
+     */
+    private static <T> List<T> sample(Iterator<? extends T> it, int k, 
+            Random rnd) 
+    {
+        Objects.requireNonNull(rnd, "Invalid null Random!");
+        if (k < 0) {
+            throw new IllegalArgumentException("k : " + k + " < 0 !");
+        }
+        List<T> reservoir = new ArrayList<>(Math.min(k, 1 << 16));
+        while (reservoir.size() < k && it.hasNext()) {
+            reservoir.add(it.next());
+        }
+        if (k == 0 || !it.hasNext()) {
+            return reservoir;
+        }
+        double w = Math.exp(Math.log(nextOpenDouble(rnd)) / k);
+        long skip = nextSkip(w, rnd);
+        while (it.hasNext()) {
+            T element = it.next();
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            reservoir.set(rnd.nextInt(k), element);
+            w *= Math.exp(Math.log(nextOpenDouble(rnd)) / k);
+            skip = nextSkip(w, rnd);
+        }
+        return reservoir;
+    }
+    
+    /**
+     * Returns the amount of elements to pass over before the next replacement
+     * in "Algorithm L," given the current value of its {@code w} variable.
+     * 
+     * @param w The current state of the algorithm, in the range 
+     *        ({@code 0}, {@code 1}).
+     * @param rnd The source of randomness to sample with.
+     * @return The amount of elements to skip.
+     */
+    private static long nextSkip(double w, Random rnd) {
+        // Saturates to Long.MAX_VALUE once w underflows toward 0
+        return (long) Math.floor(Math.log(nextOpenDouble(rnd)) 
+                / Math.log1p(-w));
+    }
+    
+    /**
+     * Returns a pseudorandom {@code double} in the open interval 
+     * ({@code 0}, {@code 1}), which is safe to pass to {@link Math#log}.
+     * 
+     * @param rnd The source of randomness.
+     * @return A pseudorandom, strictly positive value less than {@code 1}.
+     */
+    private static double nextOpenDouble(Random rnd) {
+        double d;
+        do {
+            d = rnd.nextDouble();
+        } while (d == 0.0d);
+        return d;
+    }
+    
+    /**
+     * Selects {@code k} distinct positions of the given {@code List} 
+     * uniformly at random and returns their elements in random order.
+     * 
+     * <p> This implementation uses Floyd's algorithm to choose the positions
+     * in &Omicron;(k) expected time. For lists that implement 
+     * {@link RandomAccess}, each selected element is retrieved directly; for
+     * sequential lists such as {@link LinkedList}, the chosen positions are 
+     * sorted and all elements are collected in a single forward traversal.
+     * 
+     * @param <T> The type of the elements to sample.
+     * @param list The {@code List} to sample elements from.
+     * @param k The amount of elements to select.
+     * @param rnd The source of randomness to sample with.
+     * @return A {@code List} of {@code k} elements from distinct positions of
+     *         the given list, in random order.
+     * @throws IllegalArgumentException if {@code k} is negative or larger 
+     *         than the size of the given list.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public static <T> List<T> sampleWithoutReplacement(List<? extends T> list,
+            int k, Random rnd) 
+    {
+        Objects.requireNonNull(list, "Invalid null list!");
+        Objects.requireNonNull(rnd, "Invalid null Random!");
+        final int n = list.size();
+        if (k < 0 || k > n) {
+            throw new IllegalArgumentException("k = " + k + ", Size = " + n);
+        }
+        Set<Integer> chosen = new HashSet<>(Math.max(16, (int) (k / 0.75f) + 1));
+        for (int j = n - k; j < n; j++) {
+            int t = rnd.nextInt(j + 1);
+            chosen.add(chosen.contains(t) ? j : t);
+        }
+        List<T> result = new ArrayList<>(k);
+        if (list instanceof RandomAccess) {
+            for (int index : chosen) {
+                result.add(list.get(index));
+            }
+        }
+        else {
+            int[] positions = new int[k];
+            int p = 0;
+            for (int index : chosen) {
+                positions[p++] = index;
+            }
+            Arrays.sort(positions);
+            Iterator<? extends T> it = list.iterator();
+            int current = -1;
+            T element = null;
+            for (int position : positions) {
+                while (current < position) {
+                    element = it.next();
+                    current++;
+                }
+                result.add(element);
+            }
+        }
+        Collections.shuffle(result, rnd);
+        return result;
+    }
+    
+    /**
+     * Selects {@code k} distinct positions of the given {@code List} 
+     * uniformly at random using the current thread's 
+     * {@link ThreadLocalRandom}.
+     * 
+     * @param <T> The type of the elements to sample.
+     * @param list The {@code List} to sample elements from.
+     * @param k The amount of elements to select.
+     * @return A {@code List} of {@code k} elements from distinct positions of
+     *         the given list, in random order.
+     * @see #sampleWithoutReplacement(java.util.List, int, java.util.Random) 
+     */
+    public static <T> List<T> sampleWithoutReplacement(List<? extends T> list,
+            int k) 
+    {
+        return sampleWithoutReplacement(list, k, ThreadLocalRandom.current());
+    }
+    
+    /**
+     * Selects {@code k} elements from the given {@code Iterable} in a single
+     * pass, without replacement, where the probability of each element being 
+     * selected is proportional to its weight.
+     * 
+     * <p> This implementation uses the "A-Res" algorithm by Efraimidis and
+     * Spirakis: each element receives the key <i>u</i><sup>1/<i>w</i></sup> 
+     * for a uniform random <i>u</i>, and the {@code k} elements with the 
+     * largest keys are retained in a bounded heap. Elements with a weight of 
+     * {@code 0} are never selected. The order of the returned elements is 
+     * unspecified.
+     * 
+     * @param <T> The type of the elements to sample.
+     * @param source The {@code Iterable} to sample elements from.
+     * @param k The amount of elements to select.
+     * @param weight The function that computes the non-negative weight of 
+     *        each element.
+     * @param rnd The source of randomness to sample with.
+     * @return A {@code List} of at most {@code k} elements from the source.
+     * @throws IllegalArgumentException if {@code k} is negative, or if a 
+     *         negative or non-finite weight is encountered.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @see #weightedSampler(java.util.Map) For repeated draws with 
+     *      replacement.
+     */
+    public static <T> List<T> weightedSample(Iterable<? extends T> source, 
+            int k, ToDoubleFunction<? super T> weight, Random rnd) 
+    {
+        Objects.requireNonNull(source, "Invalid null source!");
+        Objects.requireNonNull(weight, "Invalid null weight function!");
+        Objects.requireNonNull(rnd, "Invalid null Random!");
+        if (k < 0) {
+            throw new IllegalArgumentException("k : " + k + " < 0 !");
+        }
+        if (k == 0) {
+            return new ArrayList<>(0);
+        }
+        // Min-heap on the key, so the weakest retained element is the head
+        PriorityQueue<WeightedKey<T>> heap = new PriorityQueue<>(
+                Math.min(k, 1 << 16) + 1);
+        for (T element : source) {
+            double w = weight.applyAsDouble(element);
+            if (!(w >= 0.0d) || Double.isInfinite(w)) {
+                throw new IllegalArgumentException("Invalid weight : " + w);
+            }
+            if (w == 0.0d) {
+                continue;
+            }
+            // log(u) / w preserves the ordering of u^(1/w) without underflow
+            double key = Math.log(nextOpenDouble(rnd)) / w;
+            if (heap.size() < k) {
+                heap.add(new WeightedKey<>(element, key));
+            }
+            else if (key > heap.peek().key) {
+                heap.poll();
+                heap.add(new WeightedKey<>(element, key));
+            }
+        }
+        List<T> result = new ArrayList<>(heap.size());
+        for (WeightedKey<T> wk : heap) {
+            result.add(wk.element);
+        }
+        return result;
+    }
+    
+    /**
+     * Selects {@code k} elements from the given {@code Iterable} in a single
+     * pass, without replacement, in proportion to their weights using the 
+     * current thread's {@link ThreadLocalRandom}.
+     * 
+     * @param <T> The type of the elements to sample.
+     * @param source The {@code Iterable} to sample elements from.
+     * @param k The amount of elements to select.
+     * @param weight The function that computes the non-negative weight of 
+     *        each element.
+     * @return A {@code List} of at most {@code k} elements from the source.
+     * @see #weightedSample(java.lang.Iterable, int, 
+     *      java.util.function.ToDoubleFunction, java.util.Random) 
+     */
+    public static <T> List<T> weightedSample(Iterable<? extends T> source, 
+            int k, ToDoubleFunction<? super T> weight) 
+    {
+        return weightedSample(source, k, weight, ThreadLocalRandom.current());
+    }
+    
+    /**
+     * Element paired with its random key in a weighted reservoir.
+     * 
+     * @param <T> The type of the element.
+     */
+    private static final class WeightedKey<T> 
+        implements Comparable<WeightedKey<T>> 
+    {
+        
+        /**
+         * The sampled element.
+         */
+        final T element;
+        
+        /**
+         * The random key of the element; larger keys are preferred.
+         */
+        final double key;
+        
+        /**
+         * Constructs a {@code WeightedKey} with the given arguments.
+         * 
+         * @param element The sampled element.
+         * @param key The random key of the element.
+         */
+        WeightedKey(T element, double key) {
+            this.element = element;
+            this.key = key;
+        }
+
+        @Override
+        public int compareTo(WeightedKey<T> other) {
+            return Double.compare(key, other.key);
+        }
+        
+    }
+    
+    /**
+     * Returns an {@link AliasTable} that draws keys from the given map with 
+     * probability proportional to their mapped weights. The table is built in
+     * &Omicron;(n) time and every subsequent draw is &Omicron;(1).
+     * 
+     * @param <T> The type of outcome drawn from the table.
+     * @param weights The map of outcomes to their non-negative weights.
+     * @return A new {@code AliasTable} for the given map.
+     * @see AliasTable#of(java.util.Map) 
+     */
+    public static <T> AliasTable<T> weightedSampler(
+            Map<? extends T, ? extends Number> weights) 
+    {
+        return AliasTable.of(weights);
+    }
+    
+    /**
+     * Returns the {@code k} largest elements of the given {@code Iterable}
+     * according to the given {@code Comparator}, in descending order.
+     * 
+     * <p> The source is traversed once while the best {@code k} elements seen
+     * so far are kept in a bounded binary heap, so only &Omicron;(k) 
+     * additional memory is used and the running time is &Omicron;(n log k). 
+     * Elements that compare no greater than the smallest retained element are
+     * rejected after a single comparison, so for {@code k} much smaller than
+     * {@code n} this is close to linear and far cheaper than sorting the 
+     * source. Which of several equal elements are retained is unspecified.
+     * 
+     * @param <T> The type of the elements to select.
+     * @param source The {@code Iterable} to select elements from.
+     * @param k The amount of elements to select.
+     * @param comparator The {@code Comparator} that orders the elements.
+     * @return A {@code List} of at most {@code k} elements from the source.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     * @throws NullPointerException if the source or comparator is 
+     *         {@code null}.
+     * @see functions.Selection#topK(int[], int) 
+     */
+    public static <T> List<T> topK(Iterable<? extends T> source, int k, 
+            Comparator<? super T> comparator) 
+    {
+        Objects.requireNonNull(source, "Invalid null source!");
+        BoundedHeap<T> heap = new BoundedHeap<>(k, comparator);
+        for (T element : source) {
+            heap.offer(element);
+        }
+        return heap.toSortedList();
+    }
+    
+    /**
+     * Returns the {@code k} largest elements of the given {@code Stream} 
+     * according to the given {@code Comparator}, in descending order. This is
+     * a terminal operation on the given stream, which is processed in 
+     * parallel if the stream is parallel.
+     * 
+     * @param <T> The type of the elements to select.
+     * @param source The {@code Stream} to select elements from.
+     * @param k The amount of elements to select.
+     * @param comparator The {@code Comparator} that orders the elements.
+     * @return A {@code List} of at most {@code k} elements from the source.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     * @throws NullPointerException if the source or comparator is 
+     *         {@code null}.
+     * @see #topK(java.lang.Iterable, int, java.util.Comparator) 
+     */
+    public static <T> List<T> topK(Stream<? extends T> source, int k, 
+            Comparator<? super T> comparator) 
+    {
+        Objects.requireNonNull(source, "Invalid null source!");
+        return source.collect(toTopK(k, comparator));
+    }
+    
+    /**
+     * Returns the {@code k} smallest elements of the given {@code Iterable}
+     * according to the given {@code Comparator}, in ascending order.
+     * 
+     * @param <T> The type of the elements to select.
+     * @param source The {@code Iterable} to select elements from.
+     * @param k The amount of elements to select.
+     * @param comparator The {@code Comparator} that orders the elements.
+     * @return A {@code List} of at most {@code k} elements from the source.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     * @throws NullPointerException if the source or comparator is 
+     *         {@code null}.
+     * @see #topK(java.lang.Iterable, int, java.util.Comparator) 
+     */
+    public static <T> List<T> bottomK(Iterable<? extends T> source, int k, 
+            Comparator<? super T> comparator) 
+    {
+        return topK(source, k, reversed(comparator));
+    }
+    
+    /**
+     * Returns the {@code k} smallest elements of the given {@code Stream} 
+     * according to the given {@code Comparator}, in ascending order. This is
+     * a terminal operation on the given stream.
+     * 
+     * @param <T> The type of the elements to select.
+     * @param source The {@code Stream} to select elements from.
+     * @param k The amount of elements to select.
+     * @param comparator The {@code Comparator} that orders the elements.
+     * @return A {@code List} of at most {@code k} elements from the source.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     * @throws NullPointerException if the source or comparator is 
+     *         {@code null}.
+     * @see #topK(java.lang.Iterable, int, java.util.Comparator) 
+     */
+    public static <T> List<T> bottomK(Stream<? extends T> source, int k, 
+            Comparator<? super T> comparator) 
+    {
+        return topK(source, k, reversed(comparator));
+    }
+    
+    /**
+     * Returns a {@code Collector} that accumulates the {@code k} largest input
+     * elements according to the given {@code Comparator} into a {@code List},
+     * in descending order.
+     * 
+     * <p> Each container holds at most {@code k} elements, and containers are
+     * combined by offering the elements of the smaller to the larger, so the
+     * collector scales with the parallelism of the stream using only 
+     * &Omicron;(k) memory per thread.
+     * 
+     * @param <T> The type of the input elements.
+     * @param k The amount of elements to retain.
+     * @param comparator The {@code Comparator} that orders the elements.
+     * @return A {@code Collector} that selects the {@code k} largest elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     * @throws NullPointerException if the given comparator is {@code null}.
+     * @see #topK(java.lang.Iterable, int, java.util.Comparator) 
+     */
+    public static <T> Collector<T, ?, List<T>> toTopK(int k, 
+            Comparator<? super T> comparator) 
+    {
+        if (k < 0) {
+            throw new IllegalArgumentException("k : " + k + " < 0 !");
+        }
+        Objects.requireNonNull(comparator, "Invalid null comparator!");
+        return Collector.of(() -> new BoundedHeap<T>(k, comparator), 
+                BoundedHeap :: offer, 
+                BoundedHeap :: combine, 
+                BoundedHeap :: toSortedList);
+    }
+    
+    /**
+     * Returns a {@code Collector} that accumulates the {@code k} smallest 
+     * input elements according to the given {@code Comparator} into a 
+     * {@code List}, in ascending order.
+     * 
+     * @param <T> The type of the input elements.
+     * @param k The amount of elements to retain.
+     * @param comparator The {@code Comparator} that orders the elements.
+     * @return A {@code Collector} that selects the {@code k} smallest elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     * @throws NullPointerException if the given comparator is {@code null}.
+     * @see #toTopK(int, java.util.Comparator) 
+     */
+    public static <T> Collector<T, ?, List<T>> toBottomK(int k, 
+            Comparator<? super T> comparator) 
+    {
+        return toTopK(k, reversed(comparator));
+    }
+    
+    /**
+     * Returns the reverse of a given {@code Comparator}.
+     * 
+     * @param <T> The type of the elements to compare.
+     * @param comparator The {@code Comparator} to reverse.
+     * @return A {@code Comparator} that imposes the reverse ordering.
+     * @throws NullPointerException if the given comparator is {@code null}.
+     */
+    private static <T> Comparator<T> reversed(
+            Comparator<? super T> comparator) 
+    {
+        Objects.requireNonNull(comparator, "Invalid null comparator!");
+        return (x, y) -> comparator.compare(y, x);
+    }
+    
+    /**
+     * A binary min-heap that retains the {@code k} largest elements offered to
+     * it, with the smallest retained element at its root.
+     * 
+     * @param <T> The type of the elements to retain.
+     */
+    private static final class BoundedHeap<T> {
+        
+        /**
+         * The maximum amount of elements to retain.
+         */
+        private final int k;
+        
+        /**
+         * The {@code Comparator} that orders the elements.
+         */
+        private final Comparator<? super T> comparator;
+        
+        /**
+         * The retained elements, in heap order.
+         */
+        private Object[] elements;
+        
+        /**
+         * The amount of retained elements.
+         */
+        private int size;
+        
+        /**
+         * Constructs an empty {@code BoundedHeap}.
+         * 
+         * @param k The maximum amount of elements to retain.
+         * @param comparator The {@code Comparator} that orders the elements.
+         * @throws IllegalArgumentException if {@code k} is negative.
+         * @throws NullPointerException if the comparator is {@code null}.
+         */
+        BoundedHeap(int k, Comparator<? super T> comparator) {
+            if (k < 0) {
+                throw new IllegalArgumentException("k : " + k + " < 0 !");
+            }
+            this.k = k;
+            this.comparator = Objects.requireNonNull(comparator, 
+                    "Invalid null comparator!");
+            // Grow on demand so a large k does not allocate up front
+            this.elements = new Object[Math.min(k, 16)];
+        }
+        
+        /**
+         * Offers an element to this heap, which retains it if fewer than 
+         * {@code k} elements are retained or if it is greater than the 
+         * smallest retained element.
+         * 
+         * @param e The element to offer.
+         */
+        void offer(T e) {
+            if (size < k) {
+                if (size == elements.length) {
+                    elements = Arrays.copyOf(elements, 
+                            (int) Math.min(k, 2L * size));
+                }
+                siftUp(size++, e);
+            }
+            else if (k > 0 && comparator.compare(e, elementAt(0)) > 0) {
+                siftDown(0, e);
+            }
+        }
+        
+        /**
+         * Offers every element of the given heap to the larger of the two 
+         * heaps, and returns that heap.
+         * 
+         * @param other The heap to combine with this one.
+         * @return The heap containing the combined elements.
+         */
+        BoundedHeap<T> combine(BoundedHeap<T> other) {
+            BoundedHeap<T> into = (size >= other.size) ? this : other;
+            BoundedHeap<T> from = (into == this) ? other : this;
+            for (int i = 0; i < from.size; i++) {
+                into.offer(from.elementAt(i));
+            }
+            return into;
+        }
+        
+        /**
+         * Returns the retained elements in descending order.
+         * 
+         * @return A new {@code List} of the retained elements.
+         */
+        List<T> toSortedList() {
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(elementAt(i));
+            }
+            result.sort(reversed(comparator));
+            return result;
+        }
+        
+        /**
+         * Returns the element at the given position of this heap.
+         * 
+         * @param i The position of the element.
+         * @return The element at the given position.
+         */
+        @SuppressWarnings("unchecked")
+        private T elementAt(int i) {
+            return (T) elements[i];
+        }
+        
+        /**
+         * Inserts an element at the given position and moves it toward the 
+         * root until the heap property holds.
+         * 
+         * @param i The position to insert at.
+         * @param e The element to insert.
+         */
+        private void siftUp(int i, T e) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                T p = elementAt(parent);
+                if (comparator.compare(e, p) >= 0) {
+                    break;
+                }
+                elements[i] = p;
+                i = parent;
+            }
+            elements[i] = e;
+        }
+        
+        /**
+         * Inserts an element at the given position and moves it away from the
+         * root until the heap property holds.
+         * 
+         * @param i The position to insert at.
+         * @param e The element to insert.
+         */
+        private void siftDown(int i, T e) {
+            int half = size >>> 1;
+            while (i < half) {
+                int child = (i << 1) + 1;
+                T c = elementAt(child);
+                if (child + 1 < size 
+                        && comparator.compare(elementAt(child + 1), c) < 0) {
+                    c = elementAt(++child);
+                }
+                if (comparator.compare(e, c) <= 0) {
+                    break;
+                }
+                elements[i] = c;
+                i = child;
+            }
+            elements[i] = e;
+        }
+        
+    }
+    
+    /**
+     * Returns a lazy view of the given {@code Iterable} as consecutive batches
+     * of the given size. Every batch is a new {@code List} containing
+     * {@code size} elements, except for the last, which may contain fewer.
+     * 
+     * <p> Batches are only filled as the returned {@code Iterable} is 
+     * traversed, by advancing the source's iterator. No element is copied 
+     * more than once and the source is never materialized, so at most one 
+     * batch is held in memory at a time. This makes this method suitable for 
+     * sources that do not support random access, such as a 
+     * {@link LinkedList}, where repeated calls to {@code subList} would each
+     * seek from the head of the list.
+     * 
+     * @param <T> The type of the elements to partition.
+     * @param source The {@code Iterable} to partition.
+     * @param size The amount of elements in each batch.
+     * @return A lazy {@code Iterable} over batches of the source.
+     * @throws IllegalArgumentException if {@code size} is not positive.
+     * @throws NullPointerException if the given source is {@code null}.
+     */
+    public static <T> Iterable<List<T>> partition(Iterable<? extends T> source, 
+            int size) 
+    {
+        Objects.requireNonNull(source, "Invalid null source!");
+        requirePositive(size, "size");
+        return () -> new PartitionIterator<>(source.iterator(), size);
+    }
+    
+    /**
+     * Returns a lazy {@code Stream} of consecutive batches of the given size
+     * from the given {@code Stream}. Every batch is a new {@code List} 
+     * containing {@code size} elements, except for the last, which may 
+     * contain fewer. This is an intermediate operation; closing the returned
+     * stream closes the source.
+     * 
+     * @param <T> The type of the elements to partition.
+     * @param source The {@code Stream} to partition.
+     * @param size The amount of elements in each batch.
+     * @return A lazy {@code Stream} of batches of the source.
+     * @throws IllegalArgumentException if {@code size} is not positive.
+     * @throws NullPointerException if the given source is {@code null}.
+     * @see #partition(java.lang.Iterable, int) 
+     */
+    public static <T> Stream<List<T>> partition(Stream<? extends T> source, 
+            int size) 
+    {
+        Objects.requireNonNull(source, "Invalid null source!");
+        requirePositive(size, "size");
+        return lazyStream(source, 
+                new PartitionIterator<>(source.iterator(), size));
+    }
+    
+    /**
+     * Returns a lazy view of the given {@code Iterable} as sliding windows of 
+     * the given size, where each window starts {@code step} elements after
+     * the previous one. Every window is a new {@code List} containing exactly
+     * {@code size} elements; trailing elements that do not fill a window are
+     * not returned.
+     * 
+     * <p> For example, windows of size {@code 3} and step {@code 1} over
+     * {@code [1, 2, 3, 4, 5]} are {@code [1, 2, 3]}, {@code [2, 3, 4]} and 
+     * {@code [3, 4, 5]}. If {@code step} exceeds {@code size}, the elements 
+     * between windows are skipped. Only the elements of the current window
+     * are held in memory.
+     * 
+     * @param <T> The type of the elements to window.
+     * @param source The {@code Iterable} to window.
+     * @param size The amount of elements in each window.
+     * @param step The distance between the starts of consecutive windows.
+     * @return A lazy {@code Iterable} over windows of the source.
+     * @throws IllegalArgumentException if {@code size} or {@code step} is not
+     *         positive.
+     * @throws NullPointerException if the given source is {@code null}.
+     */
+    public static <T> Iterable<List<T>> windows(Iterable<? extends T> source,
+            int size, int step) 
+    {
+        Objects.requireNonNull(source, "Invalid null source!");
+        requirePositive(size, "size");
+        requirePositive(step, "step");
+        return () -> new WindowIterator<>(source.iterator(), size, step);
+    }
+    
+    /**
+     * Returns a lazy {@code Stream} of sliding windows of the given size from
+     * the given {@code Stream}, where each window starts {@code step} elements
+     * after the previous one. This is an intermediate operation; closing the 
+     * returned stream closes the source.
+     * 
+     * @param <T> The type of the elements to window.
+     * @param source The {@code Stream} to window.
+     * @param size The amount of elements in each window.
+     * @param step The distance between the starts of consecutive windows.
+     * @return A lazy {@code Stream} of windows of the source.
+     * @throws IllegalArgumentException if {@code size} or {@code step} is not
+     *         positive.
+     * @throws NullPointerException if the given source is {@code null}.
+     * @see #windows(java.lang.Iterable, int, int) 
+     */
+    public static <T> Stream<List<T>> windows(Stream<? extends T> source,
+            int size, int step) 
+    {
+        Objects.requireNonNull(source, "Invalid null source!");
+        requirePositive(size, "size");
+        requirePositive(step, "step");
+        return lazyStream(source, 
+                new WindowIterator<>(source.iterator(), size, step));
+    }
+    
+    /**
+     * Returns a sequential, ordered {@code Stream} over the given iterator
+     * that closes the given source when it is closed.
+     * 
+     * @param <R> The type of the elements of the returned stream.
+     * @param source The stream that the given iterator draws from.
+     * @param it The iterator to stream.
+     * @return A {@code Stream} over the given iterator.
+     */
+    private static <R> Stream<R> lazyStream(Stream<?> source, 
+            Iterator<R> it) 
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, 
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(source :: close);
+    }
+    
+    /**
+     * Ensures that a given argument is positive.
+     * 
+     * @param value The argument to test.
+     * @param name The name of the argument, for the detail message.
+     * @throws IllegalArgumentException if the given argument is not positive.
+     */
+    private static void requirePositive(int value, String name) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(name + " : " + value 
+                    + " <= 0 !");
+        }
+    }
+    
+    /**
+     * An iterator over consecutive batches of the elements of another 
+     * iterator.
+     * 
+     * @param <T> The type of the elements to partition.
+     */
+    private static final class PartitionIterator<T> 
+            implements Iterator<List<T>> 
+    {
+        
+        /**
+         * The iterator to draw elements from.
+         */
+        private final Iterator<? extends T> source;
+        
+        /**
+         * The maximum amount of elements in each batch.
+         */
+        private final int size;
+        
+        /**
+         * Constructs a {@code PartitionIterator} over the given iterator.
+         * 
+         * @param source The iterator to draw elements from.
+         * @param size The maximum amount of elements in each batch.
+         */
+        PartitionIterator(Iterator<? extends T> source, int size) {
+            this.source = source;
+            this.size = size;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return source.hasNext();
+        }
+        
+        @Override
+        public List<T> next() {
+            if (!source.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            // Cap the initial capacity so huge batch sizes do not over-allocate
+            List<T> batch = new ArrayList<>(Math.min(size, 1 << 10));
+            while (batch.size() < size && source.hasNext()) {
+                batch.add(source.next());
+            }
+            return batch;
+        }
+        
+    }
+    
+    /**
+     * An iterator over sliding windows of the elements of another iterator.
+     * 
+     * @param <T> The type of the elements to window.
+     */
+    private static final class WindowIterator<T> 
+            implements Iterator<List<T>> 
+    {
+        
+        /**
+         * The iterator to draw elements from.
+         */
+        private final Iterator<? extends T> source;
+        
+        /**
+         * The amount of elements in each window.
+         */
+        private final int size;
+        
+        /**
+         * The distance between the starts of consecutive windows.
+         */
+        private final int step;
+        
+        /**
+         * The elements of the window being assembled.
+         */
+        private final ArrayDeque<T> window;
+        
+        /**
+         * Whether {@link #window} holds a complete window that has not been
+         * returned yet.
+         */
+        private boolean ready;
+        
+        /**
+         * Constructs a {@code WindowIterator} over the given iterator.
+         * 
+         * @param source The iterator to draw elements from.
+         * @param size The amount of elements in each window.
+         * @param step The distance between the starts of consecutive windows.
+         */
+        WindowIterator(Iterator<? extends T> source, int size, int step) {
+            this.source = source;
+            this.size = size;
+            this.step = step;
+            this.window = new ArrayDeque<>(Math.min(size, 1 << 10));
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (!ready) {
+                while (window.size() < size && source.hasNext()) {
+                    window.addLast(source.next());
+                }
+                ready = window.size() == size;
+            }
+            return ready;
+        }
+        
+        @Override
+        public List<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<T> result = new ArrayList<>(window);
+            if (step < size) {
+                for (int i = 0; i < step; i++) {
+                    window.removeFirst();
+                }
+            }
+            else {
+                window.clear();
+                for (int i = size; i < step && source.hasNext(); i++) {
+                    source.next();
+                }
+            }
+            ready = false;
+            return result;
+        }
+        
+    }
+    
+    /**
+     * Partitions the given {@code Iterable} into batches of the given size and
+     * applies the given action to each batch on a new pool of the given 
+     * amount of threads, which is shut down before this method returns.
+     * 
+     * @param <T> The type of the elements to process.
+     * @param source The {@code Iterable} to process.
+     * @param batchSize The amount of elements in each batch.
+     * @param parallelism The amount of threads to process batches with.
+     * @param action The action to apply to each batch.
+     * @return The amount of batches processed.
+     * @throws IllegalArgumentException if {@code batchSize} or 
+     *         {@code parallelism} is not positive.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @see #processInBatches(java.lang.Iterable, int, 
+     *      java.util.function.Consumer, java.util.concurrent.ExecutorService, 
+     *      int) 
+     */
+    public static <T> long processInBatches(Iterable<? extends T> source, 
+            int batchSize, int parallelism, Consumer<? super List<T>> action) 
+    {
+        requirePositive(parallelism, "parallelism");
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            return processInBatches(source, batchSize, action, executor, 
+                    parallelism * 2);
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+    
+    /**
+     * Partitions the given {@code Iterable} into batches of the given size and
+     * applies the given action to each batch on the given executor, blocking 
+     * until every batch has been processed.
+     * 
+     * <p> The source is traversed lazily on the calling thread, which blocks
+     * whenever {@code maxInFlight} batches have been submitted but not yet
+     * processed. At most {@code maxInFlight} batches are therefore held in 
+     * memory at once, regardless of the size of the source or the capacity 
+     * of the executor's queue. Batches may be processed in any order.
+     * 
+     * <p> If an action throws an exception, no further batches are 
+     * submitted, the batches already submitted are allowed to finish, and the
+     * first exception is rethrown with any later ones suppressed. If the 
+     * source or the executor throws an exception, such as a
+     * {@code RejectedExecutionException}, the batches already submitted are
+     * likewise allowed to finish before it is rethrown, with the exception of
+     * any action suppressed, so that no batch is still running once this 
+     * method returns or throws, unless the calling thread is interrupted.
+     * 
+     * @param <T> The type of the elements to process.
+     * @param source The {@code Iterable} to process.
+     * @param batchSize The amount of elements in each batch.
+     * @param action The action to apply to each batch.
+     * @param executor The executor to process batches on, which is not shut 
+     *        down by this method.
+     * @param maxInFlight The maximum amount of batches submitted to the 
+     *        executor but not yet processed.
+     * @return The amount of batches processed.
+     * @throws IllegalArgumentException if {@code batchSize} or 
+     *         {@code maxInFlight} is not positive.
+     * @throws NullPointerException if any argument is {@code null}.
+     * @throws CancellationException if the calling thread is interrupted 
+     *         while waiting, in which case its interrupt status is restored.
+     */
+    public static <T> long processInBatches(Iterable<? extends T> source, 
+            int batchSize, Consumer<? super List<T>> action, 
+            ExecutorService executor, int maxInFlight) 
+    {
+        Objects.requireNonNull(action, "Invalid null action!");
+        Objects.requireNonNull(executor, "Invalid null executor!");
+        requirePositive(maxInFlight, "maxInFlight");
+        Iterator<List<T>> batches = CollectionUtilities.<T>partition(source, 
+                batchSize).iterator();
+        Semaphore permits = new Semaphore(maxInFlight);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long submitted = 0;
+        Throwable stopped = null;
+        try {
+            try {
+                while (failure.get() == null && batches.hasNext()) {
+                    permits.acquire();
+                    try {
+                        List<T> batch = batches.next();
+                        executor.execute(() -> {
+                            try {
+                                action.accept(batch);
+                            }
+                            catch (Throwable t) {
+                                Throwable first;
+                                if (!failure.compareAndSet(null, t)
+                                        && (first = failure.get()) != t) {
+                                    first.addSuppressed(t);
+                                }
+                            }
+                            finally {
+                                permits.release();
+                            }
+                        });
+                    }
+                    catch (RuntimeException | Error e) {
+                        permits.release();
+                        throw e;
+                    }
+                    submitted++;
+                }
+            }
+            catch (RuntimeException | Error e) {
+                stopped = e; // Rethrown once the submitted batches finish
+            }
+            permits.acquire(maxInFlight); // Wait for every batch to finish
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            CancellationException ce = new CancellationException(
+                    "Interrupted while processing batches");
+            ce.initCause(e);
+            if (stopped != null) {
+                ce.addSuppressed(stopped);
+            }
+            throw ce;
+        }
+        Throwable t = failure.get();
+        if (stopped != null) {
+            if (t != null && t != stopped) {
+                stopped.addSuppressed(t);
+            }
+            if (stopped instanceof Error) {
+                throw (Error) stopped;
+            }
+            throw (RuntimeException) stopped;
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        if (t != null) {
+            throw new CompletionException(t);
+        }
+        return submitted;
+    }
+    
+    /**
+     * The minimum size of a {@code Collection} of unknown type for which 
+     * {@link #requireNonNullCollection(java.util.Collection)} scans the 
+     * elements in parallel.
+     */
+    private static final int PARALLEL_SCAN_THRESHOLD = 1 << 16;
+    
     /**
      * Ensures that a given {@code Collection} is not {@code null} and contains
      * no {@code null} elements.
      * 
+     * <p> Collections that implement {@link NullHostile}, such as those 
+     * returned by {@link NonNullCollections}, reject {@code null} elements on
+     * insertion, so this method returns immediately for them. Otherwise, every
+     * element is scanned, in parallel if the collection is large.
+     * 
      * @param c The {@code Collection} to test for non-nullity.
      * @throws NullPointerException if the given {@code Collection} refers to
      *         {@code null} or contains {@code null} a element or elements.
      */
     public static void requireNonNullCollection(Collection<?> c) {
-        boolean containsNullObject = c.stream().anyMatch(Objects :: isNull);
+        Objects.requireNonNull(c, "Invalid null collection!");
+        if (c instanceof NullHostile) {
+            return;
+        }
+        boolean containsNullObject;
+        if (c.size() >= PARALLEL_SCAN_THRESHOLD) {
+            containsNullObject = c.parallelStream().anyMatch(Objects :: isNull);
+        }
+        else {
+            containsNullObject = false;
+            for (Object o : c) {
+                if (o == null) {
+                    containsNullObject = true;
+                    break;
+                }
+            }
+        }
         if (containsNullObject) {
             throw new NullPointerException("Invald null element in collection");
         }
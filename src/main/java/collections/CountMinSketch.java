@@ -0,0 +1,298 @@
+package collections;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * The {@code CountMinSketch} class contains an implementation of the Count-Min
+ * sketch, which estimates the frequencies of elements in a stream in constant
+ * memory.
+ *
+ * <p> A sketch is a table of {@code depth} rows of {@code width} counters.
+ * Each element increments one counter per row, and its frequency is estimated
+ * as the minimum of those counters. Estimates never undercount; with a width
+ * of {@code ceil(e / epsilon)} and a depth of {@code ceil(ln(1 / delta))}, an
+ * estimate exceeds the true count by more than {@code epsilon} times the
+ * {@link #size() total count} with probability at most {@code delta}.
+ *
+ * <p> Sketches with the same dimensions can be {@link #merge(CountMinSketch)
+ * merged}, which yields the sketch of the concatenation of their streams, and
+ * can be transferred as compact byte arrays with {@link #toByteArray()}.
+ *
+ * <p> This implementation is <em>not</em> synchronized.
+ *
+ * @author Oliver Abdulrahim
+ * @see HyperLogLog
+ */
+public final class CountMinSketch {
+
+    /**
+     * Identifies the serialized form of a {@code CountMinSketch}.
+     */
+    private static final byte SERIAL_TAG = 'C';
+
+    /**
+     * The version of the serialized form of a {@code CountMinSketch}.
+     */
+    private static final byte SERIAL_VERSION = 1;
+
+    /**
+     * The amount of rows in {@link #table}.
+     */
+    private final int depth;
+
+    /**
+     * The amount of counters in each row of {@link #table}.
+     */
+    private final int width;
+
+    /**
+     * The counters of this sketch, stored row after row.
+     */
+    private final long[] table;
+
+    /**
+     * The sum of every count added to this sketch.
+     */
+    private long size;
+
+    /**
+     * Creates a new, empty {@code CountMinSketch} with the given dimensions.
+     *
+     * @param depth The amount of rows, which bounds the failure probability.
+     * @param width The amount of counters per row, which bounds the error.
+     * @throws IllegalArgumentException if either dimension is not positive or
+     *         the table would be too large.
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Invalid dimensions : " + depth
+                    + " x " + width);
+        }
+        if ((long) depth * width > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Sketch too large : " + depth
+                    + " x " + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.table = new long[depth * width];
+    }
+
+    /**
+     * Creates a new, empty {@code CountMinSketch} whose estimates exceed the
+     * true count by at most {@code epsilon * size()} with the given
+     * confidence.
+     *
+     * @param epsilon The relative error, within ({@code 0}, {@code 1}).
+     * @param confidence The probability that an estimate is within the error,
+     *        within ({@code 0}, {@code 1}).
+     * @return A new, empty {@code CountMinSketch}.
+     * @throws IllegalArgumentException if either argument is out of range.
+     */
+    public static CountMinSketch withError(double epsilon, double confidence) {
+        if (!(epsilon > 0.0d && epsilon < 1.0d)) {
+            throw new IllegalArgumentException("Invalid epsilon : " + epsilon);
+        }
+        if (!(confidence > 0.0d && confidence < 1.0d)) {
+            throw new IllegalArgumentException("Invalid confidence : "
+                    + confidence);
+        }
+        int width = (int) Math.ceil(Math.E / epsilon);
+        int depth = (int) Math.ceil(-Math.log(1.0d - confidence));
+        return new CountMinSketch(Math.max(depth, 1), width);
+    }
+
+    /**
+     * Adds a single occurrence of the given element to this sketch.
+     *
+     * @param element The element to add.
+     * @throws NullPointerException if the given element is {@code null}.
+     */
+    public void add(Object element) {
+        add(element, 1);
+    }
+
+    /**
+     * Adds the given amount of occurrences of the given element to this
+     * sketch.
+     *
+     * @param element The element to add.
+     * @param count The amount of occurrences, which must not be negative.
+     * @throws IllegalArgumentException if the given count is negative.
+     * @throws NullPointerException if the given element is {@code null}.
+     */
+    public void add(Object element, long count) {
+        addHash(Hashing.hash64(
+                Objects.requireNonNull(element, "Invalid null element!")),
+                count);
+    }
+
+    /**
+     * Adds the given amount of occurrences of an element with the given
+     * precomputed, well-distributed 64-bit hash to this sketch.
+     *
+     * @param hash The hash of the element to add.
+     * @param count The amount of occurrences, which must not be negative.
+     * @throws IllegalArgumentException if the given count is negative.
+     */
+    public void addHash(long hash, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count : " + count + " < 0 !");
+        }
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0, offset = 0; row < depth; row++, offset += width) {
+            table[offset + indexOf(h1 + row * h2)] += count;
+        }
+        size += count;
+    }
+
+    /**
+     * Returns the estimated amount of occurrences of the given element, which
+     * is never less than the true amount.
+     *
+     * @param element The element to estimate.
+     * @return The estimated amount of occurrences.
+     * @throws NullPointerException if the given element is {@code null}.
+     */
+    public long estimateCount(Object element) {
+        return estimateCountHash(Hashing.hash64(
+                Objects.requireNonNull(element, "Invalid null element!")));
+    }
+
+    /**
+     * Returns the estimated amount of occurrences of an element with the given
+     * precomputed 64-bit hash.
+     *
+     * @param hash The hash of the element to estimate.
+     * @return The estimated amount of occurrences.
+     */
+    public long estimateCountHash(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0, offset = 0; row < depth; row++, offset += width) {
+            min = Math.min(min, table[offset + indexOf(h1 + row * h2)]);
+        }
+        return min;
+    }
+
+    /**
+     * Maps a combined hash to a column of a row.
+     *
+     * @param hash The combined hash for a row.
+     * @return A column within [{@code 0}, {@code width}).
+     */
+    private int indexOf(int hash) {
+        return (int) (((hash & 0xFFFFFFFFL) * width) >>> 32);
+    }
+
+    /**
+     * Returns the sum of every count added to this sketch.
+     *
+     * @return The total count of this sketch.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the amount of rows of this sketch.
+     *
+     * @return The depth of this sketch.
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns the amount of counters per row of this sketch.
+     *
+     * @return The width of this sketch.
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Merges the given sketch into this one, so that this sketch estimates
+     * the frequencies of both streams combined. The sketches must have the
+     * same dimensions.
+     *
+     * @param other The sketch to merge into this one.
+     * @return This sketch.
+     * @throws IllegalArgumentException if the dimensions differ.
+     */
+    public CountMinSketch merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Dimensions = " + depth + " x "
+                    + width + ", Other = " + other.depth + " x "
+                    + other.width);
+        }
+        for (int i = 0; i < table.length; i++) {
+            table[i] += other.table[i];
+        }
+        size += other.size;
+        return this;
+    }
+
+    /**
+     * Returns the compact serialized form of this sketch.
+     *
+     * @return The serialized form of this sketch.
+     * @see #fromByteArray(byte[])
+     */
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 4 + 4 + 8
+                + table.length * Long.BYTES);
+        buffer.put(SERIAL_TAG).put(SERIAL_VERSION)
+              .putInt(depth).putInt(width).putLong(size);
+        for (long counter : table) {
+            buffer.putLong(counter);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Reconstructs a sketch from its serialized form.
+     *
+     * @param bytes The serialized form of a sketch.
+     * @return The reconstructed sketch.
+     * @throws IllegalArgumentException if the given bytes are malformed.
+     * @see #toByteArray()
+     */
+    public static CountMinSketch fromByteArray(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() != SERIAL_TAG || buffer.get() != SERIAL_VERSION) {
+                throw new IllegalArgumentException("Not a CountMinSketch!");
+            }
+            int depth = buffer.getInt();
+            int width = buffer.getInt();
+            long size = buffer.getLong();
+            if (buffer.remaining() != (long) depth * width * 8L) {
+                throw new IllegalArgumentException("Corrupt CountMinSketch!");
+            }
+            CountMinSketch cms = new CountMinSketch(depth, width);
+            cms.size = size;
+            buffer.asLongBuffer().get(cms.table);
+            return cms;
+        }
+        catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated CountMinSketch!", e);
+        }
+    }
+
+    /**
+     * Returns a {@code String} representation of this sketch.
+     *
+     * @return A {@code String} representation of this sketch.
+     */
+    @Override
+    public String toString() {
+        return "CountMinSketch[depth = " + depth + ", width = " + width
+                + ", size = " + size + ']';
+    }
+
+}
@@ -0,0 +1,141 @@
+package collections;
+
+/**
+ * The {@code FrequencySketch} class contains a compact, approximate frequency
+ * histogram of recently accessed elements, used as the TinyLFU admission
+ * filter of {@link BoundedCache}.
+ *
+ * <p> The sketch is a Count-Min sketch whose counters are {@code 4} bits wide
+ * and packed sixteen to a {@code long}, so that a count saturates at
+ * {@value #MAX_COUNT}; that is enough to tell popular elements from ones seen
+ * once. Each element is counted by {@value #DEPTH} counters of one shared
+ * array, whose positions are derived from a single 64-bit hash by double
+ * hashing, as in {@link BloomFilter}. Its estimated frequency is the least of
+ * those counters.
+ *
+ * <p> Once the amount of increments reaches ten times the capacity of the
+ * cache, every counter is halved, so that elements which were popular long
+ * ago are gradually forgotten. An increment of an element whose counters are
+ * all saturated changes nothing, and is not counted.
+ *
+ * <p> This implementation is <em>not</em> synchronized; it is guarded by the
+ * lock of its owning cache.
+ *
+ * @author Oliver Abdulrahim
+ * @see BoundedCache
+ */
+final class FrequencySketch {
+
+    /**
+     * The amount of counters of each element.
+     */
+    private static final int DEPTH = 4;
+
+    /**
+     * The largest value of a counter.
+     */
+    private static final int MAX_COUNT = 15;
+
+    /**
+     * The bits that remain in each counter of a word shifted right by one,
+     * which excludes the bit shifted in from the counter above.
+     */
+    private static final long HALF_MASK = 0x7777777777777777L;
+
+    /**
+     * The counters, sixteen to a word.
+     */
+    private final long[] words;
+
+    /**
+     * The amount of counters minus one, which masks a hash to a counter.
+     */
+    private final int counterMask;
+
+    /**
+     * The amount of increments after which every counter is halved.
+     */
+    private final int sampleSize;
+
+    /**
+     * The amount of increments since the counters were last halved, itself
+     * halved along with them.
+     */
+    private int increments;
+
+    /**
+     * Creates a new {@code FrequencySketch} sized for a cache holding the
+     * given amount of entries, with one word of counters for each.
+     *
+     * @param maximumSize The expected maximum amount of cached entries.
+     */
+    FrequencySketch(long maximumSize) {
+        int maximum = (int) Math.min(Math.max(maximumSize, 1L), 1 << 26);
+        int length = Math.max(Integer.highestOneBit(maximum - 1) << 1, 8);
+        this.words = new long[length];
+        this.counterMask = (length << 4) - 1;
+        this.sampleSize = 10 * maximum;
+    }
+
+    /**
+     * Returns the estimated amount of occurrences of the given element, to a
+     * maximum of {@value #MAX_COUNT}.
+     *
+     * @param e The element to count.
+     * @return The estimated frequency of the element.
+     */
+    int frequency(Object e) {
+        long hash = Hashing.fmix64(e.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        int min = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, count((h1 + i * h2) & counterMask));
+        }
+        return min;
+    }
+
+    /**
+     * Increments the estimated frequency of the given element, halving every
+     * counter if the sample period has elapsed.
+     *
+     * @param e The element to count.
+     */
+    void increment(Object e) {
+        long hash = Hashing.fmix64(e.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        boolean changed = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int counter = (h1 + i * h2) & counterMask;
+            if (count(counter) < MAX_COUNT) {
+                words[counter >>> 4] += 1L << ((counter & 15) << 2);
+                changed = true;
+            }
+        }
+        if (changed && ++increments == sampleSize) {
+            halve();
+        }
+    }
+
+    /**
+     * Returns the value of the given counter.
+     *
+     * @param counter The index of the counter.
+     * @return The value of the counter.
+     */
+    private int count(int counter) {
+        return (int) (words[counter >>> 4] >>> ((counter & 15) << 2)) & 0xF;
+    }
+
+    /**
+     * Halves every counter, rounding down, and the amount of increments.
+     */
+    private void halve() {
+        for (int i = 0; i < words.length; i++) {
+            words[i] = (words[i] >>> 1) & HALF_MASK;
+        }
+        increments >>>= 1;
+    }
+
+}
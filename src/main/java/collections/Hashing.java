@@ -0,0 +1,146 @@
+package collections;
+
+/**
+ * The {@code Hashing} class contains the hash functions and table sizing
+ * arithmetic shared by the open-addressing structures of this package.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class Hashing {
+
+    /**
+     * The 32-bit golden ratio, used as a multiplicative hashing constant.
+     */
+    private static final int INT_PHI = 0x9E3779B9;
+
+    /**
+     * The 64-bit golden ratio, used as a multiplicative hashing constant.
+     */
+    private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The largest power of two that can be used as the length of an array.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private Hashing() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Scrambles the bits of a given {@code int} key so that keys which differ
+     * only in their high bits still land in different slots of a
+     * power-of-two sized table.
+     *
+     * @param key The key to hash.
+     * @return The mixed hash of the given key.
+     */
+    static int mix(int key) {
+        final int h = key * INT_PHI;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Scrambles the bits of a given {@code long} key and folds the result
+     * into an {@code int} suitable for indexing a power-of-two sized table.
+     *
+     * @param key The key to hash.
+     * @return The mixed hash of the given key.
+     */
+    static int mix(long key) {
+        long h = key * LONG_PHI;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    /**
+     * Applies the 64-bit finalization mix of MurmurHash3 to a given value, so
+     * that every bit of the input affects every bit of the output.
+     *
+     * @param k The value to mix.
+     * @return The mixed value.
+     */
+    static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * Returns a well-distributed 64-bit hash of a given object, for use by the
+     * probabilistic structures of this package.
+     *
+     * <p> Character sequences, byte arrays and integral numbers are hashed by
+     * their contents, so their hashes are stable across virtual machines and
+     * may be shared between processes. Any other object is hashed by its
+     * {@code hashCode()}, which provides at most 32 bits of entropy and is
+     * only as stable as that method.
+     *
+     * @param o The object to hash.
+     * @return The 64-bit hash of the given object.
+     * @throws NullPointerException if the given object is {@code null}.
+     */
+    static long hash64(Object o) {
+        if (o instanceof CharSequence) {
+            CharSequence cs = (CharSequence) o;
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < cs.length(); i++) {
+                h = (h ^ cs.charAt(i)) * 0x100000001b3L;
+            }
+            return fmix64(h ^ cs.length());
+        }
+        if (o instanceof byte[]) {
+            byte[] bytes = (byte[]) o;
+            long h = 0xcbf29ce484222325L;
+            for (byte b : bytes) {
+                h = (h ^ (b & 0xff)) * 0x100000001b3L;
+            }
+            return fmix64(h ^ bytes.length);
+        }
+        if (o instanceof Long || o instanceof Integer || o instanceof Short
+                || o instanceof Byte) {
+            return fmix64(((Number) o).longValue() * LONG_PHI);
+        }
+        return fmix64(o.hashCode() * LONG_PHI);
+    }
+
+    /**
+     * Returns the power-of-two table length required to hold the given
+     * amount of entries without exceeding the given load factor.
+     *
+     * @param expected The expected amount of entries.
+     * @param loadFactor The maximum fraction of occupied slots.
+     * @return A power-of-two table length of at least {@code 2}.
+     * @throws IllegalArgumentException if the table would be too large.
+     */
+    static int tableSizeFor(int expected, float loadFactor) {
+        long needed = (long) Math.ceil(Math.max(expected, 1) / loadFactor);
+        if (needed > MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException("Capacity too large : "
+                    + expected);
+        }
+        return Math.max(2, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    /**
+     * Ensures that a given load factor is within ({@code 0}, {@code 1}).
+     *
+     * @param loadFactor The load factor to test.
+     * @return The given load factor.
+     * @throws IllegalArgumentException if the load factor is out of range.
+     */
+    static float requireLoadFactor(float loadFactor) {
+        if (!(loadFactor > 0.0f && loadFactor < 1.0f)) {
+            throw new IllegalArgumentException("Invalid load factor : "
+                    + loadFactor);
+        }
+        return loadFactor;
+    }
+
+}
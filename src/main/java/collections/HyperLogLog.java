@@ -0,0 +1,322 @@
+package collections;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * The {@code HyperLogLog} class contains an implementation of the HyperLogLog
+ * algorithm, which estimates the amount of distinct elements in a multiset in
+ * constant memory.
+ *
+ * <p> A sketch with precision {@code p} holds <code>2<sup>p</sup></code>
+ * one-byte registers and estimates cardinalities with a relative standard
+ * error of about <code>1.04 / sqrt(2<sup>p</sup>)</code>. The default
+ * precision of {@code 14} uses 16 kilobytes and has a standard error of
+ * roughly 0.8%, whether it has seen a hundred or a billion distinct elements.
+ *
+ * <p> Estimates are made with the improved estimator of Otmar Ertl, "New
+ * cardinality estimation algorithms for HyperLogLog sketches" (2017), which
+ * accounts for the registers that are still empty and for those that have
+ * reached the largest rank. It is nearly exact for small cardinalities, as
+ * linear counting is, and has no bias to correct where the classic estimator
+ * hands over from linear counting to the raw estimate, at about
+ * <code>2.5 * 2<sup>p</sup></code> elements. There the classic estimator
+ * overestimates by over 2% at the default precision, and the empirical tables
+ * of HyperLogLog++ that correct it are not needed.
+ *
+ * <p> Elements are reduced to 64-bit hashes in the same manner as
+ * {@link BloomFilter}; character sequences, byte arrays and integral numbers
+ * are hashed by content, so sketches built in different processes can be
+ * {@link #merge(HyperLogLog) merged} after being transferred with
+ * {@link #toByteArray()}. Merging yields the sketch of the union of the
+ * inputs, so a stream can be split between threads or nodes at will.
+ *
+ * <p> This implementation is <em>not</em> synchronized.
+ *
+ * @author Oliver Abdulrahim
+ * @see BloomFilter
+ */
+public final class HyperLogLog {
+
+    /**
+     * The smallest supported precision.
+     */
+    public static final int MIN_PRECISION = 4;
+
+    /**
+     * The largest supported precision.
+     */
+    public static final int MAX_PRECISION = 18;
+
+    /**
+     * The precision used when none is specified.
+     */
+    public static final int DEFAULT_PRECISION = 14;
+
+    /**
+     * Identifies the serialized form of a {@code HyperLogLog}.
+     */
+    private static final byte SERIAL_TAG = 'H';
+
+    /**
+     * The version of the serialized form of a {@code HyperLogLog}.
+     */
+    private static final byte SERIAL_VERSION = 1;
+
+    /**
+     * The amount of hash bits used to select a register.
+     */
+    private final int precision;
+
+    /**
+     * The maximum observed rank for each register.
+     */
+    private final byte[] registers;
+
+    /**
+     * Creates a new, empty {@code HyperLogLog} with the default precision.
+     */
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates a new, empty {@code HyperLogLog} with the given precision.
+     *
+     * @param precision The amount of hash bits used to select a register,
+     *        from {@link #MIN_PRECISION} to {@link #MAX_PRECISION}.
+     * @throws IllegalArgumentException if the precision is out of range.
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Invalid precision : "
+                    + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Creates a new, empty {@code HyperLogLog} with the smallest precision
+     * whose relative standard error does not exceed the given one.
+     *
+     * @param relativeError The desired relative standard error, such as
+     *        {@code 0.01} for 1%.
+     * @return A new, empty {@code HyperLogLog}.
+     * @throws IllegalArgumentException if the error cannot be achieved.
+     */
+    public static HyperLogLog withRelativeError(double relativeError) {
+        if (!(relativeError > 0.0d)) {
+            throw new IllegalArgumentException("Invalid error : "
+                    + relativeError);
+        }
+        double m = Math.pow(1.04d / relativeError, 2);
+        int p = Math.max(MIN_PRECISION,
+                64 - Long.numberOfLeadingZeros((long) Math.ceil(m) - 1));
+        if (p > MAX_PRECISION) {
+            throw new IllegalArgumentException("Error too small : "
+                    + relativeError);
+        }
+        return new HyperLogLog(p);
+    }
+
+    /**
+     * Adds the given element to this sketch.
+     *
+     * @param element The element to add.
+     * @return {@code true} if the state of this sketch changed.
+     * @throws NullPointerException if the given element is {@code null}.
+     */
+    public boolean add(Object element) {
+        return addHash(Hashing.hash64(
+                Objects.requireNonNull(element, "Invalid null element!")));
+    }
+
+    /**
+     * Adds an element with the given precomputed, well-distributed 64-bit
+     * hash to this sketch.
+     *
+     * @param hash The hash of the element to add.
+     * @return {@code true} if the state of this sketch changed.
+     */
+    public boolean addHash(long hash) {
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        // The sentinel bit bounds the rank when the remaining bits are zero
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the estimated amount of distinct elements added to this sketch.
+     *
+     * @return The estimated cardinality of this sketch.
+     */
+    public long cardinality() {
+        final int m = registers.length;
+        final int q = Long.SIZE - precision;
+        int[] counts = new int[q + 2];
+        for (byte r : registers) {
+            counts[r]++;
+        }
+        if (counts[0] == m) {
+            return 0L;
+        }
+        double z = m * tau(1.0d - (double) counts[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5d * (z + counts[k]);
+        }
+        z += m * sigma((double) counts[0] / m);
+        return Math.round(m * (m / (2.0d * Math.log(2.0d))) / z);
+    }
+
+    /**
+     * Returns the correction of the estimate for the registers that are still
+     * empty, given their fraction of all registers.
+     *
+     * @param x The fraction of empty registers, less than {@code 1}.
+     * @return {@code x} plus the sum of <code>x<sup>2<sup>k</sup></sup> *
+     *         2<sup>k-1</sup></code> for every {@code k >= 1}.
+     */
+    private static double sigma(double x) {
+        double y = 1.0d;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        }
+        while (z != previous);
+        return z;
+    }
+
+    /**
+     * Returns the correction of the estimate for the registers that have
+     * reached the largest rank, given the fraction of those that have not.
+     *
+     * @param x The fraction of registers below the largest rank.
+     * @return The correction term, which is {@code 0} if {@code x} is
+     *         {@code 0} or {@code 1}.
+     */
+    private static double tau(double x) {
+        if (x == 0.0d || x == 1.0d) {
+            return 0.0d;
+        }
+        double y = 1.0d;
+        double z = 1.0d - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5d;
+            z -= (1.0d - x) * (1.0d - x) * y;
+        }
+        while (z != previous);
+        return z / 3.0d;
+    }
+
+    /**
+     * Returns the precision of this sketch.
+     *
+     * @return The amount of hash bits used to select a register.
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Returns the relative standard error of the estimates of this sketch.
+     *
+     * @return The relative standard error, such as {@code 0.008}.
+     */
+    public double relativeError() {
+        return 1.04d / Math.sqrt(registers.length);
+    }
+
+    /**
+     * Merges the given sketch into this one, so that this sketch estimates
+     * the cardinality of the union of both. The sketches must have the same
+     * precision.
+     *
+     * @param other The sketch to merge into this one.
+     * @return This sketch.
+     * @throws IllegalArgumentException if the precisions differ.
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Precision = " + precision
+                    + ", Other = " + other.precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns the compact serialized form of this sketch.
+     *
+     * @return The serialized form of this sketch.
+     * @see #fromByteArray(byte[])
+     */
+    public byte[] toByteArray() {
+        return ByteBuffer.allocate(3 + registers.length)
+                .put(SERIAL_TAG).put(SERIAL_VERSION).put((byte) precision)
+                .put(registers)
+                .array();
+    }
+
+    /**
+     * Reconstructs a sketch from its serialized form.
+     *
+     * @param bytes The serialized form of a sketch.
+     * @return The reconstructed sketch.
+     * @throws IllegalArgumentException if the given bytes are malformed, or
+     *         hold a register that no sketch of their precision can reach.
+     * @see #toByteArray()
+     */
+    public static HyperLogLog fromByteArray(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.get() != SERIAL_TAG || buffer.get() != SERIAL_VERSION) {
+                throw new IllegalArgumentException("Not a HyperLogLog!");
+            }
+            HyperLogLog hll = new HyperLogLog(buffer.get());
+            if (buffer.remaining() != hll.registers.length) {
+                throw new IllegalArgumentException("Corrupt HyperLogLog!");
+            }
+            buffer.get(hll.registers);
+            int maxRank = Long.SIZE - hll.precision + 1;
+            for (byte r : hll.registers) {
+                if (r < 0 || r > maxRank) {
+                    throw new IllegalArgumentException("Corrupt HyperLogLog!");
+                }
+            }
+            return hll;
+        }
+        catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated HyperLogLog!", e);
+        }
+    }
+
+    /**
+     * Returns a {@code String} representation of this sketch.
+     *
+     * @return A {@code String} representation of this sketch.
+     */
+    @Override
+    public String toString() {
+        return "HyperLogLog[precision = " + precision
+                + ", cardinality = " + cardinality() + ']';
+    }
+
+}
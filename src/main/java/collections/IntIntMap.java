@@ -0,0 +1,629 @@
+package collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+
+/**
+ * The {@code IntIntMap} class contains an implementation of a hash map from
+ * {@code int} keys to {@code int} values that never boxes its keys or values.
+ *
+ * <p> Entries are stored in two parallel arrays using open addressing with
+ * linear probing, and removals use backward-shift deletion rather than
+ * tombstones, so lookups never slow down after many removals. The key
+ * {@code 0} is used internally to mark free slots and is stored separately,
+ * so every {@code int} is a valid key. At the default load factor, each entry
+ * occupies roughly 11 to 21 bytes, compared to more than 60 bytes for a
+ * {@code HashMap<Integer, Integer>} entry with its boxed key and value.
+ *
+ * <p> Iteration is performed with {@link #forEach(EntryConsumer)} or with a
+ * {@link Cursor}, neither of which allocates an object per entry. The order
+ * of iteration is unspecified.
+ *
+ * <p> This implementation is <em>not</em> synchronized.
+ *
+ * @author Oliver Abdulrahim
+ * @see IntSet
+ */
+public class IntIntMap {
+
+    /**
+     * The key that marks a free slot in {@link #keys}.
+     */
+    private static final int FREE = 0;
+
+    /**
+     * The load factor used when none is specified.
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * The keys of this map, where {@link #FREE} marks an empty slot.
+     */
+    private int[] keys;
+
+    /**
+     * The values of this map, parallel to {@link #keys}.
+     */
+    private int[] values;
+
+    /**
+     * Whether the key {@code 0} is mapped, which cannot be stored in
+     * {@link #keys}.
+     */
+    private boolean hasFreeKey;
+
+    /**
+     * The value mapped to the key {@code 0}, if {@link #hasFreeKey} is set.
+     */
+    private int freeValue;
+
+    /**
+     * The value returned by accessors for absent keys.
+     */
+    private final int noEntryValue;
+
+    /**
+     * The maximum fraction of occupied slots before resizing.
+     */
+    private final float loadFactor;
+
+    /**
+     * The amount of entries in {@link #keys}, excluding the key {@code 0}.
+     */
+    private int size;
+
+    /**
+     * The amount of entries in {@link #keys} at which this map resizes.
+     */
+    private int threshold;
+
+    /**
+     * The bit mask for reducing hashes to a slot, one less than the table
+     * length.
+     */
+    private int mask;
+
+    /**
+     * Creates a new, empty {@code IntIntMap} that returns {@code 0} for absent
+     * keys.
+     */
+    public IntIntMap() {
+        this(16, DEFAULT_LOAD_FACTOR, 0);
+    }
+
+    /**
+     * Creates a new, empty {@code IntIntMap} able to hold the given amount of
+     * entries without resizing, that returns {@code 0} for absent keys.
+     *
+     * @param expectedSize The amount of entries expected.
+     */
+    public IntIntMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR, 0);
+    }
+
+    /**
+     * Creates a new, empty {@code IntIntMap} with the given arguments.
+     *
+     * @param expectedSize The amount of entries expected.
+     * @param loadFactor The maximum fraction of occupied slots, within
+     *        ({@code 0}, {@code 1}).
+     * @param noEntryValue The value returned by accessors for absent keys.
+     * @throws IllegalArgumentException if the given size is negative or the
+     *         load factor is out of range.
+     */
+    public IntIntMap(int expectedSize, float loadFactor, int noEntryValue) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Invalid size : "
+                    + expectedSize);
+        }
+        this.loadFactor = Hashing.requireLoadFactor(loadFactor);
+        this.noEntryValue = noEntryValue;
+        allocate(Hashing.tableSizeFor(expectedSize, loadFactor));
+    }
+
+    /**
+     * Allocates empty tables of the given length.
+     *
+     * @param capacity The power-of-two length of the new tables.
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    /**
+     * Returns the value returned by accessors of this map for absent keys.
+     *
+     * @return The no-entry value of this map.
+     */
+    public int noEntryValue() {
+        return noEntryValue;
+    }
+
+    /**
+     * Returns the amount of entries in this map.
+     *
+     * @return The amount of entries in this map.
+     */
+    public int size() {
+        return hasFreeKey ? size + 1 : size;
+    }
+
+    /**
+     * Tests if this map contains no entries.
+     *
+     * @return {@code true} if this map is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the slot of the given non-zero key, or {@code -1} if it is
+     * absent.
+     *
+     * @param key The key to search for.
+     * @return The slot of the key, or {@code -1}.
+     */
+    private int slotOf(int key) {
+        int slot = Hashing.mix(key) & mask;
+        int k;
+        while ((k = keys[slot]) != FREE) {
+            if (k == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Tests if the given key is mapped in this map.
+     *
+     * @param key The key to test.
+     * @return {@code true} if the key is mapped, {@code false} otherwise.
+     */
+    public boolean containsKey(int key) {
+        return (key == FREE) ? hasFreeKey : slotOf(key) >= 0;
+    }
+
+    /**
+     * Returns the value mapped to the given key, or the no-entry value of this
+     * map if the key is absent.
+     *
+     * @param key The key whose value to return.
+     * @return The mapped value, or {@link #noEntryValue()}.
+     */
+    public int get(int key) {
+        return getOrDefault(key, noEntryValue);
+    }
+
+    /**
+     * Returns the value mapped to the given key, or the given default value if
+     * the key is absent.
+     *
+     * @param key The key whose value to return.
+     * @param defaultValue The value to return for an absent key.
+     * @return The mapped value, or {@code defaultValue}.
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == FREE) {
+            return hasFreeKey ? freeValue : defaultValue;
+        }
+        int slot = slotOf(key);
+        return (slot >= 0) ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Maps the given key to the given value, replacing any previous mapping.
+     *
+     * @param key The key to map.
+     * @param value The value to map the key to.
+     * @return The previous value of the key, or {@link #noEntryValue()} if it
+     *         was absent.
+     */
+    public int put(int key, int value) {
+        if (key == FREE) {
+            int previous = hasFreeKey ? freeValue : noEntryValue;
+            hasFreeKey = true;
+            freeValue = value;
+            return previous;
+        }
+        int slot = Hashing.mix(key) & mask;
+        int k;
+        while ((k = keys[slot]) != FREE) {
+            if (k == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return noEntryValue;
+    }
+
+    /**
+     * Adds the given amount to the value of the given key, treating an absent
+     * key as if it were mapped to the no-entry value of this map. This is
+     * convenient for maintaining counters.
+     *
+     * @param key The key whose value to adjust.
+     * @param delta The amount to add.
+     * @return The new value of the key.
+     */
+    public int addTo(int key, int delta) {
+        if (key == FREE) {
+            freeValue = (hasFreeKey ? freeValue : noEntryValue) + delta;
+            hasFreeKey = true;
+            return freeValue;
+        }
+        int slot = Hashing.mix(key) & mask;
+        int k;
+        while ((k = keys[slot]) != FREE) {
+            if (k == key) {
+                return values[slot] += delta;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int value = noEntryValue + delta;
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return value;
+    }
+
+    /**
+     * Removes the mapping of the given key, if present.
+     *
+     * @param key The key to remove.
+     * @return The value the key was mapped to, or {@link #noEntryValue()} if
+     *         it was absent.
+     */
+    public int remove(int key) {
+        if (key == FREE) {
+            if (!hasFreeKey) {
+                return noEntryValue;
+            }
+            hasFreeKey = false;
+            return freeValue;
+        }
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return noEntryValue;
+        }
+        int previous = values[slot];
+        size--;
+        shiftKeys(slot);
+        return previous;
+    }
+
+    /**
+     * Fills the given free slot by shifting back the entries that follow it in
+     * the same probe sequence, so that no lookup is cut short by the gap.
+     *
+     * @param slot The slot that was freed.
+     */
+    private void shiftKeys(int slot) {
+        int last;
+        int k;
+        while (true) {
+            last = slot;
+            slot = (slot + 1) & mask;
+            while (true) {
+                if ((k = keys[slot]) == FREE) {
+                    keys[last] = FREE;
+                    values[last] = 0;
+                    return;
+                }
+                int home = Hashing.mix(k) & mask;
+                // Move the entry unless its home lies cyclically in (last, slot]
+                if ((last <= slot)
+                        ? (last >= home || home > slot)
+                        : (last >= home && home > slot)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[slot];
+        }
+    }
+
+    /**
+     * Resizes the tables of this map to the given length, reinserting every
+     * entry.
+     *
+     * @param capacity The power-of-two length of the new tables.
+     */
+    private void rehash(int capacity) {
+        if (capacity > Hashing.MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Map is too large to grow!");
+        }
+        final int[] oldKeys = keys;
+        final int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int k = oldKeys[i];
+            if (k != FREE) {
+                int slot = Hashing.mix(k) & mask;
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = k;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Removes every entry from this map, retaining its current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, 0);
+        size = 0;
+        hasFreeKey = false;
+    }
+
+    /**
+     * Tests if the given value is mapped to by any key in this map. This
+     * operation scans every entry.
+     *
+     * @param value The value to search for.
+     * @return {@code true} if any key maps to the given value.
+     */
+    public boolean containsValue(int value) {
+        if (hasFreeKey && freeValue == value) {
+            return true;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE && values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns an {@code IntSet} containing all keys that map to the given
+     * value. If there are no such keys, the returned set is empty.
+     *
+     * @param value The value that the desired keys are mapped to.
+     * @return A new {@code IntSet} of all keys mapped to the given value.
+     * @see CollectionUtilities#getKeysByValue(java.util.Map, java.lang.Object)
+     */
+    public IntSet getKeysByValue(int value) {
+        IntSet result = new IntSet();
+        if (hasFreeKey && freeValue == value) {
+            result.add(FREE);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE && values[i] == value) {
+                result.add(keys[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a key in this map that maps to the given value, if any.
+     *
+     * @param value The value that the desired key is mapped to.
+     * @return A key mapped to the given value, or an empty
+     *         {@code OptionalInt} if there is no such key.
+     * @see CollectionUtilities#getKeyByValue(java.util.Map, java.lang.Object)
+     */
+    public OptionalInt getKeyByValue(int value) {
+        if (hasFreeKey && freeValue == value) {
+            return OptionalInt.of(FREE);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE && values[i] == value) {
+                return OptionalInt.of(keys[i]);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Returns a new array containing the keys of this map, in iteration order.
+     *
+     * @return The keys of this map.
+     */
+    public int[] keys() {
+        int[] result = new int[size()];
+        int n = 0;
+        if (hasFreeKey) {
+            result[n++] = FREE;
+        }
+        for (int k : keys) {
+            if (k != FREE) {
+                result[n++] = k;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new array containing the values of this map, in iteration
+     * order.
+     *
+     * @return The values of this map.
+     */
+    public int[] values() {
+        int[] result = new int[size()];
+        int n = 0;
+        if (hasFreeKey) {
+            result[n++] = freeValue;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                result[n++] = values[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Performs the given action for each entry in this map. The behavior of
+     * this method is undefined if this map is modified during iteration.
+     *
+     * @param action The action to apply to each entry.
+     */
+    public void forEach(EntryConsumer action) {
+        if (hasFreeKey) {
+            action.accept(FREE, freeValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns a new {@code Cursor} positioned before the first entry of this
+     * map.
+     *
+     * @return A new cursor over this map.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Receives the entries of an {@code IntIntMap} without boxing.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        /**
+         * Performs this operation on the given entry.
+         *
+         * @param key The key of the entry.
+         * @param value The value of the entry.
+         */
+        void accept(int key, int value);
+
+    }
+
+    /**
+     * Allocation-free iterator over the entries of this map. A cursor is
+     * positioned before the first entry; each call to {@link #advance()}
+     * moves it to the next one. The behavior of a cursor is undefined if the
+     * map is modified during iteration.
+     */
+    public final class Cursor {
+
+        /**
+         * The current slot, where {@code -1} denotes the key {@code 0} and
+         * {@code -2} denotes the position before the first entry.
+         */
+        private int slot = -2;
+
+        /**
+         * Constructs a {@code Cursor} before the first entry.
+         */
+        Cursor() {
+
+        }
+
+        /**
+         * Moves this cursor to the next entry.
+         *
+         * @return {@code true} if the cursor is positioned on an entry,
+         *         {@code false} if there are no more entries.
+         */
+        public boolean advance() {
+            if (slot < keys.length && ++slot == -1) {
+                if (hasFreeKey) {
+                    return true;
+                }
+                slot++;
+            }
+            while (slot < keys.length && keys[slot] == FREE) {
+                slot++;
+            }
+            return slot < keys.length;
+        }
+
+        /**
+         * Ensures that this cursor is positioned on an entry.
+         *
+         * @throws NoSuchElementException if it is not.
+         */
+        private void checkValid() {
+            if (slot == -2 || slot >= keys.length) {
+                throw new NoSuchElementException("Cursor has no entry!");
+            }
+        }
+
+        /**
+         * Returns the key of the current entry.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException if there is no current entry.
+         */
+        public int key() {
+            checkValid();
+            return (slot == -1) ? FREE : keys[slot];
+        }
+
+        /**
+         * Returns the value of the current entry.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException if there is no current entry.
+         */
+        public int value() {
+            checkValid();
+            return (slot == -1) ? freeValue : values[slot];
+        }
+
+        /**
+         * Replaces the value of the current entry.
+         *
+         * @param value The new value of the current entry.
+         * @throws NoSuchElementException if there is no current entry.
+         */
+        public void setValue(int value) {
+            checkValid();
+            if (slot == -1) {
+                freeValue = value;
+            }
+            else {
+                values[slot] = value;
+            }
+        }
+
+    }
+
+    /**
+     * Returns a {@code String} representation of this map in the form
+     * {@code {key=value, ...}}.
+     *
+     * @return A {@code String} representation of this map.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('{');
+        forEach((k, v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append(v);
+        });
+        return sb.append('}').toString();
+    }
+
+}
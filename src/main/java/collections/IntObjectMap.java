@@ -0,0 +1,654 @@
+package collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.function.IntFunction;
+
+/**
+ * The {@code IntObjectMap} class contains an implementation of a hash map from
+ * {@code int} keys to object values that never boxes its keys.
+ *
+ * <p> Entries are stored in two parallel arrays using open addressing with
+ * linear probing, and removals use backward-shift deletion rather than
+ * tombstones, so lookups never slow down after many removals. The key
+ * {@code 0} is used internally to mark free slots and is stored separately,
+ * so every {@code int} is a valid key. At the default load factor, each entry
+ * occupies roughly 11 to 22 bytes of table space, compared to more than
+ * 56 bytes for a {@code HashMap<Integer, V>} entry with its boxed key.
+ *
+ * <p> {@code null} values are permitted; as with {@code HashMap}, use
+ * {@link #containsKey(int)} to distinguish an absent key from a key mapped to
+ * {@code null}. Iteration is performed with {@link #forEach(EntryConsumer)}
+ * or with a {@link Cursor}, neither of which allocates an object per entry.
+ * The order of iteration is unspecified.
+ *
+ * <p> This implementation is <em>not</em> synchronized.
+ *
+ * @param <V> The type of value stored within this map.
+ * @author Oliver Abdulrahim
+ * @see IntIntMap
+ */
+public class IntObjectMap<V> {
+
+    /**
+     * The key that marks a free slot in {@link #keys}.
+     */
+    private static final int FREE = 0;
+
+    /**
+     * The load factor used when none is specified.
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * The keys of this map, where {@link #FREE} marks an empty slot.
+     */
+    private int[] keys;
+
+    /**
+     * The values of this map, parallel to {@link #keys}.
+     */
+    private Object[] values;
+
+    /**
+     * Whether the key {@code 0} is mapped, which cannot be stored in
+     * {@link #keys}.
+     */
+    private boolean hasFreeKey;
+
+    /**
+     * The value mapped to the key {@code 0}, if {@link #hasFreeKey} is set.
+     */
+    private V freeValue;
+
+    /**
+     * The maximum fraction of occupied slots before resizing.
+     */
+    private final float loadFactor;
+
+    /**
+     * The amount of entries in {@link #keys}, excluding the key {@code 0}.
+     */
+    private int size;
+
+    /**
+     * The amount of entries in {@link #keys} at which this map resizes.
+     */
+    private int threshold;
+
+    /**
+     * The bit mask for reducing hashes to a slot, one less than the table
+     * length.
+     */
+    private int mask;
+
+    /**
+     * Creates a new, empty {@code IntObjectMap}.
+     */
+    public IntObjectMap() {
+        this(16, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates a new, empty {@code IntObjectMap} able to hold the given amount of
+     * entries without resizing.
+     *
+     * @param expectedSize The amount of entries expected.
+     */
+    public IntObjectMap(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates a new, empty {@code IntObjectMap} with the given arguments.
+     *
+     * @param expectedSize The amount of entries expected.
+     * @param loadFactor The maximum fraction of occupied slots, within
+     *        ({@code 0}, {@code 1}).
+     * @throws IllegalArgumentException if the given size is negative or the
+     *         load factor is out of range.
+     */
+    public IntObjectMap(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Invalid size : "
+                    + expectedSize);
+        }
+        this.loadFactor = Hashing.requireLoadFactor(loadFactor);
+        allocate(Hashing.tableSizeFor(expectedSize, loadFactor));
+    }
+
+    /**
+     * Allocates empty tables of the given length.
+     *
+     * @param capacity The power-of-two length of the new tables.
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    /**
+     * Returns the value stored in the given slot.
+     *
+     * @param slot The slot whose value to return.
+     * @return The value in the given slot.
+     */
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    /**
+     * Returns the amount of entries in this map.
+     *
+     * @return The amount of entries in this map.
+     */
+    public int size() {
+        return hasFreeKey ? size + 1 : size;
+    }
+
+    /**
+     * Tests if this map contains no entries.
+     *
+     * @return {@code true} if this map is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the slot of the given non-zero key, or {@code -1} if it is
+     * absent.
+     *
+     * @param key The key to search for.
+     * @return The slot of the key, or {@code -1}.
+     */
+    private int slotOf(int key) {
+        int slot = Hashing.mix(key) & mask;
+        int k;
+        while ((k = keys[slot]) != FREE) {
+            if (k == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Tests if the given key is mapped in this map.
+     *
+     * @param key The key to test.
+     * @return {@code true} if the key is mapped, {@code false} otherwise.
+     */
+    public boolean containsKey(int key) {
+        return (key == FREE) ? hasFreeKey : slotOf(key) >= 0;
+    }
+
+    /**
+     * Returns the value mapped to the given key, or {@code null} if the key
+     * is absent.
+     *
+     * @param key The key whose value to return.
+     * @return The mapped value, or {@code null}.
+     */
+    public V get(int key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Returns the value mapped to the given key, or the given default value if
+     * the key is absent.
+     *
+     * @param key The key whose value to return.
+     * @param defaultValue The value to return for an absent key.
+     * @return The mapped value, or {@code defaultValue}.
+     */
+    public V getOrDefault(int key, V defaultValue) {
+        if (key == FREE) {
+            return hasFreeKey ? freeValue : defaultValue;
+        }
+        int slot = slotOf(key);
+        return (slot >= 0) ? valueAt(slot) : defaultValue;
+    }
+
+    /**
+     * Maps the given key to the given value, replacing any previous mapping.
+     *
+     * @param key The key to map.
+     * @param value The value to map the key to.
+     * @return The previous value of the key, or {@code null} if it was absent.
+     */
+    public V put(int key, V value) {
+        if (key == FREE) {
+            V previous = freeValue;
+            hasFreeKey = true;
+            freeValue = value;
+            return previous;
+        }
+        int slot = Hashing.mix(key) & mask;
+        int k;
+        while ((k = keys[slot]) != FREE) {
+            if (k == key) {
+                V previous = valueAt(slot);
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value mapped to the given key, first computing and mapping
+     * it with the given function if the key is absent or mapped to
+     * {@code null}, as {@link java.util.Map#computeIfAbsent} does. If the
+     * function returns {@code null}, no mapping is recorded.
+     *
+     * <p> The key is passed to the function without boxing, and is looked up
+     * only once: a computed value is stored in the free slot that ended the
+     * lookup. The function should not modify this map; if it does, the value
+     * is mapped as by {@link #put(int, Object)} instead.
+     *
+     * @param key The key whose value to return.
+     * @param mappingFunction The function that computes the value of an
+     *        absent key.
+     * @return The current or computed value of the key, or {@code null} if
+     *         the function returned {@code null}.
+     * @throws NullPointerException if the given function is {@code null}.
+     */
+    public V computeIfAbsent(int key,
+            IntFunction<? extends V> mappingFunction)
+    {
+        Objects.requireNonNull(mappingFunction);
+        if (key == FREE) {
+            if (hasFreeKey && freeValue != null) {
+                return freeValue;
+            }
+            V value = mappingFunction.apply(key);
+            if (value != null) {
+                hasFreeKey = true;
+                freeValue = value;
+            }
+            return value;
+        }
+        int slot = Hashing.mix(key) & mask;
+        int k;
+        while ((k = keys[slot]) != FREE) {
+            if (k == key) {
+                V current = valueAt(slot);
+                if (current == null
+                        && (current = mappingFunction.apply(key)) != null) {
+                    put(key, current);
+                }
+                return current;
+            }
+            slot = (slot + 1) & mask;
+        }
+        final int[] table = keys;
+        final int expectedSize = size;
+        V value = mappingFunction.apply(key);
+        if (value == null) {
+            return null;
+        }
+        if (keys != table || size != expectedSize || keys[slot] != FREE) {
+            put(key, value); // The function modified this map
+            return value;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            rehash(keys.length << 1);
+        }
+        return value;
+    }
+
+    /**
+     * Removes the mapping of the given key, if present.
+     *
+     * @param key The key to remove.
+     * @return The value the key was mapped to, or {@code null} if it was
+     *         absent.
+     */
+    public V remove(int key) {
+        if (key == FREE) {
+            V previous = freeValue;
+            hasFreeKey = false;
+            freeValue = null;
+            return previous;
+        }
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = valueAt(slot);
+        size--;
+        shiftKeys(slot);
+        return previous;
+    }
+
+    /**
+     * Fills the given free slot by shifting back the entries that follow it in
+     * the same probe sequence, so that no lookup is cut short by the gap.
+     *
+     * @param slot The slot that was freed.
+     */
+    private void shiftKeys(int slot) {
+        int last;
+        int k;
+        while (true) {
+            last = slot;
+            slot = (slot + 1) & mask;
+            while (true) {
+                if ((k = keys[slot]) == FREE) {
+                    keys[last] = FREE;
+                    values[last] = null;
+                    return;
+                }
+                int home = Hashing.mix(k) & mask;
+                // Move the entry unless its home lies cyclically in (last, slot]
+                if ((last <= slot)
+                        ? (last >= home || home > slot)
+                        : (last >= home && home > slot)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = k;
+            values[last] = values[slot];
+        }
+    }
+
+    /**
+     * Resizes the tables of this map to the given length, reinserting every
+     * entry.
+     *
+     * @param capacity The power-of-two length of the new tables.
+     */
+    private void rehash(int capacity) {
+        if (capacity > Hashing.MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Map is too large to grow!");
+        }
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int k = oldKeys[i];
+            if (k != FREE) {
+                int slot = Hashing.mix(k) & mask;
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = k;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Removes every entry from this map, retaining its current capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, null);
+        size = 0;
+        hasFreeKey = false;
+        freeValue = null;
+    }
+
+    /**
+     * Tests if the given value is mapped to by any key in this map, as
+     * determined by {@link Objects#equals(Object, Object)}. This operation
+     * scans every entry.
+     *
+     * @param value The value to search for.
+     * @return {@code true} if any key maps to the given value.
+     */
+    public boolean containsValue(Object value) {
+        if (hasFreeKey && Objects.equals(freeValue, value)) {
+            return true;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE && Objects.equals(values[i], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns an {@code IntSet} containing all keys that map to the given
+     * value, as determined by {@link Objects#equals(Object, Object)}. If there
+     * are no such keys, the returned set is empty.
+     *
+     * @param value The value that the desired keys are mapped to.
+     * @return A new {@code IntSet} of all keys mapped to the given value.
+     * @see CollectionUtilities#getKeysByValue(java.util.Map, java.lang.Object)
+     */
+    public IntSet getKeysByValue(Object value) {
+        IntSet result = new IntSet();
+        forEach((k, v) -> {
+            if (Objects.equals(v, value)) {
+                result.add(k);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Returns a key in this map that maps to the given value, if any.
+     *
+     * @param value The value that the desired key is mapped to.
+     * @return A key mapped to the given value, or an empty
+     *         {@code OptionalInt} if there is no such key.
+     * @see CollectionUtilities#getKeyByValue(java.util.Map, java.lang.Object)
+     */
+    public OptionalInt getKeyByValue(Object value) {
+        if (hasFreeKey && Objects.equals(freeValue, value)) {
+            return OptionalInt.of(FREE);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE && Objects.equals(values[i], value)) {
+                return OptionalInt.of(keys[i]);
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Returns a new array containing the keys of this map, in iteration order.
+     *
+     * @return The keys of this map.
+     */
+    public int[] keys() {
+        int[] result = new int[size()];
+        int n = 0;
+        if (hasFreeKey) {
+            result[n++] = FREE;
+        }
+        for (int k : keys) {
+            if (k != FREE) {
+                result[n++] = k;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new {@code Collection} containing the values of this map, in
+     * iteration order.
+     *
+     * @return The values of this map.
+     */
+    public Collection<V> values() {
+        Collection<V> result = new ArrayList<>(size());
+        forEach((k, v) -> result.add(v));
+        return result;
+    }
+
+    /**
+     * Performs the given action for each entry in this map. The behavior of
+     * this method is undefined if this map is modified during iteration.
+     *
+     * @param action The action to apply to each entry.
+     */
+    public void forEach(EntryConsumer<? super V> action) {
+        if (hasFreeKey) {
+            action.accept(FREE, freeValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                action.accept(keys[i], valueAt(i));
+            }
+        }
+    }
+
+    /**
+     * Returns a new {@code Cursor} positioned before the first entry of this
+     * map.
+     *
+     * @return A new cursor over this map.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Receives the entries of an {@code IntObjectMap} without boxing their keys.
+     *
+     * @param <V> The type of value received.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Performs this operation on the given entry.
+         *
+         * @param key The key of the entry.
+         * @param value The value of the entry.
+         */
+        void accept(int key, V value);
+
+    }
+
+    /**
+     * Allocation-free iterator over the entries of this map. A cursor is
+     * positioned before the first entry; each call to {@link #advance()}
+     * moves it to the next one. The behavior of a cursor is undefined if the
+     * map is modified during iteration.
+     */
+    public final class Cursor {
+
+        /**
+         * The current slot, where {@code -1} denotes the key {@code 0} and
+         * {@code -2} denotes the position before the first entry.
+         */
+        private int slot = -2;
+
+        /**
+         * Constructs a {@code Cursor} before the first entry.
+         */
+        Cursor() {
+
+        }
+
+        /**
+         * Moves this cursor to the next entry.
+         *
+         * @return {@code true} if the cursor is positioned on an entry,
+         *         {@code false} if there are no more entries.
+         */
+        public boolean advance() {
+            if (slot < keys.length && ++slot == -1) {
+                if (hasFreeKey) {
+                    return true;
+                }
+                slot++;
+            }
+            while (slot < keys.length && keys[slot] == FREE) {
+                slot++;
+            }
+            return slot < keys.length;
+        }
+
+        /**
+         * Ensures that this cursor is positioned on an entry.
+         *
+         * @throws NoSuchElementException if it is not.
+         */
+        private void checkValid() {
+            if (slot == -2 || slot >= keys.length) {
+                throw new NoSuchElementException("Cursor has no entry!");
+            }
+        }
+
+        /**
+         * Returns the key of the current entry.
+         *
+         * @return The current key.
+         * @throws NoSuchElementException if there is no current entry.
+         */
+        public int key() {
+            checkValid();
+            return (slot == -1) ? FREE : keys[slot];
+        }
+
+        /**
+         * Returns the value of the current entry.
+         *
+         * @return The current value.
+         * @throws NoSuchElementException if there is no current entry.
+         */
+        public V value() {
+            checkValid();
+            return (slot == -1) ? freeValue : valueAt(slot);
+        }
+
+        /**
+         * Replaces the value of the current entry.
+         *
+         * @param value The new value of the current entry.
+         * @throws NoSuchElementException if there is no current entry.
+         */
+        public void setValue(V value) {
+            checkValid();
+            if (slot == -1) {
+                freeValue = value;
+            }
+            else {
+                values[slot] = value;
+            }
+        }
+
+    }
+
+    /**
+     * Returns a {@code String} representation of this map in the form
+     * {@code {key=value, ...}}.
+     *
+     * @return A {@code String} representation of this map.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('{');
+        forEach((k, v) -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(k).append('=').append((v == this) ? "(this Map)" : v);
+        });
+        return sb.append('}').toString();
+    }
+
+}
@@ -0,0 +1,464 @@
+package collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+
+/**
+ * The {@code LongSet} class contains an implementation of a hash set of
+ * {@code long} values that never boxes its elements.
+ *
+ * <p> Elements are stored in a single array using open addressing with linear
+ * probing, and removals use backward-shift deletion rather than tombstones.
+ * The element {@code 0} is used internally to mark free slots and is tracked
+ * separately, so every {@code long} may be stored. At the default load factor,
+ * each element occupies roughly 11 to 22 bytes, compared to more than 48 bytes
+ * for a {@code HashSet<Long>} element.
+ *
+ * <p> Iteration is performed with {@link #forEach(LongConsumer)} or with a
+ * {@link Cursor}, neither of which allocates an object per element. The order
+ * of iteration is unspecified.
+ *
+ * <p> This implementation is <em>not</em> synchronized.
+ *
+ * @author Oliver Abdulrahim
+ * @see LongObjectMap
+ */
+public class LongSet {
+
+    /**
+     * The element that marks a free slot in {@link #elements}.
+     */
+    private static final long FREE = 0;
+
+    /**
+     * The load factor used when none is specified.
+     */
+    private static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * The elements of this set, where {@link #FREE} marks an empty slot.
+     */
+    private long[] elements;
+
+    /**
+     * Whether the element {@code 0} is present, which cannot be stored in
+     * {@link #elements}.
+     */
+    private boolean hasFreeElement;
+
+    /**
+     * The maximum fraction of occupied slots before resizing.
+     */
+    private final float loadFactor;
+
+    /**
+     * The amount of elements in {@link #elements}, excluding {@code 0}.
+     */
+    private int size;
+
+    /**
+     * The amount of elements in {@link #elements} at which this set resizes.
+     */
+    private int threshold;
+
+    /**
+     * The bit mask for reducing hashes to a slot, one less than the table
+     * length.
+     */
+    private int mask;
+
+    /**
+     * Creates a new, empty {@code LongSet}.
+     */
+    public LongSet() {
+        this(16, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates a new, empty {@code LongSet} able to hold the given amount of
+     * elements without resizing.
+     *
+     * @param expectedSize The amount of elements expected.
+     */
+    public LongSet(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates a new, empty {@code LongSet} with the given arguments.
+     *
+     * @param expectedSize The amount of elements expected.
+     * @param loadFactor The maximum fraction of occupied slots, within
+     *        ({@code 0}, {@code 1}).
+     * @throws IllegalArgumentException if the given size is negative or the
+     *         load factor is out of range.
+     */
+    public LongSet(int expectedSize, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Invalid size : "
+                    + expectedSize);
+        }
+        this.loadFactor = Hashing.requireLoadFactor(loadFactor);
+        allocate(Hashing.tableSizeFor(expectedSize, loadFactor));
+    }
+
+    /**
+     * Creates a new {@code LongSet} containing the given elements.
+     *
+     * @param elements The elements to add to the new set.
+     * @return A new {@code LongSet} of the given elements.
+     */
+    public static LongSet of(long... elements) {
+        LongSet set = new LongSet(elements.length);
+        for (long element : elements) {
+            set.add(element);
+        }
+        return set;
+    }
+
+    /**
+     * Allocates an empty table of the given length.
+     *
+     * @param capacity The power-of-two length of the new table.
+     */
+    private void allocate(int capacity) {
+        elements = new long[capacity];
+        mask = capacity - 1;
+        threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    /**
+     * Returns the amount of elements in this set.
+     *
+     * @return The amount of elements in this set.
+     */
+    public int size() {
+        return hasFreeElement ? size + 1 : size;
+    }
+
+    /**
+     * Tests if this set contains no elements.
+     *
+     * @return {@code true} if this set is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Tests if the given element is present in this set.
+     *
+     * @param element The element to test.
+     * @return {@code true} if the element is present, {@code false} otherwise.
+     */
+    public boolean contains(long element) {
+        if (element == FREE) {
+            return hasFreeElement;
+        }
+        int slot = Hashing.mix(element) & mask;
+        long e;
+        while ((e = elements[slot]) != FREE) {
+            if (e == element) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the given element to this set, if not already present.
+     *
+     * @param element The element to add.
+     * @return {@code true} if this set changed as a result of this call.
+     */
+    public boolean add(long element) {
+        if (element == FREE) {
+            boolean added = !hasFreeElement;
+            hasFreeElement = true;
+            return added;
+        }
+        int slot = Hashing.mix(element) & mask;
+        long e;
+        while ((e = elements[slot]) != FREE) {
+            if (e == element) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        elements[slot] = element;
+        if (++size > threshold) {
+            rehash(elements.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Adds every element of the given set to this set.
+     *
+     * @param other The set whose elements to add.
+     * @return {@code true} if this set changed as a result of this call.
+     */
+    public boolean addAll(LongSet other) {
+        boolean changed = other.hasFreeElement && add(FREE);
+        for (long e : other.elements) {
+            if (e != FREE) {
+                changed |= add(e);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes the given element from this set, if present.
+     *
+     * @param element The element to remove.
+     * @return {@code true} if this set changed as a result of this call.
+     */
+    public boolean remove(long element) {
+        if (element == FREE) {
+            boolean removed = hasFreeElement;
+            hasFreeElement = false;
+            return removed;
+        }
+        int slot = Hashing.mix(element) & mask;
+        long e;
+        while ((e = elements[slot]) != FREE) {
+            if (e == element) {
+                size--;
+                shiftElements(slot);
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Fills the given free slot by shifting back the elements that follow it
+     * in the same probe sequence, so that no lookup is cut short by the gap.
+     *
+     * @param slot The slot that was freed.
+     */
+    private void shiftElements(int slot) {
+        int last;
+        long e;
+        while (true) {
+            last = slot;
+            slot = (slot + 1) & mask;
+            while (true) {
+                if ((e = elements[slot]) == FREE) {
+                    elements[last] = FREE;
+                    return;
+                }
+                int home = Hashing.mix(e) & mask;
+                // Move the element unless its home lies cyclically in (last, slot]
+                if ((last <= slot)
+                        ? (last >= home || home > slot)
+                        : (last >= home && home > slot)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            elements[last] = e;
+        }
+    }
+
+    /**
+     * Resizes the table of this set to the given length, reinserting every
+     * element.
+     *
+     * @param capacity The power-of-two length of the new table.
+     */
+    private void rehash(int capacity) {
+        if (capacity > Hashing.MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Set is too large to grow!");
+        }
+        final long[] old = elements;
+        allocate(capacity);
+        for (long e : old) {
+            if (e != FREE) {
+                int slot = Hashing.mix(e) & mask;
+                while (elements[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                elements[slot] = e;
+            }
+        }
+    }
+
+    /**
+     * Removes every element from this set, retaining its current capacity.
+     */
+    public void clear() {
+        Arrays.fill(elements, FREE);
+        size = 0;
+        hasFreeElement = false;
+    }
+
+    /**
+     * Returns a new array containing the elements of this set, in iteration
+     * order.
+     *
+     * @return The elements of this set.
+     */
+    public long[] toArray() {
+        long[] result = new long[size()];
+        int n = 0;
+        if (hasFreeElement) {
+            result[n++] = FREE;
+        }
+        for (long e : elements) {
+            if (e != FREE) {
+                result[n++] = e;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Performs the given action for each element in this set. The behavior of
+     * this method is undefined if this set is modified during iteration.
+     *
+     * @param action The action to apply to each element.
+     */
+    public void forEach(LongConsumer action) {
+        if (hasFreeElement) {
+            action.accept(FREE);
+        }
+        for (long e : elements) {
+            if (e != FREE) {
+                action.accept(e);
+            }
+        }
+    }
+
+    /**
+     * Returns a new {@code Cursor} positioned before the first element of this
+     * set.
+     *
+     * @return A new cursor over this set.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Allocation-free iterator over the elements of this set. A cursor is
+     * positioned before the first element; each call to {@link #advance()}
+     * moves it to the next one. The behavior of a cursor is undefined if the
+     * set is modified during iteration.
+     */
+    public final class Cursor {
+
+        /**
+         * The current slot, where {@code -1} denotes the element {@code 0}
+         * and {@code -2} denotes the position before the first element.
+         */
+        private int slot = -2;
+
+        /**
+         * Constructs a {@code Cursor} before the first element.
+         */
+        Cursor() {
+
+        }
+
+        /**
+         * Moves this cursor to the next element.
+         *
+         * @return {@code true} if the cursor is positioned on an element,
+         *         {@code false} if there are no more elements.
+         */
+        public boolean advance() {
+            if (slot < elements.length && ++slot == -1) {
+                if (hasFreeElement) {
+                    return true;
+                }
+                slot++;
+            }
+            while (slot < elements.length && elements[slot] == FREE) {
+                slot++;
+            }
+            return slot < elements.length;
+        }
+
+        /**
+         * Returns the current element.
+         *
+         * @return The current element.
+         * @throws NoSuchElementException if there is no current element.
+         */
+        public long element() {
+            if (slot == -2 || slot >= elements.length) {
+                throw new NoSuchElementException("Cursor has no element!");
+            }
+            return (slot == -1) ? FREE : elements[slot];
+        }
+
+    }
+
+    /**
+     * Compares the specified object with this {@code LongSet} for equality.
+     * Returns {@code true} if the given argument is an {@code LongSet} with
+     * exactly the same elements as this set.
+     *
+     * @param o The object to test against this one for equality.
+     * @return {@code true} if the given argument contains the same elements as
+     *         this set, {@code false} otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof LongSet)) {
+            return false;
+        }
+        LongSet other = (LongSet) o;
+        if (other.size() != size() || other.hasFreeElement != hasFreeElement) {
+            return false;
+        }
+        for (long e : elements) {
+            if (e != FREE && !other.contains(e)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of this set, which is the sum of the hash codes of
+     * its elements as in {@link java.util.Set#hashCode()}.
+     *
+     * @return The hash code of this set.
+     */
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (long e : elements) {
+            h += Long.hashCode(e);
+        }
+        return h;
+    }
+
+    /**
+     * Returns a {@code String} representation of this set in the form
+     * {@code [element, ...]}.
+     *
+     * @return A {@code String} representation of this set.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder().append('[');
+        forEach(e -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(e);
+        });
+        return sb.append(']').toString();
+    }
+
+}
@@ -0,0 +1,720 @@
+package collections;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * The {@code NonNullCollections} class contains wrappers and builders for
+ * {@code List}, {@code Set} and {@code Deque} objects that reject
+ * {@code null} elements on insertion.
+ *
+ * <p> Every wrapper returned by this class implements {@link NullHostile}.
+ * Because the invariant is enforced as elements are added, checking such a
+ * collection with
+ * {@link CollectionUtilities#requireNonNullCollection(java.util.Collection)}
+ * is a constant time operation rather than a scan of every element.
+ *
+ * <p> A wrapper is only as strong as its exclusive ownership of the backing
+ * collection. The contents of a collection are checked once when it is
+ * wrapped, and the backing collection should not be modified directly from
+ * that point onward. For this reason, the builders provided by this class
+ * never expose their backing collections.
+ *
+ * @author Oliver Abdulrahim
+ * @see NullHostile
+ */
+public final class NonNullCollections {
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private NonNullCollections() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Returns a view of the given {@code List} that rejects {@code null}
+     * elements. The given list is scanned once for existing {@code null}
+     * elements.
+     *
+     * @param <E> The type of element contained in the list.
+     * @param list The {@code List} to wrap.
+     * @return A null-hostile view of the given list.
+     * @throws NullPointerException if the given list is {@code null} or
+     *         contains a {@code null} element.
+     */
+    public static <E> List<E> nonNullList(List<E> list) {
+        if (list instanceof NullHostile) {
+            return list;
+        }
+        CollectionUtilities.requireNonNullCollection(list);
+        return new NonNullList<>(list);
+    }
+
+    /**
+     * Returns a view of the given {@code Set} that rejects {@code null}
+     * elements. The given set is scanned once for an existing {@code null}
+     * element.
+     *
+     * @param <E> The type of element contained in the set.
+     * @param set The {@code Set} to wrap.
+     * @return A null-hostile view of the given set.
+     * @throws NullPointerException if the given set is {@code null} or
+     *         contains a {@code null} element.
+     */
+    public static <E> Set<E> nonNullSet(Set<E> set) {
+        if (set instanceof NullHostile) {
+            return set;
+        }
+        CollectionUtilities.requireNonNullCollection(set);
+        return new NonNullSet<>(set);
+    }
+
+    /**
+     * Returns a view of the given {@code Deque} that rejects {@code null}
+     * elements. The given deque is scanned once for existing {@code null}
+     * elements.
+     *
+     * @param <E> The type of element contained in the deque.
+     * @param deque The {@code Deque} to wrap.
+     * @return A null-hostile view of the given deque.
+     * @throws NullPointerException if the given deque is {@code null} or
+     *         contains a {@code null} element.
+     */
+    public static <E> Deque<E> nonNullDeque(Deque<E> deque) {
+        if (deque instanceof NullHostile) {
+            return deque;
+        }
+        CollectionUtilities.requireNonNullCollection(deque);
+        return new NonNullDeque<>(deque);
+    }
+
+    /**
+     * Returns a new {@code Builder} for a null-hostile {@code List} backed by
+     * an {@code ArrayList}.
+     *
+     * @param <E> The type of element to add to the list.
+     * @return A new builder for a null-hostile {@code List}.
+     */
+    public static <E> Builder<E, List<E>> listBuilder() {
+        return new Builder<>(ArrayList::new, NonNullList::new);
+    }
+
+    /**
+     * Returns a new {@code Builder} for a null-hostile {@code List} backed by
+     * a {@link LinkedList}.
+     *
+     * @param <E> The type of element to add to the list.
+     * @return A new builder for a null-hostile, sequential {@code List}.
+     */
+    public static <E> Builder<E, List<E>> linkedListBuilder() {
+        return new Builder<>(LinkedList::new, NonNullList::new);
+    }
+
+    /**
+     * Returns a new {@code Builder} for a null-hostile {@code Set} backed by
+     * a {@code LinkedHashSet}, which preserves insertion order.
+     *
+     * @param <E> The type of element to add to the set.
+     * @return A new builder for a null-hostile {@code Set}.
+     */
+    public static <E> Builder<E, Set<E>> setBuilder() {
+        return new Builder<>(LinkedHashSet::new, NonNullSet::new);
+    }
+
+    /**
+     * Returns a new {@code Builder} for a null-hostile {@code Deque} backed by
+     * an {@code ArrayDeque}.
+     *
+     * @param <E> The type of element to add to the deque.
+     * @return A new builder for a null-hostile {@code Deque}.
+     */
+    public static <E> Builder<E, Deque<E>> dequeBuilder() {
+        return new Builder<>(ArrayDeque::new, NonNullDeque::new);
+    }
+
+    /**
+     * Accumulates elements into a fresh backing collection, rejecting
+     * {@code null} elements as they are added, and finally wraps it as a
+     * null-hostile collection. A builder may only be built once.
+     *
+     * @param <E> The type of element to add to the collection.
+     * @param <C> The type of collection to build.
+     */
+    public static final class Builder<E, C extends Collection<E>> {
+
+        /**
+         * The backing collection, or {@code null} after {@link #build()}.
+         */
+        private C elements;
+
+        /**
+         * Wraps the backing collection when this builder is built.
+         */
+        private final Function<? super C, ? extends C> wrapper;
+
+        /**
+         * Constructs a {@code Builder} with the given arguments.
+         *
+         * @param factory Creates the backing collection.
+         * @param wrapper Wraps the backing collection once built.
+         */
+        Builder(Supplier<? extends C> factory,
+                Function<? super C, ? extends C> wrapper)
+        {
+            this.elements = factory.get();
+            this.wrapper = wrapper;
+        }
+
+        /**
+         * Returns the backing collection of this builder.
+         *
+         * @return The backing collection.
+         * @throws IllegalStateException if this builder was already built.
+         */
+        private C elements() {
+            if (elements == null) {
+                throw new IllegalStateException("Builder was already built!");
+            }
+            return elements;
+        }
+
+        /**
+         * Adds the given element to the collection being built.
+         *
+         * @param element The element to add.
+         * @return This builder.
+         * @throws NullPointerException if the given element is {@code null}.
+         */
+        public Builder<E, C> add(E element) {
+            elements().add(requireElement(element));
+            return this;
+        }
+
+        /**
+         * Adds all of the given elements to the collection being built.
+         *
+         * @param elements The elements to add.
+         * @return This builder.
+         * @throws NullPointerException if the given argument is {@code null}
+         *         or contains a {@code null} element.
+         */
+        @SafeVarargs
+        public final Builder<E, C> add(E... elements) {
+            Objects.requireNonNull(elements, "Invalid null array!");
+            for (E element : elements) {
+                add(element);
+            }
+            return this;
+        }
+
+        /**
+         * Adds all of the elements of the given {@code Iterable} to the
+         * collection being built.
+         *
+         * @param elements The elements to add.
+         * @return This builder.
+         * @throws NullPointerException if the given argument is {@code null}
+         *         or contains a {@code null} element.
+         */
+        public Builder<E, C> addAll(Iterable<? extends E> elements) {
+            Objects.requireNonNull(elements, "Invalid null Iterable!");
+            for (E element : elements) {
+                add(element);
+            }
+            return this;
+        }
+
+        /**
+         * Returns the built null-hostile collection. This builder may not be
+         * used afterward.
+         *
+         * @return The built collection.
+         * @throws IllegalStateException if this builder was already built.
+         */
+        public C build() {
+            C built = wrapper.apply(elements());
+            elements = null;
+            return built;
+        }
+
+    }
+
+    /**
+     * Ensures that a given element is not {@code null}.
+     *
+     * @param <E> The type of the element.
+     * @param element The element to test.
+     * @return The given element.
+     * @throws NullPointerException if the given element is {@code null}.
+     */
+    static <E> E requireElement(E element) {
+        return Objects.requireNonNull(element,
+                "Invalid null element in null-hostile collection");
+    }
+
+    /**
+     * Ensures that a given {@code Collection} contains no {@code null}
+     * elements before its elements are inserted into a null-hostile
+     * collection.
+     *
+     * @param <C> The type of the collection.
+     * @param c The collection to test.
+     * @return The given collection.
+     * @throws NullPointerException if the given collection is {@code null} or
+     *         contains a {@code null} element.
+     */
+    static <C extends Collection<?>> C requireElements(C c) {
+        CollectionUtilities.requireNonNullCollection(c);
+        return c;
+    }
+
+    /**
+     * Null-hostile view of a {@code Collection} which delegates all operations
+     * to its backing collection after checking inserted elements.
+     *
+     * @param <E> The type of element contained in the collection.
+     */
+    private static class NonNullCollection<E>
+        implements Collection<E>, NullHostile, Serializable
+    {
+
+        /**
+         * The serial version ID of the {@code NonNullCollection} class.
+         */
+        private static final long serialVersionUID = 3624829583947150761L;
+
+        /**
+         * The backing collection of this view.
+         */
+        final Collection<E> c;
+
+        /**
+         * Constructs a {@code NonNullCollection} with the given backing
+         * collection, which is assumed to contain no {@code null} elements.
+         *
+         * @param c The backing collection.
+         */
+        NonNullCollection(Collection<E> c) {
+            this.c = Objects.requireNonNull(c);
+        }
+
+        @Override
+        public int size() {
+            return c.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return c.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o != null && c.contains(o);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return c.iterator(); // Iterator has no insertion operations
+        }
+
+        @Override
+        public Object[] toArray() {
+            return c.toArray();
+        }
+
+        @Override
+        public <T> T[] toArray(T[] a) {
+            return c.toArray(a);
+        }
+
+        @Override
+        public boolean add(E e) {
+            return c.add(requireElement(e));
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o != null && c.remove(o);
+        }
+
+        @Override
+        public boolean containsAll(Collection<?> other) {
+            return c.containsAll(other);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends E> other) {
+            return c.addAll(requireElements(other));
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> other) {
+            return c.removeAll(other);
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super E> filter) {
+            return c.removeIf(filter);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> other) {
+            return c.retainAll(other);
+        }
+
+        @Override
+        public void clear() {
+            c.clear();
+        }
+
+        @Override
+        public Stream<E> stream() {
+            return c.stream();
+        }
+
+        @Override
+        public Stream<E> parallelStream() {
+            return c.parallelStream();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o == this || c.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return c.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return c.toString();
+        }
+
+    }
+
+    /**
+     * Null-hostile view of a {@code Set}.
+     *
+     * @param <E> The type of element contained in the set.
+     */
+    private static final class NonNullSet<E>
+        extends NonNullCollection<E>
+        implements Set<E>
+    {
+
+        /**
+         * The serial version ID of the {@code NonNullSet} class.
+         */
+        private static final long serialVersionUID = -1093475702356640315L;
+
+        /**
+         * Constructs a {@code NonNullSet} with the given backing set.
+         *
+         * @param s The backing set.
+         */
+        NonNullSet(Set<E> s) {
+            super(s);
+        }
+
+    }
+
+    /**
+     * Null-hostile view of a {@code List}, including its list iterators and
+     * sub-lists.
+     *
+     * @param <E> The type of element contained in the list.
+     */
+    private static final class NonNullList<E>
+        extends NonNullCollection<E>
+        implements List<E>
+    {
+
+        /**
+         * The serial version ID of the {@code NonNullList} class.
+         */
+        private static final long serialVersionUID = 6318210940312284876L;
+
+        /**
+         * The backing list of this view.
+         */
+        private final List<E> list;
+
+        /**
+         * Constructs a {@code NonNullList} with the given backing list.
+         *
+         * @param list The backing list.
+         */
+        NonNullList(List<E> list) {
+            super(list);
+            this.list = list;
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends E> other) {
+            return list.addAll(index, requireElements(other));
+        }
+
+        @Override
+        public E get(int index) {
+            return list.get(index);
+        }
+
+        @Override
+        public E set(int index, E element) {
+            return list.set(index, requireElement(element));
+        }
+
+        @Override
+        public void add(int index, E element) {
+            list.add(index, requireElement(element));
+        }
+
+        @Override
+        public E remove(int index) {
+            return list.remove(index);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return (o == null) ? -1 : list.indexOf(o);
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return (o == null) ? -1 : list.lastIndexOf(o);
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<E> operator) {
+            Objects.requireNonNull(operator);
+            list.replaceAll(e -> requireElement(operator.apply(e)));
+        }
+
+        @Override
+        public ListIterator<E> listIterator() {
+            return listIterator(0);
+        }
+
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            final ListIterator<E> it = list.listIterator(index);
+            return new ListIterator<E>() {
+
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    return it.next();
+                }
+
+                @Override
+                public boolean hasPrevious() {
+                    return it.hasPrevious();
+                }
+
+                @Override
+                public E previous() {
+                    return it.previous();
+                }
+
+                @Override
+                public int nextIndex() {
+                    return it.nextIndex();
+                }
+
+                @Override
+                public int previousIndex() {
+                    return it.previousIndex();
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                }
+
+                @Override
+                public void set(E e) {
+                    it.set(requireElement(e));
+                }
+
+                @Override
+                public void add(E e) {
+                    it.add(requireElement(e));
+                }
+
+            };
+        }
+
+        @Override
+        public List<E> subList(int fromIndex, int toIndex) {
+            return new NonNullList<>(list.subList(fromIndex, toIndex));
+        }
+
+    }
+
+    /**
+     * Null-hostile view of a {@code Deque}. Note that the {@code peek} and
+     * {@code poll} families of methods never return {@code null} as an element
+     * of this deque, so {@code null} unambiguously signals an empty deque.
+     *
+     * @param <E> The type of element contained in the deque.
+     */
+    private static final class NonNullDeque<E>
+        extends NonNullCollection<E>
+        implements Deque<E>
+    {
+
+        /**
+         * The serial version ID of the {@code NonNullDeque} class.
+         */
+        private static final long serialVersionUID = -2671203417758935466L;
+
+        /**
+         * The backing deque of this view.
+         */
+        private final Deque<E> deque;
+
+        /**
+         * Constructs a {@code NonNullDeque} with the given backing deque.
+         *
+         * @param deque The backing deque.
+         */
+        NonNullDeque(Deque<E> deque) {
+            super(deque);
+            this.deque = deque;
+        }
+
+        @Override
+        public void addFirst(E e) {
+            deque.addFirst(requireElement(e));
+        }
+
+        @Override
+        public void addLast(E e) {
+            deque.addLast(requireElement(e));
+        }
+
+        @Override
+        public boolean offerFirst(E e) {
+            return deque.offerFirst(requireElement(e));
+        }
+
+        @Override
+        public boolean offerLast(E e) {
+            return deque.offerLast(requireElement(e));
+        }
+
+        @Override
+        public E removeFirst() {
+            return deque.removeFirst();
+        }
+
+        @Override
+        public E removeLast() {
+            return deque.removeLast();
+        }
+
+        @Override
+        public E pollFirst() {
+            return deque.pollFirst();
+        }
+
+        @Override
+        public E pollLast() {
+            return deque.pollLast();
+        }
+
+        @Override
+        public E getFirst() {
+            return deque.getFirst();
+        }
+
+        @Override
+        public E getLast() {
+            return deque.getLast();
+        }
+
+        @Override
+        public E peekFirst() {
+            return deque.peekFirst();
+        }
+
+        @Override
+        public E peekLast() {
+            return deque.peekLast();
+        }
+
+        @Override
+        public boolean removeFirstOccurrence(Object o) {
+            return o != null && deque.removeFirstOccurrence(o);
+        }
+
+        @Override
+        public boolean removeLastOccurrence(Object o) {
+            return o != null && deque.removeLastOccurrence(o);
+        }
+
+        @Override
+        public boolean offer(E e) {
+            return deque.offer(requireElement(e));
+        }
+
+        @Override
+        public E remove() {
+            return deque.remove();
+        }
+
+        @Override
+        public E poll() {
+            return deque.poll();
+        }
+
+        @Override
+        public E element() {
+            return deque.element();
+        }
+
+        @Override
+        public E peek() {
+            return deque.peek();
+        }
+
+        @Override
+        public void push(E e) {
+            deque.push(requireElement(e));
+        }
+
+        @Override
+        public E pop() {
+            return deque.pop();
+        }
+
+        @Override
+        public Iterator<E> descendingIterator() {
+            return deque.descendingIterator();
+        }
+
+    }
+
+}
@@ -0,0 +1,20 @@
+package collections;
+
+/**
+ * Marker interface for {@code Collection} implementations that reject
+ * {@code null} elements on insertion, and therefore can never contain a
+ * {@code null} element.
+ *
+ * <p> Implementing this interface is a promise that every method capable of
+ * inserting an element (including those of any views or iterators returned by
+ * the collection) throws a {@code NullPointerException} instead of storing
+ * {@code null}. Utilities such as
+ * {@link CollectionUtilities#requireNonNullCollection(java.util.Collection)}
+ * rely on this promise to skip scanning the elements of such collections.
+ *
+ * @author Oliver Abdulrahim
+ * @see NonNullCollections
+ */
+public interface NullHostile {
+
+}
@@ -0,0 +1,593 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The {@code AdaptiveSort} class contains a single entry point for sorting
+ * arrays of integers, which inspects its input and chooses among the sorting
+ * algorithms of this package the one best suited to it.
+ *
+ * <p> The input is examined in increasing order of cost, and the first test
+ * that succeeds decides the {@link Strategy}:
+ *
+ * <ol>
+ *   <li> Arrays of at most {@value #INSERTION_SORT_THRESHOLD} elements are
+ *        sorted by insertion sort, which is fastest at that size.
+ *   <li> The array is scanned for runs, as by TimSort: maximal sequences that
+ *        are ascending, or strictly descending, which are reversed. The scan
+ *        stops as soon as the runs are too many to be worth merging, so it
+ *        costs little on random data. An array that is a single run is
+ *        already sorted, or merely reversed. An array whose runs average at
+ *        least {@value #MIN_AVERAGE_RUN} elements is sorted by merging them,
+ *        which takes &Omicron;(n log r) time for {@code r} runs.
+ *   <li> The minimum and maximum are found. If the values span no more than
+ *        the length of the array, they are sorted by a counting sort over
+ *        that span. Otherwise, a sample of the array is taken, and if it
+ *        holds few distinct values, a counting sort over those values is
+ *        attempted, which is abandoned if the array holds any value the
+ *        sample missed.
+ *   <li> Large arrays are sorted by a parallel merge sort if the common
+ *        {@code ForkJoinPool} has more than one thread, and by a radix sort
+ *        otherwise. Smaller arrays are sorted by merging, with runs extended
+ *        to a minimum length by insertion sort.
+ * </ol>
+ *
+ * <p> Each call returns a {@link Report} of the strategy chosen and the
+ * comparisons and moves made, including those spent inspecting the input.
+ * A comparison is a comparison between two elements, and a move is a write
+ * of an element into the array or a scratch array.
+ *
+ * @author Oliver Abdulrahim
+ * @see Utilities#sort(int[])
+ */
+public final class AdaptiveSort {
+
+    /**
+     * The strategies that {@link AdaptiveSort#sort(int[])} chooses among.
+     */
+    public enum Strategy {
+
+        /**
+         * The array was already sorted, or sorted in reverse and reversed.
+         */
+        PRESORTED,
+
+        /**
+         * The array was small enough to sort by insertion sort.
+         */
+        INSERTION,
+
+        /**
+         * The runs of the array were merged.
+         */
+        MERGE,
+
+        /**
+         * The array held few distinct values, which were counted.
+         */
+        COUNTING,
+
+        /**
+         * The array was sorted by a least significant digit radix sort.
+         */
+        RADIX,
+
+        /**
+         * The array was sorted by a fork/join merge sort.
+         */
+        PARALLEL_MERGE
+
+    }
+
+    /**
+     * The {@code Report} class describes how a call to
+     * {@link AdaptiveSort#sort(int[])} sorted its array.
+     */
+    public static final class Report {
+
+        /**
+         * The strategy chosen.
+         */
+        private final Strategy strategy;
+
+        /**
+         * The length of the array.
+         */
+        private final int size;
+
+        /**
+         * The amount of comparisons made.
+         */
+        private final long comparisons;
+
+        /**
+         * The amount of moves made.
+         */
+        private final long moves;
+
+        /**
+         * Constructs a {@code Report} with the given values.
+         *
+         * @param strategy The strategy chosen.
+         * @param size The length of the array.
+         * @param comparisons The amount of comparisons made.
+         * @param moves The amount of moves made.
+         */
+        private Report(Strategy strategy, int size, long comparisons,
+                long moves)
+        {
+            this.strategy = strategy;
+            this.size = size;
+            this.comparisons = comparisons;
+            this.moves = moves;
+        }
+
+        /**
+         * Returns the strategy used to sort the array.
+         *
+         * @return The strategy chosen.
+         */
+        public Strategy strategy() {
+            return strategy;
+        }
+
+        /**
+         * Returns the length of the sorted array.
+         *
+         * @return The amount of elements sorted.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the amount of comparisons between elements made while
+         * inspecting and sorting the array. The tasks of the
+         * {@link Strategy#PARALLEL_MERGE} strategy count their own work,
+         * which is summed as they are joined.
+         *
+         * @return The amount of comparisons made.
+         */
+        public long comparisons() {
+            return comparisons;
+        }
+
+        /**
+         * Returns the amount of elements written while sorting the array.
+         *
+         * @return The amount of moves made.
+         */
+        public long moves() {
+            return moves;
+        }
+
+        /**
+         * Returns a {@code String} representation of this report.
+         *
+         * @return A {@code String} representation of this report.
+         */
+        @Override
+        public String toString() {
+            return "Report[strategy = " + strategy + ", size = " + size
+                    + ", comparisons = " + comparisons + ", moves = " + moves
+                    + ']';
+        }
+
+    }
+
+    /**
+     * The length at or below which an array is sorted by insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * The average run length at or above which the runs of an array are
+     * merged as they are.
+     */
+    private static final int MIN_AVERAGE_RUN = 64;
+
+    /**
+     * The length at or above which an array that holds no exploitable order
+     * is sorted by radix sort rather than by merging.
+     */
+    private static final int RADIX_THRESHOLD = 1 << 10;
+
+    /**
+     * The length at or above which an array that holds no exploitable order
+     * is sorted in parallel, if more than one thread is available.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    /**
+     * The amount of elements sampled to estimate the amount of distinct
+     * values.
+     */
+    private static final int SAMPLE_SIZE = 256;
+
+    /**
+     * The largest amount of distinct values in the sample for which a
+     * counting sort over those values is attempted.
+     */
+    private static final int MAX_SAMPLED_DISTINCT = 32;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private AdaptiveSort() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Sorts the given array in ascending order with the strategy best suited
+     * to it, and reports how it was sorted.
+     *
+     * @param a The array to sort.
+     * @return A {@code Report} of the strategy chosen and the work done.
+     * @throws NullPointerException if the array is {@code null}.
+     */
+    public static Report sort(int[] a) {
+        Objects.requireNonNull(a, "Invalid null array!");
+        final int n = a.length;
+        long[] work = new long[2]; // Comparisons, then moves
+        if (n < 2) {
+            return new Report(Strategy.PRESORTED, n, 0L, 0L);
+        }
+        if (n <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, 0, n, work);
+            return report(Strategy.INSERTION, n, work);
+        }
+        int runs = countRuns(a, Math.max(1, n / MIN_AVERAGE_RUN), work);
+        if (runs == 1) {
+            work[0]++;
+            if (a[0] > a[n - 1]) {
+                reverse(a, 0, n, work);
+            }
+            return report(Strategy.PRESORTED, n, work);
+        }
+        if (runs <= n / MIN_AVERAGE_RUN) {
+            mergeRuns(a, 1, work);
+            return report(Strategy.MERGE, n, work);
+        }
+        int min = a[0];
+        int max = a[0];
+        long comparisons = n - 1;
+        for (int i = 1; i < n; i++) {
+            int e = a[i];
+            if (e < min) {
+                min = e;
+            }
+            else {
+                comparisons++;
+                if (e > max) {
+                    max = e;
+                }
+            }
+        }
+        work[0] += comparisons;
+        if ((long) max - min < n) {
+            countingSort(a, min, max, work);
+            return report(Strategy.COUNTING, n, work);
+        }
+        int[] distinct = sampleDistinct(a, work);
+        if (distinct != null && sparseCountingSort(a, distinct, work)) {
+            return report(Strategy.COUNTING, n, work);
+        }
+        if (n >= PARALLEL_THRESHOLD
+                && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            MergeSort.sort(a, new int[n], true, work);
+            return report(Strategy.PARALLEL_MERGE, n, work);
+        }
+        if (n >= RADIX_THRESHOLD) {
+            work[1] += RadixSort.sortCountingMoves(a);
+            return report(Strategy.RADIX, n, work);
+        }
+        mergeRuns(a, INSERTION_SORT_THRESHOLD, work);
+        return report(Strategy.MERGE, n, work);
+    }
+
+    /**
+     * Returns a report of the given strategy and work.
+     *
+     * @param strategy The strategy chosen.
+     * @param size The length of the array.
+     * @param work The comparisons and moves made.
+     * @return A new {@code Report}.
+     */
+    private static Report report(Strategy strategy, int size, long[] work) {
+        return new Report(strategy, size, work[0], work[1]);
+    }
+
+    /**
+     * Returns the index of the end of the run that starts at the given index,
+     * which is ascending or strictly descending.
+     *
+     * @param a The array to scan.
+     * @param lo The index of the first element of the run.
+     * @param n The length of the array.
+     * @param work The comparisons and moves made, which are added to.
+     * @return The index after the last element of the run, which is negated
+     *         and decremented if the run is descending.
+     */
+    private static int runEnd(int[] a, int lo, int n, long[] work) {
+        int hi = lo + 1;
+        if (hi == n) {
+            return hi;
+        }
+        if (a[hi] < a[lo]) {
+            while (++hi < n && a[hi] < a[hi - 1]) { }
+            work[0] += hi - lo - ((hi < n) ? 0 : 1);
+            return -hi - 1;
+        }
+        while (++hi < n && a[hi] >= a[hi - 1]) { }
+        work[0] += hi - lo - ((hi < n) ? 0 : 1);
+        return hi;
+    }
+
+    /**
+     * Counts the runs of the given array, stopping early once they exceed
+     * the given limit.
+     *
+     * @param a The array to scan.
+     * @param limit The amount of runs beyond which to stop counting.
+     * @param work The comparisons and moves made, which are added to.
+     * @return The amount of runs, or {@code limit + 1} if there are more.
+     */
+    private static int countRuns(int[] a, int limit, long[] work) {
+        final int n = a.length;
+        int runs = 0;
+        for (int lo = 0; lo < n && runs <= limit; runs++) {
+            int hi = runEnd(a, lo, n, work);
+            lo = (hi < 0) ? -hi - 1 : hi;
+        }
+        return runs;
+    }
+
+    /**
+     * Sorts the given array by merging its runs, after extending each to at
+     * least the given length by insertion sort. Descending runs are reversed
+     * first. The runs are merged in pairs, alternating between the array and
+     * a scratch array, so each level of merging moves each element once.
+     *
+     * @param a The array to sort.
+     * @param minRun The length to extend shorter runs to.
+     * @param work The comparisons and moves made, which are added to.
+     */
+    private static void mergeRuns(int[] a, int minRun, long[] work) {
+        final int n = a.length;
+        int[] bounds = new int[8];
+        int runs = 0;
+        for (int lo = 0; lo < n; runs++) {
+            int hi = runEnd(a, lo, n, work);
+            if (hi < 0) {
+                hi = -hi - 1;
+                reverse(a, lo, hi, work);
+            }
+            if (hi - lo < minRun) {
+                hi = Math.min(n, lo + minRun);
+                insertionSort(a, lo, hi, work);
+            }
+            if (runs + 1 == bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length * 2);
+            }
+            bounds[runs] = lo;
+            lo = hi;
+        }
+        bounds[runs] = n;
+        int[] src = a;
+        int[] dst = new int[n];
+        while (runs > 1) {
+            int merged = 0;
+            for (int r = 0; r < runs; r += 2, merged++) {
+                int lo = bounds[r];
+                int mid = bounds[Math.min(r + 1, runs)];
+                int hi = bounds[Math.min(r + 2, runs)];
+                merge(src, lo, mid, hi, dst, work);
+                bounds[merged] = lo;
+            }
+            bounds[merged] = n;
+            runs = merged;
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+            work[1] += n;
+        }
+    }
+
+    /**
+     * Merges two adjacent sorted ranges of one array into the same positions
+     * of another. If the ranges are already in order, they are copied without
+     * further comparisons.
+     *
+     * @param src The array that holds the ranges.
+     * @param lo The first index of the first range, inclusive.
+     * @param mid The last index of the first range, exclusive, and the first
+     *        index of the second range, inclusive.
+     * @param hi The last index of the second range, exclusive.
+     * @param dst The array to merge into.
+     * @param work The comparisons and moves made, which are added to.
+     */
+    private static void merge(int[] src, int lo, int mid, int hi, int[] dst,
+            long[] work)
+    {
+        work[1] += hi - lo;
+        if (mid == hi || src[mid - 1] <= src[mid]) {
+            work[0] += (mid == hi) ? 0 : 1;
+            System.arraycopy(src, lo, dst, lo, hi - lo);
+            return;
+        }
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < mid && j < hi) {
+            dst[k++] = (src[j] < src[i]) ? src[j++] : src[i++];
+        }
+        work[0] += k - lo + 1;
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    /**
+     * Sorts the given array by counting the occurrences of each value within
+     * the given span.
+     *
+     * @param a The array to sort.
+     * @param min The smallest value of the array.
+     * @param max The largest value of the array.
+     * @param work The comparisons and moves made, which are added to.
+     */
+    private static void countingSort(int[] a, int min, int max, long[] work) {
+        int[] counts = new int[max - min + 1];
+        for (int e : a) {
+            counts[e - min]++;
+        }
+        int k = 0;
+        for (int v = 0; v < counts.length; v++) {
+            for (int c = counts[v]; c > 0; c--) {
+                a[k++] = v + min;
+            }
+        }
+        work[1] += a.length;
+    }
+
+    /**
+     * Returns the distinct values of an evenly spaced sample of the given
+     * array, if they are few.
+     *
+     * @param a The array to sample.
+     * @param work The comparisons and moves made, which are added to.
+     * @return The distinct sampled values in ascending order, or {@code null}
+     *         if there are more than {@value #MAX_SAMPLED_DISTINCT}.
+     */
+    private static int[] sampleDistinct(int[] a, long[] work) {
+        int size = Math.min(SAMPLE_SIZE, a.length);
+        int[] distinct = new int[MAX_SAMPLED_DISTINCT];
+        int count = 0;
+        long stride = a.length / size;
+        for (int s = 0; s < size; s++) {
+            int e = a[(int) (s * stride)];
+            int i = search(distinct, count, e, work);
+            if (i < 0) {
+                if (count == MAX_SAMPLED_DISTINCT) {
+                    return null;
+                }
+                i = -i - 1;
+                System.arraycopy(distinct, i, distinct, i + 1, count - i);
+                distinct[i] = e;
+                count++;
+            }
+        }
+        return Arrays.copyOf(distinct, count);
+    }
+
+    /**
+     * Attempts to sort the given array by counting the occurrences of each of
+     * the given values. The array is only modified if every element is one of
+     * the values.
+     *
+     * @param a The array to sort.
+     * @param values The values to count, in ascending order.
+     * @param work The comparisons and moves made, which are added to.
+     * @return {@code true} if the array was sorted, or {@code false} if it
+     *         holds a value that is not one of the given values.
+     */
+    private static boolean sparseCountingSort(int[] a, int[] values,
+            long[] work)
+    {
+        int[] counts = new int[values.length];
+        for (int e : a) {
+            int i = search(values, values.length, e, work);
+            if (i < 0) {
+                return false;
+            }
+            counts[i]++;
+        }
+        int k = 0;
+        for (int v = 0; v < values.length; v++) {
+            Arrays.fill(a, k, k + counts[v], values[v]);
+            k += counts[v];
+        }
+        work[1] += a.length;
+        return true;
+    }
+
+    /**
+     * Searches the given prefix of a sorted array for the given key.
+     *
+     * @param a The array to search.
+     * @param length The length of the prefix to search.
+     * @param key The value to search for.
+     * @param work The comparisons and moves made, which are added to.
+     * @return The index of the key, if present; otherwise,
+     *         {@code -(insertion point) - 1}.
+     */
+    private static int search(int[] a, int length, int key, long[] work) {
+        int lo = 0;
+        int hi = length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            work[0]++;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            }
+            else if (a[mid] > key) {
+                hi = mid - 1;
+            }
+            else {
+                return mid;
+            }
+        }
+        return -lo - 1;
+    }
+
+    /**
+     * Sorts the given range of the given array by insertion sort.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param work The comparisons and moves made, which are added to.
+     */
+    private static void insertionSort(int[] a, int lo, int hi, long[] work) {
+        long comparisons = 0;
+        long moves = 0;
+        for (int i = lo + 1; i < hi; i++) {
+            int e = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > e) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            int shifted = i - 1 - j;
+            comparisons += shifted + ((j >= lo) ? 1 : 0);
+            if (shifted > 0) {
+                a[j + 1] = e;
+                moves += shifted + 1;
+            }
+        }
+        work[0] += comparisons;
+        work[1] += moves;
+    }
+
+    /**
+     * Reverses the given range of the given array.
+     *
+     * @param a The array to modify.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param work The comparisons and moves made, which are added to.
+     */
+    private static void reverse(int[] a, int lo, int hi, long[] work) {
+        work[1] += (hi - lo) & ~1;
+        for (int i = lo, j = hi - 1; i < j; i++, j--) {
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+}
@@ -0,0 +1,377 @@
+package functions;
+
+import java.util.Objects;
+
+/**
+ * The {@code Bits} class contains methods for manipulating the bits of
+ * integers, and of arrays of {@code long} words that are used as bit sets.
+ *
+ * <p> In a bit set, bit {@code i} is bit {@code i % 64} of word
+ * {@code i / 64}, as in {@link java.util.BitSet#valueOf(long[])}. The bulk
+ * methods are plain counted loops over the words that call
+ * {@link Long#bitCount(long)} and {@link Long#numberOfTrailingZeros(long)},
+ * which the JIT compiles to single instructions on most processors and
+ * unrolls, so they process one word per cycle or so without branching on
+ * individual bits.
+ *
+ * @author Oliver Abdulrahim
+ * @see collections.BitVector
+ */
+public final class Bits {
+
+    /**
+     * The amount of bits in a word.
+     */
+    private static final int WORD_BITS = 64;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private Bits() {
+        throw new InstantiationError();
+    }
+
+    /*
+     * Scalar operations
+     */
+
+    /**
+     * Tests if the given value is a power of two, that is, {@code 1},
+     * {@code 2}, {@code 4}, {@code 8} and so on.
+     *
+     * @param value The value to test.
+     * @return {@code true} if the value is a positive power of two.
+     */
+    public static boolean isPowerOfTwo(int value) {
+        return value > 0 && (value & (value - 1)) == 0;
+    }
+
+    /**
+     * Tests if the given value is a power of two, that is, {@code 1},
+     * {@code 2}, {@code 4}, {@code 8} and so on.
+     *
+     * @param value The value to test.
+     * @return {@code true} if the value is a positive power of two.
+     */
+    public static boolean isPowerOfTwo(long value) {
+        return value > 0 && (value & (value - 1)) == 0;
+    }
+
+    /**
+     * Returns the smallest power of two that is greater than or equal to the
+     * given value.
+     *
+     * @param value The value to round up.
+     * @return The least power of two not less than {@code value}, which is
+     *         {@code 1} if {@code value <= 1}.
+     * @throws ArithmeticException if the result does not fit in an
+     *         {@code int}.
+     */
+    public static int nextPowerOfTwo(int value) {
+        if (value > 1 << 30) {
+            throw new ArithmeticException("Overflow : " + value);
+        }
+        return (value <= 1) ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * Returns the smallest power of two that is greater than or equal to the
+     * given value.
+     *
+     * @param value The value to round up.
+     * @return The least power of two not less than {@code value}, which is
+     *         {@code 1} if {@code value <= 1}.
+     * @throws ArithmeticException if the result does not fit in a
+     *         {@code long}.
+     */
+    public static long nextPowerOfTwo(long value) {
+        if (value > 1L << 62) {
+            throw new ArithmeticException("Overflow : " + value);
+        }
+        return (value <= 1) ? 1L : Long.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * Returns the base-2 logarithm of the given value, rounded down.
+     *
+     * @param value The positive value.
+     * @return The position of the highest set bit of {@code value}.
+     * @throws IllegalArgumentException if {@code value <= 0}.
+     */
+    public static int log2(int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Invalid value : " + value);
+        }
+        return 31 - Integer.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * Returns the base-2 logarithm of the given value, rounded down.
+     *
+     * @param value The positive value.
+     * @return The position of the highest set bit of {@code value}.
+     * @throws IllegalArgumentException if {@code value <= 0}.
+     */
+    public static int log2(long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Invalid value : " + value);
+        }
+        return 63 - Long.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * Returns the base-2 logarithm of the given value, rounded up.
+     *
+     * @param value The positive value.
+     * @return The exponent of the least power of two not less than
+     *         {@code value}.
+     * @throws IllegalArgumentException if {@code value <= 0}.
+     */
+    public static int ceilLog2(long value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException("Invalid value : " + value);
+        }
+        return 64 - Long.numberOfLeadingZeros(value - 1);
+    }
+
+    /**
+     * Returns the position of the set bit of the given rank in the given
+     * word, counting from the least significant bit.
+     *
+     * <p> The word is narrowed by halves with {@link Long#bitCount(long)}
+     * until the bit is within a byte, so the search takes a fixed handful of
+     * steps rather than one per set bit.
+     *
+     * @param word The word to search.
+     * @param rank The amount of set bits below the bit to find.
+     * @return The position of the bit, or {@code -1} if the word has
+     *         {@code rank} or fewer set bits.
+     */
+    public static int select(long word, int rank) {
+        if (rank < 0 || rank >= Long.bitCount(word)) {
+            return -1;
+        }
+        int position = 0;
+        int count = Long.bitCount(word & 0xFFFF_FFFFL);
+        if (rank >= count) {
+            rank -= count;
+            word >>>= 32;
+            position += 32;
+        }
+        count = Long.bitCount(word & 0xFFFFL);
+        if (rank >= count) {
+            rank -= count;
+            word >>>= 16;
+            position += 16;
+        }
+        count = Long.bitCount(word & 0xFFL);
+        if (rank >= count) {
+            rank -= count;
+            word >>>= 8;
+            position += 8;
+        }
+        for (; rank > 0; rank--) {
+            word &= word - 1; // Clears the lowest set bit
+        }
+        return position + Long.numberOfTrailingZeros(word);
+    }
+
+    /*
+     * Bulk operations
+     */
+
+    /**
+     * Ensures that the given bit range lies within the given words.
+     *
+     * @param words The words of the bit set.
+     * @param fromBit The first bit of the range, inclusive.
+     * @param toBit The last bit of the range, exclusive.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     * @throws NullPointerException if the words are {@code null}.
+     */
+    private static void rangeCheck(long[] words, long fromBit, long toBit) {
+        Objects.requireNonNull(words, "Invalid null array!");
+        if (fromBit < 0 || fromBit > toBit
+                || toBit > (long) words.length * WORD_BITS) {
+            throw new IndexOutOfBoundsException("fromBit : " + fromBit
+                    + ", toBit : " + toBit + ", bits : "
+                    + (long) words.length * WORD_BITS);
+        }
+    }
+
+    /**
+     * Returns the amount of set bits in the given words.
+     *
+     * @param words The words to count.
+     * @return The population count of the words.
+     */
+    public static long bitCount(long[] words) {
+        long count = 0;
+        for (int i = 0; i < words.length; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the amount of set bits in the given range of a bit set.
+     *
+     * @param words The words of the bit set.
+     * @param fromBit The first bit to count, inclusive.
+     * @param toBit The last bit to count, exclusive.
+     * @return The population count of the range.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public static long bitCount(long[] words, long fromBit, long toBit) {
+        rangeCheck(words, fromBit, toBit);
+        if (fromBit == toBit) {
+            return 0;
+        }
+        int first = (int) (fromBit >>> 6);
+        int last = (int) ((toBit - 1) >>> 6);
+        long firstMask = -1L << fromBit;
+        long lastMask = -1L >>> -toBit;
+        if (first == last) {
+            return Long.bitCount(words[first] & firstMask & lastMask);
+        }
+        long count = Long.bitCount(words[first] & firstMask);
+        for (int i = first + 1; i < last; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count + Long.bitCount(words[last] & lastMask);
+    }
+
+    /**
+     * Returns the parity of the given words, that is, whether an odd amount
+     * of their bits are set.
+     *
+     * @param words The words to test.
+     * @return {@code true} if the amount of set bits is odd.
+     */
+    public static boolean parity(long[] words) {
+        long x = 0;
+        for (int i = 0; i < words.length; i++) {
+            x ^= words[i];
+        }
+        return (Long.bitCount(x) & 1) != 0;
+    }
+
+    /**
+     * Returns the index of the first set bit of a bit set at or after the
+     * given index.
+     *
+     * @param words The words of the bit set.
+     * @param fromBit The index to start at.
+     * @return The index of the next set bit, or {@code -1} if there is none.
+     * @throws IndexOutOfBoundsException if {@code fromBit < 0}.
+     */
+    public static long nextSetBit(long[] words, long fromBit) {
+        if (fromBit < 0) {
+            throw new IndexOutOfBoundsException("fromBit : " + fromBit
+                    + " < 0 !");
+        }
+        int i = (int) Math.min(fromBit >>> 6, words.length);
+        if (i == words.length) {
+            return -1;
+        }
+        long word = words[i] & (-1L << fromBit);
+        while (word == 0) {
+            if (++i == words.length) {
+                return -1;
+            }
+            word = words[i];
+        }
+        return (long) i * WORD_BITS + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns the index of the first clear bit of a bit set at or after the
+     * given index. Every bit past the last word is clear.
+     *
+     * @param words The words of the bit set.
+     * @param fromBit The index to start at.
+     * @return The index of the next clear bit.
+     * @throws IndexOutOfBoundsException if {@code fromBit < 0}.
+     */
+    public static long nextClearBit(long[] words, long fromBit) {
+        if (fromBit < 0) {
+            throw new IndexOutOfBoundsException("fromBit : " + fromBit
+                    + " < 0 !");
+        }
+        int i = (int) Math.min(fromBit >>> 6, words.length);
+        if (i == words.length) {
+            return fromBit;
+        }
+        long word = ~words[i] & (-1L << fromBit);
+        while (word == 0) {
+            if (++i == words.length) {
+                return (long) i * WORD_BITS;
+            }
+            word = ~words[i];
+        }
+        return (long) i * WORD_BITS + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns the index of the last set bit of a bit set at or before the
+     * given index.
+     *
+     * @param words The words of the bit set.
+     * @param fromBit The index to start at, or {@code -1}.
+     * @return The index of the previous set bit, or {@code -1} if there is
+     *         none.
+     * @throws IndexOutOfBoundsException if {@code fromBit < -1}.
+     */
+    public static long previousSetBit(long[] words, long fromBit) {
+        if (fromBit < -1) {
+            throw new IndexOutOfBoundsException("fromBit : " + fromBit
+                    + " < -1 !");
+        }
+        if (fromBit == -1) {
+            return -1;
+        }
+        int i = (int) (fromBit >>> 6);
+        long word;
+        if (i >= words.length) {
+            i = words.length - 1;
+            word = (i < 0) ? 0 : words[i];
+        }
+        else {
+            word = words[i] & (-1L >>> -(fromBit + 1));
+        }
+        while (word == 0) {
+            if (--i < 0) {
+                return -1;
+            }
+            word = words[i];
+        }
+        return (long) i * WORD_BITS + 63 - Long.numberOfLeadingZeros(word);
+    }
+
+    /**
+     * Returns the index of the set bit of the given rank in a bit set, that
+     * is, the index of the {@code (rank + 1)}-th set bit.
+     *
+     * <p> This method scans the words from the start. To answer many such
+     * queries, use a {@link collections.BitVector}, which indexes its counts.
+     *
+     * @param words The words of the bit set.
+     * @param rank The amount of set bits before the bit to find.
+     * @return The index of the bit, or {@code -1} if there are {@code rank}
+     *         or fewer set bits.
+     */
+    public static long select(long[] words, long rank) {
+        if (rank < 0) {
+            return -1;
+        }
+        for (int i = 0; i < words.length; i++) {
+            int count = Long.bitCount(words[i]);
+            if (rank < count) {
+                return (long) i * WORD_BITS + select(words[i], (int) rank);
+            }
+            rank -= count;
+        }
+        return -1;
+    }
+
+}
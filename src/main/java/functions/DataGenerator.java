@@ -0,0 +1,879 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * The {@code DataGenerator} class contains immutable generators of synthetic
+ * data that fill primitive arrays and arrays of {@code String} with values
+ * drawn from a chosen distribution, for load tests and benchmarks that should
+ * reproduce the skew of real workloads rather than uniform noise.
+ *
+ * <p> A generator is obtained from one of the factory methods, each of which
+ * names a distribution: {@link #uniform(long, long) uniform},
+ * {@link #gaussian(double, double) Gaussian},
+ * {@link #exponential(double) exponential},
+ * {@link #zipfian(int, double) Zipfian}, or
+ * {@link #fewUnique(int, long, long) few unique}. The values of any generator
+ * may then be put in order by {@link #sorted()}, or nearly in order by
+ * {@link #nearlySorted(double)}.
+ *
+ * <p> Every fill draws its values the way {@link RandomArrays} does: the array
+ * is divided into chunks of {@value RandomArrays#CHUNK_SIZE} elements, each of
+ * which is filled from its own {@link SplittableRandom} split from the seed,
+ * so the sequential and parallel forms of each method fill an array with the
+ * same values for the same seed, whatever the amount of threads. Within a
+ * chunk, the values are generated in batches by a loop specialized for the
+ * distribution, with no call through an interface or a lambda per element.
+ *
+ * <p> Integral values of the real distributions are rounded to the nearest
+ * integer, and real values of the integral distributions are converted
+ * exactly, except for {@code uniform}, which draws real values from the whole
+ * of its range.
+ *
+ * @author Oliver Abdulrahim
+ * @see RandomArrays
+ * @see Utilities#randomArray(int, int, long)
+ * @see StringUtilities#randomStringArray(int, int)
+ */
+public final class DataGenerator {
+
+    /**
+     * The amount of values generated at a time by each chunk.
+     */
+    private static final int BATCH = 256;
+
+    /**
+     * The distribution of the values of a generator.
+     */
+    private enum Kind {
+        UNIFORM, GAUSSIAN, EXPONENTIAL, ZIPFIAN, FEW_UNIQUE
+    }
+
+    /**
+     * The arrangement of the values of a generator.
+     */
+    private enum Order {
+        RANDOM, SORTED, NEARLY_SORTED
+    }
+
+    /**
+     * The distribution of the values.
+     */
+    private final Kind kind;
+
+    /**
+     * The least value of a uniform or few-unique distribution, inclusive.
+     */
+    private final long origin;
+
+    /**
+     * The upper bound of a uniform or few-unique distribution, exclusive.
+     */
+    private final long bound;
+
+    /**
+     * The mean of a Gaussian or exponential distribution.
+     */
+    private final double mean;
+
+    /**
+     * The standard deviation of a Gaussian distribution.
+     */
+    private final double deviation;
+
+    /**
+     * The exponent of a Zipfian distribution.
+     */
+    private final double exponent;
+
+    /**
+     * The amount of elements of a Zipfian distribution, or of distinct values
+     * of a few-unique distribution.
+     */
+    private final int count;
+
+    /**
+     * The arrangement of the values.
+     */
+    private final Order order;
+
+    /**
+     * The fraction of values that a nearly sorted generator displaces.
+     */
+    private final double disorder;
+
+    /**
+     * The integral of the Zipfian hat function from {@code 0.5} to
+     * {@code 1.5}, less {@code 1}.
+     */
+    private final double hIntegralX1;
+
+    /**
+     * The integral of the Zipfian hat function up to {@code count + 0.5}.
+     */
+    private final double hIntegralElements;
+
+    /**
+     * The width of the interval around each rank that is accepted without a
+     * second test.
+     */
+    private final double squeeze;
+
+    /**
+     * Constructs a {@code DataGenerator} with the given parameters.
+     *
+     * @param kind The distribution of the values.
+     * @param origin The least value of the distribution, inclusive.
+     * @param bound The upper bound of the distribution, exclusive.
+     * @param mean The mean of the distribution.
+     * @param deviation The standard deviation of the distribution.
+     * @param exponent The exponent of the distribution.
+     * @param count The amount of elements or distinct values.
+     * @param order The arrangement of the values.
+     * @param disorder The fraction of values to displace.
+     */
+    private DataGenerator(Kind kind, long origin, long bound, double mean,
+            double deviation, double exponent, int count, Order order,
+            double disorder)
+    {
+        this.kind = kind;
+        this.origin = origin;
+        this.bound = bound;
+        this.mean = mean;
+        this.deviation = deviation;
+        this.exponent = exponent;
+        this.count = count;
+        this.order = order;
+        this.disorder = disorder;
+        if (kind == Kind.ZIPFIAN) {
+            this.hIntegralX1 = hIntegral(1.5d) - 1.0d;
+            this.hIntegralElements = hIntegral(count + 0.5d);
+            this.squeeze = 2.0d - hIntegralInverse(hIntegral(2.5d) - h(2.0d));
+        }
+        else {
+            this.hIntegralX1 = 0.0d;
+            this.hIntegralElements = 0.0d;
+            this.squeeze = 0.0d;
+        }
+    }
+
+    /**
+     * Returns a generator of values drawn uniformly from the given range.
+     *
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @return A new {@code DataGenerator}.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    public static DataGenerator uniform(long origin, long bound) {
+        requireRange(origin, bound);
+        return new DataGenerator(Kind.UNIFORM, origin, bound, 0.0d, 0.0d,
+                0.0d, 0, Order.RANDOM, 0.0d);
+    }
+
+    /**
+     * Returns a generator of values drawn from a normal distribution with the
+     * given mean and standard deviation.
+     *
+     * @param mean The mean of the values.
+     * @param deviation The standard deviation of the values.
+     * @return A new {@code DataGenerator}.
+     * @throws IllegalArgumentException if the mean is not finite, or the
+     *         standard deviation is negative or not finite.
+     */
+    public static DataGenerator gaussian(double mean, double deviation) {
+        if (!Double.isFinite(mean)) {
+            throw new IllegalArgumentException("Invalid mean : " + mean);
+        }
+        if (!(deviation >= 0.0d) || !Double.isFinite(deviation)) {
+            throw new IllegalArgumentException("Invalid standard deviation : "
+                    + deviation);
+        }
+        return new DataGenerator(Kind.GAUSSIAN, 0L, 0L, mean, deviation, 0.0d,
+                0, Order.RANDOM, 0.0d);
+    }
+
+    /**
+     * Returns a generator of non-negative values drawn from an exponential
+     * distribution with the given mean, such as the times between arrivals
+     * of requests at the rate {@code 1 / mean}.
+     *
+     * @param mean The mean of the values.
+     * @return A new {@code DataGenerator}.
+     * @throws IllegalArgumentException if the mean is not positive and
+     *         finite.
+     */
+    public static DataGenerator exponential(double mean) {
+        if (!(mean > 0.0d) || !Double.isFinite(mean)) {
+            throw new IllegalArgumentException("Invalid mean : " + mean);
+        }
+        return new DataGenerator(Kind.EXPONENTIAL, 0L, 0L, mean, 0.0d, 0.0d,
+                0, Order.RANDOM, 0.0d);
+    }
+
+    /**
+     * Returns a generator of ranks drawn from a Zipfian distribution, in which
+     * the rank {@code k}, counted from {@code 0}, is drawn with probability
+     * proportional to <code>1 / (k + 1)<sup>exponent</sup></code>. This is the
+     * skew of the popularity of words, web pages and cache keys, for which an
+     * exponent near {@code 1} is typical.
+     *
+     * <p> The ranks are drawn by the rejection-inversion method of
+     * H&ouml;rmann and Derflinger, which takes constant time and memory per
+     * value whatever the amount of elements, and needs slightly more than one
+     * uniform value per rank on average.
+     *
+     * @param elements The amount of distinct ranks.
+     * @param exponent The skew of the distribution.
+     * @return A new {@code DataGenerator}.
+     * @throws IllegalArgumentException if the amount of elements or the
+     *         exponent is not positive.
+     */
+    public static DataGenerator zipfian(int elements, double exponent) {
+        if (elements < 1) {
+            throw new IllegalArgumentException("Invalid elements : "
+                    + elements);
+        }
+        if (!(exponent > 0.0d) || !Double.isFinite(exponent)) {
+            throw new IllegalArgumentException("Invalid exponent : "
+                    + exponent);
+        }
+        return new DataGenerator(Kind.ZIPFIAN, 0L, 0L, 0.0d, 0.0d, exponent,
+                elements, Order.RANDOM, 0.0d);
+    }
+
+    /**
+     * Returns a generator of values drawn uniformly from a small set, whose
+     * members are themselves drawn uniformly from the given range by the seed
+     * of each fill. The set may hold fewer than {@code distinct} values if the
+     * range is small.
+     *
+     * @param distinct The amount of values in the set.
+     * @param origin The least value of the set, inclusive.
+     * @param bound The upper bound of the set, exclusive.
+     * @return A new {@code DataGenerator}.
+     * @throws IllegalArgumentException if {@code distinct} is not positive or
+     *         {@code origin} is not less than {@code bound}.
+     */
+    public static DataGenerator fewUnique(int distinct, long origin,
+            long bound)
+    {
+        if (distinct < 1) {
+            throw new IllegalArgumentException("Invalid distinct : "
+                    + distinct);
+        }
+        requireRange(origin, bound);
+        return new DataGenerator(Kind.FEW_UNIQUE, origin, bound, 0.0d, 0.0d,
+                0.0d, distinct, Order.RANDOM, 0.0d);
+    }
+
+    /**
+     * Returns a generator of the same values as this one, in ascending order.
+     *
+     * @return A new {@code DataGenerator}.
+     */
+    public DataGenerator sorted() {
+        return new DataGenerator(kind, origin, bound, mean, deviation,
+                exponent, count, Order.SORTED, 0.0d);
+    }
+
+    /**
+     * Returns a generator of the same values as this one, in ascending order
+     * except that about the given fraction of them are swapped in pairs with
+     * other values of the same chunk. A disorder of {@code 0} gives the same
+     * arrays as {@link #sorted()}.
+     *
+     * @param disorder The fraction of values to displace, between {@code 0}
+     *        and {@code 1}.
+     * @return A new {@code DataGenerator}.
+     * @throws IllegalArgumentException if the disorder is out of range.
+     */
+    public DataGenerator nearlySorted(double disorder) {
+        if (!(disorder >= 0.0d && disorder <= 1.0d)) {
+            throw new IllegalArgumentException("Invalid disorder : "
+                    + disorder);
+        }
+        return new DataGenerator(kind, origin, bound, mean, deviation,
+                exponent, count, Order.NEARLY_SORTED, disorder);
+    }
+
+    /**
+     * Ensures that a given origin is less than a given bound.
+     *
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    private static void requireRange(long origin, long bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("origin : " + origin
+                    + " >= bound : " + bound + " !");
+        }
+    }
+
+    /*
+     * Sampling
+     */
+
+    /**
+     * Returns the set of values of a few-unique generator for a fill, drawn
+     * from the given generator.
+     *
+     * @param seeds The generator of the fill.
+     * @return The set of values, or {@code null} if this generator is not
+     *         few-unique.
+     */
+    private long[] dictionary(SplittableRandom seeds) {
+        if (kind != Kind.FEW_UNIQUE) {
+            return null;
+        }
+        SplittableRandom g = seeds.split();
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = g.nextLong(origin, bound);
+        }
+        return values;
+    }
+
+    /**
+     * Generates the given amount of integral values.
+     *
+     * @param g The generator of the chunk.
+     * @param dictionary The set of values of a few-unique generator.
+     * @param out The array to store the values into, from index {@code 0}.
+     * @param scratch An array of at least {@code n} elements to use for real
+     *        values that are rounded.
+     * @param n The amount of values to generate.
+     */
+    private void nextLongs(SplittableRandom g, long[] dictionary, long[] out,
+            double[] scratch, int n)
+    {
+        switch (kind) {
+            case UNIFORM:
+                for (int i = 0; i < n; i++) {
+                    out[i] = g.nextLong(origin, bound);
+                }
+                break;
+            case ZIPFIAN:
+                for (int i = 0; i < n; i++) {
+                    out[i] = nextRank(g);
+                }
+                break;
+            case FEW_UNIQUE:
+                for (int i = 0; i < n; i++) {
+                    out[i] = dictionary[g.nextInt(dictionary.length)];
+                }
+                break;
+            default:
+                nextDoubles(g, dictionary, scratch, out, n);
+                for (int i = 0; i < n; i++) {
+                    out[i] = Math.round(scratch[i]);
+                }
+        }
+    }
+
+    /**
+     * Generates the given amount of real values.
+     *
+     * @param g The generator of the chunk.
+     * @param dictionary The set of values of a few-unique generator.
+     * @param out The array to store the values into, from index {@code 0}.
+     * @param scratch An array of at least {@code n} elements to use for
+     *        integral values that are converted.
+     * @param n The amount of values to generate.
+     */
+    private void nextDoubles(SplittableRandom g, long[] dictionary,
+            double[] out, long[] scratch, int n)
+    {
+        switch (kind) {
+            case UNIFORM:
+                for (int i = 0; i < n; i++) {
+                    out[i] = g.nextDouble(origin, bound);
+                }
+                break;
+            case GAUSSIAN:
+                for (int i = 0; i < n; i += 2) { // Polar method, in pairs
+                    double x;
+                    double y;
+                    double r;
+                    do {
+                        x = 2.0d * g.nextDouble() - 1.0d;
+                        y = 2.0d * g.nextDouble() - 1.0d;
+                        r = x * x + y * y;
+                    } while (r >= 1.0d || r == 0.0d);
+                    double f = deviation * Math.sqrt(-2.0d * Math.log(r) / r);
+                    out[i] = mean + x * f;
+                    if (i + 1 < n) {
+                        out[i + 1] = mean + y * f;
+                    }
+                }
+                break;
+            case EXPONENTIAL:
+                for (int i = 0; i < n; i++) {
+                    out[i] = -mean * Math.log1p(-g.nextDouble());
+                }
+                break;
+            default:
+                nextLongs(g, dictionary, scratch, out, n);
+                for (int i = 0; i < n; i++) {
+                    out[i] = scratch[i];
+                }
+        }
+    }
+
+    /**
+     * Draws one Zipfian rank by rejection-inversion.
+     *
+     * @param g The generator to draw from.
+     * @return A rank between {@code 0}, inclusive, and {@code count},
+     *         exclusive.
+     */
+    private int nextRank(SplittableRandom g) {
+        while (true) {
+            double u = hIntegralElements
+                    + g.nextDouble() * (hIntegralX1 - hIntegralElements);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5d);
+            if (k < 1) {
+                k = 1;
+            }
+            else if (k > count) {
+                k = count;
+            }
+            if (k - x <= squeeze || u >= hIntegral(k + 0.5d) - h(k)) {
+                return k - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the Zipfian hat function, <code>x<sup>-exponent</sup></code>.
+     *
+     * @param x The point to evaluate at.
+     * @return The value of the hat function.
+     */
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    /**
+     * Returns the integral of the Zipfian hat function from {@code 1} to the
+     * given point, with a constant chosen so that it is continuous at an
+     * exponent of {@code 1}.
+     *
+     * @param x The point to evaluate at.
+     * @return The value of the integral.
+     */
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1.0d - exponent) * logX) * logX;
+    }
+
+    /**
+     * Returns the inverse of {@link #hIntegral(double)}.
+     *
+     * @param x The value of the integral.
+     * @return The point at which the integral has the given value.
+     */
+    private double hIntegralInverse(double x) {
+        double t = Math.max(-1.0d, x * (1.0d - exponent));
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    /**
+     * Returns {@code log(1 + x) / x}, accurately near {@code 0}.
+     *
+     * @param x The argument.
+     * @return {@code log(1 + x) / x}, or {@code 1} at {@code 0}.
+     */
+    private static double log1pOverX(double x) {
+        if (Math.abs(x) > 1e-8d) {
+            return Math.log1p(x) / x;
+        }
+        return 1.0d - x * (0.5d - x * (1.0d / 3.0d - 0.25d * x));
+    }
+
+    /**
+     * Returns {@code (exp(x) - 1) / x}, accurately near {@code 0}.
+     *
+     * @param x The argument.
+     * @return {@code (exp(x) - 1) / x}, or {@code 1} at {@code 0}.
+     */
+    private static double expm1OverX(double x) {
+        if (Math.abs(x) > 1e-8d) {
+            return Math.expm1(x) / x;
+        }
+        return 1.0d + x * 0.5d * (1.0d + x / 3.0d * (1.0d + 0.25d * x));
+    }
+
+    /**
+     * Returns the amount of pairs of values to swap in a chunk of a nearly
+     * sorted array.
+     *
+     * @param length The length of the chunk.
+     * @return The amount of swaps.
+     */
+    private int swapsFor(int length) {
+        return (int) Math.round(disorder * length / 2.0d);
+    }
+
+    /*
+     * int
+     */
+
+    /**
+     * Fills the given array with values from this generator and the given
+     * seed. Integral values outside the range of {@code int} are clamped to
+     * it.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @throws IllegalArgumentException if the range of a uniform or
+     *         few-unique generator exceeds that of {@code int}.
+     */
+    public void fill(int[] a, long seed) {
+        fill(a, seed, false);
+    }
+
+    /**
+     * Fills the given array with values from this generator and the given
+     * seed, in parallel. The values are the same as those of {@link
+     * #fill(int[], long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @throws IllegalArgumentException if the range of a uniform or
+     *         few-unique generator exceeds that of {@code int}.
+     */
+    public void parallelFill(int[] a, long seed) {
+        fill(a, seed, true);
+    }
+
+    /**
+     * Fills the given array with values from this generator.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param parallel Whether to fill the array in parallel.
+     */
+    private void fill(int[] a, long seed, boolean parallel) {
+        Objects.requireNonNull(a, "Invalid null array!");
+        if ((kind == Kind.UNIFORM || kind == Kind.FEW_UNIQUE)
+                && (origin < Integer.MIN_VALUE
+                        || bound > Integer.MAX_VALUE + 1L)) {
+            throw new IllegalArgumentException("Range exceeds int : ["
+                    + origin + ", " + bound + ')');
+        }
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long valueSeed = seeds.nextLong();
+        long orderSeed = seeds.nextLong();
+        long[] dictionary = dictionary(seeds);
+        RandomArrays.fill(a.length, valueSeed, parallel, (g, lo, hi) -> {
+            long[] values = new long[Math.min(BATCH, hi - lo)];
+            double[] scratch = new double[values.length];
+            for (int i = lo; i < hi; i += values.length) {
+                int n = Math.min(values.length, hi - i);
+                nextLongs(g, dictionary, values, scratch, n);
+                for (int j = 0; j < n; j++) {
+                    a[i + j] = (int) Math.max(Integer.MIN_VALUE,
+                            Math.min(Integer.MAX_VALUE, values[j]));
+                }
+            }
+        });
+        if (order == Order.RANDOM) {
+            return;
+        }
+        if (parallel) {
+            Arrays.parallelSort(a);
+        }
+        else {
+            Arrays.sort(a);
+        }
+        if (order == Order.NEARLY_SORTED) {
+            RandomArrays.fill(a.length, orderSeed, parallel, (g, lo, hi) -> {
+                for (int s = swapsFor(hi - lo); s > 0; s--) {
+                    int i = lo + g.nextInt(hi - lo);
+                    int j = lo + g.nextInt(hi - lo);
+                    int t = a[i];
+                    a[i] = a[j];
+                    a[j] = t;
+                }
+            });
+        }
+    }
+
+    /*
+     * long
+     */
+
+    /**
+     * Fills the given array with values from this generator and the given
+     * seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public void fill(long[] a, long seed) {
+        fill(a, seed, false);
+    }
+
+    /**
+     * Fills the given array with values from this generator and the given
+     * seed, in parallel. The values are the same as those of {@link
+     * #fill(long[], long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public void parallelFill(long[] a, long seed) {
+        fill(a, seed, true);
+    }
+
+    /**
+     * Fills the given array with values from this generator.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param parallel Whether to fill the array in parallel.
+     */
+    private void fill(long[] a, long seed, boolean parallel) {
+        Objects.requireNonNull(a, "Invalid null array!");
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long valueSeed = seeds.nextLong();
+        long orderSeed = seeds.nextLong();
+        long[] dictionary = dictionary(seeds);
+        RandomArrays.fill(a.length, valueSeed, parallel, (g, lo, hi) -> {
+            long[] values = new long[Math.min(BATCH, hi - lo)];
+            double[] scratch = new double[values.length];
+            for (int i = lo; i < hi; i += values.length) {
+                int n = Math.min(values.length, hi - i);
+                nextLongs(g, dictionary, values, scratch, n);
+                System.arraycopy(values, 0, a, i, n);
+            }
+        });
+        if (order == Order.RANDOM) {
+            return;
+        }
+        if (parallel) {
+            Arrays.parallelSort(a);
+        }
+        else {
+            Arrays.sort(a);
+        }
+        if (order == Order.NEARLY_SORTED) {
+            RandomArrays.fill(a.length, orderSeed, parallel, (g, lo, hi) -> {
+                for (int s = swapsFor(hi - lo); s > 0; s--) {
+                    int i = lo + g.nextInt(hi - lo);
+                    int j = lo + g.nextInt(hi - lo);
+                    long t = a[i];
+                    a[i] = a[j];
+                    a[j] = t;
+                }
+            });
+        }
+    }
+
+    /*
+     * double
+     */
+
+    /**
+     * Fills the given array with values from this generator and the given
+     * seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public void fill(double[] a, long seed) {
+        fill(a, seed, false);
+    }
+
+    /**
+     * Fills the given array with values from this generator and the given
+     * seed, in parallel. The values are the same as those of {@link
+     * #fill(double[], long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public void parallelFill(double[] a, long seed) {
+        fill(a, seed, true);
+    }
+
+    /**
+     * Fills the given array with values from this generator.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param parallel Whether to fill the array in parallel.
+     */
+    private void fill(double[] a, long seed, boolean parallel) {
+        Objects.requireNonNull(a, "Invalid null array!");
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long valueSeed = seeds.nextLong();
+        long orderSeed = seeds.nextLong();
+        long[] dictionary = dictionary(seeds);
+        RandomArrays.fill(a.length, valueSeed, parallel, (g, lo, hi) -> {
+            double[] values = new double[Math.min(BATCH, hi - lo)];
+            long[] scratch = new long[values.length];
+            for (int i = lo; i < hi; i += values.length) {
+                int n = Math.min(values.length, hi - i);
+                nextDoubles(g, dictionary, values, scratch, n);
+                System.arraycopy(values, 0, a, i, n);
+            }
+        });
+        if (order == Order.RANDOM) {
+            return;
+        }
+        if (parallel) {
+            Arrays.parallelSort(a);
+        }
+        else {
+            Arrays.sort(a);
+        }
+        if (order == Order.NEARLY_SORTED) {
+            RandomArrays.fill(a.length, orderSeed, parallel, (g, lo, hi) -> {
+                for (int s = swapsFor(hi - lo); s > 0; s--) {
+                    int i = lo + g.nextInt(hi - lo);
+                    int j = lo + g.nextInt(hi - lo);
+                    double t = a[i];
+                    a[i] = a[j];
+                    a[j] = t;
+                }
+            });
+        }
+    }
+
+    /*
+     * String
+     */
+
+    /**
+     * Fills the given array with strings of the given length that encode the
+     * integral values of this generator and the given seed. Each string holds
+     * the last {@code length} digits of its value in base 26, written with
+     * the letters {@code a} to {@code z}, so equal values give equal strings,
+     * and non-negative values below <code>26<sup>length</sup></code> give
+     * strings in the same order as the values.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param length The length of each string.
+     * @throws IllegalArgumentException if {@code length < 0}.
+     */
+    public void fill(String[] a, long seed, int length) {
+        fill(a, seed, length, false);
+    }
+
+    /**
+     * Fills the given array with strings of the given length that encode the
+     * integral values of this generator and the given seed, in parallel. The
+     * strings are the same as those of {@link #fill(String[], long, int)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param length The length of each string.
+     * @throws IllegalArgumentException if {@code length < 0}.
+     */
+    public void parallelFill(String[] a, long seed, int length) {
+        fill(a, seed, length, true);
+    }
+
+    /**
+     * Fills the given array with strings from this generator.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param length The length of each string.
+     * @param parallel Whether to fill the array in parallel.
+     */
+    private void fill(String[] a, long seed, int length, boolean parallel) {
+        Objects.requireNonNull(a, "Invalid null array!");
+        if (length < 0) {
+            throw new IllegalArgumentException("length : " + length
+                    + " < 0 !");
+        }
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long valueSeed = seeds.nextLong();
+        long orderSeed = seeds.nextLong();
+        long[] dictionary = dictionary(seeds);
+        RandomArrays.fill(a.length, valueSeed, parallel, (g, lo, hi) -> {
+            long[] values = new long[Math.min(BATCH, hi - lo)];
+            double[] scratch = new double[values.length];
+            char[] digits = new char[length];
+            for (int i = lo; i < hi; i += values.length) {
+                int n = Math.min(values.length, hi - i);
+                nextLongs(g, dictionary, values, scratch, n);
+                for (int j = 0; j < n; j++) {
+                    long v = values[j];
+                    for (int d = length - 1; d >= 0; d--) {
+                        digits[d] = (char) ('a' + Math.floorMod(v, 26L));
+                        v = Math.floorDiv(v, 26L);
+                    }
+                    a[i + j] = new String(digits);
+                }
+            }
+        });
+        if (order == Order.RANDOM) {
+            return;
+        }
+        if (parallel) {
+            Arrays.parallelSort(a);
+        }
+        else {
+            Arrays.sort(a);
+        }
+        if (order == Order.NEARLY_SORTED) {
+            RandomArrays.fill(a.length, orderSeed, parallel, (g, lo, hi) -> {
+                for (int s = swapsFor(hi - lo); s > 0; s--) {
+                    int i = lo + g.nextInt(hi - lo);
+                    int j = lo + g.nextInt(hi - lo);
+                    String t = a[i];
+                    a[i] = a[j];
+                    a[j] = t;
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns a {@code String} representation of this generator.
+     *
+     * @return A {@code String} representation of this generator.
+     */
+    @Override
+    public String toString() {
+        String distribution;
+        switch (kind) {
+            case UNIFORM:
+                distribution = "uniform(" + origin + ", " + bound + ')';
+                break;
+            case GAUSSIAN:
+                distribution = "gaussian(" + mean + ", " + deviation + ')';
+                break;
+            case EXPONENTIAL:
+                distribution = "exponential(" + mean + ')';
+                break;
+            case ZIPFIAN:
+                distribution = "zipfian(" + count + ", " + exponent + ')';
+                break;
+            default:
+                distribution = "fewUnique(" + count + ", " + origin + ", "
+                        + bound + ')';
+        }
+        switch (order) {
+            case SORTED:
+                return "DataGenerator[" + distribution + ", sorted]";
+            case NEARLY_SORTED:
+                return "DataGenerator[" + distribution + ", nearlySorted("
+                        + disorder + ")]";
+            default:
+                return "DataGenerator[" + distribution + ']';
+        }
+    }
+
+}
@@ -0,0 +1,654 @@
+package functions;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code ExternalSort} class contains an external merge sort for binary
+ * files of fixed-width {@code int} or {@code long} keys, which may be far
+ * larger than the heap.
+ *
+ * <p> The input is read through a {@link FileChannel} in chunks that fit in
+ * the configured memory budget. Each chunk is sorted in memory with
+ * {@link RadixSort}, in parallel by default, and spilled to a temporary run
+ * file. The runs are then merged with a tournament tree in as few passes as
+ * the memory budget allows: each pass merges up to one run per I/O buffer
+ * that fits in the budget. An input that fits in a single chunk is sorted in
+ * memory and written directly to the output.
+ *
+ * <p> Instances are immutable and may be shared between threads. A sort is
+ * configured with a {@link Builder}:
+ *
+ * <blockquote><pre>
+ * ExternalSort sorter = ExternalSort.builder()
+ *         .memoryBudget(256 &lt;&lt; 20)
+ *         .bufferSize(1 &lt;&lt; 20)
+ *         .tempDirectory(Paths.get("/scratch"))
+ *         .build();
+ * long count = sorter.sortLongs(input, output);</pre>
+ * </blockquote>
+ *
+ * @author Oliver Abdulrahim
+ * @see RadixSort
+ */
+public final class ExternalSort {
+
+    /**
+     * The maximum length of an array that is safe to allocate.
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * The amount of heap used for sorting chunks and buffering runs.
+     */
+    private final long memoryBudget;
+
+    /**
+     * The size in bytes of each I/O buffer.
+     */
+    private final int bufferSize;
+
+    /**
+     * The directory for run files, or {@code null} for the default temporary
+     * directory.
+     */
+    private final Path tempDirectory;
+
+    /**
+     * The byte order of the keys in every file.
+     */
+    private final ByteOrder byteOrder;
+
+    /**
+     * Whether chunks are sorted in parallel.
+     */
+    private final boolean parallel;
+
+    /**
+     * Constructs an {@code ExternalSort} from the given builder.
+     *
+     * @param builder The builder holding the configuration.
+     */
+    private ExternalSort(Builder builder) {
+        this.memoryBudget = builder.memoryBudget;
+        this.bufferSize = builder.bufferSize;
+        this.tempDirectory = builder.tempDirectory;
+        this.byteOrder = builder.byteOrder;
+        this.parallel = builder.parallel;
+    }
+
+    /**
+     * Returns a new builder with the default configuration: a memory budget
+     * of a quarter of the maximum heap size, 64 KiB I/O buffers, the default
+     * temporary directory, big-endian keys and parallel chunk sorting.
+     *
+     * @return A new {@code Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Sorts a file of {@code int} keys in ascending order into the given
+     * output file, which is created or truncated.
+     *
+     * @param input The file to sort, whose size must be a multiple of 4.
+     * @param output The file to write the sorted keys to, which must not be
+     *        the input file.
+     * @return The amount of keys sorted.
+     * @throws IOException if an I/O error occurs or the size of the input is
+     *         not a multiple of 4.
+     */
+    public long sortInts(Path input, Path output) throws IOException {
+        return sort(input, output, Integer.BYTES);
+    }
+
+    /**
+     * Sorts a file of {@code long} keys in ascending order into the given
+     * output file, which is created or truncated.
+     *
+     * @param input The file to sort, whose size must be a multiple of 8.
+     * @param output The file to write the sorted keys to, which must not be
+     *        the input file.
+     * @return The amount of keys sorted.
+     * @throws IOException if an I/O error occurs or the size of the input is
+     *         not a multiple of 8.
+     */
+    public long sortLongs(Path input, Path output) throws IOException {
+        return sort(input, output, Long.BYTES);
+    }
+
+    /**
+     * Sorts a file of keys of the given width.
+     *
+     * @param input The file to sort.
+     * @param output The file to write the sorted keys to.
+     * @param width The width of each key in bytes, which is 4 or 8.
+     * @return The amount of keys sorted.
+     * @throws IOException if an I/O error occurs or the input is malformed.
+     */
+    private long sort(Path input, Path output, int width) throws IOException {
+        Objects.requireNonNull(input, "Invalid null input!");
+        Objects.requireNonNull(output, "Invalid null output!");
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            throw new IllegalArgumentException("Output is the input!");
+        }
+        List<Path> created = new ArrayList<>(); // Every run, for cleanup
+        List<Path> runs = new ArrayList<>();
+        try {
+            long count;
+            try (FileChannel in = FileChannel.open(input,
+                    StandardOpenOption.READ))
+            {
+                long size = in.size();
+                if (size % width != 0) {
+                    throw new IOException("Size of " + input + " : " + size
+                            + " is not a multiple of " + width + " !");
+                }
+                count = size / width;
+                long fit = (memoryBudget - bufferSize) / (2 * width);
+                long chunk = Math.min(count,
+                        Math.min(MAX_ARRAY_LENGTH, Math.max(1, fit)));
+                if (count == chunk) {
+                    spill(in, count, width, output); // Fits in memory
+                    return count;
+                }
+                for (long done = 0; done < count; done += chunk) {
+                    Path run = createRun(created);
+                    runs.add(run);
+                    spill(in, Math.min(chunk, count - done), width, run);
+                }
+            }
+            int fanIn = (int) Math.max(2, Math.min(Integer.MAX_VALUE,
+                    memoryBudget / bufferSize - 1));
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i,
+                            Math.min(i + fanIn, runs.size()));
+                    Path run = createRun(created);
+                    merged.add(run);
+                    merge(group, run, width);
+                    deleteAll(group);
+                }
+                runs = merged;
+            }
+            merge(runs, output, width);
+            return count;
+        }
+        finally {
+            deleteAll(created);
+        }
+    }
+
+    /**
+     * Reads the given amount of keys from the current position of the given
+     * channel, sorts them and writes them to the given file.
+     *
+     * @param in The channel to read from.
+     * @param length The amount of keys to read.
+     * @param width The width of each key in bytes.
+     * @param to The file to write the sorted keys to.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void spill(FileChannel in, long length, int width, Path to)
+            throws IOException
+    {
+        ByteBuffer buffer = allocate(bufferSize);
+        int n = (int) length;
+        if (width == Integer.BYTES) {
+            int[] keys = new int[n];
+            for (int i = 0; i < n; ) {
+                fill(in, buffer, Math.min(n - i, bufferSize / width) * width);
+                int read = buffer.remaining() / width;
+                buffer.asIntBuffer().get(keys, i, read);
+                i += read;
+            }
+            if (parallel) {
+                RadixSort.parallelSort(keys);
+            }
+            else {
+                RadixSort.sort(keys);
+            }
+            try (RunWriter out = new RunWriter(to, width, buffer)) {
+                for (int key : keys) {
+                    out.write(key);
+                }
+            }
+        }
+        else {
+            long[] keys = new long[n];
+            for (int i = 0; i < n; ) {
+                fill(in, buffer, Math.min(n - i, bufferSize / width) * width);
+                int read = buffer.remaining() / width;
+                buffer.asLongBuffer().get(keys, i, read);
+                i += read;
+            }
+            if (parallel) {
+                RadixSort.parallelSort(keys);
+            }
+            else {
+                RadixSort.sort(keys);
+            }
+            try (RunWriter out = new RunWriter(to, width, buffer)) {
+                for (long key : keys) {
+                    out.write(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges the given sorted runs into the given file with a
+     * {@link LoserTree}, dividing the memory budget between their buffers.
+     *
+     * @param runs The runs to merge.
+     * @param to The file to write the merged keys to.
+     * @param width The width of each key in bytes.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void merge(List<Path> runs, Path to, int width)
+            throws IOException
+    {
+        int k = runs.size();
+        long share = memoryBudget / (k + 1);
+        int readSize = (int) Math.max(width,
+                Math.min(bufferSize, share - share % width));
+        RunReader[] readers = new RunReader[k];
+        try {
+            LoserTree tree = new LoserTree(k);
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), width,
+                        allocate(readSize));
+                if (readers[i].hasNext()) {
+                    tree.set(i, readers[i].next());
+                }
+            }
+            tree.build();
+            try (RunWriter out = new RunWriter(to, width,
+                    allocate(bufferSize)))
+            {
+                for (int w; (w = tree.winner()) >= 0; ) {
+                    out.write(tree.winnerKey());
+                    if (readers[w].hasNext()) {
+                        tree.replaceWinner(readers[w].next());
+                    }
+                    else {
+                        tree.exhaustWinner();
+                    }
+                }
+            }
+        }
+        finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a new heap buffer of the given size in the configured byte
+     * order.
+     *
+     * @param size The capacity of the buffer in bytes.
+     * @return A new {@code ByteBuffer}.
+     */
+    private ByteBuffer allocate(int size) {
+        return ByteBuffer.allocate(size).order(byteOrder);
+    }
+
+    /**
+     * Creates a new, empty run file in the configured directory.
+     *
+     * @param created The list of created run files to add the file to.
+     * @return The path of the run file.
+     * @throws IOException if the file cannot be created.
+     */
+    private Path createRun(List<Path> created) throws IOException {
+        Path run = (tempDirectory == null)
+                ? Files.createTempFile("extsort", ".run")
+                : Files.createTempFile(tempDirectory, "extsort", ".run");
+        created.add(run);
+        return run;
+    }
+
+    /**
+     * Deletes every given file that exists, ignoring failures.
+     *
+     * @param files The files to delete.
+     */
+    private static void deleteAll(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            }
+            catch (IOException ignored) {
+                // Temporary files are best effort
+            }
+        }
+    }
+
+    /**
+     * Clears the given buffer and reads exactly the given amount of bytes from
+     * the given channel into it, leaving the buffer ready to be read.
+     *
+     * @param in The channel to read from.
+     * @param buffer The buffer to fill.
+     * @param length The amount of bytes to read.
+     * @throws IOException if an I/O error occurs or the channel ends first.
+     */
+    private static void fill(FileChannel in, ByteBuffer buffer, int length)
+            throws IOException
+    {
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of input!");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Reads the keys of a run file sequentially through a buffer.
+     */
+    private static final class RunReader implements Closeable {
+
+        /**
+         * The channel of the run file.
+         */
+        private final FileChannel channel;
+
+        /**
+         * The width of each key in bytes.
+         */
+        private final int width;
+
+        /**
+         * The buffer of keys read but not yet returned.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * The amount of bytes of the file not yet read into the buffer.
+         */
+        private long unread;
+
+        /**
+         * Opens a {@code RunReader} over the given file.
+         *
+         * @param run The run file to read.
+         * @param width The width of each key in bytes.
+         * @param buffer The buffer to read through.
+         * @throws IOException if the file cannot be opened.
+         */
+        RunReader(Path run, int width, ByteBuffer buffer) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.width = width;
+            this.buffer = buffer;
+            this.unread = channel.size();
+            buffer.limit(0);
+        }
+
+        /**
+         * Tests if the run has another key.
+         *
+         * @return {@code true} if the run has another key.
+         * @throws IOException if an I/O error occurs.
+         */
+        boolean hasNext() throws IOException {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+            if (unread == 0) {
+                return false;
+            }
+            int length = (int) Math.min(buffer.capacity(), unread);
+            fill(channel, buffer, length);
+            unread -= length;
+            return true;
+        }
+
+        /**
+         * Returns the next key of the run, which must exist.
+         *
+         * @return The next key of the run.
+         */
+        long next() {
+            return (width == Integer.BYTES) ? buffer.getInt()
+                                            : buffer.getLong();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+    }
+
+    /**
+     * Writes keys sequentially to a file through a buffer.
+     */
+    private static final class RunWriter implements Closeable {
+
+        /**
+         * The channel of the file.
+         */
+        private final FileChannel channel;
+
+        /**
+         * The width of each key in bytes.
+         */
+        private final int width;
+
+        /**
+         * The buffer of keys not yet written.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Opens a {@code RunWriter} that creates or truncates the given file.
+         *
+         * @param file The file to write.
+         * @param width The width of each key in bytes.
+         * @param buffer The buffer to write through.
+         * @throws IOException if the file cannot be opened.
+         */
+        RunWriter(Path file, int width, ByteBuffer buffer) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.width = width;
+            this.buffer = buffer;
+            buffer.clear();
+        }
+
+        /**
+         * Writes the given key.
+         *
+         * @param key The key to write, which is narrowed to an {@code int} if
+         *        keys are 4 bytes wide.
+         * @throws IOException if an I/O error occurs.
+         */
+        void write(long key) throws IOException {
+            if (buffer.remaining() < width) {
+                flush();
+            }
+            if (width == Integer.BYTES) {
+                buffer.putInt((int) key);
+            }
+            else {
+                buffer.putLong(key);
+            }
+        }
+
+        /**
+         * Writes every buffered key to the file.
+         *
+         * @throws IOException if an I/O error occurs.
+         */
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            }
+            finally {
+                channel.close();
+            }
+        }
+
+    }
+
+    /**
+     * The {@code Builder} class configures an {@link ExternalSort}.
+     */
+    public static final class Builder {
+
+        /**
+         * The amount of heap used for sorting chunks and buffering runs.
+         */
+        private long memoryBudget = Runtime.getRuntime().maxMemory() / 4;
+
+        /**
+         * The size in bytes of each I/O buffer.
+         */
+        private int bufferSize = 1 << 16;
+
+        /**
+         * The directory for run files, or {@code null} for the default.
+         */
+        private Path tempDirectory;
+
+        /**
+         * The byte order of the keys in every file.
+         */
+        private ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
+
+        /**
+         * Whether chunks are sorted in parallel.
+         */
+        private boolean parallel = true;
+
+        /**
+         * Don't let anyone but the enclosing class instantiate this class.
+         */
+        private Builder() {
+
+        }
+
+        /**
+         * Sets the amount of heap used for sorting chunks and buffering runs.
+         * Each chunk takes twice its size in memory while it is sorted, so the
+         * budget determines both the length of each run and how many runs
+         * can be merged in one pass.
+         *
+         * @param bytes The memory budget in bytes.
+         * @return This builder.
+         * @throws IllegalArgumentException if the budget is not positive.
+         */
+        public Builder memoryBudget(long bytes) {
+            if (bytes <= 0) {
+                throw new IllegalArgumentException("Invalid memory budget : "
+                        + bytes);
+            }
+            this.memoryBudget = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the size of each I/O buffer. Larger buffers mean fewer, larger
+         * reads and writes, at the cost of merging fewer runs per pass.
+         *
+         * @param bytes The buffer size in bytes, which must be a positive
+         *        multiple of 8.
+         * @return This builder.
+         * @throws IllegalArgumentException if the size is not a positive
+         *         multiple of 8.
+         */
+        public Builder bufferSize(int bytes) {
+            if (bytes <= 0 || bytes % Long.BYTES != 0) {
+                throw new IllegalArgumentException("Invalid buffer size : "
+                        + bytes);
+            }
+            this.bufferSize = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the directory in which run files are created.
+         *
+         * @param directory The directory for run files.
+         * @return This builder.
+         * @throws NullPointerException if the directory is {@code null}.
+         */
+        public Builder tempDirectory(Path directory) {
+            this.tempDirectory = Objects.requireNonNull(directory,
+                    "Invalid null directory!");
+            return this;
+        }
+
+        /**
+         * Sets the byte order of the keys in the input, output and run files.
+         *
+         * @param order The byte order of the keys.
+         * @return This builder.
+         * @throws NullPointerException if the order is {@code null}.
+         */
+        public Builder byteOrder(ByteOrder order) {
+            this.byteOrder = Objects.requireNonNull(order,
+                    "Invalid null byte order!");
+            return this;
+        }
+
+        /**
+         * Sets whether chunks are sorted in parallel on the common
+         * {@code ForkJoinPool}.
+         *
+         * @param parallel Whether to sort chunks in parallel.
+         * @return This builder.
+         */
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        /**
+         * Returns a new {@code ExternalSort} with the configuration of this
+         * builder.
+         *
+         * @return A new {@code ExternalSort}.
+         * @throws IllegalStateException if the memory budget is smaller than
+         *         two I/O buffers.
+         */
+        public ExternalSort build() {
+            if (memoryBudget < 2L * bufferSize) {
+                throw new IllegalStateException("Memory budget : "
+                        + memoryBudget + " < 2 * buffer size : " + bufferSize
+                        + " !");
+            }
+            return new ExternalSort(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,553 @@
+package functions;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The {@code HexCodec} class contains an immutable, thread-safe encoder and
+ * decoder of hexadecimal text, which writes two digits for each byte, most
+ * significant first.
+ *
+ * <p> Both directions are driven by lookup tables. Encoding copies the two
+ * digits of each byte from a table of all 256 pairs, and decoding maps each
+ * digit to its value with a table of the ASCII characters, so neither
+ * branches on the value of a digit. Decoding marks an invalid digit by a
+ * negative value, which is checked once per call rather than once per byte;
+ * only a call that fails scans its digits again to report the first invalid
+ * one, so it may have written to its destination before it throws.
+ *
+ * <p> Decoding accepts digits of either case; encoding writes the case of the
+ * codec, as given by {@link #upperCase()} or {@link #lowerCase()}.
+ *
+ * <p> The methods that take a destination array or buffer write into it and
+ * allocate nothing. Hexadecimal text may be read and written as
+ * {@code char} values, or as ASCII {@code byte} values, which is the form in
+ * which it is read from and written to files and channels. The methods on
+ * buffers process as many whole bytes as both buffers allow and advance
+ * their positions past them, as a {@link java.nio.charset.CharsetEncoder}
+ * does, so they can be called again once the buffers are drained or
+ * refilled.
+ *
+ * @author Oliver Abdulrahim
+ * @see StringUtilities#stringToHex(String, Charset)
+ */
+public final class HexCodec {
+
+    /**
+     * The value of each ASCII character as a hexadecimal digit, or
+     * {@code -1} if it is not one.
+     */
+    private static final byte[] DIGITS = new byte[128];
+
+    static {
+        Arrays.fill(DIGITS, (byte) -1);
+        for (int i = 0; i < 10; i++) {
+            DIGITS['0' + i] = (byte) i;
+        }
+        for (int i = 0; i < 6; i++) {
+            DIGITS['A' + i] = (byte) (10 + i);
+            DIGITS['a' + i] = (byte) (10 + i);
+        }
+    }
+
+    /**
+     * The codec that writes upper case digits.
+     */
+    private static final HexCodec UPPER = new HexCodec("0123456789ABCDEF");
+
+    /**
+     * The codec that writes lower case digits.
+     */
+    private static final HexCodec LOWER = new HexCodec("0123456789abcdef");
+
+    /**
+     * The two digits of each byte value, at {@code 2 * (b & 0xFF)}.
+     */
+    private final char[] pairs;
+
+    /**
+     * The two digits of each byte value as ASCII bytes, at
+     * {@code 2 * (b & 0xFF)}.
+     */
+    private final byte[] asciiPairs;
+
+    /**
+     * Constructs a {@code HexCodec} that writes the given digits.
+     *
+     * @param digits The sixteen digits, in order of value.
+     */
+    private HexCodec(String digits) {
+        pairs = new char[512];
+        asciiPairs = new byte[512];
+        for (int b = 0; b < 256; b++) {
+            pairs[2 * b] = digits.charAt(b >>> 4);
+            pairs[2 * b + 1] = digits.charAt(b & 0xF);
+            asciiPairs[2 * b] = (byte) pairs[2 * b];
+            asciiPairs[2 * b + 1] = (byte) pairs[2 * b + 1];
+        }
+    }
+
+    /**
+     * Returns the codec that writes the digits {@code A} to {@code F} in
+     * upper case, as {@code "CAFE"}.
+     *
+     * @return The upper case codec.
+     */
+    public static HexCodec upperCase() {
+        return UPPER;
+    }
+
+    /**
+     * Returns the codec that writes the digits {@code a} to {@code f} in
+     * lower case, as {@code "cafe"}.
+     *
+     * @return The lower case codec.
+     */
+    public static HexCodec lowerCase() {
+        return LOWER;
+    }
+
+    /**
+     * Tests if this codec writes upper case digits.
+     *
+     * @return {@code true} if this is the codec of {@link #upperCase()}.
+     */
+    public boolean isUpperCase() {
+        return this == UPPER;
+    }
+
+    /**
+     * Returns the amount of digits that encode the given amount of bytes.
+     *
+     * @param bytes The amount of bytes.
+     * @return {@code 2 * bytes}.
+     * @throws IllegalArgumentException if {@code bytes < 0}.
+     * @throws ArithmeticException if the result does not fit in an
+     *         {@code int}.
+     */
+    public static int encodedLength(int bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("bytes : " + bytes + " < 0 !");
+        }
+        return Math.multiplyExact(bytes, 2);
+    }
+
+    /**
+     * Returns the amount of bytes that the given amount of digits decodes to.
+     *
+     * @param digits The amount of digits.
+     * @return {@code digits / 2}.
+     * @throws IllegalArgumentException if {@code digits} is negative or odd.
+     */
+    public static int decodedLength(int digits) {
+        if (digits < 0 || (digits & 1) != 0) {
+            throw new IllegalArgumentException("Invalid length : " + digits);
+        }
+        return digits / 2;
+    }
+
+    /**
+     * Returns the value of the given hexadecimal digit, without branching.
+     *
+     * @param c The digit, between {@code 0} and {@code 0xFFFF}.
+     * @return The value of the digit, or {@code -1} if it is not one.
+     */
+    private static int digit(int c) {
+        return DIGITS[c & 0x7F] | ((0x7F - c) >> 31);
+    }
+
+    /**
+     * Returns the byte encoded by the given digits.
+     *
+     * @param high The most significant digit.
+     * @param low The least significant digit.
+     * @param index The index of {@code high} in the text, for the message of
+     *        the exception.
+     * @return The decoded byte.
+     * @throws IllegalArgumentException if either character is not a
+     *         hexadecimal digit.
+     */
+    private static byte decodePair(int high, int low, long index) {
+        int h = digit(high);
+        int l = digit(low);
+        if ((h | l) < 0) {
+            throw new IllegalArgumentException("Invalid hex digit : '"
+                    + (char) ((h < 0) ? high : low) + "' at index "
+                    + ((h < 0) ? index : index + 1));
+        }
+        return (byte) ((h << 4) | l);
+    }
+
+    /**
+     * Ensures that a given range lies within an array of a given length.
+     *
+     * @param length The length of the array.
+     * @param offset The first index of the range.
+     * @param count The length of the range.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    private static void rangeCheck(int length, int offset, int count) {
+        if ((offset | count) < 0 || count > length - offset) {
+            throw new IndexOutOfBoundsException("offset : " + offset
+                    + ", count : " + count + ", length : " + length);
+        }
+    }
+
+    /*
+     * Encoding
+     */
+
+    /**
+     * Encodes the given bytes into a new {@code String}.
+     *
+     * @param src The bytes to encode.
+     * @return The digits of the bytes.
+     */
+    public String encode(byte[] src) {
+        Objects.requireNonNull(src, "Invalid null array!");
+        return encode(src, 0, src.length);
+    }
+
+    /**
+     * Encodes the given range of bytes into a new {@code String}.
+     *
+     * @param src The bytes to encode.
+     * @param offset The index of the first byte.
+     * @param length The amount of bytes to encode.
+     * @return The digits of the bytes.
+     * @throws IndexOutOfBoundsException if the range is out of bounds.
+     */
+    public String encode(byte[] src, int offset, int length) {
+        rangeCheck(src.length, offset, length);
+        char[] digits = new char[encodedLength(length)];
+        encode(src, offset, length, digits, 0);
+        return new String(digits);
+    }
+
+    /**
+     * Encodes a {@code String} in the given charset into a new
+     * {@code String}.
+     *
+     * @param str The text to encode.
+     * @param charset The charset of the bytes of the text.
+     * @return The digits of the bytes of the text.
+     */
+    public String encode(String str, Charset charset) {
+        Objects.requireNonNull(charset, "Invalid null charset!");
+        return encode(str.getBytes(charset));
+    }
+
+    /**
+     * Encodes the given range of bytes into an array of characters, without
+     * allocating.
+     *
+     * @param src The bytes to encode.
+     * @param offset The index of the first byte.
+     * @param length The amount of bytes to encode.
+     * @param dst The array to write the digits to.
+     * @param dstOffset The index of the first digit in {@code dst}.
+     * @return The amount of digits written, which is {@code 2 * length}.
+     * @throws IndexOutOfBoundsException if either range is out of bounds.
+     */
+    public int encode(byte[] src, int offset, int length, char[] dst,
+            int dstOffset)
+    {
+        rangeCheck(src.length, offset, length);
+        int digits = encodedLength(length);
+        rangeCheck(dst.length, dstOffset, digits);
+        char[] table = pairs;
+        for (int i = offset, j = dstOffset; i < offset + length; i++, j += 2) {
+            int p = (src[i] & 0xFF) << 1;
+            dst[j] = table[p];
+            dst[j + 1] = table[p + 1];
+        }
+        return digits;
+    }
+
+    /**
+     * Encodes the given range of bytes into an array of ASCII digits,
+     * without allocating.
+     *
+     * @param src The bytes to encode.
+     * @param offset The index of the first byte.
+     * @param length The amount of bytes to encode.
+     * @param dst The array to write the ASCII digits to.
+     * @param dstOffset The index of the first digit in {@code dst}.
+     * @return The amount of digits written, which is {@code 2 * length}.
+     * @throws IndexOutOfBoundsException if either range is out of bounds.
+     */
+    public int encode(byte[] src, int offset, int length, byte[] dst,
+            int dstOffset)
+    {
+        rangeCheck(src.length, offset, length);
+        int digits = encodedLength(length);
+        rangeCheck(dst.length, dstOffset, digits);
+        byte[] table = asciiPairs;
+        for (int i = offset, j = dstOffset; i < offset + length; i++, j += 2) {
+            int p = (src[i] & 0xFF) << 1;
+            dst[j] = table[p];
+            dst[j + 1] = table[p + 1];
+        }
+        return digits;
+    }
+
+    /**
+     * Encodes as many bytes of a buffer as fit into a buffer of characters,
+     * and advances both buffers past them.
+     *
+     * @param src The buffer of bytes to encode.
+     * @param dst The buffer to write the digits to.
+     * @return The amount of bytes encoded.
+     * @throws java.nio.ReadOnlyBufferException if {@code dst} is read-only.
+     */
+    public int encode(ByteBuffer src, CharBuffer dst) {
+        int n = Math.min(src.remaining(), dst.remaining() / 2);
+        int sp = src.position();
+        int dp = dst.position();
+        if (src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + sp, n, dst.array(),
+                    dst.arrayOffset() + dp);
+        }
+        else {
+            char[] table = pairs;
+            for (int i = 0; i < n; i++) {
+                int p = (src.get(sp + i) & 0xFF) << 1;
+                dst.put(dp + 2 * i, table[p]);
+                dst.put(dp + 2 * i + 1, table[p + 1]);
+            }
+        }
+        src.position(sp + n);
+        dst.position(dp + 2 * n);
+        return n;
+    }
+
+    /**
+     * Encodes as many bytes of a buffer as fit into a buffer of ASCII digits,
+     * and advances both buffers past them.
+     *
+     * @param src The buffer of bytes to encode.
+     * @param dst The buffer to write the ASCII digits to.
+     * @return The amount of bytes encoded.
+     * @throws java.nio.ReadOnlyBufferException if {@code dst} is read-only.
+     */
+    public int encode(ByteBuffer src, ByteBuffer dst) {
+        int n = Math.min(src.remaining(), dst.remaining() / 2);
+        int sp = src.position();
+        int dp = dst.position();
+        if (src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + sp, n, dst.array(),
+                    dst.arrayOffset() + dp);
+        }
+        else {
+            byte[] table = asciiPairs;
+            for (int i = 0; i < n; i++) {
+                int p = (src.get(sp + i) & 0xFF) << 1;
+                dst.put(dp + 2 * i, table[p]);
+                dst.put(dp + 2 * i + 1, table[p + 1]);
+            }
+        }
+        src.position(sp + n);
+        dst.position(dp + 2 * n);
+        return n;
+    }
+
+    /*
+     * Decoding
+     */
+
+    /**
+     * Decodes the given digits into a new array.
+     *
+     * @param src The digits to decode, of either case.
+     * @return The bytes of the digits.
+     * @throws IllegalArgumentException if the amount of digits is odd, or a
+     *         character is not a hexadecimal digit.
+     */
+    public byte[] decode(CharSequence src) {
+        byte[] bytes = new byte[decodedLength(src.length())];
+        decode(src, 0, src.length(), bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * Decodes the given digits into a {@code String} in the given charset.
+     *
+     * @param src The digits to decode, of either case.
+     * @param charset The charset of the decoded bytes.
+     * @return The text of the bytes of the digits.
+     * @throws IllegalArgumentException if the amount of digits is odd, or a
+     *         character is not a hexadecimal digit.
+     */
+    public String decode(CharSequence src, Charset charset) {
+        Objects.requireNonNull(charset, "Invalid null charset!");
+        return new String(decode(src), charset);
+    }
+
+    /**
+     * Decodes the given range of digits into an array, without allocating.
+     *
+     * @param src The digits to decode, of either case.
+     * @param start The index of the first digit, inclusive.
+     * @param end The index of the last digit, exclusive.
+     * @param dst The array to write the bytes to.
+     * @param dstOffset The index of the first byte in {@code dst}.
+     * @return The amount of bytes written, which is
+     *         {@code (end - start) / 2}.
+     * @throws IllegalArgumentException if the amount of digits is odd, or a
+     *         character is not a hexadecimal digit.
+     * @throws IndexOutOfBoundsException if either range is out of bounds.
+     */
+    public int decode(CharSequence src, int start, int end, byte[] dst,
+            int dstOffset)
+    {
+        rangeCheck(src.length(), start, end - start);
+        int n = decodedLength(end - start);
+        rangeCheck(dst.length, dstOffset, n);
+        int invalid = 0;
+        for (int i = start, j = dstOffset; i < end; i += 2, j++) {
+            int b = (digit(src.charAt(i)) << 4) | digit(src.charAt(i + 1));
+            invalid |= b;
+            dst[j] = (byte) b;
+        }
+        if (invalid < 0) {
+            for (int i = start; i < end; i += 2) {
+                decodePair(src.charAt(i), src.charAt(i + 1), i);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Decodes the given range of digits into an array, without allocating.
+     *
+     * @param src The digits to decode, of either case.
+     * @param offset The index of the first digit.
+     * @param length The amount of digits to decode.
+     * @param dst The array to write the bytes to.
+     * @param dstOffset The index of the first byte in {@code dst}.
+     * @return The amount of bytes written, which is {@code length / 2}.
+     * @throws IllegalArgumentException if the amount of digits is odd, or a
+     *         character is not a hexadecimal digit.
+     * @throws IndexOutOfBoundsException if either range is out of bounds.
+     */
+    public int decode(char[] src, int offset, int length, byte[] dst,
+            int dstOffset)
+    {
+        rangeCheck(src.length, offset, length);
+        int n = decodedLength(length);
+        rangeCheck(dst.length, dstOffset, n);
+        int invalid = 0;
+        for (int i = offset, j = dstOffset; j < dstOffset + n; i += 2, j++) {
+            int b = (digit(src[i]) << 4) | digit(src[i + 1]);
+            invalid |= b;
+            dst[j] = (byte) b;
+        }
+        if (invalid < 0) {
+            for (int i = offset; i < offset + length; i += 2) {
+                decodePair(src[i], src[i + 1], i);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Decodes the given range of ASCII digits into an array, without
+     * allocating.
+     *
+     * @param src The ASCII digits to decode, of either case.
+     * @param offset The index of the first digit.
+     * @param length The amount of digits to decode.
+     * @param dst The array to write the bytes to.
+     * @param dstOffset The index of the first byte in {@code dst}.
+     * @return The amount of bytes written, which is {@code length / 2}.
+     * @throws IllegalArgumentException if the amount of digits is odd, or a
+     *         byte is not a hexadecimal digit.
+     * @throws IndexOutOfBoundsException if either range is out of bounds.
+     */
+    public int decode(byte[] src, int offset, int length, byte[] dst,
+            int dstOffset)
+    {
+        rangeCheck(src.length, offset, length);
+        int n = decodedLength(length);
+        rangeCheck(dst.length, dstOffset, n);
+        int invalid = 0;
+        for (int i = offset, j = dstOffset; j < dstOffset + n; i += 2, j++) {
+            int b = (digit(src[i] & 0xFF) << 4) | digit(src[i + 1] & 0xFF);
+            invalid |= b;
+            dst[j] = (byte) b;
+        }
+        if (invalid < 0) {
+            for (int i = offset; i < offset + length; i += 2) {
+                decodePair(src[i] & 0xFF, src[i + 1] & 0xFF, i);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Decodes as many pairs of digits of a buffer as fit into a buffer of
+     * bytes, and advances both buffers past them. A trailing odd digit is
+     * left in the source buffer.
+     *
+     * @param src The buffer of digits to decode, of either case.
+     * @param dst The buffer to write the bytes to.
+     * @return The amount of bytes decoded.
+     * @throws IllegalArgumentException if a character is not a hexadecimal
+     *         digit, in which case neither buffer is advanced.
+     * @throws java.nio.ReadOnlyBufferException if {@code dst} is read-only.
+     */
+    public int decode(CharBuffer src, ByteBuffer dst) {
+        int n = Math.min(src.remaining() / 2, dst.remaining());
+        int sp = src.position();
+        int dp = dst.position();
+        if (src.hasArray() && dst.hasArray()) {
+            decode(src.array(), src.arrayOffset() + sp, 2 * n, dst.array(),
+                    dst.arrayOffset() + dp);
+        }
+        else {
+            for (int i = 0; i < n; i++) {
+                dst.put(dp + i, decodePair(src.get(sp + 2 * i),
+                        src.get(sp + 2 * i + 1), sp + 2 * i));
+            }
+        }
+        src.position(sp + 2 * n);
+        dst.position(dp + n);
+        return n;
+    }
+
+    /**
+     * Decodes as many pairs of ASCII digits of a buffer as fit into a buffer
+     * of bytes, and advances both buffers past them. A trailing odd digit is
+     * left in the source buffer.
+     *
+     * @param src The buffer of ASCII digits to decode, of either case.
+     * @param dst The buffer to write the bytes to.
+     * @return The amount of bytes decoded.
+     * @throws IllegalArgumentException if a byte is not a hexadecimal digit,
+     *         in which case neither buffer is advanced.
+     * @throws java.nio.ReadOnlyBufferException if {@code dst} is read-only.
+     */
+    public int decode(ByteBuffer src, ByteBuffer dst) {
+        int n = Math.min(src.remaining() / 2, dst.remaining());
+        int sp = src.position();
+        int dp = dst.position();
+        if (src.hasArray() && dst.hasArray()) {
+            decode(src.array(), src.arrayOffset() + sp, 2 * n, dst.array(),
+                    dst.arrayOffset() + dp);
+        }
+        else {
+            for (int i = 0; i < n; i++) {
+                dst.put(dp + i, decodePair(src.get(sp + 2 * i) & 0xFF,
+                        src.get(sp + 2 * i + 1) & 0xFF,
+                        sp + 2 * i));
+            }
+        }
+        src.position(sp + 2 * n);
+        dst.position(dp + n);
+        return n;
+    }
+
+}
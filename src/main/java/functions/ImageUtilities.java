@@ -360,6 +360,42 @@ public final class ImageUtilities {
         return edgeCopy;
     }
     
+    /**
+     * Multiplies the red, green and blue channels of every pixel of a given
+     * {@code BufferedImage} by the given factor, which brightens the image if
+     * it exceeds {@code 1.0f} and darkens it otherwise. Each channel
+     * saturates at {@code 255}, and the alpha channel is kept.
+     * 
+     * <p> The pixels are scaled one row at a time by
+     * {@link ArrayKernels#scaleChannels(int[], int, int, float)}, which uses
+     * vector instructions when they are available.
+     * 
+     * @param src The image to brighten or darken.
+     * @param factor The factor to multiply each channel by, between
+     *        {@code 0.0f} and {@code 255.0f}.
+     * @return A new {@link BufferedImage#TYPE_INT_ARGB} image with the scaled
+     *         pixels of the given image.
+     * @throws NullPointerException if the given image {@code src} is 
+     *         {@code null}.
+     * @throws IllegalArgumentException if the factor is out of range.
+     */
+    public static BufferedImage scaleBrightness(BufferedImage src, 
+            float factor)
+    {
+        Objects.requireNonNull(src, "Invalid null image!");
+        int w = src.getWidth();
+        int h = src.getHeight();
+        BufferedImage dest = new BufferedImage(w, h, 
+                BufferedImage.TYPE_INT_ARGB);
+        int[] row = new int[w];
+        for (int y = 0; y < h; y++) {
+            src.getRGB(0, y, w, 1, row, 0, w);
+            ArrayKernels.scaleChannels(row, 0, w, factor);
+            dest.setRGB(0, y, w, 1, row, 0, w);
+        }
+        return dest;
+    }
+    
     private static BufferedImage process(BufferedImage src,
             BufferedImageOp operation) {
         BufferedImage dest = operation.createCompatibleDestImage(src,
@@ -0,0 +1,764 @@
+package functions;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code KWayMerge} class contains methods that merge any amount of
+ * sorted primitive arrays, or shards, into one sorted sequence.
+ *
+ * <p> The shards are merged by a tournament tree of losers, which selects the
+ * next element in &lceil;log<sub>2</sub> k&rceil; comparisons for {@code k}
+ * shards, so merging {@code n} elements in total costs &Omicron;(n log k)
+ * time and &Omicron;(k) memory besides the output. Equal elements are taken
+ * from the shard that comes first, so the merge is stable with respect to the
+ * order of the shards.
+ *
+ * <p> The result may be written into an array supplied by the caller or
+ * passed element by element to a consumer, and duplicates may optionally be
+ * removed, which keeps only the first of each run of equal elements.
+ *
+ * <p> The {@code parallelMerge} methods split the output into ranges of
+ * roughly equal size by co-ranking: for each boundary, a binary search over
+ * the values finds the position in each shard at which the elements before
+ * the boundary end. Each range is then merged independently on the common
+ * {@code ForkJoinPool}, and the result is identical to that of a sequential
+ * merge.
+ *
+ * <p> If a shard is not sorted in ascending order, the results are
+ * undefined.
+ *
+ * @author Oliver Abdulrahim
+ * @see SortedArrays#union(int[], int[], int[])
+ */
+public final class KWayMerge {
+
+    /**
+     * The least amount of output elements assigned to each parallel task.
+     */
+    private static final int MIN_PARALLEL_CHUNK = 1 << 16;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private KWayMerge() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Returns the amount of parallel tasks to merge the given amount of
+     * elements with.
+     *
+     * @param total The total amount of elements to merge.
+     * @return The amount of tasks, which is {@code 1} if there are too few
+     *         elements to benefit from parallelism.
+     */
+    private static int partsFor(long total) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        return (int) Math.max(1L, Math.min(parallelism * 4L,
+                total / MIN_PARALLEL_CHUNK));
+    }
+
+    /**
+     * Returns the mean of two values, rounded down, without overflow.
+     *
+     * @param x The first value.
+     * @param y The second value.
+     * @return The floor of the mean of the two values.
+     */
+    private static long mean(long x, long y) {
+        return (x & y) + ((x ^ y) >> 1);
+    }
+
+    /*
+     * int
+     */
+
+    /**
+     * Merges the given sorted shards into the given array, in ascending order.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param out The array to receive the merged elements, which must be at
+     *        least as long as all shards together.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     * @throws NullPointerException if any array is {@code null}.
+     */
+    public static int merge(int[][] shards, int[] out) {
+        return merge(shards, out, false);
+    }
+
+    /**
+     * Merges the given sorted shards into the given array, in ascending order,
+     * optionally removing duplicates.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param out The array to receive the merged elements, which must be at
+     *        least as long as all shards together.
+     * @param distinct Whether to write only the first of equal elements.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     * @throws NullPointerException if any array is {@code null}.
+     */
+    public static int merge(int[][] shards, int[] out, boolean distinct) {
+        requireCapacity(total(shards), out);
+        return merge0(shards, new int[shards.length], lengths(shards), out,
+                0, distinct);
+    }
+
+    /**
+     * Merges the given sorted shards, passing each element to the given
+     * consumer in ascending order.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param sink The consumer of the merged elements.
+     * @return The amount of elements passed to {@code sink}.
+     * @throws NullPointerException if any argument or shard is {@code null}.
+     */
+    public static long merge(int[][] shards, IntConsumer sink) {
+        return merge(shards, sink, false);
+    }
+
+    /**
+     * Merges the given sorted shards, passing each element to the given
+     * consumer in ascending order, and optionally removing duplicates.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param sink The consumer of the merged elements.
+     * @param distinct Whether to pass only the first of equal elements.
+     * @return The amount of elements passed to {@code sink}.
+     * @throws NullPointerException if any argument or shard is {@code null}.
+     */
+    public static long merge(int[][] shards, IntConsumer sink, 
+            boolean distinct) 
+    {
+        Objects.requireNonNull(sink, "Invalid null consumer!");
+        total(shards);
+        int k = shards.length;
+        if (k == 0) {
+            return 0L;
+        }
+        int[] pos = new int[k];
+        LoserTree tree = new LoserTree(k);
+        for (int i = 0; i < k; i++) {
+            if (shards[i].length > 0) {
+                tree.set(i, shards[i][0]);
+            }
+        }
+        tree.build();
+        long count = 0L;
+        int last = 0;
+        for (int w; (w = tree.winner()) >= 0; ) {
+            int key = (int) tree.winnerKey();
+            if (!distinct || count == 0 || key != last) {
+                sink.accept(key);
+                last = key;
+                count++;
+            }
+            int[] shard = shards[w];
+            if (++pos[w] < shard.length) {
+                tree.replaceWinner(shard[pos[w]]);
+            }
+            else {
+                tree.exhaustWinner();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Merges the given sorted shards into the given array, in ascending order,
+     * on the common {@code ForkJoinPool}.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param out The array to receive the merged elements, which must be at
+     *        least as long as all shards together.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     * @throws NullPointerException if any array is {@code null}.
+     */
+    public static int parallelMerge(int[][] shards, int[] out) {
+        return parallelMerge(shards, out, false);
+    }
+
+    /**
+     * Merges the given sorted shards into the given array, in ascending order,
+     * on the common {@code ForkJoinPool}, and optionally removes duplicates.
+     * Duplicates are removed by a sequential pass over the merged elements.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param out The array to receive the merged elements, which must be at
+     *        least as long as all shards together.
+     * @param distinct Whether to keep only the first of equal elements.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     * @throws NullPointerException if any array is {@code null}.
+     */
+    public static int parallelMerge(int[][] shards, int[] out,
+            boolean distinct)
+    {
+        long total = total(shards);
+        requireCapacity(total, out);
+        int parts = partsFor(total);
+        if (parts == 1) {
+            return merge0(shards, new int[shards.length], lengths(shards),
+                    out, 0, distinct);
+        }
+        int[][] cuts = new int[parts + 1][];
+        int[] starts = new int[parts + 1];
+        for (int p = 0; p <= parts; p++) {
+            starts[p] = (int) (total * p / parts);
+            cuts[p] = coRank(shards, starts[p]);
+        }
+        IntStream.range(0, parts).parallel().forEach(p ->
+                merge0(shards, cuts[p], cuts[p + 1], out, starts[p], false));
+        int size = (int) total;
+        if (distinct && size > 0) {
+            int kept = 1;
+            for (int i = 1; i < size; i++) {
+                if (out[i] != out[kept - 1]) {
+                    out[kept++] = out[i];
+                }
+            }
+            size = kept;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the total length of the given shards.
+     *
+     * @param shards The shards to measure.
+     * @return The sum of the lengths of the shards.
+     * @throws NullPointerException if any shard is {@code null}.
+     */
+    private static long total(int[][] shards) {
+        Objects.requireNonNull(shards, "Invalid null shards!");
+        long total = 0L;
+        for (int[] shard : shards) {
+            total += Objects.requireNonNull(shard, "Invalid null shard!")
+                    .length;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the length of each of the given shards.
+     *
+     * @param shards The shards to measure.
+     * @return A new array of the length of each shard.
+     */
+    private static int[] lengths(int[][] shards) {
+        int[] lengths = new int[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            lengths[i] = shards[i].length;
+        }
+        return lengths;
+    }
+
+    /**
+     * Ensures that an output array can hold the given amount of elements.
+     *
+     * @param total The amount of elements to write.
+     * @param out The output array.
+     * @throws IllegalArgumentException if the output array is too small.
+     * @throws NullPointerException if the output array is {@code null}.
+     */
+    private static void requireCapacity(long total, int[] out) {
+        Objects.requireNonNull(out, "Invalid null output array!");
+        if (out.length < total) {
+            throw new IllegalArgumentException("Output length : "
+                    + out.length + " < " + total + " !");
+        }
+    }
+
+    /**
+     * Merges the given ranges of the given shards into the given array.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param from The first index of the range of each shard, inclusive.
+     * @param to The last index of the range of each shard, exclusive.
+     * @param out The array to write into.
+     * @param offset The index of {@code out} to write the first element to.
+     * @param distinct Whether to write only the first of equal elements.
+     * @return The amount of elements written.
+     */
+    private static int merge0(int[][] shards, int[] from, int[] to, int[] out,
+            int offset, boolean distinct)
+    {
+        int k = shards.length;
+        if (k == 0) {
+            return 0;
+        }
+        int[] pos = from.clone();
+        LoserTree tree = new LoserTree(k);
+        for (int i = 0; i < k; i++) {
+            if (pos[i] < to[i]) {
+                tree.set(i, shards[i][pos[i]]);
+            }
+        }
+        tree.build();
+        int size = offset;
+        for (int w; (w = tree.winner()) >= 0; ) {
+            int key = (int) tree.winnerKey();
+            if (!distinct || size == offset || key != out[size - 1]) {
+                out[size++] = key;
+            }
+            if (++pos[w] < to[w]) {
+                tree.replaceWinner(shards[w][pos[w]]);
+            }
+            else {
+                tree.exhaustWinner();
+            }
+        }
+        return size - offset;
+    }
+
+    /**
+     * Returns the position in each of the given shards at which the first
+     * {@code rank} elements of their merge end. Elements less than the value
+     * at that rank are taken from every shard, and elements equal to it are
+     * taken from the earliest shards first, as a stable merge would.
+     *
+     * @param shards The sorted arrays to split.
+     * @param rank The amount of merged elements before the split.
+     * @return The amount of elements of each shard before the split.
+     */
+    private static int[] coRank(int[][] shards, long rank) {
+        int k = shards.length;
+        int[] cuts = new int[k];
+        if (rank == 0) {
+            return cuts;
+        }
+        // Find the smallest value v such that at least rank elements are
+        // less than or equal to v
+        long lo = Long.MAX_VALUE;
+        long hi = Long.MIN_VALUE;
+        for (int[] shard : shards) {
+            if (shard.length > 0) {
+                lo = Math.min(lo, shard[0]);
+                hi = Math.max(hi, shard[shard.length - 1]);
+            }
+        }
+        while (lo < hi) {
+            long mid = mean(lo, hi);
+            long count = 0L;
+            for (int[] shard : shards) {
+                count += upperBound(shard, (int) mid);
+            }
+            if (count >= rank) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
+            }
+        }
+        int v = (int) lo;
+        long remaining = rank;
+        for (int i = 0; i < k; i++) {
+            cuts[i] = lowerBound(shards[i], v);
+            remaining -= cuts[i];
+        }
+        for (int i = 0; i < k && remaining > 0; i++) {
+            int equal = upperBound(shards[i], v) - cuts[i];
+            int take = (int) Math.min(equal, remaining);
+            cuts[i] += take;
+            remaining -= take;
+        }
+        return cuts;
+    }
+
+    /**
+     * Returns the index of the first element of the given sorted array that
+     * is greater than or equal to the given key.
+     *
+     * @param a The array to search.
+     * @param key The value to search for.
+     * @return The index of the first element not less than {@code key}.
+     */
+    private static int lowerBound(int[] a, int key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index of the first element of the given sorted array that
+     * is greater than the given key.
+     *
+     * @param a The array to search.
+     * @param key The value to search for.
+     * @return The index of the first element greater than {@code key}.
+     */
+    private static int upperBound(int[] a, int key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /*
+     * long
+     */
+
+    /**
+     * Merges the given sorted shards into the given array, in ascending order.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param out The array to receive the merged elements, which must be at
+     *        least as long as all shards together.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     * @throws NullPointerException if any array is {@code null}.
+     */
+    public static int merge(long[][] shards, long[] out) {
+        return merge(shards, out, false);
+    }
+
+    /**
+     * Merges the given sorted shards into the given array, in ascending order,
+     * optionally removing duplicates.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param out The array to receive the merged elements, which must be at
+     *        least as long as all shards together.
+     * @param distinct Whether to write only the first of equal elements.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     * @throws NullPointerException if any array is {@code null}.
+     */
+    public static int merge(long[][] shards, long[] out, boolean distinct) {
+        requireCapacity(total(shards), out);
+        return merge0(shards, new int[shards.length], lengths(shards), out,
+                0, distinct);
+    }
+
+    /**
+     * Merges the given sorted shards, passing each element to the given
+     * consumer in ascending order.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param sink The consumer of the merged elements.
+     * @return The amount of elements passed to {@code sink}.
+     * @throws NullPointerException if any argument or shard is {@code null}.
+     */
+    public static long merge(long[][] shards, LongConsumer sink) {
+        return merge(shards, sink, false);
+    }
+
+    /**
+     * Merges the given sorted shards, passing each element to the given
+     * consumer in ascending order, and optionally removing duplicates.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param sink The consumer of the merged elements.
+     * @param distinct Whether to pass only the first of equal elements.
+     * @return The amount of elements passed to {@code sink}.
+     * @throws NullPointerException if any argument or shard is {@code null}.
+     */
+    public static long merge(long[][] shards, LongConsumer sink, 
+            boolean distinct) 
+    {
+        Objects.requireNonNull(sink, "Invalid null consumer!");
+        total(shards);
+        int k = shards.length;
+        if (k == 0) {
+            return 0L;
+        }
+        int[] pos = new int[k];
+        LoserTree tree = new LoserTree(k);
+        for (int i = 0; i < k; i++) {
+            if (shards[i].length > 0) {
+                tree.set(i, shards[i][0]);
+            }
+        }
+        tree.build();
+        long count = 0L;
+        long last = 0;
+        for (int w; (w = tree.winner()) >= 0; ) {
+            long key = tree.winnerKey();
+            if (!distinct || count == 0 || key != last) {
+                sink.accept(key);
+                last = key;
+                count++;
+            }
+            long[] shard = shards[w];
+            if (++pos[w] < shard.length) {
+                tree.replaceWinner(shard[pos[w]]);
+            }
+            else {
+                tree.exhaustWinner();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Merges the given sorted shards into the given array, in ascending order,
+     * on the common {@code ForkJoinPool}.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param out The array to receive the merged elements, which must be at
+     *        least as long as all shards together.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     * @throws NullPointerException if any array is {@code null}.
+     */
+    public static int parallelMerge(long[][] shards, long[] out) {
+        return parallelMerge(shards, out, false);
+    }
+
+    /**
+     * Merges the given sorted shards into the given array, in ascending order,
+     * on the common {@code ForkJoinPool}, and optionally removes duplicates.
+     * Duplicates are removed by a sequential pass over the merged elements.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param out The array to receive the merged elements, which must be at
+     *        least as long as all shards together.
+     * @param distinct Whether to keep only the first of equal elements.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     * @throws NullPointerException if any array is {@code null}.
+     */
+    public static int parallelMerge(long[][] shards, long[] out,
+            boolean distinct)
+    {
+        long total = total(shards);
+        requireCapacity(total, out);
+        int parts = partsFor(total);
+        if (parts == 1) {
+            return merge0(shards, new int[shards.length], lengths(shards),
+                    out, 0, distinct);
+        }
+        int[][] cuts = new int[parts + 1][];
+        int[] starts = new int[parts + 1];
+        for (int p = 0; p <= parts; p++) {
+            starts[p] = (int) (total * p / parts);
+            cuts[p] = coRank(shards, starts[p]);
+        }
+        IntStream.range(0, parts).parallel().forEach(p ->
+                merge0(shards, cuts[p], cuts[p + 1], out, starts[p], false));
+        int size = (int) total;
+        if (distinct && size > 0) {
+            int kept = 1;
+            for (int i = 1; i < size; i++) {
+                if (out[i] != out[kept - 1]) {
+                    out[kept++] = out[i];
+                }
+            }
+            size = kept;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the total length of the given shards.
+     *
+     * @param shards The shards to measure.
+     * @return The sum of the lengths of the shards.
+     * @throws NullPointerException if any shard is {@code null}.
+     */
+    private static long total(long[][] shards) {
+        Objects.requireNonNull(shards, "Invalid null shards!");
+        long total = 0L;
+        for (long[] shard : shards) {
+            total += Objects.requireNonNull(shard, "Invalid null shard!")
+                    .length;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the length of each of the given shards.
+     *
+     * @param shards The shards to measure.
+     * @return A new array of the length of each shard.
+     */
+    private static int[] lengths(long[][] shards) {
+        int[] lengths = new int[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            lengths[i] = shards[i].length;
+        }
+        return lengths;
+    }
+
+    /**
+     * Ensures that an output array can hold the given amount of elements.
+     *
+     * @param total The amount of elements to write.
+     * @param out The output array.
+     * @throws IllegalArgumentException if the output array is too small.
+     * @throws NullPointerException if the output array is {@code null}.
+     */
+    private static void requireCapacity(long total, long[] out) {
+        Objects.requireNonNull(out, "Invalid null output array!");
+        if (out.length < total) {
+            throw new IllegalArgumentException("Output length : "
+                    + out.length + " < " + total + " !");
+        }
+    }
+
+    /**
+     * Merges the given ranges of the given shards into the given array.
+     *
+     * @param shards The sorted arrays to merge.
+     * @param from The first index of the range of each shard, inclusive.
+     * @param to The last index of the range of each shard, exclusive.
+     * @param out The array to write into.
+     * @param offset The index of {@code out} to write the first element to.
+     * @param distinct Whether to write only the first of equal elements.
+     * @return The amount of elements written.
+     */
+    private static int merge0(long[][] shards, int[] from, int[] to, long[] out,
+            int offset, boolean distinct)
+    {
+        int k = shards.length;
+        if (k == 0) {
+            return 0;
+        }
+        int[] pos = from.clone();
+        LoserTree tree = new LoserTree(k);
+        for (int i = 0; i < k; i++) {
+            if (pos[i] < to[i]) {
+                tree.set(i, shards[i][pos[i]]);
+            }
+        }
+        tree.build();
+        int size = offset;
+        for (int w; (w = tree.winner()) >= 0; ) {
+            long key = tree.winnerKey();
+            if (!distinct || size == offset || key != out[size - 1]) {
+                out[size++] = key;
+            }
+            if (++pos[w] < to[w]) {
+                tree.replaceWinner(shards[w][pos[w]]);
+            }
+            else {
+                tree.exhaustWinner();
+            }
+        }
+        return size - offset;
+    }
+
+    /**
+     * Returns the position in each of the given shards at which the first
+     * {@code rank} elements of their merge end. Elements less than the value
+     * at that rank are taken from every shard, and elements equal to it are
+     * taken from the earliest shards first, as a stable merge would.
+     *
+     * @param shards The sorted arrays to split.
+     * @param rank The amount of merged elements before the split.
+     * @return The amount of elements of each shard before the split.
+     */
+    private static int[] coRank(long[][] shards, long rank) {
+        int k = shards.length;
+        int[] cuts = new int[k];
+        if (rank == 0) {
+            return cuts;
+        }
+        // Find the smallest value v such that at least rank elements are
+        // less than or equal to v
+        long lo = Long.MAX_VALUE;
+        long hi = Long.MIN_VALUE;
+        for (long[] shard : shards) {
+            if (shard.length > 0) {
+                lo = Math.min(lo, shard[0]);
+                hi = Math.max(hi, shard[shard.length - 1]);
+            }
+        }
+        while (lo < hi) {
+            long mid = mean(lo, hi);
+            long count = 0L;
+            for (long[] shard : shards) {
+                count += upperBound(shard, mid);
+            }
+            if (count >= rank) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
+            }
+        }
+        long v = lo;
+        long remaining = rank;
+        for (int i = 0; i < k; i++) {
+            cuts[i] = lowerBound(shards[i], v);
+            remaining -= cuts[i];
+        }
+        for (int i = 0; i < k && remaining > 0; i++) {
+            int equal = upperBound(shards[i], v) - cuts[i];
+            int take = (int) Math.min(equal, remaining);
+            cuts[i] += take;
+            remaining -= take;
+        }
+        return cuts;
+    }
+
+    /**
+     * Returns the index of the first element of the given sorted array that
+     * is greater than or equal to the given key.
+     *
+     * @param a The array to search.
+     * @param key The value to search for.
+     * @return The index of the first element not less than {@code key}.
+     */
+    private static int lowerBound(long[] a, long key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index of the first element of the given sorted array that
+     * is greater than the given key.
+     *
+     * @param a The array to search.
+     * @param key The value to search for.
+     * @return The index of the first element greater than {@code key}.
+     */
+    private static int upperBound(long[] a, long key) {
+        int lo = 0;
+        int hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+}
@@ -0,0 +1,199 @@
+package functions;
+
+import java.util.Arrays;
+
+/**
+ * The {@code LoserTree} class contains a tournament tree that repeatedly
+ * selects the smallest head among {@code k} sorted sources of primitive keys,
+ * which is the core of a k-way merge.
+ *
+ * <p> Each internal node of the tree remembers the source that lost the match
+ * played at that node, and the root remembers the overall winner. After the
+ * winning source advances, only the matches on the path from its leaf to the
+ * root are replayed, so each selection costs exactly &lceil;log<sub>2</sub>
+ * k&rceil; comparisons, about half as many as a binary heap, whose sift down
+ * compares against both children at each level.
+ *
+ * <p> Keys are held as {@code long} values, which preserves the order of
+ * {@code int} keys as well. Equal keys are won by the source with the smaller
+ * index, so a merge driven by this tree is stable with respect to the order
+ * of its sources. An exhausted source compares greater than every key.
+ *
+ * <p> Each node stores the key of its loser next to its index, so replaying a
+ * match reads only the node itself. An exhausted source is given the key
+ * {@link Long#MAX_VALUE}, so whether a source is exhausted need only be
+ * checked when two keys are both equal to it.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class LoserTree {
+
+    /**
+     * The amount of sources.
+     */
+    private final int k;
+
+    /**
+     * The source that lost at each internal node, with the overall winner at
+     * index {@code 0}. The leaf of source {@code i} is node {@code i + k}.
+     */
+    private final int[] tree;
+
+    /**
+     * The head key of the source at each node of {@link #tree}.
+     */
+    private final long[] nodeKeys;
+
+    /**
+     * The current head key of each source, before the tree is built.
+     */
+    private final long[] keys;
+
+    /**
+     * Whether each source is exhausted.
+     */
+    private final boolean[] exhausted;
+
+    /**
+     * Constructs a {@code LoserTree} over the given amount of sources, every
+     * one of which is initially exhausted.
+     *
+     * @param k The amount of sources.
+     * @throws IllegalArgumentException if {@code k} is not positive.
+     */
+    LoserTree(int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k : " + k + " <= 0 !");
+        }
+        this.k = k;
+        this.tree = new int[k];
+        this.nodeKeys = new long[k];
+        this.keys = new long[k];
+        this.exhausted = new boolean[k];
+        Arrays.fill(keys, Long.MAX_VALUE);
+        Arrays.fill(exhausted, true);
+    }
+
+    /**
+     * Sets the head key of the given source before the tree is built.
+     *
+     * @param source The index of the source.
+     * @param key The head key of the source.
+     */
+    void set(int source, long key) {
+        keys[source] = key;
+        exhausted[source] = false;
+    }
+
+    /**
+     * Plays every match of the tree from the current heads of the sources.
+     * This must be called after the sources are {@link #set(int, long) set}
+     * and before the first call to {@link #winner()}.
+     */
+    void build() {
+        int[] winners = new int[2 * k];
+        for (int i = 0; i < k; i++) {
+            winners[i + k] = i;
+        }
+        for (int node = k - 1; node >= 1; node--) {
+            int left = winners[2 * node];
+            int right = winners[2 * node + 1];
+            int loser;
+            if (beats(right, keys[right], left, keys[left])) {
+                winners[node] = right;
+                loser = left;
+            }
+            else {
+                winners[node] = left;
+                loser = right;
+            }
+            tree[node] = loser;
+            nodeKeys[node] = keys[loser];
+        }
+        tree[0] = (k == 1) ? 0 : winners[1];
+        nodeKeys[0] = keys[tree[0]];
+    }
+
+    /**
+     * Returns the source whose head is the smallest key, or {@code -1} if
+     * every source is exhausted.
+     *
+     * @return The index of the winning source, or {@code -1}.
+     */
+    int winner() {
+        int w = tree[0];
+        return exhausted[w] ? -1 : w;
+    }
+
+    /**
+     * Returns the head key of the winning source.
+     *
+     * @return The smallest head key.
+     */
+    long winnerKey() {
+        return nodeKeys[0];
+    }
+
+    /**
+     * Replaces the head key of the winning source with its next key and
+     * replays the matches on its path.
+     *
+     * @param key The next key of the winning source.
+     */
+    void replaceWinner(long key) {
+        replay(tree[0], key);
+    }
+
+    /**
+     * Marks the winning source as exhausted and replays the matches on its
+     * path.
+     */
+    void exhaustWinner() {
+        exhausted[tree[0]] = true;
+        replay(tree[0], Long.MAX_VALUE);
+    }
+
+    /**
+     * Replays the matches on the path from the leaf of the given source to
+     * the root.
+     *
+     * @param source The source whose head changed.
+     * @param key The new head key of the source.
+     */
+    private void replay(int source, long key) {
+        int winner = source;
+        long winnerKey = key;
+        for (int node = (source + k) >>> 1; node >= 1; node >>>= 1) {
+            int loser = tree[node];
+            long loserKey = nodeKeys[node];
+            if (beats(loser, loserKey, winner, winnerKey)) {
+                tree[node] = winner;
+                nodeKeys[node] = winnerKey;
+                winner = loser;
+                winnerKey = loserKey;
+            }
+        }
+        tree[0] = winner;
+        nodeKeys[0] = winnerKey;
+    }
+
+    /**
+     * Tests if the head of one source precedes the head of another.
+     *
+     * @param a The index of the first source.
+     * @param aKey The head key of the first source.
+     * @param b The index of the second source.
+     * @param bKey The head key of the second source.
+     * @return {@code true} if source {@code a} wins against source {@code b}.
+     */
+    private boolean beats(int a, long aKey, int b, long bKey) {
+        if (aKey != bKey) {
+            return aKey < bKey;
+        }
+        if (aKey == Long.MAX_VALUE && exhausted[a] != exhausted[b]) {
+            return exhausted[b];
+        }
+        return a < b;
+    }
+
+}
@@ -0,0 +1,1111 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code MergeSort} class contains the implementation of the sequential
+ * and parallel merge sorts of {@link Utilities}.
+ *
+ * <p> Every sort alternates between the array being sorted and a scratch array
+ * from one level of recursion to the next, so that each merge writes its
+ * output directly into the array the level above reads from. The input is
+ * copied into the scratch array once, up front, rather than merged into a
+ * temporary array and copied back at every level. Ranges of at most
+ * {@link #INSERTION_SORT_THRESHOLD} elements are sorted by insertion sort,
+ * and merges of ranges that are already in order are reduced to a single
+ * copy. Every sort is stable.
+ *
+ * <p> The scratch array of a range sort only spans the range, so the indices
+ * of a range in the scratch array differ from its indices in the sorted array
+ * by a fixed offset, which changes sign whenever the roles of the arrays
+ * swap.
+ *
+ * <p> The parallel sort of {@code int} arrays splits ranges with fork/join
+ * tasks down to {@link #PARALLEL_THRESHOLD} elements, and also splits large
+ * merges in two by binary searching the median of the larger run in the
+ * smaller one, so that the final merges are spread across cores as well.
+ * Each task counts the comparisons and moves of its own range, and adds those
+ * of the tasks it forks once they are joined, so that the counts need no
+ * shared state.
+ *
+ * @author Oliver Abdulrahim
+ * @see Utilities#mergeSort(int[], int[])
+ * @see Utilities#parallelMergeSort(int[], int[])
+ */
+final class MergeSort {
+
+    /**
+     * The size of a range at or below which it is sorted by insertion sort.
+     */
+    static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * The size of a range or merge at or below which the parallel sort
+     * proceeds sequentially.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private MergeSort() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Sorts the given array in ascending order.
+     *
+     * @param a The array to sort.
+     * @param scratch A scratch array at least as long as {@code a}, whose
+     *        contents are overwritten.
+     * @param parallel Whether to sort with fork/join tasks.
+     * @throws IllegalArgumentException if the scratch array is too short.
+     * @throws NullPointerException if either array is {@code null}.
+     */
+    static void sort(int[] a, int[] scratch, boolean parallel) {
+        sort(a, scratch, parallel, new long[2]);
+    }
+
+    /**
+     * Sorts the given array in ascending order, as by
+     * {@link #sort(int[], int[], boolean)}, and counts the work done.
+     *
+     * @param a The array to sort.
+     * @param scratch A scratch array at least as long as {@code a}, whose
+     *        contents are overwritten.
+     * @param parallel Whether to sort with fork/join tasks.
+     * @param work The comparisons and moves made, which are added to.
+     * @throws IllegalArgumentException if the scratch array is too short.
+     * @throws NullPointerException if either array is {@code null}.
+     */
+    static void sort(int[] a, int[] scratch, boolean parallel, long[] work) {
+        Objects.requireNonNull(a, "Invalid null array!");
+        Objects.requireNonNull(scratch, "Invalid null scratch array!");
+        if (scratch.length < a.length) {
+            throw new IllegalArgumentException("scratch.length : "
+                    + scratch.length + " < a.length : " + a.length + " !");
+        }
+        if (a == scratch) {
+            throw new IllegalArgumentException("Scratch array is the array!");
+        }
+        if (a.length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, 0, a.length, work);
+            return;
+        }
+        System.arraycopy(a, 0, scratch, 0, a.length);
+        work[1] += a.length;
+        if (parallel && a.length > PARALLEL_THRESHOLD) {
+            SortTask task = new SortTask(scratch, a, 0, a.length);
+            task.invoke();
+            add(work, task.work);
+        }
+        else {
+            sort(scratch, a, 0, a.length, 0, work);
+        }
+    }
+
+    /**
+     * Returns the index of the first element in the given sorted range that
+     * is greater than or equal to the given key.
+     *
+     * @param a The array to search.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param key The key to search for.
+     * @param work The comparisons and moves made, which are added to.
+     * @return The insertion point of the key, within [{@code lo}, {@code hi}].
+     */
+    private static int lowerBound(int[] a, int lo, int hi, int key,
+            long[] work)
+    {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            work[0]++;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Sorts the given range of the given array of {@code byte} values in
+     * ascending order.
+     *
+     * @param a The array to sort.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     */
+    static void sort(byte[] a, int fromIndex, int toIndex) {
+        if (toIndex - fromIndex <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, fromIndex, toIndex);
+            return;
+        }
+        byte[] scratch = Arrays.copyOfRange(a, fromIndex, toIndex);
+        sort(scratch, a, fromIndex, toIndex, -fromIndex);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of {@code dst}, whose elements
+     * are also held in {@code src} at the same indices offset by {@code d}. The
+     * range of {@code src} is used as scratch space.
+     *
+     * @param src The source and scratch array.
+     * @param dst The destination array.
+     * @param lo The first index of the range in {@code dst}, inclusive.
+     * @param hi The last index of the range in {@code dst}, exclusive.
+     * @param d The offset of the range in {@code src} from that in
+     *        {@code dst}.
+     */
+    private static void sort(byte[] src, byte[] dst, int lo, int hi, int d) {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Swap roles: the halves are sorted into src, so the offset is negated
+        sort(dst, src, lo + d, mid + d, -d);
+        sort(dst, src, mid + d, hi + d, -d);
+        merge(src, lo + d, mid + d, src, mid + d, hi + d, dst, lo);
+    }
+
+    /**
+     * Merges two sorted runs into the given destination, taking elements from
+     * the first run on ties. If no element of the second run precedes the last
+     * element of the first, the runs are copied instead.
+     *
+     * @param a The array of the first run.
+     * @param aLo The first index of the first run, inclusive.
+     * @param aHi The last index of the first run, exclusive.
+     * @param b The array of the second run.
+     * @param bLo The first index of the second run, inclusive.
+     * @param bHi The last index of the second run, exclusive.
+     * @param dst The destination array.
+     * @param out The first index to write to in {@code dst}.
+     */
+    private static void merge(byte[] a, int aLo, int aHi, byte[] b, int bLo,
+            int bHi, byte[] dst, int out)
+    {
+        if (aLo < aHi && bLo < bHi
+                && !(b[bLo] < a[aHi - 1])) {
+            System.arraycopy(a, aLo, dst, out, aHi - aLo);
+            System.arraycopy(b, bLo, dst, out + aHi - aLo, bHi - bLo);
+            return;
+        }
+        int i = aLo;
+        int j = bLo;
+        while (i < aHi && j < bHi) {
+            dst[out++] = (b[j] < a[i]) ? b[j++] : a[i++];
+        }
+        System.arraycopy(a, i, dst, out, aHi - i);
+        System.arraycopy(b, j, dst, out + aHi - i, bHi - j);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort, which is stable.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    static void insertionSort(byte[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            byte temp = a[i];
+            int j = i - 1;
+            while (j >= lo && temp < a[j]) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = temp;
+        }
+    }
+
+    /**
+     * Sorts the given range of the given array of {@code short} values in
+     * ascending order.
+     *
+     * @param a The array to sort.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     */
+    static void sort(short[] a, int fromIndex, int toIndex) {
+        if (toIndex - fromIndex <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, fromIndex, toIndex);
+            return;
+        }
+        short[] scratch = Arrays.copyOfRange(a, fromIndex, toIndex);
+        sort(scratch, a, fromIndex, toIndex, -fromIndex);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of {@code dst}, whose elements
+     * are also held in {@code src} at the same indices offset by {@code d}. The
+     * range of {@code src} is used as scratch space.
+     *
+     * @param src The source and scratch array.
+     * @param dst The destination array.
+     * @param lo The first index of the range in {@code dst}, inclusive.
+     * @param hi The last index of the range in {@code dst}, exclusive.
+     * @param d The offset of the range in {@code src} from that in
+     *        {@code dst}.
+     */
+    private static void sort(short[] src, short[] dst, int lo, int hi, int d) {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Swap roles: the halves are sorted into src, so the offset is negated
+        sort(dst, src, lo + d, mid + d, -d);
+        sort(dst, src, mid + d, hi + d, -d);
+        merge(src, lo + d, mid + d, src, mid + d, hi + d, dst, lo);
+    }
+
+    /**
+     * Merges two sorted runs into the given destination, taking elements from
+     * the first run on ties. If no element of the second run precedes the last
+     * element of the first, the runs are copied instead.
+     *
+     * @param a The array of the first run.
+     * @param aLo The first index of the first run, inclusive.
+     * @param aHi The last index of the first run, exclusive.
+     * @param b The array of the second run.
+     * @param bLo The first index of the second run, inclusive.
+     * @param bHi The last index of the second run, exclusive.
+     * @param dst The destination array.
+     * @param out The first index to write to in {@code dst}.
+     */
+    private static void merge(short[] a, int aLo, int aHi, short[] b, int bLo,
+            int bHi, short[] dst, int out)
+    {
+        if (aLo < aHi && bLo < bHi
+                && !(b[bLo] < a[aHi - 1])) {
+            System.arraycopy(a, aLo, dst, out, aHi - aLo);
+            System.arraycopy(b, bLo, dst, out + aHi - aLo, bHi - bLo);
+            return;
+        }
+        int i = aLo;
+        int j = bLo;
+        while (i < aHi && j < bHi) {
+            dst[out++] = (b[j] < a[i]) ? b[j++] : a[i++];
+        }
+        System.arraycopy(a, i, dst, out, aHi - i);
+        System.arraycopy(b, j, dst, out + aHi - i, bHi - j);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort, which is stable.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    static void insertionSort(short[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            short temp = a[i];
+            int j = i - 1;
+            while (j >= lo && temp < a[j]) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = temp;
+        }
+    }
+
+    /**
+     * Sorts the given range of the given array of {@code char} values in
+     * ascending order.
+     *
+     * @param a The array to sort.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     */
+    static void sort(char[] a, int fromIndex, int toIndex) {
+        if (toIndex - fromIndex <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, fromIndex, toIndex);
+            return;
+        }
+        char[] scratch = Arrays.copyOfRange(a, fromIndex, toIndex);
+        sort(scratch, a, fromIndex, toIndex, -fromIndex);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of {@code dst}, whose elements
+     * are also held in {@code src} at the same indices offset by {@code d}. The
+     * range of {@code src} is used as scratch space.
+     *
+     * @param src The source and scratch array.
+     * @param dst The destination array.
+     * @param lo The first index of the range in {@code dst}, inclusive.
+     * @param hi The last index of the range in {@code dst}, exclusive.
+     * @param d The offset of the range in {@code src} from that in
+     *        {@code dst}.
+     */
+    private static void sort(char[] src, char[] dst, int lo, int hi, int d) {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Swap roles: the halves are sorted into src, so the offset is negated
+        sort(dst, src, lo + d, mid + d, -d);
+        sort(dst, src, mid + d, hi + d, -d);
+        merge(src, lo + d, mid + d, src, mid + d, hi + d, dst, lo);
+    }
+
+    /**
+     * Merges two sorted runs into the given destination, taking elements from
+     * the first run on ties. If no element of the second run precedes the last
+     * element of the first, the runs are copied instead.
+     *
+     * @param a The array of the first run.
+     * @param aLo The first index of the first run, inclusive.
+     * @param aHi The last index of the first run, exclusive.
+     * @param b The array of the second run.
+     * @param bLo The first index of the second run, inclusive.
+     * @param bHi The last index of the second run, exclusive.
+     * @param dst The destination array.
+     * @param out The first index to write to in {@code dst}.
+     */
+    private static void merge(char[] a, int aLo, int aHi, char[] b, int bLo,
+            int bHi, char[] dst, int out)
+    {
+        if (aLo < aHi && bLo < bHi
+                && !(b[bLo] < a[aHi - 1])) {
+            System.arraycopy(a, aLo, dst, out, aHi - aLo);
+            System.arraycopy(b, bLo, dst, out + aHi - aLo, bHi - bLo);
+            return;
+        }
+        int i = aLo;
+        int j = bLo;
+        while (i < aHi && j < bHi) {
+            dst[out++] = (b[j] < a[i]) ? b[j++] : a[i++];
+        }
+        System.arraycopy(a, i, dst, out, aHi - i);
+        System.arraycopy(b, j, dst, out + aHi - i, bHi - j);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort, which is stable.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    static void insertionSort(char[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            char temp = a[i];
+            int j = i - 1;
+            while (j >= lo && temp < a[j]) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = temp;
+        }
+    }
+
+    /**
+     * Sorts the given range of the given array of {@code int} values in
+     * ascending order.
+     *
+     * @param a The array to sort.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     */
+    static void sort(int[] a, int fromIndex, int toIndex) {
+        if (toIndex - fromIndex <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, fromIndex, toIndex);
+            return;
+        }
+        int[] scratch = Arrays.copyOfRange(a, fromIndex, toIndex);
+        sort(scratch, a, fromIndex, toIndex, -fromIndex, new long[2]);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of {@code dst}, whose elements
+     * are also held in {@code src} at the same indices offset by {@code d}. The
+     * range of {@code src} is used as scratch space.
+     *
+     * @param src The source and scratch array.
+     * @param dst The destination array.
+     * @param lo The first index of the range in {@code dst}, inclusive.
+     * @param hi The last index of the range in {@code dst}, exclusive.
+     * @param d The offset of the range in {@code src} from that in
+     *        {@code dst}.
+     * @param work The comparisons and moves made, which are added to.
+     */
+    private static void sort(int[] src, int[] dst, int lo, int hi, int d,
+            long[] work)
+    {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(dst, lo, hi, work);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Swap roles: the halves are sorted into src, so the offset is negated
+        sort(dst, src, lo + d, mid + d, -d, work);
+        sort(dst, src, mid + d, hi + d, -d, work);
+        merge(src, lo + d, mid + d, src, mid + d, hi + d, dst, lo, work);
+    }
+
+    /**
+     * Merges two sorted runs into the given destination, taking elements from
+     * the first run on ties. If no element of the second run precedes the last
+     * element of the first, the runs are copied instead.
+     *
+     * @param a The array of the first run.
+     * @param aLo The first index of the first run, inclusive.
+     * @param aHi The last index of the first run, exclusive.
+     * @param b The array of the second run.
+     * @param bLo The first index of the second run, inclusive.
+     * @param bHi The last index of the second run, exclusive.
+     * @param dst The destination array.
+     * @param out The first index to write to in {@code dst}.
+     * @param work The comparisons and moves made, which are added to.
+     */
+    private static void merge(int[] a, int aLo, int aHi, int[] b, int bLo,
+            int bHi, int[] dst, int out, long[] work)
+    {
+        work[1] += (aHi - aLo) + (bHi - bLo);
+        if (aLo < aHi && bLo < bHi) {
+            work[0]++;
+            if (!(b[bLo] < a[aHi - 1])) {
+                System.arraycopy(a, aLo, dst, out, aHi - aLo);
+                System.arraycopy(b, bLo, dst, out + aHi - aLo, bHi - bLo);
+                return;
+            }
+        }
+        int i = aLo;
+        int j = bLo;
+        int start = out;
+        while (i < aHi && j < bHi) {
+            dst[out++] = (b[j] < a[i]) ? b[j++] : a[i++];
+        }
+        work[0] += out - start;
+        System.arraycopy(a, i, dst, out, aHi - i);
+        System.arraycopy(b, j, dst, out + aHi - i, bHi - j);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort, which is stable.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    static void insertionSort(int[] a, int lo, int hi) {
+        insertionSort(a, lo, hi, new long[2]);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort, and counts the work done.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param work The comparisons and moves made, which are added to.
+     */
+    private static void insertionSort(int[] a, int lo, int hi, long[] work) {
+        long comparisons = 0;
+        long moves = 0;
+        for (int i = lo + 1; i < hi; i++) {
+            int temp = a[i];
+            int j = i - 1;
+            while (j >= lo && temp < a[j]) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = temp;
+            moves += i - j; // The shifted elements and the inserted one
+            comparisons += (j >= lo) ? i - j : i - j - 1;
+        }
+        work[0] += comparisons;
+        work[1] += moves;
+    }
+
+    /**
+     * Sorts the given range of the given array of {@code long} values in
+     * ascending order.
+     *
+     * @param a The array to sort.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     */
+    static void sort(long[] a, int fromIndex, int toIndex) {
+        if (toIndex - fromIndex <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, fromIndex, toIndex);
+            return;
+        }
+        long[] scratch = Arrays.copyOfRange(a, fromIndex, toIndex);
+        sort(scratch, a, fromIndex, toIndex, -fromIndex);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of {@code dst}, whose elements
+     * are also held in {@code src} at the same indices offset by {@code d}. The
+     * range of {@code src} is used as scratch space.
+     *
+     * @param src The source and scratch array.
+     * @param dst The destination array.
+     * @param lo The first index of the range in {@code dst}, inclusive.
+     * @param hi The last index of the range in {@code dst}, exclusive.
+     * @param d The offset of the range in {@code src} from that in
+     *        {@code dst}.
+     */
+    private static void sort(long[] src, long[] dst, int lo, int hi, int d) {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Swap roles: the halves are sorted into src, so the offset is negated
+        sort(dst, src, lo + d, mid + d, -d);
+        sort(dst, src, mid + d, hi + d, -d);
+        merge(src, lo + d, mid + d, src, mid + d, hi + d, dst, lo);
+    }
+
+    /**
+     * Merges two sorted runs into the given destination, taking elements from
+     * the first run on ties. If no element of the second run precedes the last
+     * element of the first, the runs are copied instead.
+     *
+     * @param a The array of the first run.
+     * @param aLo The first index of the first run, inclusive.
+     * @param aHi The last index of the first run, exclusive.
+     * @param b The array of the second run.
+     * @param bLo The first index of the second run, inclusive.
+     * @param bHi The last index of the second run, exclusive.
+     * @param dst The destination array.
+     * @param out The first index to write to in {@code dst}.
+     */
+    private static void merge(long[] a, int aLo, int aHi, long[] b, int bLo,
+            int bHi, long[] dst, int out)
+    {
+        if (aLo < aHi && bLo < bHi
+                && !(b[bLo] < a[aHi - 1])) {
+            System.arraycopy(a, aLo, dst, out, aHi - aLo);
+            System.arraycopy(b, bLo, dst, out + aHi - aLo, bHi - bLo);
+            return;
+        }
+        int i = aLo;
+        int j = bLo;
+        while (i < aHi && j < bHi) {
+            dst[out++] = (b[j] < a[i]) ? b[j++] : a[i++];
+        }
+        System.arraycopy(a, i, dst, out, aHi - i);
+        System.arraycopy(b, j, dst, out + aHi - i, bHi - j);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort, which is stable.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    static void insertionSort(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            long temp = a[i];
+            int j = i - 1;
+            while (j >= lo && temp < a[j]) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = temp;
+        }
+    }
+
+    /**
+     * Sorts the given range of the given array of {@code float} values in
+     * ascending order.
+     *
+     * @param a The array to sort.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     */
+    static void sort(float[] a, int fromIndex, int toIndex) {
+        if (toIndex - fromIndex <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, fromIndex, toIndex);
+            return;
+        }
+        float[] scratch = Arrays.copyOfRange(a, fromIndex, toIndex);
+        sort(scratch, a, fromIndex, toIndex, -fromIndex);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of {@code dst}, whose elements
+     * are also held in {@code src} at the same indices offset by {@code d}. The
+     * range of {@code src} is used as scratch space.
+     *
+     * @param src The source and scratch array.
+     * @param dst The destination array.
+     * @param lo The first index of the range in {@code dst}, inclusive.
+     * @param hi The last index of the range in {@code dst}, exclusive.
+     * @param d The offset of the range in {@code src} from that in
+     *        {@code dst}.
+     */
+    private static void sort(float[] src, float[] dst, int lo, int hi, int d) {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Swap roles: the halves are sorted into src, so the offset is negated
+        sort(dst, src, lo + d, mid + d, -d);
+        sort(dst, src, mid + d, hi + d, -d);
+        merge(src, lo + d, mid + d, src, mid + d, hi + d, dst, lo);
+    }
+
+    /**
+     * Merges two sorted runs into the given destination, taking elements from
+     * the first run on ties. If no element of the second run precedes the last
+     * element of the first, the runs are copied instead.
+     *
+     * @param a The array of the first run.
+     * @param aLo The first index of the first run, inclusive.
+     * @param aHi The last index of the first run, exclusive.
+     * @param b The array of the second run.
+     * @param bLo The first index of the second run, inclusive.
+     * @param bHi The last index of the second run, exclusive.
+     * @param dst The destination array.
+     * @param out The first index to write to in {@code dst}.
+     */
+    private static void merge(float[] a, int aLo, int aHi, float[] b, int bLo,
+            int bHi, float[] dst, int out)
+    {
+        if (aLo < aHi && bLo < bHi
+                && !(Float.compare(b[bLo], a[aHi - 1]) < 0)) {
+            System.arraycopy(a, aLo, dst, out, aHi - aLo);
+            System.arraycopy(b, bLo, dst, out + aHi - aLo, bHi - bLo);
+            return;
+        }
+        int i = aLo;
+        int j = bLo;
+        while (i < aHi && j < bHi) {
+            dst[out++] = (Float.compare(b[j], a[i]) < 0) ? b[j++] : a[i++];
+        }
+        System.arraycopy(a, i, dst, out, aHi - i);
+        System.arraycopy(b, j, dst, out + aHi - i, bHi - j);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort, which is stable.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    static void insertionSort(float[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            float temp = a[i];
+            int j = i - 1;
+            while (j >= lo && Float.compare(temp, a[j]) < 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = temp;
+        }
+    }
+
+    /**
+     * Sorts the given range of the given array of {@code double} values in
+     * ascending order.
+     *
+     * @param a The array to sort.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     */
+    static void sort(double[] a, int fromIndex, int toIndex) {
+        if (toIndex - fromIndex <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, fromIndex, toIndex);
+            return;
+        }
+        double[] scratch = Arrays.copyOfRange(a, fromIndex, toIndex);
+        sort(scratch, a, fromIndex, toIndex, -fromIndex);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of {@code dst}, whose elements
+     * are also held in {@code src} at the same indices offset by {@code d}. The
+     * range of {@code src} is used as scratch space.
+     *
+     * @param src The source and scratch array.
+     * @param dst The destination array.
+     * @param lo The first index of the range in {@code dst}, inclusive.
+     * @param hi The last index of the range in {@code dst}, exclusive.
+     * @param d The offset of the range in {@code src} from that in
+     *        {@code dst}.
+     */
+    private static void sort(double[] src, double[] dst, int lo, int hi,
+            int d)
+    {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(dst, lo, hi);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Swap roles: the halves are sorted into src, so the offset is negated
+        sort(dst, src, lo + d, mid + d, -d);
+        sort(dst, src, mid + d, hi + d, -d);
+        merge(src, lo + d, mid + d, src, mid + d, hi + d, dst, lo);
+    }
+
+    /**
+     * Merges two sorted runs into the given destination, taking elements from
+     * the first run on ties. If no element of the second run precedes the last
+     * element of the first, the runs are copied instead.
+     *
+     * @param a The array of the first run.
+     * @param aLo The first index of the first run, inclusive.
+     * @param aHi The last index of the first run, exclusive.
+     * @param b The array of the second run.
+     * @param bLo The first index of the second run, inclusive.
+     * @param bHi The last index of the second run, exclusive.
+     * @param dst The destination array.
+     * @param out The first index to write to in {@code dst}.
+     */
+    private static void merge(double[] a, int aLo, int aHi, double[] b, int bLo,
+            int bHi, double[] dst, int out)
+    {
+        if (aLo < aHi && bLo < bHi
+                && !(Double.compare(b[bLo], a[aHi - 1]) < 0)) {
+            System.arraycopy(a, aLo, dst, out, aHi - aLo);
+            System.arraycopy(b, bLo, dst, out + aHi - aLo, bHi - bLo);
+            return;
+        }
+        int i = aLo;
+        int j = bLo;
+        while (i < aHi && j < bHi) {
+            dst[out++] = (Double.compare(b[j], a[i]) < 0) ? b[j++] : a[i++];
+        }
+        System.arraycopy(a, i, dst, out, aHi - i);
+        System.arraycopy(b, j, dst, out + aHi - i, bHi - j);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort, which is stable.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    static void insertionSort(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double temp = a[i];
+            int j = i - 1;
+            while (j >= lo && Double.compare(temp, a[j]) < 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = temp;
+        }
+    }
+
+    /**
+     * Sorts the given range of the given array of objects in ascending order.
+     *
+     * @param <T> The type of the elements to sort.
+     * @param a The array to sort.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param c The {@code Comparator} that orders the elements.
+     */
+    static <T> void sort(T[] a, int fromIndex, int toIndex,
+            Comparator<? super T> c)
+    {
+        if (toIndex - fromIndex <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, fromIndex, toIndex, c);
+            return;
+        }
+        T[] scratch = Arrays.copyOfRange(a, fromIndex, toIndex);
+        sort(scratch, a, fromIndex, toIndex, -fromIndex, c);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of {@code dst}, whose elements
+     * are also held in {@code src} at the same indices offset by {@code d}. The
+     * range of {@code src} is used as scratch space.
+     *
+     * @param <T> The type of the elements to sort.
+     * @param src The source and scratch array.
+     * @param dst The destination array.
+     * @param lo The first index of the range in {@code dst}, inclusive.
+     * @param hi The last index of the range in {@code dst}, exclusive.
+     * @param d The offset of the range in {@code src} from that in
+     *        {@code dst}.
+     * @param c The {@code Comparator} that orders the elements.
+     */
+    private static <T> void sort(T[] src, T[] dst, int lo, int hi, int d,
+            Comparator<? super T> c)
+    {
+        if (hi - lo <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(dst, lo, hi, c);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        // Swap roles: the halves are sorted into src, so the offset is negated
+        sort(dst, src, lo + d, mid + d, -d, c);
+        sort(dst, src, mid + d, hi + d, -d, c);
+        merge(src, lo + d, mid + d, src, mid + d, hi + d, dst, lo, c);
+    }
+
+    /**
+     * Merges two sorted runs into the given destination, taking elements from
+     * the first run on ties. If no element of the second run precedes the last
+     * element of the first, the runs are copied instead.
+     *
+     * @param <T> The type of the elements to sort.
+     * @param a The array of the first run.
+     * @param aLo The first index of the first run, inclusive.
+     * @param aHi The last index of the first run, exclusive.
+     * @param b The array of the second run.
+     * @param bLo The first index of the second run, inclusive.
+     * @param bHi The last index of the second run, exclusive.
+     * @param dst The destination array.
+     * @param out The first index to write to in {@code dst}.
+     * @param c The {@code Comparator} that orders the elements.
+     */
+    private static <T> void merge(T[] a, int aLo, int aHi, T[] b, int bLo,
+            int bHi, T[] dst, int out, Comparator<? super T> c)
+    {
+        if (aLo < aHi && bLo < bHi
+                && !(c.compare(b[bLo], a[aHi - 1]) < 0)) {
+            System.arraycopy(a, aLo, dst, out, aHi - aLo);
+            System.arraycopy(b, bLo, dst, out + aHi - aLo, bHi - bLo);
+            return;
+        }
+        int i = aLo;
+        int j = bLo;
+        while (i < aHi && j < bHi) {
+            dst[out++] = (c.compare(b[j], a[i]) < 0) ? b[j++] : a[i++];
+        }
+        System.arraycopy(a, i, dst, out, aHi - i);
+        System.arraycopy(b, j, dst, out + aHi - i, bHi - j);
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort, which is stable.
+     *
+     * @param <T> The type of the elements to sort.
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param c The {@code Comparator} that orders the elements.
+     */
+    static <T> void insertionSort(T[] a, int lo, int hi,
+            Comparator<? super T> c)
+    {
+        for (int i = lo + 1; i < hi; i++) {
+            T temp = a[i];
+            int j = i - 1;
+            while (j >= lo && c.compare(temp, a[j]) < 0) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = temp;
+        }
+    }
+
+    /**
+     * Adds the comparisons and moves of finished tasks to the given counts.
+     *
+     * @param work The comparisons and moves made, which are added to.
+     * @param done The comparisons and moves of each finished task.
+     */
+    private static void add(long[] work, long[]... done) {
+        for (long[] w : done) {
+            work[0] += w[0];
+            work[1] += w[1];
+        }
+    }
+
+    /**
+     * A task that sorts a range of one array into another with the same
+     * alternation of roles as
+     * {@link MergeSort#sort(int[], int[], int, int, int, long[])}.
+     */
+    private static final class SortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The source and scratch array.
+         */
+        private final int[] src;
+
+        /**
+         * The destination array.
+         */
+        private final int[] dst;
+
+        /**
+         * The first index of the range, inclusive.
+         */
+        private final int lo;
+
+        /**
+         * The last index of the range, exclusive.
+         */
+        private final int hi;
+
+        /**
+         * The comparisons and moves made by this task and those it forked.
+         */
+        final long[] work = new long[2];
+
+        /**
+         * Constructs a {@code SortTask} over the given range.
+         *
+         * @param src The source and scratch array.
+         * @param dst The destination array.
+         * @param lo The first index of the range, inclusive.
+         * @param hi The last index of the range, exclusive.
+         */
+        SortTask(int[] src, int[] dst, int lo, int hi) {
+            this.src = src;
+            this.dst = dst;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= PARALLEL_THRESHOLD) {
+                sort(src, dst, lo, hi, 0, work);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            SortTask left = new SortTask(dst, src, lo, mid);
+            SortTask right = new SortTask(dst, src, mid, hi);
+            ForkJoinTask.invokeAll(left, right);
+            MergeTask merge =
+                    new MergeTask(src, lo, mid, src, mid, hi, dst, lo);
+            merge.compute();
+            add(work, left.work, right.work, merge.work);
+        }
+
+    }
+
+    /**
+     * A task that merges two sorted runs, splitting itself in two while the
+     * merge is large.
+     */
+    private static final class MergeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The array of the first run.
+         */
+        private final int[] a;
+
+        /**
+         * The first index of the first run, inclusive.
+         */
+        private final int aLo;
+
+        /**
+         * The last index of the first run, exclusive.
+         */
+        private final int aHi;
+
+        /**
+         * The array of the second run.
+         */
+        private final int[] b;
+
+        /**
+         * The first index of the second run, inclusive.
+         */
+        private final int bLo;
+
+        /**
+         * The last index of the second run, exclusive.
+         */
+        private final int bHi;
+
+        /**
+         * The destination array.
+         */
+        private final int[] dst;
+
+        /**
+         * The first index to write to in {@link #dst}.
+         */
+        private final int out;
+
+        /**
+         * The comparisons and moves made by this task and those it forked.
+         */
+        final long[] work = new long[2];
+
+        /**
+         * Constructs a {@code MergeTask} over the given runs.
+         *
+         * @param a The array of the first run.
+         * @param aLo The first index of the first run, inclusive.
+         * @param aHi The last index of the first run, exclusive.
+         * @param b The array of the second run.
+         * @param bLo The first index of the second run, inclusive.
+         * @param bHi The last index of the second run, exclusive.
+         * @param dst The destination array.
+         * @param out The first index to write to in {@code dst}.
+         */
+        MergeTask(int[] a, int aLo, int aHi, int[] b, int bLo, int bHi,
+                int[] dst, int out)
+        {
+            this.a = a;
+            this.aLo = aLo;
+            this.aHi = aHi;
+            this.b = b;
+            this.bLo = bLo;
+            this.bHi = bHi;
+            this.dst = dst;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            int aSize = aHi - aLo;
+            int bSize = bHi - bLo;
+            if (aSize + bSize <= PARALLEL_THRESHOLD) {
+                merge(a, aLo, aHi, b, bLo, bHi, dst, out, work);
+                return;
+            }
+            if (aSize < bSize) { // Always split the larger run at its middle
+                MergeTask swapped =
+                        new MergeTask(b, bLo, bHi, a, aLo, aHi, dst, out);
+                swapped.compute();
+                add(work, swapped.work);
+                return;
+            }
+            int aMid = (aLo + aHi) >>> 1;
+            int bMid = lowerBound(b, bLo, bHi, a[aMid], work);
+            int outMid = out + (aMid - aLo) + (bMid - bLo);
+            MergeTask left =
+                    new MergeTask(a, aLo, aMid, b, bLo, bMid, dst, out);
+            MergeTask right =
+                    new MergeTask(a, aMid, aHi, b, bMid, bHi, dst, outMid);
+            ForkJoinTask.invokeAll(left, right);
+            add(work, left.work, right.work);
+        }
+
+    }
+
+}
@@ -0,0 +1,1096 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code ParallelArrays} class contains prefix sums, histograms, counting
+ * sorts and duplicate removal for primitive arrays, each in a sequential and
+ * a parallel form.
+ *
+ * <p> The parallel forms divide the array into contiguous chunks, which are
+ * processed by tasks on the common {@code ForkJoinPool}, and combine the
+ * results of the chunks in a short sequential step:
+ *
+ * <ul>
+ *   <li> A prefix sum first sums each chunk in parallel, then scans the sums
+ *        of the chunks sequentially, and finally scans each chunk in
+ *        parallel, starting from the sum of the chunks before it. This reads
+ *        the array twice, so it is faster than the sequential form only with
+ *        enough cores to outrun memory bandwidth.
+ *   <li> A histogram or counting sort counts each chunk into its own counts,
+ *        so that no task writes to shared memory, and then adds the counts
+ *        of the chunks.
+ *   <li> Duplicate removal compacts each chunk in place in parallel, and then
+ *        moves the compacted chunks together sequentially.
+ * </ul>
+ *
+ * <p> Arrays shorter than {@value #MIN_PARALLEL_CHUNK} elements per available
+ * thread are split into fewer chunks, and arrays shorter than twice that, or
+ * any array when the pool has a single thread, are processed sequentially,
+ * since the cost of the tasks would exceed their benefit.
+ *
+ * <p> Sums of {@code int} and {@code long} values overflow silently, as does
+ * the {@code +} operator. Since the parallel forms add {@code double} values
+ * in a different order, their prefix sums may differ from those of the
+ * sequential forms in the last bits.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class ParallelArrays {
+
+    /**
+     * The minimum amount of elements in each chunk processed in parallel.
+     */
+    private static final int MIN_PARALLEL_CHUNK = 1 << 16;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private ParallelArrays() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Returns the amount of chunks to divide an array of the given length
+     * into for parallel processing.
+     *
+     * @param length The length of the array.
+     * @return The amount of chunks, which is {@code 1} if the array is too
+     *         small to benefit from parallelism or there is only one thread.
+     */
+    private static int chunksFor(int length) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (parallelism < 2) {
+            return 1;
+        }
+        return Math.max(1, Math.min(parallelism * 4,
+                length / MIN_PARALLEL_CHUNK));
+    }
+
+    /**
+     * Returns the first index of the given chunk of an array.
+     *
+     * @param length The length of the array.
+     * @param chunks The amount of chunks.
+     * @param chunk The index of the chunk.
+     * @return The first index of the chunk, inclusive.
+     */
+    private static int chunkStart(int length, int chunks, int chunk) {
+        return (int) ((long) length * chunk / chunks);
+    }
+
+    /**
+     * Ensures that a given amount of histogram buckets is positive.
+     *
+     * @param buckets The amount to test.
+     * @throws IllegalArgumentException if the amount is not positive.
+     */
+    private static void requirePositive(int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets : " + buckets
+                    + " <= 0 !");
+        }
+    }
+
+    /**
+     * Adds the counts of every chunk into the first.
+     *
+     * @param counts The counts of each chunk.
+     * @return The counts of the first chunk, which hold the totals.
+     */
+    private static int[] sumCounts(int[][] counts) {
+        int[] total = counts[0];
+        for (int c = 1; c < counts.length; c++) {
+            int[] count = counts[c];
+            for (int b = 0; b < total.length; b++) {
+                total[b] += count[b];
+            }
+        }
+        return total;
+    }
+
+    /*
+     * Counting sort
+     */
+
+    /**
+     * Sorts the given array, whose elements are all within the given range,
+     * by counting the occurrences of each value. This takes
+     * &Omicron;(n + max - min) time and an array of {@code max - min + 1}
+     * counts, so it suits arrays whose values span a range no larger than
+     * their length.
+     *
+     * @param a The array to sort.
+     * @param min The smallest value the array may hold.
+     * @param max The largest value the array may hold.
+     * @throws IllegalArgumentException if {@code min > max}, the range is
+     *         too large to count, or the array holds a value outside of it,
+     *         in which case the array is not modified.
+     */
+    public static void countingSort(int[] a, int min, int max) {
+        int[] counts = new int[countsLength(min, max)];
+        countRange(a, 0, a.length, min, counts);
+        writeCounts(a, min, counts, 0, counts.length, 0);
+    }
+
+    /**
+     * Sorts the given array, whose elements are all within the given range,
+     * by counting the occurrences of each value in parallel, as by
+     * {@link #countingSort(int[], int, int)}. Each chunk of the array is
+     * counted separately, and the sorted values are then written by ranges
+     * of values in parallel.
+     *
+     * @param a The array to sort.
+     * @param min The smallest value the array may hold.
+     * @param max The largest value the array may hold.
+     * @throws IllegalArgumentException if {@code min > max}, the range is
+     *         too large to count, or the array holds a value outside of it,
+     *         in which case the array is not modified.
+     */
+    public static void parallelCountingSort(int[] a, int min, int max) {
+        int length = countsLength(min, max);
+        int chunks = chunksFor(a.length);
+        if (chunks == 1) {
+            countingSort(a, min, max);
+            return;
+        }
+        int[][] parts = new int[chunks][length];
+        IntStream.range(0, chunks).parallel().forEach(c -> countRange(a,
+                chunkStart(a.length, chunks, c),
+                chunkStart(a.length, chunks, c + 1), min, parts[c]));
+        int[] counts = sumCounts(parts);
+        // Split the values so that each task writes a similar amount
+        int[] firstValue = new int[chunks + 1];
+        int[] firstIndex = new int[chunks + 1];
+        long written = 0L;
+        for (int v = 0, c = 1; v < length && c < chunks; v++) {
+            written += counts[v];
+            while (c < chunks && written >= (long) a.length * c / chunks) {
+                firstValue[c] = v + 1;
+                firstIndex[c] = (int) written;
+                c++;
+            }
+        }
+        for (int c = 1; c < chunks; c++) {
+            if (firstValue[c] == 0) { // Every element was written
+                firstValue[c] = length;
+                firstIndex[c] = a.length;
+            }
+        }
+        firstValue[chunks] = length;
+        IntStream.range(0, chunks).parallel().forEach(c -> writeCounts(a,
+                min, counts, firstValue[c], firstValue[c + 1],
+                firstIndex[c]));
+    }
+
+    /**
+     * Returns the amount of counts needed for the given range of values.
+     *
+     * @param min The smallest value of the range.
+     * @param max The largest value of the range.
+     * @return The size of the range.
+     * @throws IllegalArgumentException if {@code min > max} or the range is
+     *         too large to count.
+     */
+    private static int countsLength(int min, int max) {
+        if (min > max) {
+            throw new IllegalArgumentException("min : " + min + " > max : "
+                    + max + " !");
+        }
+        long length = (long) max - min + 1;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Range too large : " + length);
+        }
+        return (int) length;
+    }
+
+    /**
+     * Counts the occurrences of each value in the given range of the given
+     * array.
+     *
+     * @param a The array to count.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param min The smallest value the array may hold.
+     * @param counts The counts to add to, indexed by value minus {@code min}.
+     * @throws IllegalArgumentException if a value is outside of the counts.
+     */
+    private static void countRange(int[] a, int lo, int hi, int min,
+            int[] counts)
+    {
+        for (int i = lo; i < hi; i++) {
+            long v = (long) a[i] - min;
+            if (v < 0 || v >= counts.length) {
+                throw new IllegalArgumentException("Value out of range : "
+                        + a[i]);
+            }
+            counts[(int) v]++;
+        }
+    }
+
+    /**
+     * Writes each value of the given range of counts into the given array as
+     * many times as it was counted.
+     *
+     * @param a The array to write into.
+     * @param min The value of the first count.
+     * @param counts The counts of each value.
+     * @param from The first count to write, inclusive.
+     * @param to The last count to write, exclusive.
+     * @param index The index of the array to write the first value to.
+     */
+    private static void writeCounts(int[] a, int min, int[] counts, int from,
+            int to, int index)
+    {
+        for (int v = from; v < to; v++) {
+            int c = counts[v];
+            if (c > 0) {
+                Arrays.fill(a, index, index + c, v + min);
+                index += c;
+            }
+        }
+    }
+
+    /*
+     * int
+     */
+
+    /**
+     * Replaces each element of the given array with the sum of itself and every
+     * element before it.
+     *
+     * @param a The array to scan.
+     */
+    public static void prefixSum(int[] a) {
+        scan(a, 0, a.length, 0);
+    }
+
+    /**
+     * Replaces each element of the given array with the sum of itself and every
+     * element before it, in parallel.
+     *
+     * @param a The array to scan.
+     */
+    public static void parallelPrefixSum(int[] a) {
+        int chunks = chunksFor(a.length);
+        if (chunks == 1) {
+            prefixSum(a);
+            return;
+        }
+        int[] carries = chunkSums(a, chunks);
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                scan(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), carries[c]));
+    }
+
+    /**
+     * Replaces each element of the given array with the sum of every element
+     * before it, so the first element becomes {@code 0}.
+     *
+     * @param a The array to scan.
+     * @return The sum of every element of the array.
+     */
+    public static int exclusivePrefixSum(int[] a) {
+        return exclusiveScan(a, 0, a.length, 0);
+    }
+
+    /**
+     * Replaces each element of the given array with the sum of every element
+     * before it, in parallel, so the first element becomes {@code 0}.
+     *
+     * @param a The array to scan.
+     * @return The sum of every element of the array.
+     */
+    public static int parallelExclusivePrefixSum(int[] a) {
+        int chunks = chunksFor(a.length);
+        if (chunks == 1) {
+            return exclusivePrefixSum(a);
+        }
+        int[] carries = chunkSums(a, chunks);
+        int last = a[a.length - 1];
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                exclusiveScan(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), carries[c]));
+        return a[a.length - 1] + last;
+    }
+
+    /**
+     * Counts the elements of the given array that fall into each of the given
+     * amount of buckets, which divide the given range of values into intervals
+     * of equal width. The last bucket is narrower if the range does not divide
+     * evenly. Elements outside of the range are not counted.
+     *
+     * @param a The array to count.
+     * @param min The smallest value of the range, inclusive.
+     * @param max The largest value of the range, inclusive.
+     * @param buckets The amount of buckets.
+     * @return A new array of the count of each bucket.
+     * @throws IllegalArgumentException if {@code buckets} is not positive or
+     *         the range is empty.
+     */
+    public static int[] histogram(int[] a, int min, int max, int buckets) {
+        requirePositive(buckets);
+        if (min > max) {
+            throw new IllegalArgumentException("min : " + min + " > max : "
+                    + max + " !");
+        }
+        long width = ((long) max - min) / buckets + 1;
+        int[] counts = new int[buckets];
+        histogram(a, 0, a.length, min, max, width, counts);
+        return counts;
+    }
+
+    /**
+     * Counts the elements of the given array that fall into each of the given
+     * amount of buckets in parallel, as by {@link #histogram(int[], int, int,
+     * int)}.
+     *
+     * @param a The array to count.
+     * @param min The smallest value of the range, inclusive.
+     * @param max The largest value of the range, inclusive.
+     * @param buckets The amount of buckets.
+     * @return A new array of the count of each bucket.
+     * @throws IllegalArgumentException if {@code buckets} is not positive or
+     *         the range is empty.
+     */
+    public static int[] parallelHistogram(int[] a, int min, int max,
+            int buckets)
+    {
+        requirePositive(buckets);
+        if (min > max) {
+            throw new IllegalArgumentException("min : " + min + " > max : "
+                    + max + " !");
+        }
+        long width = ((long) max - min) / buckets + 1;
+        int chunks = chunksFor(a.length);
+        int[][] counts = new int[chunks][buckets];
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                histogram(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), min, max, width,
+                        counts[c]));
+        return sumCounts(counts);
+    }
+
+    /**
+     * Removes consecutive duplicates from the given sorted array in place,
+     * moving the first of each run of equal elements to the front of the array
+     * in order.
+     *
+     * @param a The sorted array to compact.
+     * @return The amount of distinct elements, which now occupy the indices
+     *         before it. The elements after it are unspecified.
+     */
+    public static int unique(int[] a) {
+        return unique(a, 0, a.length, a.length > 0 ? a[0] : 0, true);
+    }
+
+    /**
+     * Removes consecutive duplicates from the given sorted array in place and
+     * in parallel, as by {@link #unique(int[])}.
+     *
+     * @param a The sorted array to compact.
+     * @return The amount of distinct elements, which now occupy the indices
+     *         before it. The elements after it are unspecified.
+     */
+    public static int parallelUnique(int[] a) {
+        int chunks = chunksFor(a.length);
+        if (chunks == 1) {
+            return unique(a);
+        }
+        // Each chunk needs the element before it, which the compaction of
+        // the previous chunk may overwrite
+        int[] previous = new int[chunks];
+        for (int c = 1; c < chunks; c++) {
+            previous[c] = a[chunkStart(a.length, chunks, c) - 1];
+        }
+        int[] sizes = new int[chunks];
+        IntStream.range(0, chunks).parallel().forEach(c -> sizes[c] =
+                unique(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), previous[c],
+                        c == 0));
+        int size = sizes[0];
+        for (int c = 1; c < chunks; c++) {
+            System.arraycopy(a, chunkStart(a.length, chunks, c), a, size,
+                    sizes[c]);
+            size += sizes[c];
+        }
+        return size;
+    }
+
+    /**
+     * Replaces each element of the given range of the given array with the sum
+     * of itself, every element of the range before it and the given carry.
+     *
+     * @param a The array to scan.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param carry The sum of the elements before the range.
+     */
+    private static void scan(int[] a, int lo, int hi, int carry) {
+        int sum = carry;
+        for (int i = lo; i < hi; i++) {
+            sum += a[i];
+            a[i] = sum;
+        }
+    }
+
+    /**
+     * Replaces each element of the given range of the given array with the sum
+     * of every element of the range before it and the given carry.
+     *
+     * @param a The array to scan.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param carry The sum of the elements before the range.
+     * @return The sum of the carry and every element of the range.
+     */
+    private static int exclusiveScan(int[] a, int lo, int hi, int carry) {
+        int sum = carry;
+        for (int i = lo; i < hi; i++) {
+            int e = a[i];
+            a[i] = sum;
+            sum += e;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the elements before each chunk of the given array,
+     * summing the chunks in parallel.
+     *
+     * @param a The array to sum.
+     * @param chunks The amount of chunks.
+     * @return The sum of the elements before each chunk.
+     */
+    private static int[] chunkSums(int[] a, int chunks) {
+        int[] sums = new int[chunks];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int sum = 0;
+            int hi = chunkStart(a.length, chunks, c + 1);
+            for (int i = chunkStart(a.length, chunks, c); i < hi; i++) {
+                sum += a[i];
+            }
+            sums[c] = sum;
+        });
+        exclusiveScan(sums, 0, chunks, 0);
+        return sums;
+    }
+
+    /**
+     * Counts the elements of the given range of the given array into buckets.
+     *
+     * @param a The array to count.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param min The smallest value of the buckets, inclusive.
+     * @param max The largest value of the buckets, inclusive.
+     * @param width The width of each bucket.
+     * @param counts The counts to add to.
+     */
+    private static void histogram(int[] a, int lo, int hi, int min,
+            int max, long width, int[] counts)
+    {
+        for (int i = lo; i < hi; i++) {
+            int e = a[i];
+            if (e >= min && e <= max) {
+                counts[(int) (((long) e - min) / width)]++;
+            }
+        }
+    }
+
+    /**
+     * Removes consecutive duplicates from the given range of the given sorted
+     * array, moving the distinct elements to the start of the range.
+     *
+     * @param a The sorted array to compact.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param previous The element before the range.
+     * @param first Whether the range is at the start of the array, in which
+     *        case {@code previous} is ignored.
+     * @return The amount of distinct elements of the range.
+     */
+    private static int unique(int[] a, int lo, int hi, int previous,
+            boolean first)
+    {
+        int size = lo;
+        int last = previous;
+        for (int i = lo; i < hi; i++) {
+            int e = a[i];
+            if ((first && i == lo) || !(e == last)) {
+                a[size++] = e;
+                last = e;
+            }
+        }
+        return size - lo;
+    }
+
+    /*
+     * long
+     */
+
+    /**
+     * Replaces each element of the given array with the sum of itself and every
+     * element before it.
+     *
+     * @param a The array to scan.
+     */
+    public static void prefixSum(long[] a) {
+        scan(a, 0, a.length, 0L);
+    }
+
+    /**
+     * Replaces each element of the given array with the sum of itself and every
+     * element before it, in parallel.
+     *
+     * @param a The array to scan.
+     */
+    public static void parallelPrefixSum(long[] a) {
+        int chunks = chunksFor(a.length);
+        if (chunks == 1) {
+            prefixSum(a);
+            return;
+        }
+        long[] carries = chunkSums(a, chunks);
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                scan(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), carries[c]));
+    }
+
+    /**
+     * Replaces each element of the given array with the sum of every element
+     * before it, so the first element becomes {@code 0}.
+     *
+     * @param a The array to scan.
+     * @return The sum of every element of the array.
+     */
+    public static long exclusivePrefixSum(long[] a) {
+        return exclusiveScan(a, 0, a.length, 0L);
+    }
+
+    /**
+     * Replaces each element of the given array with the sum of every element
+     * before it, in parallel, so the first element becomes {@code 0}.
+     *
+     * @param a The array to scan.
+     * @return The sum of every element of the array.
+     */
+    public static long parallelExclusivePrefixSum(long[] a) {
+        int chunks = chunksFor(a.length);
+        if (chunks == 1) {
+            return exclusivePrefixSum(a);
+        }
+        long[] carries = chunkSums(a, chunks);
+        long last = a[a.length - 1];
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                exclusiveScan(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), carries[c]));
+        return a[a.length - 1] + last;
+    }
+
+    /**
+     * Counts the elements of the given array that fall into each of the given
+     * amount of buckets, which divide the given range of values into intervals
+     * of equal width. The last bucket is narrower if the range does not divide
+     * evenly. Elements outside of the range are not counted.
+     *
+     * @param a The array to count.
+     * @param min The smallest value of the range, inclusive.
+     * @param max The largest value of the range, inclusive.
+     * @param buckets The amount of buckets.
+     * @return A new array of the count of each bucket.
+     * @throws IllegalArgumentException if {@code buckets} is not positive or
+     *         the range is empty.
+     */
+    public static int[] histogram(long[] a, long min, long max, int buckets) {
+        requirePositive(buckets);
+        if (min > max) {
+            throw new IllegalArgumentException("min : " + min + " > max : "
+                    + max + " !");
+        }
+        // The span is unsigned, and overflows only for one bucket over every
+        // value, for which a width of 2^64 - 1 still selects the only bucket
+        long span = Long.divideUnsigned(max - min, buckets);
+        long width = (span == -1L) ? span : span + 1;
+        int[] counts = new int[buckets];
+        histogram(a, 0, a.length, min, max, width, counts);
+        return counts;
+    }
+
+    /**
+     * Counts the elements of the given array that fall into each of the given
+     * amount of buckets in parallel, as by {@link #histogram(long[], long,
+     * long, int)}.
+     *
+     * @param a The array to count.
+     * @param min The smallest value of the range, inclusive.
+     * @param max The largest value of the range, inclusive.
+     * @param buckets The amount of buckets.
+     * @return A new array of the count of each bucket.
+     * @throws IllegalArgumentException if {@code buckets} is not positive or
+     *         the range is empty.
+     */
+    public static int[] parallelHistogram(long[] a, long min, long max,
+            int buckets)
+    {
+        requirePositive(buckets);
+        if (min > max) {
+            throw new IllegalArgumentException("min : " + min + " > max : "
+                    + max + " !");
+        }
+        // The span is unsigned, and overflows only for one bucket over every
+        // value, for which a width of 2^64 - 1 still selects the only bucket
+        long span = Long.divideUnsigned(max - min, buckets);
+        long width = (span == -1L) ? span : span + 1;
+        int chunks = chunksFor(a.length);
+        int[][] counts = new int[chunks][buckets];
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                histogram(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), min, max, width,
+                        counts[c]));
+        return sumCounts(counts);
+    }
+
+    /**
+     * Removes consecutive duplicates from the given sorted array in place,
+     * moving the first of each run of equal elements to the front of the array
+     * in order.
+     *
+     * @param a The sorted array to compact.
+     * @return The amount of distinct elements, which now occupy the indices
+     *         before it. The elements after it are unspecified.
+     */
+    public static int unique(long[] a) {
+        return unique(a, 0, a.length, a.length > 0 ? a[0] : 0L, true);
+    }
+
+    /**
+     * Removes consecutive duplicates from the given sorted array in place and
+     * in parallel, as by {@link #unique(long[])}.
+     *
+     * @param a The sorted array to compact.
+     * @return The amount of distinct elements, which now occupy the indices
+     *         before it. The elements after it are unspecified.
+     */
+    public static int parallelUnique(long[] a) {
+        int chunks = chunksFor(a.length);
+        if (chunks == 1) {
+            return unique(a);
+        }
+        // Each chunk needs the element before it, which the compaction of
+        // the previous chunk may overwrite
+        long[] previous = new long[chunks];
+        for (int c = 1; c < chunks; c++) {
+            previous[c] = a[chunkStart(a.length, chunks, c) - 1];
+        }
+        int[] sizes = new int[chunks];
+        IntStream.range(0, chunks).parallel().forEach(c -> sizes[c] =
+                unique(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), previous[c],
+                        c == 0));
+        int size = sizes[0];
+        for (int c = 1; c < chunks; c++) {
+            System.arraycopy(a, chunkStart(a.length, chunks, c), a, size,
+                    sizes[c]);
+            size += sizes[c];
+        }
+        return size;
+    }
+
+    /**
+     * Replaces each element of the given range of the given array with the sum
+     * of itself, every element of the range before it and the given carry.
+     *
+     * @param a The array to scan.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param carry The sum of the elements before the range.
+     */
+    private static void scan(long[] a, int lo, int hi, long carry) {
+        long sum = carry;
+        for (int i = lo; i < hi; i++) {
+            sum += a[i];
+            a[i] = sum;
+        }
+    }
+
+    /**
+     * Replaces each element of the given range of the given array with the sum
+     * of every element of the range before it and the given carry.
+     *
+     * @param a The array to scan.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param carry The sum of the elements before the range.
+     * @return The sum of the carry and every element of the range.
+     */
+    private static long exclusiveScan(long[] a, int lo, int hi, long carry) {
+        long sum = carry;
+        for (int i = lo; i < hi; i++) {
+            long e = a[i];
+            a[i] = sum;
+            sum += e;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the elements before each chunk of the given array,
+     * summing the chunks in parallel.
+     *
+     * @param a The array to sum.
+     * @param chunks The amount of chunks.
+     * @return The sum of the elements before each chunk.
+     */
+    private static long[] chunkSums(long[] a, int chunks) {
+        long[] sums = new long[chunks];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            long sum = 0L;
+            int hi = chunkStart(a.length, chunks, c + 1);
+            for (int i = chunkStart(a.length, chunks, c); i < hi; i++) {
+                sum += a[i];
+            }
+            sums[c] = sum;
+        });
+        exclusiveScan(sums, 0, chunks, 0L);
+        return sums;
+    }
+
+    /**
+     * Counts the elements of the given range of the given array into buckets.
+     *
+     * @param a The array to count.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param min The smallest value of the buckets, inclusive.
+     * @param max The largest value of the buckets, inclusive.
+     * @param width The width of each bucket.
+     * @param counts The counts to add to.
+     */
+    private static void histogram(long[] a, int lo, int hi, long min,
+            long max, long width, int[] counts)
+    {
+        for (int i = lo; i < hi; i++) {
+            long e = a[i];
+            if (e >= min && e <= max) {
+                counts[Math.min(counts.length - 1,
+                        (int) Long.divideUnsigned(e - min, width))]++;
+            }
+        }
+    }
+
+    /**
+     * Removes consecutive duplicates from the given range of the given sorted
+     * array, moving the distinct elements to the start of the range.
+     *
+     * @param a The sorted array to compact.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param previous The element before the range.
+     * @param first Whether the range is at the start of the array, in which
+     *        case {@code previous} is ignored.
+     * @return The amount of distinct elements of the range.
+     */
+    private static int unique(long[] a, int lo, int hi, long previous,
+            boolean first)
+    {
+        int size = lo;
+        long last = previous;
+        for (int i = lo; i < hi; i++) {
+            long e = a[i];
+            if ((first && i == lo) || !(e == last)) {
+                a[size++] = e;
+                last = e;
+            }
+        }
+        return size - lo;
+    }
+
+    /*
+     * double
+     */
+
+    /**
+     * Replaces each element of the given array with the sum of itself and every
+     * element before it.
+     *
+     * @param a The array to scan.
+     */
+    public static void prefixSum(double[] a) {
+        scan(a, 0, a.length, 0.0d);
+    }
+
+    /**
+     * Replaces each element of the given array with the sum of itself and every
+     * element before it, in parallel.
+     *
+     * @param a The array to scan.
+     */
+    public static void parallelPrefixSum(double[] a) {
+        int chunks = chunksFor(a.length);
+        if (chunks == 1) {
+            prefixSum(a);
+            return;
+        }
+        double[] carries = chunkSums(a, chunks);
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                scan(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), carries[c]));
+    }
+
+    /**
+     * Replaces each element of the given array with the sum of every element
+     * before it, so the first element becomes {@code 0}.
+     *
+     * @param a The array to scan.
+     * @return The sum of every element of the array.
+     */
+    public static double exclusivePrefixSum(double[] a) {
+        return exclusiveScan(a, 0, a.length, 0.0d);
+    }
+
+    /**
+     * Replaces each element of the given array with the sum of every element
+     * before it, in parallel, so the first element becomes {@code 0}.
+     *
+     * @param a The array to scan.
+     * @return The sum of every element of the array.
+     */
+    public static double parallelExclusivePrefixSum(double[] a) {
+        int chunks = chunksFor(a.length);
+        if (chunks == 1) {
+            return exclusivePrefixSum(a);
+        }
+        double[] carries = chunkSums(a, chunks);
+        double last = a[a.length - 1];
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                exclusiveScan(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), carries[c]));
+        return a[a.length - 1] + last;
+    }
+
+    /**
+     * Counts the elements of the given array that fall into each of the given
+     * amount of buckets, which divide the given range of values into intervals
+     * of equal width. {@code NaN} values are not counted. Elements outside of
+     * the range are not counted.
+     *
+     * @param a The array to count.
+     * @param min The smallest value of the range, inclusive.
+     * @param max The largest value of the range, exclusive, except that {@code
+     *        max} itself is counted in the last bucket.
+     * @param buckets The amount of buckets.
+     * @return A new array of the count of each bucket.
+     * @throws IllegalArgumentException if {@code buckets} is not positive or
+     *         the range is empty.
+     */
+    public static int[] histogram(double[] a, double min, double max, 
+            int buckets) 
+    {
+        requirePositive(buckets);
+        if (!(min < max) || Double.isInfinite(max - min)) {
+            throw new IllegalArgumentException("Invalid range : [" + min
+                    + ", " + max + "]");
+        }
+        double width = (max - min) / buckets;
+        int[] counts = new int[buckets];
+        histogram(a, 0, a.length, min, max, width, counts);
+        return counts;
+    }
+
+    /**
+     * Counts the elements of the given array that fall into each of the given
+     * amount of buckets in parallel, as by {@link #histogram(double[], double,
+     * double, int)}.
+     *
+     * @param a The array to count.
+     * @param min The smallest value of the range, inclusive.
+     * @param max The largest value of the range, exclusive, except that {@code
+     *        max} itself is counted in the last bucket.
+     * @param buckets The amount of buckets.
+     * @return A new array of the count of each bucket.
+     * @throws IllegalArgumentException if {@code buckets} is not positive or
+     *         the range is empty.
+     */
+    public static int[] parallelHistogram(double[] a, double min, double max,
+            int buckets)
+    {
+        requirePositive(buckets);
+        if (!(min < max) || Double.isInfinite(max - min)) {
+            throw new IllegalArgumentException("Invalid range : [" + min
+                    + ", " + max + "]");
+        }
+        double width = (max - min) / buckets;
+        int chunks = chunksFor(a.length);
+        int[][] counts = new int[chunks][buckets];
+        IntStream.range(0, chunks).parallel().forEach(c ->
+                histogram(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), min, max, width,
+                        counts[c]));
+        return sumCounts(counts);
+    }
+
+    /**
+     * Removes consecutive duplicates from the given sorted array in place,
+     * moving the first of each run of equal elements to the front of the array
+     * in order. Elements are equal as by {@link Double#compare(double,
+     * double)}, so {@code -0.0d} and {@code 0.0d} are distinct and every {@code
+     * NaN} is equal.
+     *
+     * @param a The sorted array to compact.
+     * @return The amount of distinct elements, which now occupy the indices
+     *         before it. The elements after it are unspecified.
+     */
+    public static int unique(double[] a) {
+        return unique(a, 0, a.length, a.length > 0 ? a[0] : 0.0d, true);
+    }
+
+    /**
+     * Removes consecutive duplicates from the given sorted array in place and
+     * in parallel, as by {@link #unique(double[])}.
+     *
+     * @param a The sorted array to compact.
+     * @return The amount of distinct elements, which now occupy the indices
+     *         before it. The elements after it are unspecified.
+     */
+    public static int parallelUnique(double[] a) {
+        int chunks = chunksFor(a.length);
+        if (chunks == 1) {
+            return unique(a);
+        }
+        // Each chunk needs the element before it, which the compaction of
+        // the previous chunk may overwrite
+        double[] previous = new double[chunks];
+        for (int c = 1; c < chunks; c++) {
+            previous[c] = a[chunkStart(a.length, chunks, c) - 1];
+        }
+        int[] sizes = new int[chunks];
+        IntStream.range(0, chunks).parallel().forEach(c -> sizes[c] =
+                unique(a, chunkStart(a.length, chunks, c),
+                        chunkStart(a.length, chunks, c + 1), previous[c],
+                        c == 0));
+        int size = sizes[0];
+        for (int c = 1; c < chunks; c++) {
+            System.arraycopy(a, chunkStart(a.length, chunks, c), a, size,
+                    sizes[c]);
+            size += sizes[c];
+        }
+        return size;
+    }
+
+    /**
+     * Replaces each element of the given range of the given array with the sum
+     * of itself, every element of the range before it and the given carry.
+     *
+     * @param a The array to scan.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param carry The sum of the elements before the range.
+     */
+    private static void scan(double[] a, int lo, int hi, double carry) {
+        double sum = carry;
+        for (int i = lo; i < hi; i++) {
+            sum += a[i];
+            a[i] = sum;
+        }
+    }
+
+    /**
+     * Replaces each element of the given range of the given array with the sum
+     * of every element of the range before it and the given carry.
+     *
+     * @param a The array to scan.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param carry The sum of the elements before the range.
+     * @return The sum of the carry and every element of the range.
+     */
+    private static double exclusiveScan(double[] a, int lo, int hi, 
+            double carry) 
+    {
+        double sum = carry;
+        for (int i = lo; i < hi; i++) {
+            double e = a[i];
+            a[i] = sum;
+            sum += e;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of the elements before each chunk of the given array,
+     * summing the chunks in parallel.
+     *
+     * @param a The array to sum.
+     * @param chunks The amount of chunks.
+     * @return The sum of the elements before each chunk.
+     */
+    private static double[] chunkSums(double[] a, int chunks) {
+        double[] sums = new double[chunks];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            double sum = 0.0d;
+            int hi = chunkStart(a.length, chunks, c + 1);
+            for (int i = chunkStart(a.length, chunks, c); i < hi; i++) {
+                sum += a[i];
+            }
+            sums[c] = sum;
+        });
+        exclusiveScan(sums, 0, chunks, 0.0d);
+        return sums;
+    }
+
+    /**
+     * Counts the elements of the given range of the given array into buckets.
+     *
+     * @param a The array to count.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param min The smallest value of the buckets, inclusive.
+     * @param max The largest value of the buckets, exclusive, except that
+     *        {@code max} itself is counted in the last bucket.
+     * @param width The width of each bucket.
+     * @param counts The counts to add to.
+     */
+    private static void histogram(double[] a, int lo, int hi, double min,
+            double max, double width, int[] counts)
+    {
+        for (int i = lo; i < hi; i++) {
+            double e = a[i];
+            if (e >= min && e <= max) {
+                counts[Math.min(counts.length - 1,
+                        (int) ((e - min) / width))]++;
+            }
+        }
+    }
+
+    /**
+     * Removes consecutive duplicates from the given range of the given sorted
+     * array, moving the distinct elements to the start of the range.
+     *
+     * @param a The sorted array to compact.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param previous The element before the range.
+     * @param first Whether the range is at the start of the array, in which
+     *        case {@code previous} is ignored.
+     * @return The amount of distinct elements of the range.
+     */
+    private static int unique(double[] a, int lo, int hi, double previous,
+            boolean first)
+    {
+        int size = lo;
+        double last = previous;
+        for (int i = lo; i < hi; i++) {
+            double e = a[i];
+            if ((first && i == lo) || !(Double.compare(e, last) == 0)) {
+                a[size++] = e;
+                last = e;
+            }
+        }
+        return size - lo;
+    }
+
+}
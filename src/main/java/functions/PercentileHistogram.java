@@ -0,0 +1,422 @@
+package functions;
+
+import java.util.Arrays;
+
+/**
+ * The {@code PercentileHistogram} class contains a histogram of non-negative
+ * {@code long} values that answers percentile queries approximately, with a
+ * bounded relative error, in time and memory independent of the amount of
+ * values recorded.
+ *
+ * <p> The histogram is log-linear, in the manner of HdrHistogram: values are
+ * grouped by the position of their highest set bit, and each group is split
+ * into linear sub-buckets whose amount is set by the requested precision. A
+ * value is recorded by incrementing the count of its bucket, which takes a few
+ * bit operations and no comparisons, so recording millions of latency samples
+ * costs little more than storing them. Every value that falls into a bucket is
+ * reported as the highest value of that bucket, so a reported percentile is
+ * never less than the exact one and exceeds it by at most
+ * {@code 10^-significantDigits} of its value. Values below
+ * {@code 2 * 10^significantDigits} are recorded exactly.
+ *
+ * <p> Percentiles follow the nearest-rank method, as do the {@code percentiles}
+ * methods of {@link Selection}, which find them exactly by rearranging an
+ * array in &Omicron;(n) time.
+ *
+ * <p> This class is not safe for use by multiple threads at once. Histograms
+ * recorded separately, for example by each thread, may instead be combined by
+ * {@link #merge(PercentileHistogram)}.
+ *
+ * @author Oliver Abdulrahim
+ * @see Selection#percentiles(long[], double...)
+ */
+public final class PercentileHistogram {
+
+    /**
+     * The highest amount of significant decimal digits that may be requested.
+     */
+    public static final int MAX_SIGNIFICANT_DIGITS = 5;
+
+    /**
+     * The precision of this histogram, in significant decimal digits.
+     */
+    private final int significantDigits;
+
+    /**
+     * The largest value that may be recorded.
+     */
+    private final long highestTrackableValue;
+
+    /**
+     * The base-2 logarithm of half the amount of sub-buckets in each group,
+     * which is the amount of sub-buckets in every group but the first.
+     */
+    private final int subBucketHalfBits;
+
+    /**
+     * The count of each bucket, which may be shorter than the amount of
+     * buckets up to the highest trackable value, and is then grown as
+     * larger values are recorded.
+     */
+    private long[] counts;
+
+    /**
+     * The amount of values recorded.
+     */
+    private long totalCount;
+
+    /**
+     * The smallest value recorded, or {@link Long#MAX_VALUE} if none.
+     */
+    private long min;
+
+    /**
+     * The largest value recorded, or {@code 0} if none.
+     */
+    private long max;
+
+    /**
+     * The sum of the values recorded, which is used for the mean.
+     */
+    private double sum;
+
+    /**
+     * Constructs an empty {@code PercentileHistogram} that may record any
+     * non-negative {@code long} value with the given precision. Only the
+     * buckets of the values recorded exactly are allocated up front, and
+     * the rest are allocated as larger values are recorded, so the memory
+     * taken depends on the largest value recorded rather than on
+     * {@link Long#MAX_VALUE}: with three significant digits, it is 16 KiB,
+     * plus 8 KiB for each doubling of the largest value beyond
+     * {@code 2048}. Recording a value that needs more buckets takes time
+     * proportional to the buckets already allocated.
+     *
+     * @param significantDigits The precision of the histogram, in significant
+     *        decimal digits, between {@code 1} and
+     *        {@value #MAX_SIGNIFICANT_DIGITS}.
+     * @throws IllegalArgumentException if the precision is out of range.
+     */
+    public PercentileHistogram(int significantDigits) {
+        this(Long.MAX_VALUE, significantDigits, false);
+    }
+
+    /**
+     * Constructs an empty {@code PercentileHistogram} that may record values
+     * up to the given bound with the given precision. A lower bound needs
+     * less memory; for example, a histogram of values up to one hour in
+     * nanoseconds with three significant digits needs about 260 KiB.
+     *
+     * @param highestTrackableValue The largest value that may be recorded.
+     * @param significantDigits The precision of the histogram, in significant
+     *        decimal digits, between {@code 1} and
+     *        {@value #MAX_SIGNIFICANT_DIGITS}.
+     * @throws IllegalArgumentException if the bound is negative or the
+     *         precision is out of range.
+     */
+    public PercentileHistogram(long highestTrackableValue,
+            int significantDigits)
+    {
+        this(highestTrackableValue, significantDigits, true);
+    }
+
+    /**
+     * Constructs an empty {@code PercentileHistogram} that may record values
+     * up to the given bound with the given precision.
+     *
+     * @param highestTrackableValue The largest value that may be recorded.
+     * @param significantDigits The precision of the histogram, in significant
+     *        decimal digits.
+     * @param allocate Whether to allocate the buckets of every trackable
+     *        value up front, rather than as values are recorded.
+     * @throws IllegalArgumentException if the bound is negative or the
+     *         precision is out of range.
+     */
+    private PercentileHistogram(long highestTrackableValue,
+            int significantDigits, boolean allocate)
+    {
+        if (significantDigits < 1
+                || significantDigits > MAX_SIGNIFICANT_DIGITS) {
+            throw new IllegalArgumentException("Invalid significant digits : "
+                    + significantDigits);
+        }
+        if (highestTrackableValue < 0) {
+            throw new IllegalArgumentException("Invalid highest trackable "
+                    + "value : " + highestTrackableValue);
+        }
+        long exact = 2L * (long) Math.pow(10, significantDigits);
+        int subBucketBits = 64 - Long.numberOfLeadingZeros(exact - 1);
+        this.significantDigits = significantDigits;
+        this.highestTrackableValue = highestTrackableValue;
+        this.subBucketHalfBits = subBucketBits - 1;
+        int buckets = bucketOf(highestTrackableValue) + 1;
+        this.counts = new long[allocate
+                ? buckets
+                : Math.min(buckets, 1 << subBucketBits)];
+        this.min = Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the bucket that holds the given value. The buckets of values
+     * below {@code 2^(subBucketHalfBits + 1)} hold one value each; above
+     * that, each doubling of the value range is split into
+     * {@code 2^subBucketHalfBits} buckets.
+     *
+     * @param value The non-negative value.
+     * @return The index of the bucket of the value.
+     */
+    private int bucketOf(long value) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value)
+                - subBucketHalfBits);
+        return (shift << subBucketHalfBits) + (int) (value >>> shift);
+    }
+
+    /**
+     * Grows the counts to hold the given bucket, up to the end of the group
+     * of buckets it belongs to.
+     *
+     * @param bucket The index of the bucket, which is at most that of the
+     *        highest trackable value.
+     */
+    private void grow(int bucket) {
+        int length = ((bucket >>> subBucketHalfBits) + 1) << subBucketHalfBits;
+        int buckets = bucketOf(highestTrackableValue) + 1;
+        counts = Arrays.copyOf(counts, Math.min(length, buckets));
+    }
+
+    /**
+     * Returns the largest value held by the given bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The highest value that is recorded into the bucket.
+     */
+    private long highestValueOf(int bucket) {
+        int shift = Math.max(0, (bucket >>> subBucketHalfBits) - 1);
+        long subBucket = bucket - ((long) shift << subBucketHalfBits);
+        long lowest = subBucket << shift;
+        return lowest + ((1L << shift) - 1);
+    }
+
+    /**
+     * Records one occurrence of the given value.
+     *
+     * @param value The value to record.
+     * @throws IllegalArgumentException if the value is negative or greater
+     *         than the highest trackable value.
+     */
+    public void record(long value) {
+        record(value, 1L);
+    }
+
+    /**
+     * Records the given amount of occurrences of the given value.
+     *
+     * @param value The value to record.
+     * @param count The amount of occurrences.
+     * @throws IllegalArgumentException if the value is negative or greater
+     *         than the highest trackable value, or the count is negative.
+     */
+    public void record(long value, long count) {
+        if (value < 0 || value > highestTrackableValue) {
+            throw new IllegalArgumentException("Invalid value : " + value);
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("count : " + count + " < 0 !");
+        }
+        if (count == 0) {
+            return;
+        }
+        int bucket = bucketOf(value);
+        if (bucket >= counts.length) {
+            grow(bucket);
+        }
+        counts[bucket] += count;
+        totalCount += count;
+        sum += (double) value * count;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Records every value of the given array.
+     *
+     * @param values The values to record.
+     * @throws IllegalArgumentException if any value is negative or greater
+     *         than the highest trackable value, in which case the values
+     *         before it are recorded.
+     */
+    public void recordAll(int[] values) {
+        for (int value : values) {
+            record(value, 1L);
+        }
+    }
+
+    /**
+     * Records every value of the given array.
+     *
+     * @param values The values to record.
+     * @throws IllegalArgumentException if any value is negative or greater
+     *         than the highest trackable value, in which case the values
+     *         before it are recorded.
+     */
+    public void recordAll(long[] values) {
+        for (long value : values) {
+            record(value, 1L);
+        }
+    }
+
+    /**
+     * Returns the given percentile of the recorded values by the nearest-rank
+     * method, to the precision of this histogram.
+     *
+     * @param p The percentile, between {@code 0} and {@code 100}.
+     * @return The smallest recorded value, rounded up to the highest value of
+     *         its bucket, such that at least {@code p} percent of the recorded
+     *         values are less than or equal to it; or {@code 0} if no value
+     *         has been recorded.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    public long valueAtPercentile(double p) {
+        return percentiles(p)[0];
+    }
+
+    /**
+     * Returns the given percentiles of the recorded values, as by
+     * {@link #valueAtPercentile(double)}, in one pass over the buckets.
+     *
+     * @param ps The percentiles, each between {@code 0} and {@code 100}, in
+     *        any order.
+     * @return A new array whose element at each index is the percentile
+     *         requested at the same index of {@code ps}.
+     * @throws IllegalArgumentException if a percentile is out of range.
+     */
+    public long[] percentiles(double... ps) {
+        Integer[] order = new Integer[ps.length];
+        long[] ranks = new long[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            Selection.requirePercentile(ps[i]);
+            order[i] = i;
+            ranks[i] = Math.max(1L,
+                    (long) Math.ceil(ps[i] / 100.0d * totalCount));
+        }
+        long[] values = new long[ps.length];
+        if (totalCount == 0) {
+            return values;
+        }
+        Arrays.sort(order, (x, y) -> Long.compare(ranks[x], ranks[y]));
+        int next = 0;
+        long cumulative = 0;
+        for (int b = 0; b < counts.length && next < order.length; b++) {
+            cumulative += counts[b];
+            while (next < order.length && ranks[order[next]] <= cumulative) {
+                values[order[next++]] = Math.min(highestValueOf(b), max);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the amount of values recorded.
+     *
+     * @return The amount of values recorded.
+     */
+    public long count() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the smallest value recorded.
+     *
+     * @return The exact smallest value, or {@code 0} if no value has been
+     *         recorded.
+     */
+    public long min() {
+        return (totalCount == 0) ? 0L : min;
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return The exact largest value, or {@code 0} if no value has been
+     *         recorded.
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Returns the arithmetic mean of the values recorded.
+     *
+     * @return The mean, or {@code NaN} if no value has been recorded.
+     */
+    public double mean() {
+        return sum / totalCount;
+    }
+
+    /**
+     * Returns the precision of this histogram.
+     *
+     * @return The amount of significant decimal digits.
+     */
+    public int significantDigits() {
+        return significantDigits;
+    }
+
+    /**
+     * Returns the largest value that this histogram may record.
+     *
+     * @return The highest trackable value.
+     */
+    public long highestTrackableValue() {
+        return highestTrackableValue;
+    }
+
+    /**
+     * Adds every value recorded by the given histogram to this one.
+     *
+     * @param other The histogram to merge into this one, which must have the
+     *        same precision and a highest trackable value no greater than that
+     *        of this histogram.
+     * @throws IllegalArgumentException if the histograms are incompatible.
+     */
+    public void merge(PercentileHistogram other) {
+        if (other.significantDigits != significantDigits
+                || other.highestTrackableValue > highestTrackableValue) {
+            throw new IllegalArgumentException("Incompatible histogram : "
+                    + other);
+        }
+        if (other.counts.length > counts.length) {
+            grow(other.counts.length - 1);
+        }
+        for (int b = 0; b < other.counts.length; b++) {
+            counts[b] += other.counts[b];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Removes every recorded value from this histogram.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        totalCount = 0;
+        sum = 0.0d;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Returns a {@code String} representation of this histogram.
+     *
+     * @return A {@code String} representation of this histogram.
+     */
+    @Override
+    public String toString() {
+        return "PercentileHistogram[count = " + totalCount + ", digits = "
+                + significantDigits + ", highest = " + highestTrackableValue
+                + ']';
+    }
+
+}
@@ -0,0 +1,684 @@
+package functions;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code RadixSort} class contains least-significant-digit radix sorts
+ * for arrays of {@code int}, {@code long}, {@code float} and {@code double}.
+ *
+ * <p> Keys are sorted one 8-bit digit at a time, from the least significant
+ * to the most significant, by counting the occurrences of each digit and
+ * scattering the keys into a buffer of the same length. Each pass is stable
+ * and takes &Omicron;(n) time, so a sort takes &Omicron;(n) time for a fixed
+ * key width, with no comparisons. The histograms of every digit are counted
+ * in a single read of the input, and passes in which every key shares the
+ * same digit, such as the upper digits of small non-negative integers, are
+ * skipped entirely.
+ *
+ * <p> Signed keys are ordered by flipping their sign bit before taking
+ * digits. Floating-point keys are mapped to integers whose unsigned order
+ * matches {@link Double#compare(double, double)}: the sign bit of positive
+ * values is set and every bit of negative values is inverted. As with
+ * {@link java.util.Arrays#sort(double[])}, {@code -0.0} precedes {@code 0.0}
+ * and {@code NaN} values are placed last, although they are canonicalized to
+ * the standard {@code NaN} bit pattern.
+ *
+ * <p> Every method may also permute a payload array alongside the keys, such
+ * as the original indices of the keys or the indices of records that the keys
+ * were extracted from. Since radix sort is stable, equal keys retain the
+ * relative order of their payloads.
+ *
+ * <p> The {@code parallelSort} methods divide the array into chunks and count
+ * and scatter each chunk in parallel on the common {@code ForkJoinPool}; the
+ * scatter offsets of each chunk are derived from the histograms of the chunks
+ * before it, so the result is identical to that of the sequential sort.
+ *
+ * <p> Each sort allocates a buffer of the same length as the array, and one
+ * for the payload if present. Sorts of floating-point keys additionally map
+ * the keys into an integer array.
+ *
+ * @author Oliver Abdulrahim
+ * @see Utilities#mergeSort(int[])
+ */
+public final class RadixSort {
+
+    /**
+     * The amount of bits in each digit.
+     */
+    private static final int DIGIT_BITS = 8;
+
+    /**
+     * The amount of distinct digits.
+     */
+    private static final int RADIX = 1 << DIGIT_BITS;
+
+    /**
+     * The mask that extracts the lowest digit of a key.
+     */
+    private static final int DIGIT_MASK = RADIX - 1;
+
+    /**
+     * The length of an array at or below which it is sorted by insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+
+    /**
+     * The minimum amount of elements in each chunk of a parallel sort.
+     */
+    private static final int MIN_PARALLEL_CHUNK = 1 << 16;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private RadixSort() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order.
+     *
+     * @param a The array to sort.
+     */
+    public static void sort(int[] a) {
+        sort(a, null, Integer.MIN_VALUE, false);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order, as by
+     * {@link #sort(int[])}, and returns the amount of keys written.
+     *
+     * @param a The array to sort.
+     * @return The amount of keys written by the distribution passes and the
+     *         final copy, which is {@code 0} if the array was instead sorted
+     *         by insertion sort.
+     */
+    static long sortCountingMoves(int[] a) {
+        return sort(a, null, Integer.MIN_VALUE, false);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order, applying the same
+     * permutation to the given payload array.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside {@code a}, which must
+     *        have the same length.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    public static void sort(int[] a, int[] payload) {
+        requireSameLength(a.length, payload);
+        sort(a, payload, Integer.MIN_VALUE, false);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order, in parallel.
+     *
+     * @param a The array to sort.
+     */
+    public static void parallelSort(int[] a) {
+        sort(a, null, Integer.MIN_VALUE, true);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order in parallel,
+     * applying the same permutation to the given payload array.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside {@code a}, which must
+     *        have the same length.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    public static void parallelSort(int[] a, int[] payload) {
+        requireSameLength(a.length, payload);
+        sort(a, payload, Integer.MIN_VALUE, true);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order.
+     *
+     * @param a The array to sort.
+     */
+    public static void sort(long[] a) {
+        sort(a, null, Long.MIN_VALUE, false);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order, applying the same
+     * permutation to the given payload array.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside {@code a}, which must
+     *        have the same length.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    public static void sort(long[] a, int[] payload) {
+        requireSameLength(a.length, payload);
+        sort(a, payload, Long.MIN_VALUE, false);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order, in parallel.
+     *
+     * @param a The array to sort.
+     */
+    public static void parallelSort(long[] a) {
+        sort(a, null, Long.MIN_VALUE, true);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order in parallel,
+     * applying the same permutation to the given payload array.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside {@code a}, which must
+     *        have the same length.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    public static void parallelSort(long[] a, int[] payload) {
+        requireSameLength(a.length, payload);
+        sort(a, payload, Long.MIN_VALUE, true);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order.
+     *
+     * @param a The array to sort.
+     */
+    public static void sort(float[] a) {
+        sort(a, null, false);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order, applying the same
+     * permutation to the given payload array.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside {@code a}, which must
+     *        have the same length.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    public static void sort(float[] a, int[] payload) {
+        requireSameLength(a.length, payload);
+        sort(a, payload, false);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order, in parallel.
+     *
+     * @param a The array to sort.
+     */
+    public static void parallelSort(float[] a) {
+        sort(a, null, true);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order in parallel,
+     * applying the same permutation to the given payload array.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside {@code a}, which must
+     *        have the same length.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    public static void parallelSort(float[] a, int[] payload) {
+        requireSameLength(a.length, payload);
+        sort(a, payload, true);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order.
+     *
+     * @param a The array to sort.
+     */
+    public static void sort(double[] a) {
+        sort(a, null, false);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order, applying the same
+     * permutation to the given payload array.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside {@code a}, which must
+     *        have the same length.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    public static void sort(double[] a, int[] payload) {
+        requireSameLength(a.length, payload);
+        sort(a, payload, false);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order, in parallel.
+     *
+     * @param a The array to sort.
+     */
+    public static void parallelSort(double[] a) {
+        sort(a, null, true);
+    }
+
+    /**
+     * Sorts the given array in ascending numerical order in parallel,
+     * applying the same permutation to the given payload array.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside {@code a}, which must
+     *        have the same length.
+     * @throws IllegalArgumentException if the lengths differ.
+     */
+    public static void parallelSort(double[] a, int[] payload) {
+        requireSameLength(a.length, payload);
+        sort(a, payload, true);
+    }
+
+    /**
+     * Ensures that a given payload array has the given length.
+     *
+     * @param length The length of the key array.
+     * @param payload The payload array to test.
+     * @throws IllegalArgumentException if the lengths differ.
+     * @throws NullPointerException if the payload array is {@code null}.
+     */
+    private static void requireSameLength(int length, int[] payload) {
+        Objects.requireNonNull(payload, "Invalid null payload!");
+        if (payload.length != length) {
+            throw new IllegalArgumentException("payload.length : "
+                    + payload.length + " != a.length : " + length + " !");
+        }
+    }
+
+    /**
+     * Sorts the given array by mapping its keys to integers with the same
+     * unsigned order, sorting those, and mapping them back.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside the keys, or
+     *        {@code null}.
+     * @param parallel Whether to sort in parallel.
+     */
+    private static void sort(float[] a, int[] payload, boolean parallel) {
+        int[] keys = new int[a.length];
+        for (int i = 0; i < a.length; i++) {
+            int bits = Float.floatToIntBits(a[i]); // Canonicalizes NaN
+            keys[i] = bits ^ ((bits >> 31) | Integer.MIN_VALUE);
+        }
+        sort(keys, payload, 0, parallel);
+        for (int i = 0; i < a.length; i++) {
+            int bits = keys[i];
+            a[i] = Float.intBitsToFloat(
+                    bits ^ ((~bits >> 31) | Integer.MIN_VALUE));
+        }
+    }
+
+    /**
+     * Sorts the given array by mapping its keys to integers with the same
+     * unsigned order, sorting those, and mapping them back.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside the keys, or
+     *        {@code null}.
+     * @param parallel Whether to sort in parallel.
+     */
+    private static void sort(double[] a, int[] payload, boolean parallel) {
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            long bits = Double.doubleToLongBits(a[i]); // Canonicalizes NaN
+            keys[i] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        }
+        sort(keys, payload, 0L, parallel);
+        for (int i = 0; i < a.length; i++) {
+            long bits = keys[i];
+            a[i] = Double.longBitsToDouble(
+                    bits ^ ((~bits >> 63) | Long.MIN_VALUE));
+        }
+    }
+
+    /**
+     * Returns the amount of chunks to divide an array of the given length
+     * into for a parallel sort.
+     *
+     * @param length The length of the array.
+     * @return The amount of chunks, which is {@code 1} if the array is too
+     *         small to benefit from parallelism.
+     */
+    private static int chunksFor(int length) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        return Math.max(1, Math.min(parallelism * 4,
+                length / MIN_PARALLEL_CHUNK));
+    }
+
+    /**
+     * Returns the first index of the given chunk of an array.
+     *
+     * @param length The length of the array.
+     * @param chunks The amount of chunks.
+     * @param chunk The index of the chunk.
+     * @return The first index of the chunk, inclusive.
+     */
+    private static int chunkStart(int length, int chunks, int chunk) {
+        return (int) ((long) length * chunk / chunks);
+    }
+
+    /**
+     * Converts the given per-chunk digit counts into per-chunk scatter
+     * offsets, in place, so that every key with a smaller digit precedes
+     * every key with a larger digit and keys with the same digit retain the
+     * order of their chunks.
+     *
+     * @param counts The digit counts of each chunk.
+     */
+    private static void countsToOffsets(int[][] counts) {
+        int offset = 0;
+        for (int digit = 0; digit < RADIX; digit++) {
+            for (int[] chunk : counts) {
+                int count = chunk[digit];
+                chunk[digit] = offset;
+                offset += count;
+            }
+        }
+    }
+
+    /**
+     * Sorts the given array of keys, which are ordered by their unsigned
+     * values after being XORed with the given bias.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside the keys, or
+     *        {@code null}.
+     * @param bias The value that maps the keys to unsigned order, which is
+     *        the minimum value for signed keys and zero for unsigned keys.
+     * @param parallel Whether to sort in parallel.
+     * @return The amount of keys written by the distribution passes and the
+     *         final copy, which is {@code 0} if the array was instead sorted
+     *         by insertion sort.
+     */
+    private static long sort(int[] a, int[] payload, int bias,
+            boolean parallel)
+    {
+        final int n = a.length;
+        if (n <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, payload, bias);
+            return 0L;
+        }
+        long moves = 0L;
+        final int passes = Integer.SIZE / DIGIT_BITS;
+        // The digit counts over the whole array do not depend on the order of
+        // its keys, so they are counted once to detect passes to skip
+        int[][] counts = new int[passes][RADIX];
+        for (int key : a) {
+            int k = key ^ bias;
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass][(k >>> (pass * DIGIT_BITS)) & DIGIT_MASK]++;
+            }
+        }
+        int chunks = parallel ? chunksFor(n) : 1;
+        int[] src = a;
+        int[] dst = new int[n];
+        int[] srcPayload = payload;
+        int[] dstPayload = (payload == null) ? null : new int[n];
+        for (int pass = 0; pass < passes; pass++) {
+            int shift = pass * DIGIT_BITS;
+            int[] count = counts[pass];
+            int first = (src[0] ^ bias) >>> shift;
+            if (count[first & DIGIT_MASK] == n) {
+                continue; // Every key has the same digit
+            }
+            if (chunks > 1) {
+                parallelScatter(src, dst, srcPayload, dstPayload, bias, shift,
+                        chunks);
+            }
+            else {
+                int offset = 0;
+                for (int digit = 0; digit < RADIX; digit++) {
+                    int c = count[digit];
+                    count[digit] = offset;
+                    offset += c;
+                }
+                for (int i = 0; i < n; i++) {
+                    int digit = ((src[i] ^ bias) >>> shift) & DIGIT_MASK;
+                    int to = count[digit]++;
+                    dst[to] = src[i];
+                    if (srcPayload != null) {
+                        dstPayload[to] = srcPayload[i];
+                    }
+                }
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+            int[] p = srcPayload;
+            srcPayload = dstPayload;
+            dstPayload = p;
+            moves += n;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+            if (payload != null) {
+                System.arraycopy(srcPayload, 0, payload, 0, n);
+            }
+            moves += n;
+        }
+        return moves;
+    }
+
+    /**
+     * Performs one pass of a parallel radix sort by counting the digits of
+     * each chunk of the source in parallel, and then scattering each chunk
+     * into the destination in parallel.
+     *
+     * @param src The keys to scatter.
+     * @param dst The destination of the keys.
+     * @param srcPayload The payload to scatter, or {@code null}.
+     * @param dstPayload The destination of the payload, or {@code null}.
+     * @param bias The value that maps the keys to unsigned order.
+     * @param shift The position of the digit of this pass.
+     * @param chunks The amount of chunks to divide the source into.
+     */
+    private static void parallelScatter(int[] src, int[] dst,
+            int[] srcPayload, int[] dstPayload, int bias, int shift,
+            int chunks)
+    {
+        final int n = src.length;
+        int[][] counts = new int[chunks][RADIX];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int[] count = counts[chunk];
+            int to = chunkStart(n, chunks, chunk + 1);
+            for (int i = chunkStart(n, chunks, chunk); i < to; i++) {
+                count[((src[i] ^ bias) >>> shift) & DIGIT_MASK]++;
+            }
+        });
+        countsToOffsets(counts);
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int[] offset = counts[chunk];
+            int end = chunkStart(n, chunks, chunk + 1);
+            for (int i = chunkStart(n, chunks, chunk); i < end; i++) {
+                int digit = ((src[i] ^ bias) >>> shift) & DIGIT_MASK;
+                int to = offset[digit]++;
+                dst[to] = src[i];
+                if (srcPayload != null) {
+                    dstPayload[to] = srcPayload[i];
+                }
+            }
+        });
+    }
+
+    /**
+     * Sorts a small array of keys by insertion sort, which is stable.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside the keys, or
+     *        {@code null}.
+     * @param bias The value that maps the keys to unsigned order.
+     */
+    private static void insertionSort(int[] a, int[] payload, int bias) {
+        // Flipping the sign bit of the biased key maps unsigned to signed order
+        final int flip = bias ^ Integer.MIN_VALUE;
+        for (int i = 1; i < a.length; i++) {
+            int key = a[i];
+            int k = key ^ flip;
+            int p = (payload == null) ? 0 : payload[i];
+            int j = i - 1;
+            while (j >= 0 && k < (a[j] ^ flip)) {
+                a[j + 1] = a[j];
+                if (payload != null) {
+                    payload[j + 1] = payload[j];
+                }
+                j--;
+            }
+            a[j + 1] = key;
+            if (payload != null) {
+                payload[j + 1] = p;
+            }
+        }
+    }
+
+    /**
+     * Sorts the given array of keys, which are ordered by their unsigned
+     * values after being XORed with the given bias.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside the keys, or
+     *        {@code null}.
+     * @param bias The value that maps the keys to unsigned order, which is
+     *        the minimum value for signed keys and zero for unsigned keys.
+     * @param parallel Whether to sort in parallel.
+     */
+    private static void sort(long[] a, int[] payload, long bias,
+            boolean parallel)
+    {
+        final int n = a.length;
+        if (n <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(a, payload, bias);
+            return;
+        }
+        final int passes = Long.SIZE / DIGIT_BITS;
+        // The digit counts over the whole array do not depend on the order of
+        // its keys, so they are counted once to detect passes to skip
+        int[][] counts = new int[passes][RADIX];
+        for (long key : a) {
+            long k = key ^ bias;
+            for (int pass = 0; pass < passes; pass++) {
+                counts[pass][(int) (k >>> (pass * DIGIT_BITS)) & DIGIT_MASK]++;
+            }
+        }
+        int chunks = parallel ? chunksFor(n) : 1;
+        long[] src = a;
+        long[] dst = new long[n];
+        int[] srcPayload = payload;
+        int[] dstPayload = (payload == null) ? null : new int[n];
+        for (int pass = 0; pass < passes; pass++) {
+            int shift = pass * DIGIT_BITS;
+            int[] count = counts[pass];
+            long first = (src[0] ^ bias) >>> shift;
+            if (count[(int) first & DIGIT_MASK] == n) {
+                continue; // Every key has the same digit
+            }
+            if (chunks > 1) {
+                parallelScatter(src, dst, srcPayload, dstPayload, bias, shift,
+                        chunks);
+            }
+            else {
+                int offset = 0;
+                for (int digit = 0; digit < RADIX; digit++) {
+                    int c = count[digit];
+                    count[digit] = offset;
+                    offset += c;
+                }
+                for (int i = 0; i < n; i++) {
+                    int digit = (int) ((src[i] ^ bias) >>> shift) & DIGIT_MASK;
+                    int to = count[digit]++;
+                    dst[to] = src[i];
+                    if (srcPayload != null) {
+                        dstPayload[to] = srcPayload[i];
+                    }
+                }
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+            int[] p = srcPayload;
+            srcPayload = dstPayload;
+            dstPayload = p;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+            if (payload != null) {
+                System.arraycopy(srcPayload, 0, payload, 0, n);
+            }
+        }
+    }
+
+    /**
+     * Performs one pass of a parallel radix sort by counting the digits of
+     * each chunk of the source in parallel, and then scattering each chunk
+     * into the destination in parallel.
+     *
+     * @param src The keys to scatter.
+     * @param dst The destination of the keys.
+     * @param srcPayload The payload to scatter, or {@code null}.
+     * @param dstPayload The destination of the payload, or {@code null}.
+     * @param bias The value that maps the keys to unsigned order.
+     * @param shift The position of the digit of this pass.
+     * @param chunks The amount of chunks to divide the source into.
+     */
+    private static void parallelScatter(long[] src, long[] dst,
+            int[] srcPayload, int[] dstPayload, long bias, int shift,
+            int chunks)
+    {
+        final int n = src.length;
+        int[][] counts = new int[chunks][RADIX];
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int[] count = counts[chunk];
+            int to = chunkStart(n, chunks, chunk + 1);
+            for (int i = chunkStart(n, chunks, chunk); i < to; i++) {
+                count[(int) ((src[i] ^ bias) >>> shift) & DIGIT_MASK]++;
+            }
+        });
+        countsToOffsets(counts);
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int[] offset = counts[chunk];
+            int end = chunkStart(n, chunks, chunk + 1);
+            for (int i = chunkStart(n, chunks, chunk); i < end; i++) {
+                int digit = (int) ((src[i] ^ bias) >>> shift) & DIGIT_MASK;
+                int to = offset[digit]++;
+                dst[to] = src[i];
+                if (srcPayload != null) {
+                    dstPayload[to] = srcPayload[i];
+                }
+            }
+        });
+    }
+
+    /**
+     * Sorts a small array of keys by insertion sort, which is stable.
+     *
+     * @param a The array to sort.
+     * @param payload The array to permute alongside the keys, or
+     *        {@code null}.
+     * @param bias The value that maps the keys to unsigned order.
+     */
+    private static void insertionSort(long[] a, int[] payload, long bias) {
+        // Flipping the sign bit of the biased key maps unsigned to signed order
+        final long flip = bias ^ Long.MIN_VALUE;
+        for (int i = 1; i < a.length; i++) {
+            long key = a[i];
+            long k = key ^ flip;
+            int p = (payload == null) ? 0 : payload[i];
+            int j = i - 1;
+            while (j >= 0 && k < (a[j] ^ flip)) {
+                a[j + 1] = a[j];
+                if (payload != null) {
+                    payload[j + 1] = payload[j];
+                }
+                j--;
+            }
+            a[j + 1] = key;
+            if (payload != null) {
+                payload[j + 1] = p;
+            }
+        }
+    }
+
+}
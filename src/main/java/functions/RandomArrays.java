@@ -0,0 +1,586 @@
+package functions;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code RandomArrays} class contains methods that fill primitive arrays
+ * with pseudorandom values that are reproducible from a seed, sequentially or
+ * in parallel.
+ *
+ * <p> Unlike {@link java.util.Random}, whose seed is shared by every thread
+ * that draws from the same instance, each fill here draws from
+ * {@link SplittableRandom} generators that belong to it alone. The array is
+ * divided into chunks of {@value #CHUNK_SIZE} elements, and a generator is
+ * split from the generator of the seed for each chunk in turn. Since the
+ * chunks and their generators depend only on the seed and the length of the
+ * array, the sequential and parallel forms of each method fill an array with
+ * the same values for the same seed, whatever the amount of threads. The
+ * parallel forms fill the chunks on the common {@code ForkJoinPool}.
+ *
+ * <p> The values of {@code SplittableRandom} pass the usual statistical
+ * tests, but they are not cryptographically secure.
+ *
+ * @author Oliver Abdulrahim
+ * @see Utilities#randomArray(int, int, long)
+ */
+public final class RandomArrays {
+
+    /**
+     * The amount of elements filled from each generator.
+     */
+    static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private RandomArrays() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * The {@code ChunkFiller} interface fills one chunk of an array from a
+     * generator.
+     */
+    @FunctionalInterface
+    interface ChunkFiller {
+
+        /**
+         * Fills the given range of an array from the given generator.
+         *
+         * @param g The generator of the chunk.
+         * @param lo The first index of the chunk, inclusive.
+         * @param hi The last index of the chunk, exclusive.
+         */
+        void fill(SplittableRandom g, int lo, int hi);
+
+    }
+
+    /**
+     * Fills an array of the given length chunk by chunk, splitting a
+     * generator for each chunk from the generator of the given seed.
+     *
+     * @param length The length of the array.
+     * @param seed The seed of the values.
+     * @param parallel Whether to fill the chunks in parallel.
+     * @param filler The function that fills each chunk.
+     */
+    static void fill(int length, long seed, boolean parallel,
+            ChunkFiller filler)
+    {
+        int chunks = (int) (((long) length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            generators[c] = root.split();
+        }
+        IntStream range = IntStream.range(0, chunks);
+        if (parallel) {
+            range = range.parallel();
+        }
+        range.forEach(c -> filler.fill(generators[c], c * CHUNK_SIZE,
+                (int) Math.min(length, (long) (c + 1) * CHUNK_SIZE)));
+    }
+
+    /**
+     * Ensures that a given origin is less than a given bound.
+     *
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    private static void requireRange(long origin, long bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("origin : " + origin
+                    + " >= bound : " + bound + " !");
+        }
+    }
+
+    /**
+     * Ensures that a given origin is less than a given bound.
+     *
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    private static void requireRange(double origin, double bound) {
+        if (!(origin < bound)) {
+            throw new IllegalArgumentException("origin : " + origin
+                    + " >= bound : " + bound + " !");
+        }
+    }
+
+    /**
+     * Returns a pseudorandom {@code float} value between {@code 0}, inclusive,
+     * and {@code 1}, exclusive, from the high 24 bits of an {@code int}.
+     *
+     * @param g The generator to draw from.
+     * @return A pseudorandom {@code float} value in [{@code 0}, {@code 1}).
+     */
+    private static float nextFloat(SplittableRandom g) {
+        return (g.nextInt() >>> 8) * 0x1.0p-24f;
+    }
+
+    /*
+     * boolean
+     */
+
+    /**
+     * Fills the given array with pseudorandom {@code boolean} values from the
+     * given seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void fill(boolean[] a, long seed) {
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextBoolean();
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code boolean} values from the
+     * given seed, in parallel. The values are the same as those of {@link
+     * #fill(boolean[], long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void parallelFill(boolean[] a, long seed) {
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextBoolean();
+            }
+        });
+    }
+
+    /*
+     * byte
+     */
+
+    /**
+     * Fills the given array with pseudorandom {@code byte} values from the
+     * given seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void fill(byte[] a, long seed) {
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = (byte) g.nextInt();
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code byte} values from the
+     * given seed, in parallel. The values are the same as those of {@link
+     * #fill(byte[], long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void parallelFill(byte[] a, long seed) {
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = (byte) g.nextInt();
+            }
+        });
+    }
+
+    /*
+     * short
+     */
+
+    /**
+     * Fills the given array with pseudorandom {@code short} values from the
+     * given seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void fill(short[] a, long seed) {
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = (short) g.nextInt();
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code short} values from the
+     * given seed, in parallel. The values are the same as those of {@link
+     * #fill(short[], long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void parallelFill(short[] a, long seed) {
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = (short) g.nextInt();
+            }
+        });
+    }
+
+    /*
+     * char
+     */
+
+    /**
+     * Fills the given array with pseudorandom {@code char} values from the
+     * given seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void fill(char[] a, long seed) {
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = (char) g.nextInt();
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code char} values from the
+     * given seed, in parallel. The values are the same as those of {@link
+     * #fill(char[], long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void parallelFill(char[] a, long seed) {
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = (char) g.nextInt();
+            }
+        });
+    }
+
+    /*
+     * int
+     */
+
+    /**
+     * Fills the given array with pseudorandom {@code int} values from the given
+     * seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void fill(int[] a, long seed) {
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextInt();
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code int} values from the given
+     * seed, in parallel. The values are the same as those of {@link
+     * #fill(int[], long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void parallelFill(int[] a, long seed) {
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextInt();
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code int} values between the
+     * given origin, inclusive, and bound, exclusive, from the given seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    public static void fill(int[] a, long seed, int origin, int bound) {
+        requireRange(origin, bound);
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextInt(origin, bound);
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code int} values between the
+     * given origin, inclusive, and bound, exclusive, from the given seed, in
+     * parallel. The values are the same as those of {@link #fill(int[], long,
+     * int, int)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    public static void parallelFill(int[] a, long seed, int origin, int bound) {
+        requireRange(origin, bound);
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextInt(origin, bound);
+            }
+        });
+    }
+
+    /*
+     * long
+     */
+
+    /**
+     * Fills the given array with pseudorandom {@code long} values from the
+     * given seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void fill(long[] a, long seed) {
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextLong();
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code long} values from the
+     * given seed, in parallel. The values are the same as those of {@link
+     * #fill(long[], long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void parallelFill(long[] a, long seed) {
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextLong();
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code long} values between the
+     * given origin, inclusive, and bound, exclusive, from the given seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    public static void fill(long[] a, long seed, long origin, long bound) {
+        requireRange(origin, bound);
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextLong(origin, bound);
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code long} values between the
+     * given origin, inclusive, and bound, exclusive, from the given seed, in
+     * parallel. The values are the same as those of {@link #fill(long[], long,
+     * long, long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    public static void parallelFill(long[] a, long seed, long origin, 
+            long bound) 
+    {
+        requireRange(origin, bound);
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextLong(origin, bound);
+            }
+        });
+    }
+
+    /*
+     * float
+     */
+
+    /**
+     * Fills the given array with pseudorandom {@code float} values between
+     * {@code 0}, inclusive, and {@code 1}, exclusive, from the given seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void fill(float[] a, long seed) {
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = nextFloat(g);
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code float} values between
+     * {@code 0}, inclusive, and {@code 1}, exclusive, from the given seed, in
+     * parallel. The values are the same as those of {@link #fill(float[],
+     * long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void parallelFill(float[] a, long seed) {
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = nextFloat(g);
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code float} values between the
+     * given origin, inclusive, and bound, exclusive, from the given seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    public static void fill(float[] a, long seed, float origin, float bound) {
+        requireRange(origin, bound);
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = Math.min(origin + nextFloat(g) * (bound - origin),
+                        Math.nextDown(bound));
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code float} values between the
+     * given origin, inclusive, and bound, exclusive, from the given seed, in
+     * parallel. The values are the same as those of {@link #fill(float[], long,
+     * float, float)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    public static void parallelFill(float[] a, long seed, float origin, 
+            float bound) 
+    {
+        requireRange(origin, bound);
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = Math.min(origin + nextFloat(g) * (bound - origin),
+                        Math.nextDown(bound));
+            }
+        });
+    }
+
+    /*
+     * double
+     */
+
+    /**
+     * Fills the given array with pseudorandom {@code double} values between
+     * {@code 0}, inclusive, and {@code 1}, exclusive, from the given seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void fill(double[] a, long seed) {
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextDouble();
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code double} values between
+     * {@code 0}, inclusive, and {@code 1}, exclusive, from the given seed, in
+     * parallel. The values are the same as those of {@link #fill(double[],
+     * long)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     */
+    public static void parallelFill(double[] a, long seed) {
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextDouble();
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code double} values between the
+     * given origin, inclusive, and bound, exclusive, from the given seed.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    public static void fill(double[] a, long seed, double origin, 
+            double bound) 
+    {
+        requireRange(origin, bound);
+        fill(a.length, seed, false, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextDouble(origin, bound);
+            }
+        });
+    }
+
+    /**
+     * Fills the given array with pseudorandom {@code double} values between the
+     * given origin, inclusive, and bound, exclusive, from the given seed, in
+     * parallel. The values are the same as those of {@link #fill(double[],
+     * long, double, double)}.
+     *
+     * @param a The array to fill.
+     * @param seed The seed of the values.
+     * @param origin The least value, inclusive.
+     * @param bound The upper bound, exclusive.
+     * @throws IllegalArgumentException if {@code origin} is not less than
+     *         {@code bound}.
+     */
+    public static void parallelFill(double[] a, long seed, double origin, 
+            double bound) 
+    {
+        requireRange(origin, bound);
+        fill(a.length, seed, true, (g, lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                a[i] = g.nextDouble(origin, bound);
+            }
+        });
+    }
+
+}
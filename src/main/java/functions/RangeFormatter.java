@@ -0,0 +1,497 @@
+package functions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code RangeFormatter} class contains an immutable formatter that labels
+ * every integer of a range by divisibility rules, in the manner of
+ * {@link Utilities#fizzBuzz(int, int)}, and streams the text to an
+ * {@link Appendable} in chunks instead of building it in memory.
+ *
+ * <p> Each rule pairs a divisor with a label. Every integer of the range is
+ * written as the labels of the rules whose divisor divides it, in the order
+ * that the rules were added, or as its decimal digits if there are none; and
+ * the entries are joined by a separator. For example, the following formatter
+ * writes the range from {@code 1} to {@code 15} as
+ * {@code "1 2 Fizz 4 Buzz ... 14 FizzBuzz"}:
+ *
+ * <pre>{@code
+ *     RangeFormatter.builder()
+ *             .rule(3, "Fizz")
+ *             .rule(5, "Buzz")
+ *             .separator(" ")
+ *             .build();
+ * }</pre>
+ *
+ * <p> Divisibility is tracked by a countdown per rule rather than by a
+ * remainder, and the decimal digits of the current integer are incremented in
+ * place rather than converted from it, so each integer costs a decrement and
+ * comparison per rule and an amortized constant amount of work for its
+ * digits. Its digits or labels are copied straight into a buffer of characters
+ * that is written to the destination whenever it fills. No {@code String} is
+ * created per integer.
+ *
+ * <p> The {@code parallelFormatTo} method divides large ranges into blocks of
+ * {@value #BLOCK} integers, formats a bounded amount of them at a time on the
+ * common {@code ForkJoinPool}, and writes the blocks in order, so its output
+ * is the same as that of {@code formatTo}.
+ *
+ * @author Oliver Abdulrahim
+ * @see Utilities#fizzBuzz(int, int)
+ */
+public final class RangeFormatter {
+
+    /**
+     * The amount of characters buffered before each write to the destination.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The amount of integers formatted by each task of the parallel methods.
+     */
+    private static final int BLOCK = 1 << 16;
+
+    /**
+     * The largest amount of characters in the digits of a {@code long}.
+     */
+    private static final int MAX_DIGITS = 20;
+
+    /**
+     * The divisor of each rule.
+     */
+    private final long[] divisors;
+
+    /**
+     * The label of each rule.
+     */
+    private final char[][] labels;
+
+    /**
+     * The separator between entries.
+     */
+    private final char[] separator;
+
+    /**
+     * The largest amount of characters in one entry and its separator.
+     */
+    private final int maxEntry;
+
+    /**
+     * Constructs a {@code RangeFormatter} from the given builder.
+     *
+     * @param builder The builder to copy the rules from.
+     */
+    private RangeFormatter(Builder builder) {
+        int rules = builder.divisors.size();
+        this.divisors = new long[rules];
+        this.labels = new char[rules][];
+        int labelLength = 0;
+        for (int i = 0; i < rules; i++) {
+            divisors[i] = builder.divisors.get(i);
+            labels[i] = builder.labels.get(i).toCharArray();
+            labelLength += labels[i].length;
+        }
+        this.separator = builder.separator.toCharArray();
+        this.maxEntry = Math.max(MAX_DIGITS, labelLength) + separator.length;
+    }
+
+    /**
+     * Returns a new {@code Builder} for a {@code RangeFormatter}.
+     *
+     * @return A new {@code Builder} with no rules and an empty separator.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The {@code Sink} class contains a buffer of characters that is either
+     * written to a destination whenever it fills, or grown to hold all of the
+     * text of a block.
+     */
+    private static final class Sink {
+
+        /**
+         * The destination of the text, or {@code null} to grow the buffer
+         * instead.
+         */
+        final Appendable out;
+
+        /**
+         * The buffered characters.
+         */
+        char[] buffer;
+
+        /**
+         * The amount of buffered characters.
+         */
+        int length;
+
+        /**
+         * Constructs a {@code Sink} with the given destination.
+         *
+         * @param out The destination of the text, or {@code null} to grow
+         *        the buffer instead.
+         * @param capacity The initial length of the buffer.
+         */
+        Sink(Appendable out, int capacity) {
+            this.out = out;
+            this.buffer = new char[capacity];
+        }
+
+        /**
+         * Ensures that the buffer has room for the given amount of
+         * characters, flushing or growing it if needed.
+         *
+         * @param n The amount of characters to make room for.
+         * @throws IOException if the destination cannot be written.
+         */
+        void reserve(int n) throws IOException {
+            if (length + n <= buffer.length) {
+                return;
+            }
+            if (out != null) {
+                flush();
+            }
+            if (length + n > buffer.length) {
+                char[] grown = new char[Math.max(buffer.length * 2,
+                        length + n)];
+                System.arraycopy(buffer, 0, grown, 0, length);
+                buffer = grown;
+            }
+        }
+
+        /**
+         * Writes every buffered character to the destination.
+         *
+         * @throws IOException if the destination cannot be written.
+         */
+        void flush() throws IOException {
+            write(out, buffer, length);
+            length = 0;
+        }
+
+    }
+
+    /**
+     * Writes the given characters to the given destination, without
+     * converting them to a {@code String} where the destination allows.
+     *
+     * @param out The destination of the text.
+     * @param cs The characters to write.
+     * @param length The amount of characters to write, from index {@code 0}.
+     * @throws IOException if the destination cannot be written.
+     */
+    private static void write(Appendable out, char[] cs, int length)
+            throws IOException
+    {
+        if (length == 0) {
+            return;
+        }
+        if (out instanceof Writer) {
+            ((Writer) out).write(cs, 0, length);
+        }
+        else if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(cs, 0, length);
+        }
+        else {
+            out.append(CharBuffer.wrap(cs, 0, length));
+        }
+    }
+
+    /**
+     * Formats the integers from {@code lower} to {@code upper}, inclusive,
+     * into the given sink, separating each from the one before it unless it
+     * is the first integer of the whole output.
+     *
+     * @param lower The first integer to format.
+     * @param upper The last integer to format.
+     * @param leading Whether to write a separator before the first integer.
+     * @param sink The sink to format into.
+     * @throws IOException if the destination of the sink cannot be written.
+     */
+    private void format(long lower, long upper, boolean leading, Sink sink)
+            throws IOException
+    {
+        final long[] d = divisors;
+        final char[][] l = labels;
+        long[] countdown = new long[d.length];
+        for (int i = 0; i < d.length; i++) {
+            countdown[i] = (d[i] - Math.floorMod(lower, d[i])) % d[i];
+        }
+        char[] digits = new char[MAX_DIGITS]; // Of max(v, 0), right-aligned
+        Arrays.fill(digits, '0');
+        int first = MAX_DIGITS;
+        long t = Math.max(0L, lower);
+        do {
+            digits[--first] = (char) ('0' + t % 10);
+            t /= 10;
+        } while (t > 0);
+        for (long v = lower; ; v++) {
+            sink.reserve(maxEntry);
+            char[] buffer = sink.buffer;
+            int n = sink.length;
+            if (leading) {
+                System.arraycopy(separator, 0, buffer, n, separator.length);
+                n += separator.length;
+            }
+            leading = true;
+            int start = n;
+            for (int i = 0; i < d.length; i++) {
+                if (countdown[i] == 0) {
+                    System.arraycopy(l[i], 0, buffer, n, l[i].length);
+                    n += l[i].length;
+                    countdown[i] = d[i];
+                }
+                countdown[i]--;
+            }
+            if (n == start) {
+                if (v >= 0) {
+                    System.arraycopy(digits, first, buffer, n,
+                            MAX_DIGITS - first);
+                    n += MAX_DIGITS - first;
+                }
+                else {
+                    n = writeDigits(v, buffer, n);
+                }
+            }
+            sink.length = n;
+            if (v == upper) {
+                break;
+            }
+            if (v >= 0) { // Increments the digits in place
+                int i = MAX_DIGITS - 1;
+                while (digits[i] == '9') {
+                    digits[i--] = '0';
+                }
+                digits[i]++;
+                first = Math.min(first, i);
+            }
+        }
+    }
+
+    /**
+     * Writes the decimal digits of the given negative value into the given
+     * buffer.
+     *
+     * @param v The negative value to write.
+     * @param buffer The buffer to write into.
+     * @param offset The index of the first character to write.
+     * @return The index after the last character written.
+     */
+    private static int writeDigits(long v, char[] buffer, int offset) {
+        if (v == Long.MIN_VALUE) {
+            String min = Long.toString(v);
+            min.getChars(0, min.length(), buffer, offset);
+            return offset + min.length();
+        }
+        buffer[offset++] = '-';
+        v = -v;
+        int digits = 1;
+        for (long t = v; t >= 10; t /= 10) {
+            digits++;
+        }
+        int end = offset + digits;
+        for (int i = end - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+        return end;
+    }
+
+    /**
+     * Formats the integers from {@code lower} to {@code upper}, inclusive,
+     * into the given destination.
+     *
+     * @param lower The first integer to format.
+     * @param upper The last integer to format.
+     * @param out The destination of the text.
+     * @throws IOException if the destination cannot be written.
+     */
+    public void formatTo(long lower, long upper, Appendable out)
+            throws IOException
+    {
+        Objects.requireNonNull(out, "Invalid null destination!");
+        if (lower > upper) {
+            return;
+        }
+        Sink sink = new Sink(out, BUFFER_SIZE);
+        format(lower, upper, false, sink);
+        sink.flush();
+    }
+
+    /**
+     * Formats the integers from {@code lower} to {@code upper}, inclusive,
+     * into the given destination, formatting blocks of the range in parallel.
+     * The text is the same as that of
+     * {@link #formatTo(long, long, Appendable)}, and it is written in order
+     * from the calling thread, so the destination need not be thread-safe.
+     *
+     * @param lower The first integer to format.
+     * @param upper The last integer to format.
+     * @param out The destination of the text.
+     * @throws IOException if the destination cannot be written.
+     */
+    public void parallelFormatTo(long lower, long upper, Appendable out)
+            throws IOException
+    {
+        Objects.requireNonNull(out, "Invalid null destination!");
+        if (lower > upper) {
+            return;
+        }
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        long blocks = (upper - lower) / BLOCK + 1; // Negative if it overflows
+        if (parallelism < 2 || blocks <= 1) {
+            formatTo(lower, upper, out);
+            return;
+        }
+        int wave = parallelism * 4;
+        Sink[] sinks = new Sink[wave];
+        for (int s = 0; s < wave; s++) {
+            sinks[s] = new Sink(null, BUFFER_SIZE);
+        }
+        for (long first = 0; first < blocks; first += wave) {
+            long base = first;
+            int tasks = (int) Math.min(wave, blocks - first);
+            IntStream.range(0, tasks).parallel().forEach(s -> {
+                long b = base + s;
+                long from = lower + b * BLOCK;
+                long to = (b == blocks - 1) ? upper : from + BLOCK - 1;
+                try {
+                    format(from, to, b > 0, sinks[s]);
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e); // Sinks never write
+                }
+            });
+            for (int s = 0; s < tasks; s++) {
+                write(out, sinks[s].buffer, sinks[s].length);
+                sinks[s].length = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the text of the integers from {@code lower} to {@code upper},
+     * inclusive.
+     *
+     * @param lower The first integer to format.
+     * @param upper The last integer to format.
+     * @return The formatted text, which is empty if {@code lower > upper}.
+     */
+    public String format(long lower, long upper) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            formatTo(lower, upper, sb);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e); // A StringBuilder never throws
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a {@code String} representation of this formatter.
+     *
+     * @return A {@code String} representation of this formatter.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("RangeFormatter[");
+        for (int i = 0; i < divisors.length; i++) {
+            sb.append(divisors[i]).append(" -> ").append(labels[i])
+                    .append(", ");
+        }
+        return sb.append("separator = \"").append(separator).append("\"]")
+                .toString();
+    }
+
+    /**
+     * The {@code Builder} class configures and creates a
+     * {@code RangeFormatter}.
+     */
+    public static final class Builder {
+
+        /**
+         * The divisor of each rule, in order.
+         */
+        private final List<Long> divisors = new ArrayList<>();
+
+        /**
+         * The label of each rule, in order.
+         */
+        private final List<String> labels = new ArrayList<>();
+
+        /**
+         * The separator between entries.
+         */
+        private String separator = "";
+
+        /**
+         * Constructs a {@code Builder} with no rules and an empty separator.
+         */
+        Builder() {
+
+        }
+
+        /**
+         * Adds a rule that labels every multiple of the given divisor. The
+         * labels of the rules that match an integer are written in the order
+         * that the rules were added.
+         *
+         * @param divisor The divisor of the integers to label.
+         * @param label The label of the integers.
+         * @return This builder.
+         * @throws IllegalArgumentException if the divisor is not positive or
+         *         the label is empty.
+         * @throws NullPointerException if the label is {@code null}.
+         */
+        public Builder rule(long divisor, String label) {
+            Objects.requireNonNull(label, "Invalid null label!");
+            if (divisor <= 0) {
+                throw new IllegalArgumentException("Invalid divisor : "
+                        + divisor);
+            }
+            if (label.isEmpty()) {
+                throw new IllegalArgumentException("Invalid empty label!");
+            }
+            divisors.add(divisor);
+            labels.add(label);
+            return this;
+        }
+
+        /**
+         * Sets the separator written between entries.
+         *
+         * @param separator The separator, which may be empty.
+         * @return This builder.
+         * @throws NullPointerException if the separator is {@code null}.
+         */
+        public Builder separator(String separator) {
+            this.separator = Objects.requireNonNull(separator,
+                    "Invalid null separator!");
+            return this;
+        }
+
+        /**
+         * Creates a {@code RangeFormatter} with the rules and separator of
+         * this builder.
+         *
+         * @return A new {@code RangeFormatter}.
+         */
+        public RangeFormatter build() {
+            return new RangeFormatter(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package functions;
+
+/**
+ * The {@code Ranges} class contains the argument checks shared by the methods
+ * of this package that operate on a range of an array, so that each reports
+ * an invalid range in the same way.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class Ranges {
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private Ranges() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Ensures that a given range is within an array of the given length.
+     *
+     * @param length The length of the array.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    static void check(int length, int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex : " + fromIndex
+                    + " > toIndex : " + toIndex + " !");
+        }
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > length) {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package functions;
+
+/**
+ * The {@code ScalarKernels} class contains the scalar loops behind
+ * {@link ArrayKernels}, which every version of {@code ArrayKernels} falls back
+ * to when vector instructions are unavailable.
+ *
+ * <p> These methods do not check their arguments; {@code ArrayKernels} does.
+ *
+ * @author Oliver Abdulrahim
+ * @see ArrayKernels
+ */
+final class ScalarKernels {
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private ScalarKernels() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Returns the least element of the given non-empty range.
+     *
+     * @param a The array to scan.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @return The least element.
+     */
+    static int min(int[] a, int from, int to) {
+        int min = a[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the greatest element of the given non-empty range.
+     *
+     * @param a The array to scan.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @return The greatest element.
+     */
+    static int max(int[] a, int from, int to) {
+        int max = a[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the sum of the elements of the given range.
+     *
+     * @param a The array to scan.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @return The sum, which cannot overflow for any array.
+     */
+    static long sum(int[] a, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the amount of elements of a given range that are less than a
+     * key, without branching on the elements.
+     *
+     * @param a The array to scan.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @param key The value to compare against.
+     * @return The amount of elements less than the key.
+     */
+    static int countLess(int[] a, int from, int to, int key) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            count += (a[i] < key) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the first occurrence of a key in a given range.
+     *
+     * @param a The array to scan.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @param key The value to look for.
+     * @return The index of the key, or {@code -1} if it is absent.
+     */
+    static int indexOf(int[] a, int from, int to, int key) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first occurrence of a key in a given range.
+     *
+     * @param a The array to scan.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @param key The character to look for.
+     * @return The index of the key, or {@code -1} if it is absent.
+     */
+    static int indexOf(char[] a, int from, int to, char key) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Multiplies the red, green and blue channels of the given packed ARGB
+     * pixels by a fixed-point factor, saturating at {@code 255}, and keeps
+     * their alpha.
+     *
+     * @param argb The pixels to scale in place.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @param factor The factor, in units of {@code 1 / 256}.
+     */
+    static void scaleChannels(int[] argb, int from, int to, int factor) {
+        for (int i = from; i < to; i++) {
+            int p = argb[i];
+            int r = Math.min(255, (((p >>> 16) & 0xFF) * factor) >>> 8);
+            int g = Math.min(255, (((p >>> 8) & 0xFF) * factor) >>> 8);
+            int b = Math.min(255, ((p & 0xFF) * factor) >>> 8);
+            argb[i] = (p & 0xFF000000) | (r << 16) | (g << 8) | b;
+        }
+    }
+
+}
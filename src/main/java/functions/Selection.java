@@ -0,0 +1,3218 @@
+package functions;
+
+import java.util.Arrays;
+
+/**
+ * The {@code Selection} class contains methods that find the smallest or
+ * largest elements of primitive arrays without sorting them in full.
+ *
+ * <p> Two families of methods are provided. The {@code select},
+ * {@code median}, {@code percentiles} and {@code partialSort} methods reorder
+ * an array in place using introselect, a quickselect with median-of-three
+ * pivots and Hoare partitioning that switches to median-of-medians pivots if
+ * partitioning keeps making poor progress. Median-of-medians pivots are slower
+ * to find but always discard a constant fraction of the range, so these
+ * methods run in &Omicron;(n) time even on adversarial inputs and use no
+ * additional memory. Selecting several percentiles in one call partitions
+ * around each in turn, so that later selections work within ever smaller
+ * ranges. The {@code topK} and {@code bottomK} methods leave the
+ * array untouched and instead stream it through a bounded binary heap, which
+ * runs in &Omicron;(n log k) time and uses &Omicron;(k) memory. Since most
+ * elements of a large input are rejected after a single comparison with the
+ * root of the heap, this is close to linear when {@code k} is small relative
+ * to {@code n}.
+ *
+ * <p> Floating-point values are ordered as by {@link Double#compare(double,
+ * double)}, so {@code -0.0d} precedes {@code 0.0d} and {@code NaN} is greater
+ * than every other value, consistent with {@link Arrays#sort(double[])}.
+ *
+ * @author Oliver Abdulrahim
+ * @see collections.CollectionUtilities#topK(java.lang.Iterable, int,
+ *      java.util.Comparator)
+ * @see PercentileHistogram
+ */
+public final class Selection {
+
+    /**
+     * The size of a range at or below which it is sorted by insertion sort
+     * rather than partitioned further.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * The multiple of the size of a range that introselect may spend on
+     * partitions with median-of-three pivots before it switches to
+     * median-of-medians pivots. With good pivots, the partitions of a range
+     * total about three times its size.
+     */
+    private static final int WORK_FACTOR = 4;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private Selection() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Ensures that a given amount of elements to select is not negative.
+     *
+     * @param k The amount to test.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    private static void requireNonNegative(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k : " + k + " < 0 !");
+        }
+    }
+
+    /**
+     * Ensures that a given percentile is between {@code 0} and {@code 100}.
+     *
+     * @param p The percentile to test.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    static void requirePercentile(double p) {
+        if (!(p >= 0.0d && p <= 100.0d)) {
+            throw new IllegalArgumentException("Invalid percentile : " + p);
+        }
+    }
+
+    /**
+     * Returns the index of the given percentile of a sorted range of the given
+     * size by the nearest-rank method, which is the smallest index such that
+     * at least {@code p} percent of the range is at or before it.
+     *
+     * @param size The size of the range, which must be positive.
+     * @param p The percentile, between {@code 0} and {@code 100}.
+     * @return The index of the percentile within the range.
+     */
+    private static int percentileIndex(int size, double p) {
+        long rank = (long) Math.ceil(p / 100.0d * size);
+        return (int) Math.max(0L, Math.min(rank, size) - 1L);
+    }
+
+    /**
+     * Returns the indices of the given percentiles of an array of the given
+     * size, in ascending order and without duplicates.
+     *
+     * @param size The size of the array, which must be positive.
+     * @param ps The percentiles, each between {@code 0} and {@code 100}.
+     * @return The distinct indices of the percentiles.
+     * @throws IllegalArgumentException if a percentile is out of range.
+     */
+    private static int[] percentileIndices(int size, double[] ps) {
+        int[] ks = new int[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            requirePercentile(ps[i]);
+            ks[i] = percentileIndex(size, ps[i]);
+        }
+        Arrays.sort(ks);
+        int distinct = 0;
+        for (int i = 0; i < ks.length; i++) {
+            if (i == 0 || ks[i] != ks[i - 1]) {
+                ks[distinct++] = ks[i];
+            }
+        }
+        return Arrays.copyOf(ks, distinct);
+    }
+
+    /**
+     * Ensures that a given array is not empty.
+     *
+     * @param length The length of the array.
+     * @throws IllegalArgumentException if the length is {@code 0}.
+     */
+    private static void requireNonEmpty(int length) {
+        if (length == 0) {
+            throw new IllegalArgumentException("Invalid empty array!");
+        }
+    }
+
+    /*
+     * byte
+     */
+
+    /**
+     * Rearranges the given array so that the element at index {@code k} is
+     * the element that would be there if the array were sorted, every element
+     * before it is less than or equal to it, and every element after it is
+     * greater than or equal to it.
+     *
+     * @param a The array to rearrange.
+     * @param k The index of the element to select.
+     * @return The {@code k}th smallest element, counting from zero.
+     * @throws ArrayIndexOutOfBoundsException if {@code k} is not an index of
+     *         the given array.
+     */
+    public static byte select(byte[] a, int k) {
+        return select(a, 0, a.length, k);
+    }
+
+    /**
+     * Rearranges the given range of the given array so that the element at
+     * index {@code k} is the element that would be there if the range were
+     * sorted, every element of the range before it is less than or equal to
+     * it, and every element of the range after it is greater than or equal to
+     * it. Elements outside of the range are not touched.
+     *
+     * @param a The array to rearrange.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The index of the element to select, within the range.
+     * @return The element selected at index {@code k}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array
+     *         or {@code k} is not within the range.
+     */
+    public static byte select(byte[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        if (k < fromIndex || k >= toIndex) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+        introSelect(a, fromIndex, toIndex, k);
+        return a[k];
+    }
+
+    /**
+     * Rearranges the given array so that its median is at index
+     * {@code (a.length - 1) / 2}, as by {@link #select(byte[], int)}. For an
+     * array of even length, this is the lower of its two middle elements.
+     *
+     * @param a The array to rearrange.
+     * @return The median of the array.
+     * @throws IllegalArgumentException if the array is empty.
+     */
+    public static byte median(byte[] a) {
+        requireNonEmpty(a.length);
+        int k = (a.length - 1) >>> 1;
+        introSelect(a, 0, a.length, k);
+        return a[k];
+    }
+
+    /**
+     * Returns the given percentiles of the given array by the nearest-rank
+     * method, rearranging it so that each is at the index it would have if
+     * the array were sorted. The {@code p}th percentile is the smallest
+     * element such that at least {@code p} percent of the array is less than
+     * or equal to it, so the {@code 0}th percentile is the smallest element
+     * and the {@code 100}th is the largest.
+     *
+     * @param a The array to rearrange.
+     * @param ps The percentiles to select, each between {@code 0} and
+     *        {@code 100}, in any order.
+     * @return A new array whose element at each index is the percentile
+     *         requested at the same index of {@code ps}.
+     * @throws IllegalArgumentException if the array is empty or a percentile
+     *         is out of range.
+     */
+    public static byte[] percentiles(byte[] a, double... ps) {
+        requireNonEmpty(a.length);
+        int[] ks = percentileIndices(a.length, ps);
+        multiSelect(a, 0, a.length, ks, 0, ks.length);
+        byte[] values = new byte[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            values[i] = a[percentileIndex(a.length, ps[i])];
+        }
+        return values;
+    }
+
+    /**
+     * Rearranges the given array so that its first {@code k} elements are its
+     * {@code k} smallest, in ascending order. The order of the remaining
+     * elements is unspecified.
+     *
+     * @param a The array to rearrange.
+     * @param k The amount of smallest elements to sort, which is clamped to
+     *        the length of the array.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static void partialSort(byte[] a, int k) {
+        requireNonNegative(k);
+        if (k < a.length) {
+            if (k == 0) {
+                return;
+            }
+            introSelect(a, 0, a.length, k - 1);
+        }
+        Arrays.sort(a, 0, Math.min(k, a.length));
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given array in descending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static byte[] topK(byte[] a, int k) {
+        return topK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given range of the given
+     * array in descending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static byte[] topK(byte[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        byte[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMin(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(heap[0], a[i])) {
+                    heap[0] = a[i];
+                    siftDownMin(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        reverse(heap);
+        return heap;
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given array in ascending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static byte[] bottomK(byte[] a, int k) {
+        return bottomK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given range of the given
+     * array in ascending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static byte[] bottomK(byte[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        byte[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMax(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(a[i], heap[0])) {
+                    heap[0] = a[i];
+                    siftDownMax(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        return heap;
+    }
+
+    /**
+     * Tests if one value precedes another in ascending order.
+     *
+     * @param x The first value.
+     * @param y The second value.
+     * @return {@code true} if {@code x} is strictly less than {@code y}.
+     */
+    private static boolean less(byte x, byte y) {
+        return x < y;
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     */
+    private static void introSelect(byte[] a, int lo, int hi, int k) {
+        introSelect(a, lo, hi, k, (long) WORK_FACTOR * (hi - lo));
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array, which uses median-of-medians pivots once the given
+     * amount of work is spent.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     * @param budget The total size of the partitions that may be made with
+     *        median-of-three pivots.
+     */
+    private static void introSelect(byte[] a, int lo, int hi, int k,
+            long budget)
+    {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            int p;
+            budget -= hi - lo;
+            if (budget >= 0) {
+                p = medianOfThree(a, lo, (lo + hi) >>> 1, hi - 1);
+            }
+            else {
+                p = medianOfMedians(a, lo, hi); // Guarantees O(n)
+            }
+            // Move the pivot to the front so that the partition below always
+            // leaves both sides nonempty
+            swap(a, lo, p);
+            byte pivot = a[lo];
+            int i = lo - 1;
+            int j = hi;
+            while (true) { // Hoare partition, which splits runs of equals
+                do {
+                    i++;
+                } while (less(a[i], pivot));
+                do {
+                    j--;
+                } while (less(pivot, a[j]));
+                if (i >= j) {
+                    break;
+                }
+                swap(a, i, j);
+            }
+            if (k <= j) {
+                hi = j + 1;
+            }
+            else {
+                lo = j + 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    /**
+     * Selects each of the given sorted indices within the range [{@code lo},
+     * {@code hi}) of the given array, by selecting the middle index and then
+     * recursing into the ranges on either side of it.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param ks The indices to select, in ascending order.
+     * @param from The first index of {@code ks} to select, inclusive.
+     * @param to The last index of {@code ks} to select, exclusive.
+     */
+    private static void multiSelect(byte[] a, int lo, int hi, int[] ks,
+            int from, int to)
+    {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ks[mid];
+            introSelect(a, lo, hi, k);
+            multiSelect(a, lo, k, ks, from, mid);
+            lo = k + 1;
+            from = mid + 1;
+        }
+    }
+
+    /**
+     * Returns the index of an approximate median of the range [{@code lo},
+     * {@code hi}) of the given array, which is greater than at least 30% of
+     * the range and less than at least 30% of it. The median of each group of
+     * five elements is moved to the front of the range, and the median of
+     * these is selected recursively.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @return The index of the approximate median.
+     */
+    private static int medianOfMedians(byte[] a, int lo, int hi) {
+        int medians = lo;
+        for (int i = lo; i < hi; i += 5) {
+            int end = Math.min(i + 5, hi);
+            insertionSort(a, i, end);
+            swap(a, medians++, (i + end - 1) >>> 1);
+        }
+        int k = (lo + medians) >>> 1;
+        introSelect(a, lo, medians, k, 0L);
+        return k;
+    }
+
+    /**
+     * Returns the index of the median of three elements of the given array.
+     *
+     * @param a The array to examine.
+     * @param x The index of the first element.
+     * @param y The index of the second element.
+     * @param z The index of the third element.
+     * @return The index of the median of the three elements.
+     */
+    private static int medianOfThree(byte[] a, int x, int y, int z) {
+        if (less(a[y], a[x])) {
+            int t = x;
+            x = y;
+            y = t;
+        }
+        if (less(a[z], a[y])) {
+            y = less(a[z], a[x]) ? x : z;
+        }
+        return y;
+    }
+
+    /**
+     * Swaps two elements of the given array.
+     *
+     * @param a The array whose elements to swap.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     */
+    private static void swap(byte[] a, int i, int j) {
+        byte t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    private static void insertionSort(byte[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            byte e = a[i];
+            int j = i - 1;
+            while (j >= lo && less(e, a[j])) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = e;
+        }
+    }
+
+    /**
+     * Restores the min-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMin(byte[] heap, int i, int size) {
+        byte e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], e)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Restores the max-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMax(byte[] heap, int i, int size) {
+        byte e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!less(e, heap[child])) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Reverses the order of the elements of the given array.
+     *
+     * @param a The array to reverse.
+     */
+    private static void reverse(byte[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    /*
+     * short
+     */
+
+    /**
+     * Rearranges the given array so that the element at index {@code k} is
+     * the element that would be there if the array were sorted, every element
+     * before it is less than or equal to it, and every element after it is
+     * greater than or equal to it.
+     *
+     * @param a The array to rearrange.
+     * @param k The index of the element to select.
+     * @return The {@code k}th smallest element, counting from zero.
+     * @throws ArrayIndexOutOfBoundsException if {@code k} is not an index of
+     *         the given array.
+     */
+    public static short select(short[] a, int k) {
+        return select(a, 0, a.length, k);
+    }
+
+    /**
+     * Rearranges the given range of the given array so that the element at
+     * index {@code k} is the element that would be there if the range were
+     * sorted, every element of the range before it is less than or equal to
+     * it, and every element of the range after it is greater than or equal to
+     * it. Elements outside of the range are not touched.
+     *
+     * @param a The array to rearrange.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The index of the element to select, within the range.
+     * @return The element selected at index {@code k}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array
+     *         or {@code k} is not within the range.
+     */
+    public static short select(short[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        if (k < fromIndex || k >= toIndex) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+        introSelect(a, fromIndex, toIndex, k);
+        return a[k];
+    }
+
+    /**
+     * Rearranges the given array so that its median is at index
+     * {@code (a.length - 1) / 2}, as by {@link #select(short[], int)}. For an
+     * array of even length, this is the lower of its two middle elements.
+     *
+     * @param a The array to rearrange.
+     * @return The median of the array.
+     * @throws IllegalArgumentException if the array is empty.
+     */
+    public static short median(short[] a) {
+        requireNonEmpty(a.length);
+        int k = (a.length - 1) >>> 1;
+        introSelect(a, 0, a.length, k);
+        return a[k];
+    }
+
+    /**
+     * Returns the given percentiles of the given array by the nearest-rank
+     * method, rearranging it so that each is at the index it would have if
+     * the array were sorted. The {@code p}th percentile is the smallest
+     * element such that at least {@code p} percent of the array is less than
+     * or equal to it, so the {@code 0}th percentile is the smallest element
+     * and the {@code 100}th is the largest.
+     *
+     * @param a The array to rearrange.
+     * @param ps The percentiles to select, each between {@code 0} and
+     *        {@code 100}, in any order.
+     * @return A new array whose element at each index is the percentile
+     *         requested at the same index of {@code ps}.
+     * @throws IllegalArgumentException if the array is empty or a percentile
+     *         is out of range.
+     */
+    public static short[] percentiles(short[] a, double... ps) {
+        requireNonEmpty(a.length);
+        int[] ks = percentileIndices(a.length, ps);
+        multiSelect(a, 0, a.length, ks, 0, ks.length);
+        short[] values = new short[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            values[i] = a[percentileIndex(a.length, ps[i])];
+        }
+        return values;
+    }
+
+    /**
+     * Rearranges the given array so that its first {@code k} elements are its
+     * {@code k} smallest, in ascending order. The order of the remaining
+     * elements is unspecified.
+     *
+     * @param a The array to rearrange.
+     * @param k The amount of smallest elements to sort, which is clamped to
+     *        the length of the array.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static void partialSort(short[] a, int k) {
+        requireNonNegative(k);
+        if (k < a.length) {
+            if (k == 0) {
+                return;
+            }
+            introSelect(a, 0, a.length, k - 1);
+        }
+        Arrays.sort(a, 0, Math.min(k, a.length));
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given array in descending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static short[] topK(short[] a, int k) {
+        return topK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given range of the given
+     * array in descending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static short[] topK(short[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        short[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMin(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(heap[0], a[i])) {
+                    heap[0] = a[i];
+                    siftDownMin(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        reverse(heap);
+        return heap;
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given array in ascending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static short[] bottomK(short[] a, int k) {
+        return bottomK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given range of the given
+     * array in ascending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static short[] bottomK(short[] a, int fromIndex, int toIndex, 
+            int k) 
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        short[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMax(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(a[i], heap[0])) {
+                    heap[0] = a[i];
+                    siftDownMax(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        return heap;
+    }
+
+    /**
+     * Tests if one value precedes another in ascending order.
+     *
+     * @param x The first value.
+     * @param y The second value.
+     * @return {@code true} if {@code x} is strictly less than {@code y}.
+     */
+    private static boolean less(short x, short y) {
+        return x < y;
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     */
+    private static void introSelect(short[] a, int lo, int hi, int k) {
+        introSelect(a, lo, hi, k, (long) WORK_FACTOR * (hi - lo));
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array, which uses median-of-medians pivots once the given
+     * amount of work is spent.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     * @param budget The total size of the partitions that may be made with
+     *        median-of-three pivots.
+     */
+    private static void introSelect(short[] a, int lo, int hi, int k,
+            long budget)
+    {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            int p;
+            budget -= hi - lo;
+            if (budget >= 0) {
+                p = medianOfThree(a, lo, (lo + hi) >>> 1, hi - 1);
+            }
+            else {
+                p = medianOfMedians(a, lo, hi); // Guarantees O(n)
+            }
+            // Move the pivot to the front so that the partition below always
+            // leaves both sides nonempty
+            swap(a, lo, p);
+            short pivot = a[lo];
+            int i = lo - 1;
+            int j = hi;
+            while (true) { // Hoare partition, which splits runs of equals
+                do {
+                    i++;
+                } while (less(a[i], pivot));
+                do {
+                    j--;
+                } while (less(pivot, a[j]));
+                if (i >= j) {
+                    break;
+                }
+                swap(a, i, j);
+            }
+            if (k <= j) {
+                hi = j + 1;
+            }
+            else {
+                lo = j + 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    /**
+     * Selects each of the given sorted indices within the range [{@code lo},
+     * {@code hi}) of the given array, by selecting the middle index and then
+     * recursing into the ranges on either side of it.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param ks The indices to select, in ascending order.
+     * @param from The first index of {@code ks} to select, inclusive.
+     * @param to The last index of {@code ks} to select, exclusive.
+     */
+    private static void multiSelect(short[] a, int lo, int hi, int[] ks,
+            int from, int to)
+    {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ks[mid];
+            introSelect(a, lo, hi, k);
+            multiSelect(a, lo, k, ks, from, mid);
+            lo = k + 1;
+            from = mid + 1;
+        }
+    }
+
+    /**
+     * Returns the index of an approximate median of the range [{@code lo},
+     * {@code hi}) of the given array, which is greater than at least 30% of
+     * the range and less than at least 30% of it. The median of each group of
+     * five elements is moved to the front of the range, and the median of
+     * these is selected recursively.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @return The index of the approximate median.
+     */
+    private static int medianOfMedians(short[] a, int lo, int hi) {
+        int medians = lo;
+        for (int i = lo; i < hi; i += 5) {
+            int end = Math.min(i + 5, hi);
+            insertionSort(a, i, end);
+            swap(a, medians++, (i + end - 1) >>> 1);
+        }
+        int k = (lo + medians) >>> 1;
+        introSelect(a, lo, medians, k, 0L);
+        return k;
+    }
+
+    /**
+     * Returns the index of the median of three elements of the given array.
+     *
+     * @param a The array to examine.
+     * @param x The index of the first element.
+     * @param y The index of the second element.
+     * @param z The index of the third element.
+     * @return The index of the median of the three elements.
+     */
+    private static int medianOfThree(short[] a, int x, int y, int z) {
+        if (less(a[y], a[x])) {
+            int t = x;
+            x = y;
+            y = t;
+        }
+        if (less(a[z], a[y])) {
+            y = less(a[z], a[x]) ? x : z;
+        }
+        return y;
+    }
+
+    /**
+     * Swaps two elements of the given array.
+     *
+     * @param a The array whose elements to swap.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     */
+    private static void swap(short[] a, int i, int j) {
+        short t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    private static void insertionSort(short[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            short e = a[i];
+            int j = i - 1;
+            while (j >= lo && less(e, a[j])) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = e;
+        }
+    }
+
+    /**
+     * Restores the min-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMin(short[] heap, int i, int size) {
+        short e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], e)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Restores the max-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMax(short[] heap, int i, int size) {
+        short e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!less(e, heap[child])) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Reverses the order of the elements of the given array.
+     *
+     * @param a The array to reverse.
+     */
+    private static void reverse(short[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    /*
+     * char
+     */
+
+    /**
+     * Rearranges the given array so that the element at index {@code k} is
+     * the element that would be there if the array were sorted, every element
+     * before it is less than or equal to it, and every element after it is
+     * greater than or equal to it.
+     *
+     * @param a The array to rearrange.
+     * @param k The index of the element to select.
+     * @return The {@code k}th smallest element, counting from zero.
+     * @throws ArrayIndexOutOfBoundsException if {@code k} is not an index of
+     *         the given array.
+     */
+    public static char select(char[] a, int k) {
+        return select(a, 0, a.length, k);
+    }
+
+    /**
+     * Rearranges the given range of the given array so that the element at
+     * index {@code k} is the element that would be there if the range were
+     * sorted, every element of the range before it is less than or equal to
+     * it, and every element of the range after it is greater than or equal to
+     * it. Elements outside of the range are not touched.
+     *
+     * @param a The array to rearrange.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The index of the element to select, within the range.
+     * @return The element selected at index {@code k}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array
+     *         or {@code k} is not within the range.
+     */
+    public static char select(char[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        if (k < fromIndex || k >= toIndex) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+        introSelect(a, fromIndex, toIndex, k);
+        return a[k];
+    }
+
+    /**
+     * Rearranges the given array so that its median is at index
+     * {@code (a.length - 1) / 2}, as by {@link #select(char[], int)}. For an
+     * array of even length, this is the lower of its two middle elements.
+     *
+     * @param a The array to rearrange.
+     * @return The median of the array.
+     * @throws IllegalArgumentException if the array is empty.
+     */
+    public static char median(char[] a) {
+        requireNonEmpty(a.length);
+        int k = (a.length - 1) >>> 1;
+        introSelect(a, 0, a.length, k);
+        return a[k];
+    }
+
+    /**
+     * Returns the given percentiles of the given array by the nearest-rank
+     * method, rearranging it so that each is at the index it would have if
+     * the array were sorted. The {@code p}th percentile is the smallest
+     * element such that at least {@code p} percent of the array is less than
+     * or equal to it, so the {@code 0}th percentile is the smallest element
+     * and the {@code 100}th is the largest.
+     *
+     * @param a The array to rearrange.
+     * @param ps The percentiles to select, each between {@code 0} and
+     *        {@code 100}, in any order.
+     * @return A new array whose element at each index is the percentile
+     *         requested at the same index of {@code ps}.
+     * @throws IllegalArgumentException if the array is empty or a percentile
+     *         is out of range.
+     */
+    public static char[] percentiles(char[] a, double... ps) {
+        requireNonEmpty(a.length);
+        int[] ks = percentileIndices(a.length, ps);
+        multiSelect(a, 0, a.length, ks, 0, ks.length);
+        char[] values = new char[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            values[i] = a[percentileIndex(a.length, ps[i])];
+        }
+        return values;
+    }
+
+    /**
+     * Rearranges the given array so that its first {@code k} elements are its
+     * {@code k} smallest, in ascending order. The order of the remaining
+     * elements is unspecified.
+     *
+     * @param a The array to rearrange.
+     * @param k The amount of smallest elements to sort, which is clamped to
+     *        the length of the array.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static void partialSort(char[] a, int k) {
+        requireNonNegative(k);
+        if (k < a.length) {
+            if (k == 0) {
+                return;
+            }
+            introSelect(a, 0, a.length, k - 1);
+        }
+        Arrays.sort(a, 0, Math.min(k, a.length));
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given array in descending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static char[] topK(char[] a, int k) {
+        return topK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given range of the given
+     * array in descending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static char[] topK(char[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        char[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMin(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(heap[0], a[i])) {
+                    heap[0] = a[i];
+                    siftDownMin(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        reverse(heap);
+        return heap;
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given array in ascending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static char[] bottomK(char[] a, int k) {
+        return bottomK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given range of the given
+     * array in ascending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static char[] bottomK(char[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        char[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMax(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(a[i], heap[0])) {
+                    heap[0] = a[i];
+                    siftDownMax(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        return heap;
+    }
+
+    /**
+     * Tests if one value precedes another in ascending order.
+     *
+     * @param x The first value.
+     * @param y The second value.
+     * @return {@code true} if {@code x} is strictly less than {@code y}.
+     */
+    private static boolean less(char x, char y) {
+        return x < y;
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     */
+    private static void introSelect(char[] a, int lo, int hi, int k) {
+        introSelect(a, lo, hi, k, (long) WORK_FACTOR * (hi - lo));
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array, which uses median-of-medians pivots once the given
+     * amount of work is spent.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     * @param budget The total size of the partitions that may be made with
+     *        median-of-three pivots.
+     */
+    private static void introSelect(char[] a, int lo, int hi, int k,
+            long budget)
+    {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            int p;
+            budget -= hi - lo;
+            if (budget >= 0) {
+                p = medianOfThree(a, lo, (lo + hi) >>> 1, hi - 1);
+            }
+            else {
+                p = medianOfMedians(a, lo, hi); // Guarantees O(n)
+            }
+            // Move the pivot to the front so that the partition below always
+            // leaves both sides nonempty
+            swap(a, lo, p);
+            char pivot = a[lo];
+            int i = lo - 1;
+            int j = hi;
+            while (true) { // Hoare partition, which splits runs of equals
+                do {
+                    i++;
+                } while (less(a[i], pivot));
+                do {
+                    j--;
+                } while (less(pivot, a[j]));
+                if (i >= j) {
+                    break;
+                }
+                swap(a, i, j);
+            }
+            if (k <= j) {
+                hi = j + 1;
+            }
+            else {
+                lo = j + 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    /**
+     * Selects each of the given sorted indices within the range [{@code lo},
+     * {@code hi}) of the given array, by selecting the middle index and then
+     * recursing into the ranges on either side of it.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param ks The indices to select, in ascending order.
+     * @param from The first index of {@code ks} to select, inclusive.
+     * @param to The last index of {@code ks} to select, exclusive.
+     */
+    private static void multiSelect(char[] a, int lo, int hi, int[] ks,
+            int from, int to)
+    {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ks[mid];
+            introSelect(a, lo, hi, k);
+            multiSelect(a, lo, k, ks, from, mid);
+            lo = k + 1;
+            from = mid + 1;
+        }
+    }
+
+    /**
+     * Returns the index of an approximate median of the range [{@code lo},
+     * {@code hi}) of the given array, which is greater than at least 30% of
+     * the range and less than at least 30% of it. The median of each group of
+     * five elements is moved to the front of the range, and the median of
+     * these is selected recursively.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @return The index of the approximate median.
+     */
+    private static int medianOfMedians(char[] a, int lo, int hi) {
+        int medians = lo;
+        for (int i = lo; i < hi; i += 5) {
+            int end = Math.min(i + 5, hi);
+            insertionSort(a, i, end);
+            swap(a, medians++, (i + end - 1) >>> 1);
+        }
+        int k = (lo + medians) >>> 1;
+        introSelect(a, lo, medians, k, 0L);
+        return k;
+    }
+
+    /**
+     * Returns the index of the median of three elements of the given array.
+     *
+     * @param a The array to examine.
+     * @param x The index of the first element.
+     * @param y The index of the second element.
+     * @param z The index of the third element.
+     * @return The index of the median of the three elements.
+     */
+    private static int medianOfThree(char[] a, int x, int y, int z) {
+        if (less(a[y], a[x])) {
+            int t = x;
+            x = y;
+            y = t;
+        }
+        if (less(a[z], a[y])) {
+            y = less(a[z], a[x]) ? x : z;
+        }
+        return y;
+    }
+
+    /**
+     * Swaps two elements of the given array.
+     *
+     * @param a The array whose elements to swap.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     */
+    private static void swap(char[] a, int i, int j) {
+        char t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    private static void insertionSort(char[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            char e = a[i];
+            int j = i - 1;
+            while (j >= lo && less(e, a[j])) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = e;
+        }
+    }
+
+    /**
+     * Restores the min-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMin(char[] heap, int i, int size) {
+        char e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], e)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Restores the max-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMax(char[] heap, int i, int size) {
+        char e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!less(e, heap[child])) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Reverses the order of the elements of the given array.
+     *
+     * @param a The array to reverse.
+     */
+    private static void reverse(char[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    /*
+     * int
+     */
+
+    /**
+     * Rearranges the given array so that the element at index {@code k} is
+     * the element that would be there if the array were sorted, every element
+     * before it is less than or equal to it, and every element after it is
+     * greater than or equal to it.
+     *
+     * @param a The array to rearrange.
+     * @param k The index of the element to select.
+     * @return The {@code k}th smallest element, counting from zero.
+     * @throws ArrayIndexOutOfBoundsException if {@code k} is not an index of
+     *         the given array.
+     */
+    public static int select(int[] a, int k) {
+        return select(a, 0, a.length, k);
+    }
+
+    /**
+     * Rearranges the given range of the given array so that the element at
+     * index {@code k} is the element that would be there if the range were
+     * sorted, every element of the range before it is less than or equal to
+     * it, and every element of the range after it is greater than or equal to
+     * it. Elements outside of the range are not touched.
+     *
+     * @param a The array to rearrange.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The index of the element to select, within the range.
+     * @return The element selected at index {@code k}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array
+     *         or {@code k} is not within the range.
+     */
+    public static int select(int[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        if (k < fromIndex || k >= toIndex) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+        introSelect(a, fromIndex, toIndex, k);
+        return a[k];
+    }
+
+    /**
+     * Rearranges the given array so that its median is at index
+     * {@code (a.length - 1) / 2}, as by {@link #select(int[], int)}. For an
+     * array of even length, this is the lower of its two middle elements.
+     *
+     * @param a The array to rearrange.
+     * @return The median of the array.
+     * @throws IllegalArgumentException if the array is empty.
+     */
+    public static int median(int[] a) {
+        requireNonEmpty(a.length);
+        int k = (a.length - 1) >>> 1;
+        introSelect(a, 0, a.length, k);
+        return a[k];
+    }
+
+    /**
+     * Returns the given percentiles of the given array by the nearest-rank
+     * method, rearranging it so that each is at the index it would have if
+     * the array were sorted. The {@code p}th percentile is the smallest
+     * element such that at least {@code p} percent of the array is less than
+     * or equal to it, so the {@code 0}th percentile is the smallest element
+     * and the {@code 100}th is the largest.
+     *
+     * @param a The array to rearrange.
+     * @param ps The percentiles to select, each between {@code 0} and
+     *        {@code 100}, in any order.
+     * @return A new array whose element at each index is the percentile
+     *         requested at the same index of {@code ps}.
+     * @throws IllegalArgumentException if the array is empty or a percentile
+     *         is out of range.
+     */
+    public static int[] percentiles(int[] a, double... ps) {
+        requireNonEmpty(a.length);
+        int[] ks = percentileIndices(a.length, ps);
+        multiSelect(a, 0, a.length, ks, 0, ks.length);
+        int[] values = new int[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            values[i] = a[percentileIndex(a.length, ps[i])];
+        }
+        return values;
+    }
+
+    /**
+     * Rearranges the given array so that its first {@code k} elements are its
+     * {@code k} smallest, in ascending order. The order of the remaining
+     * elements is unspecified.
+     *
+     * @param a The array to rearrange.
+     * @param k The amount of smallest elements to sort, which is clamped to
+     *        the length of the array.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static void partialSort(int[] a, int k) {
+        requireNonNegative(k);
+        if (k < a.length) {
+            if (k == 0) {
+                return;
+            }
+            introSelect(a, 0, a.length, k - 1);
+        }
+        Arrays.sort(a, 0, Math.min(k, a.length));
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given array in descending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static int[] topK(int[] a, int k) {
+        return topK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given range of the given
+     * array in descending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int[] topK(int[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        int[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMin(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(heap[0], a[i])) {
+                    heap[0] = a[i];
+                    siftDownMin(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        reverse(heap);
+        return heap;
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given array in ascending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static int[] bottomK(int[] a, int k) {
+        return bottomK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given range of the given
+     * array in ascending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int[] bottomK(int[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        int[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMax(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(a[i], heap[0])) {
+                    heap[0] = a[i];
+                    siftDownMax(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        return heap;
+    }
+
+    /**
+     * Tests if one value precedes another in ascending order.
+     *
+     * @param x The first value.
+     * @param y The second value.
+     * @return {@code true} if {@code x} is strictly less than {@code y}.
+     */
+    private static boolean less(int x, int y) {
+        return x < y;
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     */
+    private static void introSelect(int[] a, int lo, int hi, int k) {
+        introSelect(a, lo, hi, k, (long) WORK_FACTOR * (hi - lo));
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array, which uses median-of-medians pivots once the given
+     * amount of work is spent.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     * @param budget The total size of the partitions that may be made with
+     *        median-of-three pivots.
+     */
+    private static void introSelect(int[] a, int lo, int hi, int k,
+            long budget)
+    {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            int p;
+            budget -= hi - lo;
+            if (budget >= 0) {
+                p = medianOfThree(a, lo, (lo + hi) >>> 1, hi - 1);
+            }
+            else {
+                p = medianOfMedians(a, lo, hi); // Guarantees O(n)
+            }
+            // Move the pivot to the front so that the partition below always
+            // leaves both sides nonempty
+            swap(a, lo, p);
+            int pivot = a[lo];
+            int i = lo - 1;
+            int j = hi;
+            while (true) { // Hoare partition, which splits runs of equals
+                do {
+                    i++;
+                } while (less(a[i], pivot));
+                do {
+                    j--;
+                } while (less(pivot, a[j]));
+                if (i >= j) {
+                    break;
+                }
+                swap(a, i, j);
+            }
+            if (k <= j) {
+                hi = j + 1;
+            }
+            else {
+                lo = j + 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    /**
+     * Selects each of the given sorted indices within the range [{@code lo},
+     * {@code hi}) of the given array, by selecting the middle index and then
+     * recursing into the ranges on either side of it.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param ks The indices to select, in ascending order.
+     * @param from The first index of {@code ks} to select, inclusive.
+     * @param to The last index of {@code ks} to select, exclusive.
+     */
+    private static void multiSelect(int[] a, int lo, int hi, int[] ks,
+            int from, int to)
+    {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ks[mid];
+            introSelect(a, lo, hi, k);
+            multiSelect(a, lo, k, ks, from, mid);
+            lo = k + 1;
+            from = mid + 1;
+        }
+    }
+
+    /**
+     * Returns the index of an approximate median of the range [{@code lo},
+     * {@code hi}) of the given array, which is greater than at least 30% of
+     * the range and less than at least 30% of it. The median of each group of
+     * five elements is moved to the front of the range, and the median of
+     * these is selected recursively.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @return The index of the approximate median.
+     */
+    private static int medianOfMedians(int[] a, int lo, int hi) {
+        int medians = lo;
+        for (int i = lo; i < hi; i += 5) {
+            int end = Math.min(i + 5, hi);
+            insertionSort(a, i, end);
+            swap(a, medians++, (i + end - 1) >>> 1);
+        }
+        int k = (lo + medians) >>> 1;
+        introSelect(a, lo, medians, k, 0L);
+        return k;
+    }
+
+    /**
+     * Returns the index of the median of three elements of the given array.
+     *
+     * @param a The array to examine.
+     * @param x The index of the first element.
+     * @param y The index of the second element.
+     * @param z The index of the third element.
+     * @return The index of the median of the three elements.
+     */
+    private static int medianOfThree(int[] a, int x, int y, int z) {
+        if (less(a[y], a[x])) {
+            int t = x;
+            x = y;
+            y = t;
+        }
+        if (less(a[z], a[y])) {
+            y = less(a[z], a[x]) ? x : z;
+        }
+        return y;
+    }
+
+    /**
+     * Swaps two elements of the given array.
+     *
+     * @param a The array whose elements to swap.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     */
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    private static void insertionSort(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            int e = a[i];
+            int j = i - 1;
+            while (j >= lo && less(e, a[j])) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = e;
+        }
+    }
+
+    /**
+     * Restores the min-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMin(int[] heap, int i, int size) {
+        int e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], e)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Restores the max-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMax(int[] heap, int i, int size) {
+        int e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!less(e, heap[child])) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Reverses the order of the elements of the given array.
+     *
+     * @param a The array to reverse.
+     */
+    private static void reverse(int[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    /*
+     * long
+     */
+
+    /**
+     * Rearranges the given array so that the element at index {@code k} is
+     * the element that would be there if the array were sorted, every element
+     * before it is less than or equal to it, and every element after it is
+     * greater than or equal to it.
+     *
+     * @param a The array to rearrange.
+     * @param k The index of the element to select.
+     * @return The {@code k}th smallest element, counting from zero.
+     * @throws ArrayIndexOutOfBoundsException if {@code k} is not an index of
+     *         the given array.
+     */
+    public static long select(long[] a, int k) {
+        return select(a, 0, a.length, k);
+    }
+
+    /**
+     * Rearranges the given range of the given array so that the element at
+     * index {@code k} is the element that would be there if the range were
+     * sorted, every element of the range before it is less than or equal to
+     * it, and every element of the range after it is greater than or equal to
+     * it. Elements outside of the range are not touched.
+     *
+     * @param a The array to rearrange.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The index of the element to select, within the range.
+     * @return The element selected at index {@code k}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array
+     *         or {@code k} is not within the range.
+     */
+    public static long select(long[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        if (k < fromIndex || k >= toIndex) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+        introSelect(a, fromIndex, toIndex, k);
+        return a[k];
+    }
+
+    /**
+     * Rearranges the given array so that its median is at index
+     * {@code (a.length - 1) / 2}, as by {@link #select(long[], int)}. For an
+     * array of even length, this is the lower of its two middle elements.
+     *
+     * @param a The array to rearrange.
+     * @return The median of the array.
+     * @throws IllegalArgumentException if the array is empty.
+     */
+    public static long median(long[] a) {
+        requireNonEmpty(a.length);
+        int k = (a.length - 1) >>> 1;
+        introSelect(a, 0, a.length, k);
+        return a[k];
+    }
+
+    /**
+     * Returns the given percentiles of the given array by the nearest-rank
+     * method, rearranging it so that each is at the index it would have if
+     * the array were sorted. The {@code p}th percentile is the smallest
+     * element such that at least {@code p} percent of the array is less than
+     * or equal to it, so the {@code 0}th percentile is the smallest element
+     * and the {@code 100}th is the largest.
+     *
+     * @param a The array to rearrange.
+     * @param ps The percentiles to select, each between {@code 0} and
+     *        {@code 100}, in any order.
+     * @return A new array whose element at each index is the percentile
+     *         requested at the same index of {@code ps}.
+     * @throws IllegalArgumentException if the array is empty or a percentile
+     *         is out of range.
+     */
+    public static long[] percentiles(long[] a, double... ps) {
+        requireNonEmpty(a.length);
+        int[] ks = percentileIndices(a.length, ps);
+        multiSelect(a, 0, a.length, ks, 0, ks.length);
+        long[] values = new long[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            values[i] = a[percentileIndex(a.length, ps[i])];
+        }
+        return values;
+    }
+
+    /**
+     * Rearranges the given array so that its first {@code k} elements are its
+     * {@code k} smallest, in ascending order. The order of the remaining
+     * elements is unspecified.
+     *
+     * @param a The array to rearrange.
+     * @param k The amount of smallest elements to sort, which is clamped to
+     *        the length of the array.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static void partialSort(long[] a, int k) {
+        requireNonNegative(k);
+        if (k < a.length) {
+            if (k == 0) {
+                return;
+            }
+            introSelect(a, 0, a.length, k - 1);
+        }
+        Arrays.sort(a, 0, Math.min(k, a.length));
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given array in descending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static long[] topK(long[] a, int k) {
+        return topK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given range of the given
+     * array in descending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static long[] topK(long[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        long[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMin(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(heap[0], a[i])) {
+                    heap[0] = a[i];
+                    siftDownMin(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        reverse(heap);
+        return heap;
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given array in ascending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static long[] bottomK(long[] a, int k) {
+        return bottomK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given range of the given
+     * array in ascending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static long[] bottomK(long[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        long[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMax(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(a[i], heap[0])) {
+                    heap[0] = a[i];
+                    siftDownMax(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        return heap;
+    }
+
+    /**
+     * Tests if one value precedes another in ascending order.
+     *
+     * @param x The first value.
+     * @param y The second value.
+     * @return {@code true} if {@code x} is strictly less than {@code y}.
+     */
+    private static boolean less(long x, long y) {
+        return x < y;
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     */
+    private static void introSelect(long[] a, int lo, int hi, int k) {
+        introSelect(a, lo, hi, k, (long) WORK_FACTOR * (hi - lo));
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array, which uses median-of-medians pivots once the given
+     * amount of work is spent.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     * @param budget The total size of the partitions that may be made with
+     *        median-of-three pivots.
+     */
+    private static void introSelect(long[] a, int lo, int hi, int k,
+            long budget)
+    {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            int p;
+            budget -= hi - lo;
+            if (budget >= 0) {
+                p = medianOfThree(a, lo, (lo + hi) >>> 1, hi - 1);
+            }
+            else {
+                p = medianOfMedians(a, lo, hi); // Guarantees O(n)
+            }
+            // Move the pivot to the front so that the partition below always
+            // leaves both sides nonempty
+            swap(a, lo, p);
+            long pivot = a[lo];
+            int i = lo - 1;
+            int j = hi;
+            while (true) { // Hoare partition, which splits runs of equals
+                do {
+                    i++;
+                } while (less(a[i], pivot));
+                do {
+                    j--;
+                } while (less(pivot, a[j]));
+                if (i >= j) {
+                    break;
+                }
+                swap(a, i, j);
+            }
+            if (k <= j) {
+                hi = j + 1;
+            }
+            else {
+                lo = j + 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    /**
+     * Selects each of the given sorted indices within the range [{@code lo},
+     * {@code hi}) of the given array, by selecting the middle index and then
+     * recursing into the ranges on either side of it.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param ks The indices to select, in ascending order.
+     * @param from The first index of {@code ks} to select, inclusive.
+     * @param to The last index of {@code ks} to select, exclusive.
+     */
+    private static void multiSelect(long[] a, int lo, int hi, int[] ks,
+            int from, int to)
+    {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ks[mid];
+            introSelect(a, lo, hi, k);
+            multiSelect(a, lo, k, ks, from, mid);
+            lo = k + 1;
+            from = mid + 1;
+        }
+    }
+
+    /**
+     * Returns the index of an approximate median of the range [{@code lo},
+     * {@code hi}) of the given array, which is greater than at least 30% of
+     * the range and less than at least 30% of it. The median of each group of
+     * five elements is moved to the front of the range, and the median of
+     * these is selected recursively.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @return The index of the approximate median.
+     */
+    private static int medianOfMedians(long[] a, int lo, int hi) {
+        int medians = lo;
+        for (int i = lo; i < hi; i += 5) {
+            int end = Math.min(i + 5, hi);
+            insertionSort(a, i, end);
+            swap(a, medians++, (i + end - 1) >>> 1);
+        }
+        int k = (lo + medians) >>> 1;
+        introSelect(a, lo, medians, k, 0L);
+        return k;
+    }
+
+    /**
+     * Returns the index of the median of three elements of the given array.
+     *
+     * @param a The array to examine.
+     * @param x The index of the first element.
+     * @param y The index of the second element.
+     * @param z The index of the third element.
+     * @return The index of the median of the three elements.
+     */
+    private static int medianOfThree(long[] a, int x, int y, int z) {
+        if (less(a[y], a[x])) {
+            int t = x;
+            x = y;
+            y = t;
+        }
+        if (less(a[z], a[y])) {
+            y = less(a[z], a[x]) ? x : z;
+        }
+        return y;
+    }
+
+    /**
+     * Swaps two elements of the given array.
+     *
+     * @param a The array whose elements to swap.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     */
+    private static void swap(long[] a, int i, int j) {
+        long t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    private static void insertionSort(long[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            long e = a[i];
+            int j = i - 1;
+            while (j >= lo && less(e, a[j])) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = e;
+        }
+    }
+
+    /**
+     * Restores the min-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMin(long[] heap, int i, int size) {
+        long e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], e)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Restores the max-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMax(long[] heap, int i, int size) {
+        long e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!less(e, heap[child])) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Reverses the order of the elements of the given array.
+     *
+     * @param a The array to reverse.
+     */
+    private static void reverse(long[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    /*
+     * float
+     */
+
+    /**
+     * Rearranges the given array so that the element at index {@code k} is
+     * the element that would be there if the array were sorted, every element
+     * before it is less than or equal to it, and every element after it is
+     * greater than or equal to it.
+     *
+     * @param a The array to rearrange.
+     * @param k The index of the element to select.
+     * @return The {@code k}th smallest element, counting from zero.
+     * @throws ArrayIndexOutOfBoundsException if {@code k} is not an index of
+     *         the given array.
+     */
+    public static float select(float[] a, int k) {
+        return select(a, 0, a.length, k);
+    }
+
+    /**
+     * Rearranges the given range of the given array so that the element at
+     * index {@code k} is the element that would be there if the range were
+     * sorted, every element of the range before it is less than or equal to
+     * it, and every element of the range after it is greater than or equal to
+     * it. Elements outside of the range are not touched.
+     *
+     * @param a The array to rearrange.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The index of the element to select, within the range.
+     * @return The element selected at index {@code k}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array
+     *         or {@code k} is not within the range.
+     */
+    public static float select(float[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        if (k < fromIndex || k >= toIndex) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+        introSelect(a, fromIndex, toIndex, k);
+        return a[k];
+    }
+
+    /**
+     * Rearranges the given array so that its median is at index
+     * {@code (a.length - 1) / 2}, as by {@link #select(float[], int)}. For an
+     * array of even length, this is the lower of its two middle elements.
+     *
+     * @param a The array to rearrange.
+     * @return The median of the array.
+     * @throws IllegalArgumentException if the array is empty.
+     */
+    public static float median(float[] a) {
+        requireNonEmpty(a.length);
+        int k = (a.length - 1) >>> 1;
+        introSelect(a, 0, a.length, k);
+        return a[k];
+    }
+
+    /**
+     * Returns the given percentiles of the given array by the nearest-rank
+     * method, rearranging it so that each is at the index it would have if
+     * the array were sorted. The {@code p}th percentile is the smallest
+     * element such that at least {@code p} percent of the array is less than
+     * or equal to it, so the {@code 0}th percentile is the smallest element
+     * and the {@code 100}th is the largest.
+     *
+     * @param a The array to rearrange.
+     * @param ps The percentiles to select, each between {@code 0} and
+     *        {@code 100}, in any order.
+     * @return A new array whose element at each index is the percentile
+     *         requested at the same index of {@code ps}.
+     * @throws IllegalArgumentException if the array is empty or a percentile
+     *         is out of range.
+     */
+    public static float[] percentiles(float[] a, double... ps) {
+        requireNonEmpty(a.length);
+        int[] ks = percentileIndices(a.length, ps);
+        multiSelect(a, 0, a.length, ks, 0, ks.length);
+        float[] values = new float[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            values[i] = a[percentileIndex(a.length, ps[i])];
+        }
+        return values;
+    }
+
+    /**
+     * Rearranges the given array so that its first {@code k} elements are its
+     * {@code k} smallest, in ascending order. The order of the remaining
+     * elements is unspecified.
+     *
+     * @param a The array to rearrange.
+     * @param k The amount of smallest elements to sort, which is clamped to
+     *        the length of the array.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static void partialSort(float[] a, int k) {
+        requireNonNegative(k);
+        if (k < a.length) {
+            if (k == 0) {
+                return;
+            }
+            introSelect(a, 0, a.length, k - 1);
+        }
+        Arrays.sort(a, 0, Math.min(k, a.length));
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given array in descending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static float[] topK(float[] a, int k) {
+        return topK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given range of the given
+     * array in descending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static float[] topK(float[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        float[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMin(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(heap[0], a[i])) {
+                    heap[0] = a[i];
+                    siftDownMin(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        reverse(heap);
+        return heap;
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given array in ascending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static float[] bottomK(float[] a, int k) {
+        return bottomK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given range of the given
+     * array in ascending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static float[] bottomK(float[] a, int fromIndex, int toIndex, 
+            int k) 
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        float[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMax(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(a[i], heap[0])) {
+                    heap[0] = a[i];
+                    siftDownMax(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        return heap;
+    }
+
+    /**
+     * Tests if one value precedes another in ascending order.
+     *
+     * @param x The first value.
+     * @param y The second value.
+     * @return {@code true} if {@code x} is strictly less than {@code y}.
+     */
+    private static boolean less(float x, float y) {
+        return Float.compare(x, y) < 0;
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     */
+    private static void introSelect(float[] a, int lo, int hi, int k) {
+        introSelect(a, lo, hi, k, (long) WORK_FACTOR * (hi - lo));
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array, which uses median-of-medians pivots once the given
+     * amount of work is spent.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     * @param budget The total size of the partitions that may be made with
+     *        median-of-three pivots.
+     */
+    private static void introSelect(float[] a, int lo, int hi, int k,
+            long budget)
+    {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            int p;
+            budget -= hi - lo;
+            if (budget >= 0) {
+                p = medianOfThree(a, lo, (lo + hi) >>> 1, hi - 1);
+            }
+            else {
+                p = medianOfMedians(a, lo, hi); // Guarantees O(n)
+            }
+            // Move the pivot to the front so that the partition below always
+            // leaves both sides nonempty
+            swap(a, lo, p);
+            float pivot = a[lo];
+            int i = lo - 1;
+            int j = hi;
+            while (true) { // Hoare partition, which splits runs of equals
+                do {
+                    i++;
+                } while (less(a[i], pivot));
+                do {
+                    j--;
+                } while (less(pivot, a[j]));
+                if (i >= j) {
+                    break;
+                }
+                swap(a, i, j);
+            }
+            if (k <= j) {
+                hi = j + 1;
+            }
+            else {
+                lo = j + 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    /**
+     * Selects each of the given sorted indices within the range [{@code lo},
+     * {@code hi}) of the given array, by selecting the middle index and then
+     * recursing into the ranges on either side of it.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param ks The indices to select, in ascending order.
+     * @param from The first index of {@code ks} to select, inclusive.
+     * @param to The last index of {@code ks} to select, exclusive.
+     */
+    private static void multiSelect(float[] a, int lo, int hi, int[] ks,
+            int from, int to)
+    {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ks[mid];
+            introSelect(a, lo, hi, k);
+            multiSelect(a, lo, k, ks, from, mid);
+            lo = k + 1;
+            from = mid + 1;
+        }
+    }
+
+    /**
+     * Returns the index of an approximate median of the range [{@code lo},
+     * {@code hi}) of the given array, which is greater than at least 30% of
+     * the range and less than at least 30% of it. The median of each group of
+     * five elements is moved to the front of the range, and the median of
+     * these is selected recursively.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @return The index of the approximate median.
+     */
+    private static int medianOfMedians(float[] a, int lo, int hi) {
+        int medians = lo;
+        for (int i = lo; i < hi; i += 5) {
+            int end = Math.min(i + 5, hi);
+            insertionSort(a, i, end);
+            swap(a, medians++, (i + end - 1) >>> 1);
+        }
+        int k = (lo + medians) >>> 1;
+        introSelect(a, lo, medians, k, 0L);
+        return k;
+    }
+
+    /**
+     * Returns the index of the median of three elements of the given array.
+     *
+     * @param a The array to examine.
+     * @param x The index of the first element.
+     * @param y The index of the second element.
+     * @param z The index of the third element.
+     * @return The index of the median of the three elements.
+     */
+    private static int medianOfThree(float[] a, int x, int y, int z) {
+        if (less(a[y], a[x])) {
+            int t = x;
+            x = y;
+            y = t;
+        }
+        if (less(a[z], a[y])) {
+            y = less(a[z], a[x]) ? x : z;
+        }
+        return y;
+    }
+
+    /**
+     * Swaps two elements of the given array.
+     *
+     * @param a The array whose elements to swap.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     */
+    private static void swap(float[] a, int i, int j) {
+        float t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    private static void insertionSort(float[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            float e = a[i];
+            int j = i - 1;
+            while (j >= lo && less(e, a[j])) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = e;
+        }
+    }
+
+    /**
+     * Restores the min-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMin(float[] heap, int i, int size) {
+        float e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], e)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Restores the max-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMax(float[] heap, int i, int size) {
+        float e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!less(e, heap[child])) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Reverses the order of the elements of the given array.
+     *
+     * @param a The array to reverse.
+     */
+    private static void reverse(float[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+    /*
+     * double
+     */
+
+    /**
+     * Rearranges the given array so that the element at index {@code k} is
+     * the element that would be there if the array were sorted, every element
+     * before it is less than or equal to it, and every element after it is
+     * greater than or equal to it.
+     *
+     * @param a The array to rearrange.
+     * @param k The index of the element to select.
+     * @return The {@code k}th smallest element, counting from zero.
+     * @throws ArrayIndexOutOfBoundsException if {@code k} is not an index of
+     *         the given array.
+     */
+    public static double select(double[] a, int k) {
+        return select(a, 0, a.length, k);
+    }
+
+    /**
+     * Rearranges the given range of the given array so that the element at
+     * index {@code k} is the element that would be there if the range were
+     * sorted, every element of the range before it is less than or equal to
+     * it, and every element of the range after it is greater than or equal to
+     * it. Elements outside of the range are not touched.
+     *
+     * @param a The array to rearrange.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The index of the element to select, within the range.
+     * @return The element selected at index {@code k}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array
+     *         or {@code k} is not within the range.
+     */
+    public static double select(double[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        if (k < fromIndex || k >= toIndex) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+        introSelect(a, fromIndex, toIndex, k);
+        return a[k];
+    }
+
+    /**
+     * Rearranges the given array so that its median is at index
+     * {@code (a.length - 1) / 2}, as by {@link #select(double[], int)}. For an
+     * array of even length, this is the lower of its two middle elements.
+     *
+     * @param a The array to rearrange.
+     * @return The median of the array.
+     * @throws IllegalArgumentException if the array is empty.
+     */
+    public static double median(double[] a) {
+        requireNonEmpty(a.length);
+        int k = (a.length - 1) >>> 1;
+        introSelect(a, 0, a.length, k);
+        return a[k];
+    }
+
+    /**
+     * Returns the given percentiles of the given array by the nearest-rank
+     * method, rearranging it so that each is at the index it would have if
+     * the array were sorted. The {@code p}th percentile is the smallest
+     * element such that at least {@code p} percent of the array is less than
+     * or equal to it, so the {@code 0}th percentile is the smallest element
+     * and the {@code 100}th is the largest.
+     *
+     * @param a The array to rearrange.
+     * @param ps The percentiles to select, each between {@code 0} and
+     *        {@code 100}, in any order.
+     * @return A new array whose element at each index is the percentile
+     *         requested at the same index of {@code ps}.
+     * @throws IllegalArgumentException if the array is empty or a percentile
+     *         is out of range.
+     */
+    public static double[] percentiles(double[] a, double... ps) {
+        requireNonEmpty(a.length);
+        int[] ks = percentileIndices(a.length, ps);
+        multiSelect(a, 0, a.length, ks, 0, ks.length);
+        double[] values = new double[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            values[i] = a[percentileIndex(a.length, ps[i])];
+        }
+        return values;
+    }
+
+    /**
+     * Rearranges the given array so that its first {@code k} elements are its
+     * {@code k} smallest, in ascending order. The order of the remaining
+     * elements is unspecified.
+     *
+     * @param a The array to rearrange.
+     * @param k The amount of smallest elements to sort, which is clamped to
+     *        the length of the array.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static void partialSort(double[] a, int k) {
+        requireNonNegative(k);
+        if (k < a.length) {
+            if (k == 0) {
+                return;
+            }
+            introSelect(a, 0, a.length, k - 1);
+        }
+        Arrays.sort(a, 0, Math.min(k, a.length));
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given array in descending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static double[] topK(double[] a, int k) {
+        return topK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} largest elements of the given range of the given
+     * array in descending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static double[] topK(double[] a, int fromIndex, int toIndex, int k) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        double[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMin(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(heap[0], a[i])) {
+                    heap[0] = a[i];
+                    siftDownMin(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        reverse(heap);
+        return heap;
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given array in ascending
+     * order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static double[] bottomK(double[] a, int k) {
+        return bottomK(a, 0, a.length, k);
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of the given range of the given
+     * array in ascending order, without modifying it.
+     *
+     * @param a The array to select from.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @param k The amount of elements to select.
+     * @return A new array of at most {@code k} elements.
+     * @throws IllegalArgumentException if {@code k} is negative or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static double[] bottomK(double[] a, int fromIndex, int toIndex, 
+            int k) 
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        requireNonNegative(k);
+        int size = Math.min(k, toIndex - fromIndex);
+        double[] heap = Arrays.copyOfRange(a, fromIndex, fromIndex + size);
+        if (size > 0) {
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDownMax(heap, i, size);
+            }
+            for (int i = fromIndex + size; i < toIndex; i++) {
+                if (less(a[i], heap[0])) {
+                    heap[0] = a[i];
+                    siftDownMax(heap, 0, size);
+                }
+            }
+        }
+        Arrays.sort(heap);
+        return heap;
+    }
+
+    /**
+     * Tests if one value precedes another in ascending order.
+     *
+     * @param x The first value.
+     * @param y The second value.
+     * @return {@code true} if {@code x} is strictly less than {@code y}.
+     */
+    private static boolean less(double x, double y) {
+        return Double.compare(x, y) < 0;
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     */
+    private static void introSelect(double[] a, int lo, int hi, int k) {
+        introSelect(a, lo, hi, k, (long) WORK_FACTOR * (hi - lo));
+    }
+
+    /**
+     * Implementation of introselect over the range [{@code lo}, {@code hi})
+     * of the given array, which uses median-of-medians pivots once the given
+     * amount of work is spent.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param k The index of the element to select.
+     * @param budget The total size of the partitions that may be made with
+     *        median-of-three pivots.
+     */
+    private static void introSelect(double[] a, int lo, int hi, int k,
+            long budget)
+    {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            int p;
+            budget -= hi - lo;
+            if (budget >= 0) {
+                p = medianOfThree(a, lo, (lo + hi) >>> 1, hi - 1);
+            }
+            else {
+                p = medianOfMedians(a, lo, hi); // Guarantees O(n)
+            }
+            // Move the pivot to the front so that the partition below always
+            // leaves both sides nonempty
+            swap(a, lo, p);
+            double pivot = a[lo];
+            int i = lo - 1;
+            int j = hi;
+            while (true) { // Hoare partition, which splits runs of equals
+                do {
+                    i++;
+                } while (less(a[i], pivot));
+                do {
+                    j--;
+                } while (less(pivot, a[j]));
+                if (i >= j) {
+                    break;
+                }
+                swap(a, i, j);
+            }
+            if (k <= j) {
+                hi = j + 1;
+            }
+            else {
+                lo = j + 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    /**
+     * Selects each of the given sorted indices within the range [{@code lo},
+     * {@code hi}) of the given array, by selecting the middle index and then
+     * recursing into the ranges on either side of it.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @param ks The indices to select, in ascending order.
+     * @param from The first index of {@code ks} to select, inclusive.
+     * @param to The last index of {@code ks} to select, exclusive.
+     */
+    private static void multiSelect(double[] a, int lo, int hi, int[] ks,
+            int from, int to)
+    {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            int k = ks[mid];
+            introSelect(a, lo, hi, k);
+            multiSelect(a, lo, k, ks, from, mid);
+            lo = k + 1;
+            from = mid + 1;
+        }
+    }
+
+    /**
+     * Returns the index of an approximate median of the range [{@code lo},
+     * {@code hi}) of the given array, which is greater than at least 30% of
+     * the range and less than at least 30% of it. The median of each group of
+     * five elements is moved to the front of the range, and the median of
+     * these is selected recursively.
+     *
+     * @param a The array to rearrange.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     * @return The index of the approximate median.
+     */
+    private static int medianOfMedians(double[] a, int lo, int hi) {
+        int medians = lo;
+        for (int i = lo; i < hi; i += 5) {
+            int end = Math.min(i + 5, hi);
+            insertionSort(a, i, end);
+            swap(a, medians++, (i + end - 1) >>> 1);
+        }
+        int k = (lo + medians) >>> 1;
+        introSelect(a, lo, medians, k, 0L);
+        return k;
+    }
+
+    /**
+     * Returns the index of the median of three elements of the given array.
+     *
+     * @param a The array to examine.
+     * @param x The index of the first element.
+     * @param y The index of the second element.
+     * @param z The index of the third element.
+     * @return The index of the median of the three elements.
+     */
+    private static int medianOfThree(double[] a, int x, int y, int z) {
+        if (less(a[y], a[x])) {
+            int t = x;
+            x = y;
+            y = t;
+        }
+        if (less(a[z], a[y])) {
+            y = less(a[z], a[x]) ? x : z;
+        }
+        return y;
+    }
+
+    /**
+     * Swaps two elements of the given array.
+     *
+     * @param a The array whose elements to swap.
+     * @param i The index of the first element.
+     * @param j The index of the second element.
+     */
+    private static void swap(double[] a, int i, int j) {
+        double t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /**
+     * Sorts the range [{@code lo}, {@code hi}) of the given array in ascending
+     * order by insertion sort.
+     *
+     * @param a The array to sort.
+     * @param lo The first index of the range, inclusive.
+     * @param hi The last index of the range, exclusive.
+     */
+    private static void insertionSort(double[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            double e = a[i];
+            int j = i - 1;
+            while (j >= lo && less(e, a[j])) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = e;
+        }
+    }
+
+    /**
+     * Restores the min-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMin(double[] heap, int i, int size) {
+        double e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], e)) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Restores the max-heap property of the given heap below the given node.
+     *
+     * @param heap The heap to restore.
+     * @param i The index of the node to sift down.
+     * @param size The amount of elements in the heap.
+     */
+    private static void siftDownMax(double[] heap, int i, int size) {
+        double e = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            if (child + 1 < size && less(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!less(e, heap[child])) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = e;
+    }
+
+    /**
+     * Reverses the order of the elements of the given array.
+     *
+     * @param a The array to reverse.
+     */
+    private static void reverse(double[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            swap(a, i, j);
+        }
+    }
+
+}
@@ -0,0 +1,467 @@
+package functions;
+
+/**
+ * The {@code SortedArrays} class contains methods that search and combine
+ * primitive arrays that are already sorted in ascending order.
+ *
+ * <p> Every method here is built on {@code gallop}, an exponential search
+ * that starts from a known lower position: it probes {@code 1, 2, 4, ...}
+ * elements ahead until it overshoots the key, then binary searches the last
+ * step. Finding a key {@code d} positions ahead of the start costs
+ * &Omicron;(log d) comparisons rather than the &Omicron;(log n) of a search
+ * over the whole array, and the probes stay close to the start, where they
+ * are likely to be cached already.
+ *
+ * <p> Searching for many keys that are themselves sorted therefore costs far
+ * less than searching for each from scratch, since each search starts from
+ * the position of the last. Likewise, the intersection, union and difference
+ * methods skip over long runs that belong to only one input with a single
+ * gallop and a bulk copy, so combining a small array with a large one costs
+ * &Omicron;(m log(n / m)) comparisons rather than &Omicron;(m + n).
+ *
+ * <p> The inputs are treated as sorted multisets, with the same semantics as
+ * the corresponding algorithms of the C++ standard library: an element that
+ * occurs {@code x} times in one input and {@code y} times in the other occurs
+ * {@code min(x, y)} times in their intersection, {@code max(x, y)} times in
+ * their union and {@code max(x - y, 0)} times in their difference. The
+ * results are written into arrays supplied by the caller, so none of these
+ * methods allocate. If an input is not sorted, the results are undefined.
+ *
+ * @author Oliver Abdulrahim
+ * @see Utilities#binarySearch(int[], int, int, int)
+ * @see SearchIndex
+ */
+public final class SortedArrays {
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private SortedArrays() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Ensures that an output array can hold a given amount of elements.
+     *
+     * @param out The length of the output array.
+     * @param needed The largest amount of elements that may be written.
+     * @throws IllegalArgumentException if the output array is too small.
+     */
+    private static void capacityCheck(int out, long needed) {
+        if (out < needed) {
+            throw new IllegalArgumentException("Output length : " + out
+                    + " < " + needed + " !");
+        }
+    }
+
+    /**
+     * Returns the index of the first element of the given range of a sorted
+     * array that is greater than or equal to the given key, searching
+     * exponentially forward from the start of the range.
+     *
+     * @param a The array to search.
+     * @param fromIndex The index of the first element to search, inclusive.
+     * @param toIndex The index of the last element to search, exclusive.
+     * @param key The value to search for.
+     * @return The index of the first element not less than {@code key}, or
+     *         {@code toIndex} if every element of the range is less.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}.
+     */
+    public static int gallop(int[] a, int fromIndex, int toIndex, int key) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        return gallop0(a, fromIndex, toIndex, key);
+    }
+
+    /**
+     * Searches for every key of a sorted array of keys in a sorted array,
+     * writing the result of each search into the output array in the form
+     * returned by {@code Utilities.binarySearch}: the index of the first
+     * occurrence of the key, if present, or {@code -(insertion point) - 1}
+     * otherwise.
+     *
+     * <p> Each search starts from the position found for the previous key. If
+     * a key is less than its predecessor, its search starts over from the
+     * beginning of the array, so unsorted keys give correct results, only
+     * more slowly.
+     *
+     * @param a The sorted array to search.
+     * @param keys The values to search for, preferably in ascending order.
+     * @param out The array to receive the result of each search, which must
+     *        be at least as long as {@code keys}.
+     * @throws IllegalArgumentException if {@code out} is shorter than
+     *         {@code keys}.
+     */
+    public static void searchAll(int[] a, int[] keys, int[] out) {
+        capacityCheck(out.length, keys.length);
+        int n = a.length;
+        int pos = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int key = keys[i];
+            if (i > 0 && key < keys[i - 1]) {
+                pos = 0;
+            }
+            pos = gallop0(a, pos, n, key);
+            out[i] = (pos < n && a[pos] == key) ? pos : -pos - 1;
+        }
+    }
+
+    /**
+     * Writes the elements common to two sorted arrays into the output array,
+     * in ascending order.
+     *
+     * <p> The smaller input is scanned and each of its elements is galloped
+     * for in the larger, so this runs in &Omicron;(m log(n / m)) time, where
+     * {@code m} is the length of the smaller input.
+     *
+     * @param a The first sorted array.
+     * @param b The second sorted array.
+     * @param out The array to receive the intersection, which must be at
+     *        least as long as the shorter input.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     */
+    public static int intersection(int[] a, int[] b, int[] out) {
+        if (a.length > b.length) {
+            int[] t = a;
+            a = b;
+            b = t;
+        }
+        capacityCheck(out.length, a.length);
+        int n = b.length;
+        int j = 0;
+        int size = 0;
+        for (int i = 0; i < a.length && j < n; i++) {
+            int x = a[i];
+            j = gallop0(b, j, n, x);
+            if (j < n && b[j] == x) {
+                out[size++] = x;
+                j++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Writes the elements of either of two sorted arrays into the output
+     * array, in ascending order.
+     *
+     * @param a The first sorted array.
+     * @param b The second sorted array.
+     * @param out The array to receive the union, which must be at least as
+     *        long as both inputs together.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     */
+    public static int union(int[] a, int[] b, int[] out) {
+        capacityCheck(out.length, (long) a.length + b.length);
+        int n = a.length;
+        int m = b.length;
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < n && j < m) {
+            if (a[i] < b[j]) {
+                int run = gallop0(a, i + 1, n, b[j]);
+                System.arraycopy(a, i, out, size, run - i);
+                size += run - i;
+                i = run;
+            }
+            else if (b[j] < a[i]) {
+                int run = gallop0(b, j + 1, m, a[i]);
+                System.arraycopy(b, j, out, size, run - j);
+                size += run - j;
+                j = run;
+            }
+            else {
+                out[size++] = a[i++];
+                j++;
+            }
+        }
+        System.arraycopy(a, i, out, size, n - i);
+        size += n - i;
+        System.arraycopy(b, j, out, size, m - j);
+        return size + m - j;
+    }
+
+    /**
+     * Writes the elements of the first sorted array that are not in the
+     * second into the output array, in ascending order.
+     *
+     * @param a The sorted array to take elements from.
+     * @param b The sorted array of elements to exclude.
+     * @param out The array to receive the difference, which must be at least
+     *        as long as {@code a}.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     */
+    public static int difference(int[] a, int[] b, int[] out) {
+        capacityCheck(out.length, a.length);
+        int n = a.length;
+        int m = b.length;
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < n && j < m) {
+            if (a[i] < b[j]) {
+                int run = gallop0(a, i + 1, n, b[j]);
+                System.arraycopy(a, i, out, size, run - i);
+                size += run - i;
+                i = run;
+            }
+            else if (b[j] < a[i]) {
+                j = gallop0(b, j + 1, m, a[i]);
+            }
+            else {
+                i++;
+                j++;
+            }
+        }
+        System.arraycopy(a, i, out, size, n - i);
+        return size + n - i;
+    }
+
+    /**
+     * Returns the index of the first element of the given range that is
+     * greater than or equal to the given key, without checking the range.
+     *
+     * @param a The array to search.
+     * @param fromIndex The index of the first element to search, inclusive.
+     * @param toIndex The index of the last element to search, exclusive.
+     * @param key The value to search for.
+     * @return The index of the first element not less than {@code key}, or
+     *         {@code toIndex} if every element of the range is less.
+     */
+    private static int gallop0(int[] a, int fromIndex, int toIndex, int key) {
+        if (fromIndex >= toIndex || a[fromIndex] >= key) {
+            return fromIndex;
+        }
+        // Invariant: a[lo] < key, and a[hi] >= key unless hi == toIndex
+        int lo = fromIndex;
+        int step = 1;
+        int hi = fromIndex + 1;
+        while (hi < toIndex && a[hi] < key) {
+            lo = hi;
+            step <<= 1;
+            hi = (toIndex - lo > step) ? lo + step : toIndex;
+        }
+        lo++;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Returns the index of the first element of the given range of a sorted
+     * array that is greater than or equal to the given key, searching
+     * exponentially forward from the start of the range.
+     *
+     * @param a The array to search.
+     * @param fromIndex The index of the first element to search, inclusive.
+     * @param toIndex The index of the last element to search, exclusive.
+     * @param key The value to search for.
+     * @return The index of the first element not less than {@code key}, or
+     *         {@code toIndex} if every element of the range is less.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if {@code fromIndex < 0} or
+     *         {@code toIndex > a.length}.
+     */
+    public static int gallop(long[] a, int fromIndex, int toIndex, long key) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        return gallop0(a, fromIndex, toIndex, key);
+    }
+
+    /**
+     * Searches for every key of a sorted array of keys in a sorted array,
+     * writing the result of each search into the output array in the form
+     * returned by {@code Utilities.binarySearch}: the index of the first
+     * occurrence of the key, if present, or {@code -(insertion point) - 1}
+     * otherwise.
+     *
+     * <p> Each search starts from the position found for the previous key. If
+     * a key is less than its predecessor, its search starts over from the
+     * beginning of the array, so unsorted keys give correct results, only
+     * more slowly.
+     *
+     * @param a The sorted array to search.
+     * @param keys The values to search for, preferably in ascending order.
+     * @param out The array to receive the result of each search, which must
+     *        be at least as long as {@code keys}.
+     * @throws IllegalArgumentException if {@code out} is shorter than
+     *         {@code keys}.
+     */
+    public static void searchAll(long[] a, long[] keys, int[] out) {
+        capacityCheck(out.length, keys.length);
+        int n = a.length;
+        int pos = 0;
+        for (int i = 0; i < keys.length; i++) {
+            long key = keys[i];
+            if (i > 0 && key < keys[i - 1]) {
+                pos = 0;
+            }
+            pos = gallop0(a, pos, n, key);
+            out[i] = (pos < n && a[pos] == key) ? pos : -pos - 1;
+        }
+    }
+
+    /**
+     * Writes the elements common to two sorted arrays into the output array,
+     * in ascending order.
+     *
+     * <p> The smaller input is scanned and each of its elements is galloped
+     * for in the larger, so this runs in &Omicron;(m log(n / m)) time, where
+     * {@code m} is the length of the smaller input.
+     *
+     * @param a The first sorted array.
+     * @param b The second sorted array.
+     * @param out The array to receive the intersection, which must be at
+     *        least as long as the shorter input.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     */
+    public static int intersection(long[] a, long[] b, long[] out) {
+        if (a.length > b.length) {
+            long[] t = a;
+            a = b;
+            b = t;
+        }
+        capacityCheck(out.length, a.length);
+        int n = b.length;
+        int j = 0;
+        int size = 0;
+        for (int i = 0; i < a.length && j < n; i++) {
+            long x = a[i];
+            j = gallop0(b, j, n, x);
+            if (j < n && b[j] == x) {
+                out[size++] = x;
+                j++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Writes the elements of either of two sorted arrays into the output
+     * array, in ascending order.
+     *
+     * @param a The first sorted array.
+     * @param b The second sorted array.
+     * @param out The array to receive the union, which must be at least as
+     *        long as both inputs together.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     */
+    public static int union(long[] a, long[] b, long[] out) {
+        capacityCheck(out.length, (long) a.length + b.length);
+        int n = a.length;
+        int m = b.length;
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < n && j < m) {
+            if (a[i] < b[j]) {
+                int run = gallop0(a, i + 1, n, b[j]);
+                System.arraycopy(a, i, out, size, run - i);
+                size += run - i;
+                i = run;
+            }
+            else if (b[j] < a[i]) {
+                int run = gallop0(b, j + 1, m, a[i]);
+                System.arraycopy(b, j, out, size, run - j);
+                size += run - j;
+                j = run;
+            }
+            else {
+                out[size++] = a[i++];
+                j++;
+            }
+        }
+        System.arraycopy(a, i, out, size, n - i);
+        size += n - i;
+        System.arraycopy(b, j, out, size, m - j);
+        return size + m - j;
+    }
+
+    /**
+     * Writes the elements of the first sorted array that are not in the
+     * second into the output array, in ascending order.
+     *
+     * @param a The sorted array to take elements from.
+     * @param b The sorted array of elements to exclude.
+     * @param out The array to receive the difference, which must be at least
+     *        as long as {@code a}.
+     * @return The amount of elements written to {@code out}.
+     * @throws IllegalArgumentException if {@code out} is too small.
+     */
+    public static int difference(long[] a, long[] b, long[] out) {
+        capacityCheck(out.length, a.length);
+        int n = a.length;
+        int m = b.length;
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < n && j < m) {
+            if (a[i] < b[j]) {
+                int run = gallop0(a, i + 1, n, b[j]);
+                System.arraycopy(a, i, out, size, run - i);
+                size += run - i;
+                i = run;
+            }
+            else if (b[j] < a[i]) {
+                j = gallop0(b, j + 1, m, a[i]);
+            }
+            else {
+                i++;
+                j++;
+            }
+        }
+        System.arraycopy(a, i, out, size, n - i);
+        return size + n - i;
+    }
+
+    /**
+     * Returns the index of the first element of the given range that is
+     * greater than or equal to the given key, without checking the range.
+     *
+     * @param a The array to search.
+     * @param fromIndex The index of the first element to search, inclusive.
+     * @param toIndex The index of the last element to search, exclusive.
+     * @param key The value to search for.
+     * @return The index of the first element not less than {@code key}, or
+     *         {@code toIndex} if every element of the range is less.
+     */
+    private static int gallop0(long[] a, int fromIndex, int toIndex, long key) {
+        if (fromIndex >= toIndex || a[fromIndex] >= key) {
+            return fromIndex;
+        }
+        // Invariant: a[lo] < key, and a[hi] >= key unless hi == toIndex
+        int lo = fromIndex;
+        int step = 1;
+        int hi = fromIndex + 1;
+        while (hi < toIndex && a[hi] < key) {
+            lo = hi;
+            step <<= 1;
+            hi = (toIndex - lo > step) ? lo + step : toIndex;
+        }
+        lo++;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            }
+            else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+}
@@ -0,0 +1,552 @@
+package functions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * The {@code StreamCodec} class contains streaming encoders and decoders of
+ * hexadecimal and Base64 text, which transform payloads of any size from a
+ * channel or stream to another in constant memory.
+ *
+ * <p> A {@code StreamCodec} is immutable and may be shared between threads.
+ * Each transfer is done by a {@link Stage}, which owns a pair of direct
+ * buffers that it reads into and writes from, and a pair of arrays of the
+ * same sizes for the codec to work on. A stage allocates its buffers only
+ * once, when it is constructed, so a stage that is kept and reused for many
+ * transfers costs no native memory and no buffers per transfer; the
+ * convenience methods
+ * {@link #encode(ReadableByteChannel, WritableByteChannel)} and
+ * {@link #decode(ReadableByteChannel, WritableByteChannel)} construct a new
+ * stage every time.
+ *
+ * <p> A stage fills its input buffer before it transforms it, so every chunk
+ * but the last is a whole number of the blocks of the codec: a byte for
+ * hexadecimal encoding, two digits for decoding, three bytes for Base64
+ * encoding and four characters for decoding. The encoded text is therefore
+ * the same as the text of the whole payload encoded at once. Hexadecimal
+ * text is written as ASCII digits, without separators; decoding accepts
+ * digits of either case. Base64 text is written without line separators, as
+ * by {@link Base64#getEncoder()}.
+ *
+ * <blockquote><pre>
+ * StreamCodec.Stage encoder = StreamCodec.hex().newEncoder();
+ * try (FileChannel in = FileChannel.open(blob);
+ *         FileChannel out = FileChannel.open(text, CREATE, WRITE)) {
+ *     encoder.transfer(in, out);
+ * }</pre>
+ * </blockquote>
+ *
+ * @author Oliver Abdulrahim
+ * @see HexCodec
+ */
+public final class StreamCodec {
+
+    /**
+     * The default amount of input bytes that a stage transforms at a time.
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The transformation of the encoder.
+     */
+    private final Transform encoding;
+
+    /**
+     * The transformation of the decoder.
+     */
+    private final Transform decoding;
+
+    /**
+     * The amount of input bytes that a stage transforms at a time.
+     */
+    private final int bufferSize;
+
+    /**
+     * Constructs a {@code StreamCodec} with the given properties.
+     *
+     * @param encoding The transformation of the encoder.
+     * @param decoding The transformation of the decoder.
+     * @param bufferSize The amount of input bytes transformed at a time.
+     */
+    private StreamCodec(Transform encoding, Transform decoding,
+            int bufferSize)
+    {
+        this.encoding = encoding;
+        this.decoding = decoding;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Returns a codec of hexadecimal text with upper case digits.
+     *
+     * @return A new {@code StreamCodec}.
+     */
+    public static StreamCodec hex() {
+        return hex(HexCodec.upperCase());
+    }
+
+    /**
+     * Returns a codec of hexadecimal text that writes the digits of the given
+     * codec.
+     *
+     * @param codec The codec that encodes and decodes each chunk.
+     * @return A new {@code StreamCodec}.
+     */
+    public static StreamCodec hex(HexCodec codec) {
+        Objects.requireNonNull(codec, "Invalid null codec!");
+        return new StreamCodec(new HexEncoding(codec), new HexDecoding(codec),
+                DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a codec of Base64 text in the basic alphabet of RFC 4648, as
+     * written by {@link Base64#getEncoder()}.
+     *
+     * @return A new {@code StreamCodec}.
+     */
+    public static StreamCodec base64() {
+        return new StreamCodec(new Base64Encoding(Base64.getEncoder()),
+                new Base64Decoding(Base64.getDecoder()), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a codec of Base64 text in the URL and file name safe alphabet
+     * of RFC 4648, as written by {@link Base64#getUrlEncoder()}.
+     *
+     * @return A new {@code StreamCodec}.
+     */
+    public static StreamCodec base64Url() {
+        return new StreamCodec(new Base64Encoding(Base64.getUrlEncoder()),
+                new Base64Decoding(Base64.getUrlDecoder()),
+                DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a copy of this codec whose stages transform the given amount
+     * of input bytes at a time, rounded down to a whole number of blocks.
+     * An encoder of hexadecimal text, the largest stage, holds six times
+     * this amount of memory in its buffers and arrays.
+     *
+     * @param bufferSize The amount of input bytes transformed at a time.
+     * @return A new {@code StreamCodec}.
+     * @throws IllegalArgumentException if {@code bufferSize < 4}.
+     */
+    public StreamCodec withBufferSize(int bufferSize) {
+        if (bufferSize < 4) {
+            throw new IllegalArgumentException("Invalid buffer size : "
+                    + bufferSize);
+        }
+        return new StreamCodec(encoding, decoding, bufferSize);
+    }
+
+    /**
+     * Returns a new stage that encodes payloads into text.
+     *
+     * @return A new encoder {@code Stage}.
+     */
+    public Stage newEncoder() {
+        return new Stage(encoding, bufferSize);
+    }
+
+    /**
+     * Returns a new stage that decodes text into payloads.
+     *
+     * @return A new decoder {@code Stage}.
+     */
+    public Stage newDecoder() {
+        return new Stage(decoding, bufferSize);
+    }
+
+    /**
+     * Encodes the remaining contents of a channel into another with a new
+     * stage. Neither channel is closed.
+     *
+     * @param in The channel of the payload.
+     * @param out The channel to write the text to.
+     * @return The amount of bytes of text written.
+     * @throws IOException if an I/O error occurs.
+     */
+    public long encode(ReadableByteChannel in, WritableByteChannel out)
+            throws IOException
+    {
+        return newEncoder().transfer(in, out);
+    }
+
+    /**
+     * Decodes the remaining contents of a channel into another with a new
+     * stage. Neither channel is closed.
+     *
+     * @param in The channel of the text.
+     * @param out The channel to write the payload to.
+     * @return The amount of bytes of payload written.
+     * @throws IOException if an I/O error occurs or the text is malformed.
+     */
+    public long decode(ReadableByteChannel in, WritableByteChannel out)
+            throws IOException
+    {
+        return newDecoder().transfer(in, out);
+    }
+
+    /**
+     * The {@code Stage} class contains an encoder or decoder with its own
+     * buffers, which is reused for any amount of transfers. A stage is not
+     * safe for use by multiple threads at once.
+     */
+    public static final class Stage {
+
+        /**
+         * The transformation of this stage.
+         */
+        private final Transform transform;
+
+        /**
+         * The buffer that input is read into.
+         */
+        private final ByteBuffer input;
+
+        /**
+         * The buffer that output is written from.
+         */
+        private final ByteBuffer output;
+
+        /**
+         * The array that each chunk of input is transformed from.
+         */
+        private final byte[] source;
+
+        /**
+         * The array that each chunk of output is transformed into.
+         */
+        private final byte[] target;
+
+        /**
+         * Don't let anyone but the enclosing class instantiate this class.
+         *
+         * @param transform The transformation of the stage.
+         * @param bufferSize The amount of input bytes transformed at a time.
+         */
+        Stage(Transform transform, int bufferSize) {
+            int capacity = bufferSize - bufferSize % transform.block;
+            this.transform = transform;
+            this.input = ByteBuffer.allocateDirect(capacity);
+            this.output = ByteBuffer.allocateDirect(
+                    transform.maxOutput(capacity));
+            this.source = new byte[capacity];
+            this.target = new byte[output.capacity()];
+        }
+
+        /**
+         * Transforms the remaining contents of a channel into another.
+         * Neither channel is closed. Both channels must be in blocking mode.
+         *
+         * @param in The channel to read from.
+         * @param out The channel to write to.
+         * @return The amount of bytes written.
+         * @throws IOException if an I/O error occurs or the input is
+         *         malformed.
+         */
+        public long transfer(ReadableByteChannel in, WritableByteChannel out)
+                throws IOException
+        {
+            Objects.requireNonNull(in, "Invalid null channel!");
+            Objects.requireNonNull(out, "Invalid null channel!");
+            long written = 0;
+            long consumed = 0;
+            boolean last = false;
+            boolean ended = false;
+            while (!last) {
+                input.clear();
+                last = fill(in, input);
+                input.flip();
+                int length = input.remaining();
+                if (ended && length > 0) {
+                    throw new IOException("Malformed input : more input "
+                            + "after the end at offset " + consumed);
+                }
+                input.get(source, 0, length);
+                ended = transform.isFinal(source, length);
+                int produced = transform.apply(source, length, target, last,
+                        consumed);
+                output.clear();
+                output.put(target, 0, produced).flip();
+                while (output.hasRemaining()) {
+                    out.write(output);
+                }
+                consumed += length;
+                written += produced;
+            }
+            return written;
+        }
+
+        /**
+         * Transforms the remaining contents of a stream into another. Neither
+         * stream is closed or flushed.
+         *
+         * @param in The stream to read from.
+         * @param out The stream to write to.
+         * @return The amount of bytes written.
+         * @throws IOException if an I/O error occurs or the input is
+         *         malformed.
+         */
+        public long transfer(InputStream in, OutputStream out)
+                throws IOException
+        {
+            Objects.requireNonNull(in, "Invalid null stream!");
+            Objects.requireNonNull(out, "Invalid null stream!");
+            return transfer(Channels.newChannel(in), Channels.newChannel(out));
+        }
+
+        /**
+         * Reads from a channel until the given buffer is full or the channel
+         * ends.
+         *
+         * @param in The channel to read from.
+         * @param buffer The buffer to fill.
+         * @return {@code true} if the channel ended.
+         * @throws IOException if an I/O error occurs.
+         */
+        private static boolean fill(ReadableByteChannel in, ByteBuffer buffer)
+                throws IOException
+        {
+            while (buffer.hasRemaining()) {
+                if (in.read(buffer) < 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * The {@code Transform} class contains the transformation of a chunk of
+     * input by an encoder or decoder.
+     */
+    private abstract static class Transform {
+
+        /**
+         * The amount of input bytes that are transformed together, which
+         * every chunk but the last is a multiple of.
+         */
+        final int block;
+
+        /**
+         * Constructs a {@code Transform} with the given block size.
+         *
+         * @param block The amount of input bytes transformed together.
+         */
+        Transform(int block) {
+            this.block = block;
+        }
+
+        /**
+         * Returns the most output that the given amount of input produces.
+         *
+         * @param length The amount of input bytes, a multiple of
+         *        {@link #block}.
+         * @return The capacity of the output buffer.
+         */
+        abstract int maxOutput(int length);
+
+        /**
+         * Transforms a chunk of input.
+         *
+         * @param src The array holding the chunk.
+         * @param length The amount of bytes in the chunk, which is a multiple
+         *        of {@link #block} unless {@code last} is {@code true}.
+         * @param dst The array to write the output to.
+         * @param last Whether the chunk ends the input.
+         * @param offset The position of the chunk in the input, for the
+         *        message of the exception.
+         * @return The amount of bytes written.
+         * @throws IOException if the input is malformed.
+         */
+        abstract int apply(byte[] src, int length, byte[] dst, boolean last,
+                long offset) throws IOException;
+
+        /**
+         * Tests if a chunk ends the input, so that any more input is
+         * malformed.
+         *
+         * @param src The array holding the chunk.
+         * @param length The amount of bytes in the chunk.
+         * @return {@code true} if the chunk ends with the end of the input.
+         */
+        boolean isFinal(byte[] src, int length) {
+            return false;
+        }
+
+    }
+
+    /**
+     * The {@code HexEncoding} class encodes bytes into hexadecimal digits.
+     */
+    private static final class HexEncoding extends Transform {
+
+        /**
+         * The codec of each chunk.
+         */
+        private final HexCodec codec;
+
+        /**
+         * Constructs a {@code HexEncoding} with the given codec.
+         *
+         * @param codec The codec of each chunk.
+         */
+        HexEncoding(HexCodec codec) {
+            super(1);
+            this.codec = codec;
+        }
+
+        @Override
+        int maxOutput(int length) {
+            return 2 * length;
+        }
+
+        @Override
+        int apply(byte[] src, int length, byte[] dst, boolean last,
+                long offset)
+        {
+            return codec.encode(src, 0, length, dst, 0);
+        }
+
+    }
+
+    /**
+     * The {@code HexDecoding} class decodes hexadecimal digits into bytes.
+     */
+    private static final class HexDecoding extends Transform {
+
+        /**
+         * The codec of each chunk.
+         */
+        private final HexCodec codec;
+
+        /**
+         * Constructs a {@code HexDecoding} with the given codec.
+         *
+         * @param codec The codec of each chunk.
+         */
+        HexDecoding(HexCodec codec) {
+            super(2);
+            this.codec = codec;
+        }
+
+        @Override
+        int maxOutput(int length) {
+            return length / 2;
+        }
+
+        @Override
+        int apply(byte[] src, int length, byte[] dst, boolean last,
+                long offset) throws IOException
+        {
+            if ((length & 1) != 0) {
+                throw new IOException("Truncated hex input : "
+                        + (offset + length) + " digits");
+            }
+            try {
+                return codec.decode(src, 0, length, dst, 0);
+            }
+            catch (IllegalArgumentException e) {
+                throw new IOException("Malformed hex input after offset "
+                        + offset + " : " + e.getMessage(), e);
+            }
+        }
+
+    }
+
+    /**
+     * The {@code Base64Encoding} class encodes bytes into Base64 text.
+     */
+    private static final class Base64Encoding extends Transform {
+
+        /**
+         * The encoder of each chunk.
+         */
+        private final Base64.Encoder encoder;
+
+        /**
+         * Constructs a {@code Base64Encoding} with the given encoder.
+         *
+         * @param encoder The encoder of each chunk, without line separators.
+         */
+        Base64Encoding(Base64.Encoder encoder) {
+            super(3);
+            this.encoder = encoder;
+        }
+
+        @Override
+        int maxOutput(int length) {
+            return length / 3 * 4;
+        }
+
+        @Override
+        int apply(byte[] src, int length, byte[] dst, boolean last,
+                long offset)
+        {
+            // Base64.Encoder encodes whole arrays, so only the last chunk,
+            // which may be shorter than the array, is copied
+            return encoder.encode((length == src.length)
+                    ? src
+                    : Arrays.copyOf(src, length), dst);
+        }
+
+    }
+
+    /**
+     * The {@code Base64Decoding} class decodes Base64 text into bytes.
+     */
+    private static final class Base64Decoding extends Transform {
+
+        /**
+         * The decoder of each chunk.
+         */
+        private final Base64.Decoder decoder;
+
+        /**
+         * Constructs a {@code Base64Decoding} with the given decoder.
+         *
+         * @param decoder The decoder of each chunk.
+         */
+        Base64Decoding(Base64.Decoder decoder) {
+            super(4);
+            this.decoder = decoder;
+        }
+
+        @Override
+        int maxOutput(int length) {
+            return length / 4 * 3;
+        }
+
+        @Override
+        boolean isFinal(byte[] src, int length) {
+            return length > 0 && src[length - 1] == '=';
+        }
+
+        @Override
+        int apply(byte[] src, int length, byte[] dst, boolean last,
+                long offset) throws IOException
+        {
+            try {
+                return decoder.decode((length == src.length)
+                        ? src
+                        : Arrays.copyOf(src, length), dst);
+            }
+            catch (IllegalArgumentException e) {
+                throw new IOException("Malformed Base64 input after offset "
+                        + offset + " : " + e.getMessage(), e);
+            }
+        }
+
+    }
+
+}
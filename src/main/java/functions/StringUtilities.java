@@ -1,9 +1,9 @@
 package functions;
 
+import java.nio.charset.Charset;
 import java.text.NumberFormat;
 import java.util.Arrays;
 import java.util.concurrent.ThreadLocalRandom;
-import javax.xml.bind.DatatypeConverter;
 
 /**
  * The {@code StringUtilities} class contains small methods relating to 
@@ -149,27 +149,61 @@ public final class StringUtilities {
     }
     
     /**
-     * Converts a {@code String} to hexadecimal.
+     * Converts a {@code String} to hexadecimal, using the default charset of
+     * the platform and upper case digits.
      * 
      * @param str The {@code String} to convert.
      * @return A {@code String} containing a hexadecimal equivalent of the given
      *         lexical argument.
+     * @see #stringToHex(String, Charset)
      */
     public static String stringToHex(String str) {
-        byte bytes[] = str.getBytes();
-        return DatatypeConverter.printHexBinary(bytes);
+        return stringToHex(str, Charset.defaultCharset());
+    }
+    
+    /**
+     * Converts a {@code String} to hexadecimal, using the given charset and
+     * upper case digits.
+     * 
+     * @param str The {@code String} to convert.
+     * @param charset The charset to encode the characters of {@code str} in.
+     * @return A {@code String} containing a hexadecimal equivalent of the given
+     *         lexical argument.
+     * @see HexCodec
+     */
+    public static String stringToHex(String str, Charset charset) {
+        return HexCodec.upperCase().encode(str, charset);
     }
     
     /**
      * Converts a hexadecimal {@code String} to the equivalent lexical 
-     * representation.
+     * representation, using the default charset of the platform.
      * 
      * @param str The {@code String} to convert.
      * @return A {@code String} containing a lexical representation of the given
      *         hexadecimal argument.
+     * @throws IllegalArgumentException if {@code str} has an odd length, or 
+     *         contains a character that is not a hexadecimal digit.
+     * @see #hexToString(String, Charset)
      */
     public static String hexToString(String str) {
-        return new String(DatatypeConverter.parseHexBinary(str));
+        return hexToString(str, Charset.defaultCharset());
+    }
+    
+    /**
+     * Converts a hexadecimal {@code String} to the equivalent lexical 
+     * representation, using the given charset.
+     * 
+     * @param str The {@code String} to convert, with digits of either case.
+     * @param charset The charset to decode the bytes of {@code str} in.
+     * @return A {@code String} containing a lexical representation of the given
+     *         hexadecimal argument.
+     * @throws IllegalArgumentException if {@code str} has an odd length, or 
+     *         contains a character that is not a hexadecimal digit.
+     * @see HexCodec
+     */
+    public static String hexToString(String str, Charset charset) {
+        return HexCodec.upperCase().decode(str, charset);
     }
     
     /**
@@ -442,12 +476,7 @@ public final class StringUtilities {
      *         {@code String}.
      */
     public static boolean contains(String str, char key) {
-        for (char c : str.toCharArray()) {
-            if (key == c) {
-                return true;
-            }
-        }
-        return false;
+        return str.indexOf(key) >= 0;
     }
     
     /**
@@ -0,0 +1,456 @@
+package functions;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The {@code TimestampFormatter} class contains an immutable, thread-safe
+ * formatter of timestamps that caches the text of the current second, so
+ * that the timestamps written by a busy logger cost a copy of a few
+ * characters rather than a pass over a date pattern.
+ *
+ * <p> The text of each timestamp is produced by a {@link DateTimeFormatter}
+ * of the given pattern, zone and locale. Since nothing in a pattern but a
+ * fraction of a second can change within a second, the text of the latest
+ * second formatted is kept, and every later timestamp of the same second is
+ * copied from it. If the pattern has fractions of a second, such as
+ * {@code "yyyy-MM-dd'T'HH:mm:ss.SSSXXX"}, the pattern is split around them:
+ * the text of every part between the fractions is cached, and the digits of
+ * the fractions are written between the parts directly. A pattern that
+ * contains a nanosecond ({@code n}), a nanosecond of the day ({@code N}) or
+ * a millisecond of the day ({@code A}), or a fraction of a second within an
+ * optional section, is formatted in full every time.
+ *
+ * <p> The cached second is held in an immutable object that is published
+ * through a {@code volatile} field, so threads share it without locks: a
+ * thread that finds a different second in the cache formats its own and
+ * replaces it, and the rare race between two such threads costs only a
+ * repeated format. The methods that append to a {@code StringBuilder} or a
+ * {@code char[]} allocate nothing once the second is cached.
+ *
+ * <p> The current time is read from {@link System#currentTimeMillis()}, so
+ * the digits of a fraction beyond milliseconds are always {@code 0}.
+ *
+ * @author Oliver Abdulrahim
+ * @see Utilities#timestamp()
+ */
+public final class TimestampFormatter {
+
+    /**
+     * The text of one second, which is replaced as a whole.
+     */
+    private static final class Second {
+
+        /**
+         * The amount of seconds since the epoch.
+         */
+        final long epochSecond;
+
+        /**
+         * The text of the parts of the pattern at the second, one after
+         * another.
+         */
+        final char[] text;
+
+        /**
+         * The index in {@link #text} of the end of each part that is
+         * followed by a fraction of a second.
+         */
+        final int[] ends;
+
+        /**
+         * Constructs a {@code Second} with the given text.
+         *
+         * @param epochSecond The amount of seconds since the epoch.
+         * @param text The text of the parts of the second.
+         * @param ends The end of each part followed by a fraction.
+         */
+        Second(long epochSecond, char[] text, int[] ends) {
+            this.epochSecond = epochSecond;
+            this.text = text;
+            this.ends = ends;
+        }
+
+    }
+
+    /**
+     * The pattern of this formatter.
+     */
+    private final String pattern;
+
+    /**
+     * The time zone of this formatter.
+     */
+    private final ZoneId zone;
+
+    /**
+     * The formatter of the whole pattern.
+     */
+    private final DateTimeFormatter formatter;
+
+    /**
+     * The formatters of the parts of the pattern around its fractions of a
+     * second, where {@code null} marks an empty part, or {@code null} if the
+     * text of a second may not be cached.
+     */
+    private final DateTimeFormatter[] parts;
+
+    /**
+     * The amount of digits of each fraction of a second in the pattern.
+     */
+    private final int[] fractions;
+
+    /**
+     * The total amount of digits of the fractions of a second.
+     */
+    private final int fractionDigits;
+
+    /**
+     * The text of the latest second formatted.
+     */
+    private volatile Second cached;
+
+    /**
+     * Constructs a {@code TimestampFormatter} with the given properties.
+     *
+     * @param pattern The pattern of the timestamps.
+     * @param zone The time zone of the timestamps.
+     * @param locale The locale of the timestamps.
+     */
+    private TimestampFormatter(String pattern, ZoneId zone, Locale locale) {
+        this.pattern = pattern;
+        this.zone = zone;
+        this.formatter = DateTimeFormatter.ofPattern(pattern, locale)
+                .withZone(zone);
+        List<String> texts = new ArrayList<>();
+        List<Integer> runs = new ArrayList<>();
+        if (split(pattern, texts, runs)) {
+            this.parts = new DateTimeFormatter[texts.size()];
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = texts.get(i).isEmpty()
+                        ? null
+                        : DateTimeFormatter.ofPattern(texts.get(i), locale)
+                                .withZone(zone);
+            }
+        }
+        else {
+            this.parts = null;
+        }
+        this.fractions = new int[runs.size()];
+        int digits = 0;
+        for (int i = 0; i < fractions.length; i++) {
+            fractions[i] = runs.get(i);
+            digits += fractions[i];
+        }
+        this.fractionDigits = digits;
+        this.cached = new Second(Long.MIN_VALUE, new char[0], fractions);
+    }
+
+    /**
+     * Returns a formatter of timestamps in the given pattern, in the default
+     * time zone and locale of the system.
+     *
+     * @param pattern The pattern of the timestamps, in the form accepted by
+     *        {@link DateTimeFormatter#ofPattern(String)}.
+     * @return A new {@code TimestampFormatter}.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     * @throws NullPointerException if the pattern is {@code null}.
+     */
+    public static TimestampFormatter of(String pattern) {
+        return of(pattern, ZoneId.systemDefault());
+    }
+
+    /**
+     * Returns a formatter of timestamps in the given pattern and time zone,
+     * in the default locale of the system.
+     *
+     * @param pattern The pattern of the timestamps, in the form accepted by
+     *        {@link DateTimeFormatter#ofPattern(String)}.
+     * @param zone The time zone of the timestamps.
+     * @return A new {@code TimestampFormatter}.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public static TimestampFormatter of(String pattern, ZoneId zone) {
+        return of(pattern, zone, Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * Returns a formatter of timestamps in the given pattern, time zone and
+     * locale.
+     *
+     * @param pattern The pattern of the timestamps, in the form accepted by
+     *        {@link DateTimeFormatter#ofPattern(String)}.
+     * @param zone The time zone of the timestamps.
+     * @param locale The locale of the names of months, days and the like.
+     * @return A new {@code TimestampFormatter}.
+     * @throws IllegalArgumentException if the pattern is invalid.
+     * @throws NullPointerException if any argument is {@code null}.
+     */
+    public static TimestampFormatter of(String pattern, ZoneId zone,
+            Locale locale)
+    {
+        Objects.requireNonNull(pattern, "Invalid null pattern!");
+        Objects.requireNonNull(zone, "Invalid null zone!");
+        Objects.requireNonNull(locale, "Invalid null locale!");
+        return new TimestampFormatter(pattern, zone, locale);
+    }
+
+    /**
+     * Splits the given pattern around its fractions of a second, which are
+     * the runs of {@code S} outside of quotes.
+     *
+     * @param pattern The pattern to split.
+     * @param texts The list to add the parts of the pattern around the
+     *        fractions to, which has one more element than {@code runs}.
+     * @param runs The list to add the amount of digits of each fraction to.
+     * @return {@code true} if the text of a second may be cached, or
+     *         {@code false} if the pattern has a field, outside of quotes,
+     *         that changes within a second and cannot be written directly,
+     *         in which case the lists are left empty.
+     */
+    private static boolean split(String pattern, List<String> texts,
+            List<Integer> runs)
+    {
+        boolean quoted = false;
+        int optional = 0;
+        int start = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            else if (quoted) {
+                continue;
+            }
+            else if (c == '[') {
+                optional++;
+            }
+            else if (c == ']') {
+                optional--;
+            }
+            else if (c == 'n' || c == 'N' || c == 'A'
+                    || (c == 'S' && optional > 0)) {
+                texts.clear();
+                runs.clear();
+                return false;
+            }
+            else if (c == 'S') {
+                int end = i;
+                while (end < pattern.length() && pattern.charAt(end) == 'S') {
+                    end++;
+                }
+                texts.add(pattern.substring(start, i));
+                runs.add(end - i);
+                start = end;
+                i = end - 1;
+            }
+        }
+        texts.add(pattern.substring(start));
+        return true;
+    }
+
+    /**
+     * Returns the text of the parts of the pattern at the given second,
+     * formatting and caching it if it is not the second cached.
+     *
+     * @param epochSecond The amount of seconds since the epoch.
+     * @return The text of the second.
+     */
+    private Second textOf(long epochSecond) {
+        Second s = cached;
+        if (s.epochSecond != epochSecond) {
+            Instant instant = Instant.ofEpochSecond(epochSecond);
+            StringBuilder sb = new StringBuilder(32);
+            int[] ends = new int[fractions.length];
+            for (int i = 0; i < parts.length; i++) {
+                if (parts[i] != null) {
+                    parts[i].formatTo(instant, sb);
+                }
+                if (i < ends.length) {
+                    ends[i] = sb.length();
+                }
+            }
+            char[] text = new char[sb.length()];
+            sb.getChars(0, text.length, text, 0);
+            s = new Second(epochSecond, text, ends);
+            cached = s;
+        }
+        return s;
+    }
+
+    /**
+     * Returns a digit of the fraction of a second of the given millisecond.
+     *
+     * @param millisOfSecond The millisecond within the second.
+     * @param i The position of the digit, from {@code 0} for tenths.
+     * @return The digit at the given position.
+     */
+    private static char fractionDigit(int millisOfSecond, int i) {
+        switch (i) {
+            case 0:
+                return (char) ('0' + millisOfSecond / 100);
+            case 1:
+                return (char) ('0' + millisOfSecond / 10 % 10);
+            case 2:
+                return (char) ('0' + millisOfSecond % 10);
+            default:
+                return '0';
+        }
+    }
+
+    /**
+     * Returns a timestamp of the current instant.
+     *
+     * @return The text of the current instant.
+     */
+    public String format() {
+        return format(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns a timestamp of the given instant.
+     *
+     * @param epochMilli The amount of milliseconds since the epoch.
+     * @return The text of the instant.
+     */
+    public String format(long epochMilli) {
+        return appendTo(new StringBuilder(32), epochMilli).toString();
+    }
+
+    /**
+     * Appends a timestamp of the current instant to the given builder.
+     *
+     * @param sb The builder to append to.
+     * @return The given builder.
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        return appendTo(sb, System.currentTimeMillis());
+    }
+
+    /**
+     * Appends a timestamp of the given instant to the given builder.
+     *
+     * @param sb The builder to append to.
+     * @param epochMilli The amount of milliseconds since the epoch.
+     * @return The given builder.
+     */
+    public StringBuilder appendTo(StringBuilder sb, long epochMilli) {
+        if (parts == null) {
+            formatter.formatTo(Instant.ofEpochMilli(epochMilli), sb);
+            return sb;
+        }
+        Second s = textOf(Math.floorDiv(epochMilli, 1000L));
+        int millis = (int) Math.floorMod(epochMilli, 1000L);
+        int start = 0;
+        for (int i = 0; i < fractions.length; i++) {
+            sb.append(s.text, start, s.ends[i] - start);
+            for (int d = 0; d < fractions[i]; d++) {
+                sb.append(fractionDigit(millis, d));
+            }
+            start = s.ends[i];
+        }
+        return sb.append(s.text, start, s.text.length - start);
+    }
+
+    /**
+     * Writes a timestamp of the current instant into the given array.
+     *
+     * @param dst The array to write to.
+     * @param offset The index of the first character to write.
+     * @return The amount of characters written.
+     * @throws IndexOutOfBoundsException if the timestamp does not fit in the
+     *         array from the given index.
+     */
+    public int appendTo(char[] dst, int offset) {
+        return appendTo(dst, offset, System.currentTimeMillis());
+    }
+
+    /**
+     * Writes a timestamp of the given instant into the given array.
+     *
+     * @param dst The array to write to.
+     * @param offset The index of the first character to write.
+     * @param epochMilli The amount of milliseconds since the epoch.
+     * @return The amount of characters written.
+     * @throws IndexOutOfBoundsException if the timestamp does not fit in the
+     *         array from the given index, in which case the array is not
+     *         changed.
+     */
+    public int appendTo(char[] dst, int offset, long epochMilli) {
+        if (parts == null) {
+            String text = formatter.format(Instant.ofEpochMilli(epochMilli));
+            checkFits(dst, offset, text.length());
+            text.getChars(0, text.length(), dst, offset);
+            return text.length();
+        }
+        Second s = textOf(Math.floorDiv(epochMilli, 1000L));
+        int length = s.text.length + fractionDigits;
+        checkFits(dst, offset, length);
+        int millis = (int) Math.floorMod(epochMilli, 1000L);
+        int start = 0;
+        int j = offset;
+        for (int i = 0; i < fractions.length; i++) {
+            System.arraycopy(s.text, start, dst, j, s.ends[i] - start);
+            j += s.ends[i] - start;
+            for (int d = 0; d < fractions[i]; d++) {
+                dst[j++] = fractionDigit(millis, d);
+            }
+            start = s.ends[i];
+        }
+        System.arraycopy(s.text, start, dst, j, s.text.length - start);
+        return length;
+    }
+
+    /**
+     * Ensures that the given amount of characters fits in the given array
+     * from the given index.
+     *
+     * @param dst The array to write to.
+     * @param offset The index of the first character to write.
+     * @param length The amount of characters to write.
+     * @throws IndexOutOfBoundsException if the characters do not fit.
+     */
+    private static void checkFits(char[] dst, int offset, int length) {
+        if (offset < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("Offset : " + offset
+                    + ", Length : " + length + ", Capacity : "
+                    + dst.length);
+        }
+    }
+
+    /**
+     * Returns the pattern of this formatter.
+     *
+     * @return The pattern of the timestamps.
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the time zone of this formatter.
+     *
+     * @return The time zone of the timestamps.
+     */
+    public ZoneId zone() {
+        return zone;
+    }
+
+    /**
+     * Returns a {@code String} representation of this formatter.
+     *
+     * @return A {@code String} representation of this formatter.
+     */
+    @Override
+    public String toString() {
+        return "TimestampFormatter[pattern = " + pattern + ", zone = " + zone
+                + ']';
+    }
+
+}
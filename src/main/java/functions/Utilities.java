@@ -28,8 +28,7 @@
  */
 package functions;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.Comparator;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -46,6 +45,21 @@ public class Utilities {
      */
     public static final Random r = new Random();
 
+    /**
+     * The formatter of {@link #timestamp()}, which caches the text of the
+     * current second.
+     */
+    private static final TimestampFormatter TIMESTAMP = 
+            TimestampFormatter.of("MM/dd/yyyy h:mm:ss a");
+
+    /**
+     * The formatter of {@link #fizzBuzz(int, int)}.
+     */
+    private static final RangeFormatter FIZZ_BUZZ = RangeFormatter.builder()
+            .rule(3, "Fizz")
+            .rule(5, "Buzz")
+            .build();
+
     /**
      * Don't let anyone instantiate this class.
      */
@@ -55,17 +69,37 @@ public class Utilities {
     
     /**
      * Generates a random array of integers with the specified parameters.
+     * Only the seed of the array is drawn from {@link #r}, so that threads
+     * generating arrays at the same time do not contend on it; the values are
+     * then generated in parallel as by
+     * {@link #randomArray(int, int, long)}.
      *
      * @param arraySize The size of the array to be generated.
      * @param bound The highest number that can be generated in the array 
      *        [{@code 0}, {@code bound}).
      * @return The generated random integer array.
+     * @throws IllegalArgumentException if {@code bound} is not positive.
      */
     public static int[] randomArray(int arraySize, int bound) {
+        return randomArray(arraySize, bound, r.nextLong());
+    }
+    
+    /**
+     * Generates a random array of integers from the given seed, in parallel.
+     * The same arguments always generate the same array, whatever the amount
+     * of threads that generate it.
+     *
+     * @param arraySize The size of the array to be generated.
+     * @param bound The highest number that can be generated in the array 
+     *        [{@code 0}, {@code bound}).
+     * @param seed The seed of the values of the array.
+     * @return The generated random integer array.
+     * @throws IllegalArgumentException if {@code bound} is not positive.
+     * @see RandomArrays
+     */
+    public static int[] randomArray(int arraySize, int bound, long seed) {
         int[] array = new int[arraySize];
-        for (int i = 0; i < array.length; i++) {
-            array[i] = r.nextInt(bound);
-        }
+        RandomArrays.parallelFill(array, seed, 0, bound);
         return array;
     }
 
@@ -100,19 +134,15 @@ public class Utilities {
      * respectively. For integers which are multiples of both, appends 
      * {@code "FizzBuzz"}.
      * 
+     * <p> To stream a large range to a {@code Writer} instead of building it in
+     * memory, or to label it by other rules, use a {@link RangeFormatter}.
+     * 
      * @param lower The lower, inclusive bound for integers to append.
      * @param upper The upper, inclusive bound for integers to append.
      * @return The generated {@code String} of integers.
      */
     public static String fizzBuzz(int lower, int upper) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = lower; i <= upper; i++) {
-            String current = "";
-            current += (i % 3) == 0 ? "Fizz" : "";
-            current += (i % 5) == 0 ? "Buzz" : "";
-            sb.append((!current.isEmpty()) ? current : i);
-        }
-        return sb.toString();
+        return FIZZ_BUZZ.format(lower, upper);
     }
     
     /**
@@ -129,17 +159,68 @@ public class Utilities {
     
     /**
      * Checks if a number is a power of two using a bitwise implementation. 
-     * Powers of two include {@code {1, 2, 4, 8, 16...}}. Checks the 
-     * {@code number} argument with the next integral type for matching bit 
-     * values. If the argument is a power of two, return {@code true}, otherwise
-     * return {@code false}. 
+     * Powers of two include {@code {1, 2, 4, 8, 16...}}. A power of two has a
+     * single set bit, which clearing the lowest set bit of {@code number}
+     * leaves at zero. If the argument is a power of two, return {@code true},
+     * otherwise return {@code false}. 
      * 
      * @param number The number to test.
      * @return {@code true} if and only if {@code number} is a power of 
      *         two, otherwise returns {@code false}.
+     * @see Bits
      */
     public static boolean isPowerOfTwo(long number) {
-        return (number & (number + 1)) == 0;
+        return Bits.isPowerOfTwo(number);
+    }
+
+    /**
+     * Returns the least element of the given array.
+     *
+     * @param a The array to scan.
+     * @return The least element of {@code a}.
+     * @throws IllegalArgumentException if the array is empty.
+     * @see ArrayKernels#min(int[], int, int)
+     */
+    public static int min(int[] a) {
+        return ArrayKernels.min(a, 0, a.length);
+    }
+
+    /**
+     * Returns the greatest element of the given array.
+     *
+     * @param a The array to scan.
+     * @return The greatest element of {@code a}.
+     * @throws IllegalArgumentException if the array is empty.
+     * @see ArrayKernels#max(int[], int, int)
+     */
+    public static int max(int[] a) {
+        return ArrayKernels.max(a, 0, a.length);
+    }
+
+    /**
+     * Returns the sum of the elements of the given array, as a {@code long}
+     * so that it cannot overflow.
+     *
+     * @param a The array to scan.
+     * @return The sum of the elements of {@code a}.
+     * @see ArrayKernels#sum(int[], int, int)
+     */
+    public static long sum(int[] a) {
+        return ArrayKernels.sum(a, 0, a.length);
+    }
+
+    /**
+     * Returns the index of the first occurrence of a key in the given array,
+     * which need not be sorted.
+     *
+     * @param a The array to search for {@code key} in.
+     * @param key The item to search for in {@code a}.
+     * @return The first index of {@code key} in {@code a}, or {@code -1} if
+     *         there is no occurrence.
+     * @see ArrayKernels#indexOf(int[], int, int, int)
+     */
+    public static int indexOf(int[] a, int key) {
+        return ArrayKernels.indexOf(a, 0, a.length, key);
     }
 
     /**
@@ -176,6 +257,394 @@ public class Utilities {
         return -(low + 1); // The key was not found, return -toIndex.
     }
     
+    /**
+     * Searches the given sorted array of {@code byte} values for the given key
+     * using a binary search, which has &Omicron;(log n) worst case performance.
+     * 
+     * @param a The array to search for {@code key} in, which must be sorted
+     *        in ascending order.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given array, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @see #binarySearch(int[], int, int, int)
+     */
+    public static int binarySearch(byte[] a, byte key) {
+        return binarySearch(a, 0, a.length, key);
+    }
+    
+    /**
+     * Searches the given range of the given sorted array of {@code byte} values
+     * for the given key using a binary search, which has &Omicron;(log n) worst
+     * case performance.
+     * 
+     * @param a The array to search for {@code key} in, whose range must be
+     *        sorted in ascending order.
+     * @param fromIndex The first index of the range to search, inclusive.
+     * @param toIndex The last index of the range to search, exclusive.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given range, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int binarySearch(byte[] a, int fromIndex, int toIndex,
+            byte key)
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            byte middleValue = a[middle];
+            if (middleValue < key) {
+                low = middle + 1;
+            }
+            else if (key < middleValue) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+    
+    /**
+     * Searches the given sorted array of {@code short} values for the given key
+     * using a binary search, which has &Omicron;(log n) worst case performance.
+     * 
+     * @param a The array to search for {@code key} in, which must be sorted
+     *        in ascending order.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given array, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @see #binarySearch(int[], int, int, int)
+     */
+    public static int binarySearch(short[] a, short key) {
+        return binarySearch(a, 0, a.length, key);
+    }
+    
+    /**
+     * Searches the given range of the given sorted array of {@code short}
+     * values for the given key using a binary search, which has &Omicron;(log
+     * n) worst case performance.
+     * 
+     * @param a The array to search for {@code key} in, whose range must be
+     *        sorted in ascending order.
+     * @param fromIndex The first index of the range to search, inclusive.
+     * @param toIndex The last index of the range to search, exclusive.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given range, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int binarySearch(short[] a, int fromIndex, int toIndex,
+            short key)
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            short middleValue = a[middle];
+            if (middleValue < key) {
+                low = middle + 1;
+            }
+            else if (key < middleValue) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+    
+    /**
+     * Searches the given sorted array of {@code char} values for the given key
+     * using a binary search, which has &Omicron;(log n) worst case performance.
+     * 
+     * @param a The array to search for {@code key} in, which must be sorted
+     *        in ascending order.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given array, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @see #binarySearch(int[], int, int, int)
+     */
+    public static int binarySearch(char[] a, char key) {
+        return binarySearch(a, 0, a.length, key);
+    }
+    
+    /**
+     * Searches the given range of the given sorted array of {@code char} values
+     * for the given key using a binary search, which has &Omicron;(log n) worst
+     * case performance.
+     * 
+     * @param a The array to search for {@code key} in, whose range must be
+     *        sorted in ascending order.
+     * @param fromIndex The first index of the range to search, inclusive.
+     * @param toIndex The last index of the range to search, exclusive.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given range, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int binarySearch(char[] a, int fromIndex, int toIndex,
+            char key)
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char middleValue = a[middle];
+            if (middleValue < key) {
+                low = middle + 1;
+            }
+            else if (key < middleValue) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+    
+    /**
+     * Searches the given sorted array of {@code int} values for the given key
+     * using a binary search, which has &Omicron;(log n) worst case performance.
+     * 
+     * @param a The array to search for {@code key} in, which must be sorted
+     *        in ascending order.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given array, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @see #binarySearch(int[], int, int, int)
+     */
+    public static int binarySearch(int[] a, int key) {
+        return binarySearch(a, 0, a.length, key);
+    }
+    
+    /**
+     * Searches the given sorted array of {@code long} values for the given key
+     * using a binary search, which has &Omicron;(log n) worst case performance.
+     * 
+     * @param a The array to search for {@code key} in, which must be sorted
+     *        in ascending order.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given array, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @see #binarySearch(int[], int, int, int)
+     */
+    public static int binarySearch(long[] a, long key) {
+        return binarySearch(a, 0, a.length, key);
+    }
+    
+    /**
+     * Searches the given range of the given sorted array of {@code long} values
+     * for the given key using a binary search, which has &Omicron;(log n) worst
+     * case performance.
+     * 
+     * @param a The array to search for {@code key} in, whose range must be
+     *        sorted in ascending order.
+     * @param fromIndex The first index of the range to search, inclusive.
+     * @param toIndex The last index of the range to search, exclusive.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given range, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int binarySearch(long[] a, int fromIndex, int toIndex,
+            long key)
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleValue = a[middle];
+            if (middleValue < key) {
+                low = middle + 1;
+            }
+            else if (key < middleValue) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+    
+    /**
+     * Searches the given sorted array of {@code float} values for the given key
+     * using a binary search, which has &Omicron;(log n) worst case performance.
+     * Values are ordered as by {@link Float#compare(float, float)}.
+     * 
+     * @param a The array to search for {@code key} in, which must be sorted
+     *        in ascending order.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given array, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @see #binarySearch(int[], int, int, int)
+     */
+    public static int binarySearch(float[] a, float key) {
+        return binarySearch(a, 0, a.length, key);
+    }
+    
+    /**
+     * Searches the given range of the given sorted array of {@code float}
+     * values for the given key using a binary search, which has &Omicron;(log
+     * n) worst case performance. Values are ordered as by {@link
+     * Float#compare(float, float)}.
+     * 
+     * @param a The array to search for {@code key} in, whose range must be
+     *        sorted in ascending order.
+     * @param fromIndex The first index of the range to search, inclusive.
+     * @param toIndex The last index of the range to search, exclusive.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given range, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int binarySearch(float[] a, int fromIndex, int toIndex,
+            float key)
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            float middleValue = a[middle];
+            if (Float.compare(middleValue, key) < 0) {
+                low = middle + 1;
+            }
+            else if (Float.compare(key, middleValue) < 0) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+    
+    /**
+     * Searches the given sorted array of {@code double} values for the given
+     * key using a binary search, which has &Omicron;(log n) worst case
+     * performance. Values are ordered as by {@link Double#compare(double,
+     * double)}.
+     * 
+     * @param a The array to search for {@code key} in, which must be sorted
+     *        in ascending order.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given array, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @see #binarySearch(int[], int, int, int)
+     */
+    public static int binarySearch(double[] a, double key) {
+        return binarySearch(a, 0, a.length, key);
+    }
+    
+    /**
+     * Searches the given range of the given sorted array of {@code double}
+     * values for the given key using a binary search, which has &Omicron;(log
+     * n) worst case performance. Values are ordered as by {@link
+     * Double#compare(double, double)}.
+     * 
+     * @param a The array to search for {@code key} in, whose range must be
+     *        sorted in ascending order.
+     * @param fromIndex The first index of the range to search, inclusive.
+     * @param toIndex The last index of the range to search, exclusive.
+     * @param key The item to search for in {@code a}.
+     * @return The index of {@code key} in the given range, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int binarySearch(double[] a, int fromIndex, int toIndex,
+            double key)
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            double middleValue = a[middle];
+            if (Double.compare(middleValue, key) < 0) {
+                low = middle + 1;
+            }
+            else if (Double.compare(key, middleValue) < 0) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+    
+    /**
+     * Searches the given sorted array of objects for the given key using a
+     * binary search, which has &Omicron;(log n) worst case performance.
+     * 
+     * @param <T> The type of the elements of the array.
+     * @param a The array to search for {@code key} in, which must be sorted
+     *        in ascending order.
+     * @param key The item to search for in {@code a}.
+     * @param c The {@code Comparator} that orders the elements.
+     * @return The index of {@code key} in the given array, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @see #binarySearch(int[], int, int, int)
+     */
+    public static <T> int binarySearch(T[] a, T key, Comparator<? super T> c) {
+        return binarySearch(a, 0, a.length, key, c);
+    }
+    
+    /**
+     * Searches the given range of the given sorted array of objects for the
+     * given key using a binary search, which has &Omicron;(log n) worst case
+     * performance.
+     * 
+     * @param <T> The type of the elements of the array.
+     * @param a The array to search for {@code key} in, whose range must be
+     *        sorted in ascending order.
+     * @param fromIndex The first index of the range to search, inclusive.
+     * @param toIndex The last index of the range to search, exclusive.
+     * @param key The item to search for in {@code a}.
+     * @param c The {@code Comparator} that orders the elements.
+     * @return The index of {@code key} in the given range, if it is present;
+     *         otherwise, {@code -(insertion point) - 1}.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static <T> int binarySearch(T[] a, int fromIndex, int toIndex,
+            T key, Comparator<? super T> c)
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        int low = fromIndex;
+        int high = toIndex - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            T middleValue = a[middle];
+            if (c.compare(middleValue, key) < 0) {
+                low = middle + 1;
+            }
+            else if (c.compare(key, middleValue) < 0) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+    
     /**
      * Iterative implementation of a selection sort, which has &Omicron;(n<sup>2
      * </sup>) total worst case performance. This implementation sorts in 
@@ -184,126 +653,835 @@ public class Utilities {
      * @param a The array to sort using this algorithm. 
      */
     public static void selectionSort(int[] a) {
-        for (int i = 0; i < a.length; i++) {
+        selectionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given array of {@code byte} values in ascending order using a
+     * selection sort, which has &Omicron;(n<sup>2</sup>) worst case performance
+     * and is not stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void selectionSort(byte[] a) {
+        selectionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code byte} values in
+     * ascending order using a selection sort, which has
+     * &Omicron;(n<sup>2</sup>) worst case performance and is not stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void selectionSort(byte[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
             int smallIndex = i;
-            for (int j = i + 1; j < a.length; j++) {
+            for (int j = i + 1; j < toIndex; j++) {
                 if (a[j] < a[smallIndex]) {
                     smallIndex = j;
                 }
             }
-            final int temp = a[i]; // Swap the next smallest with this position.
+            // Swap the next smallest with this position.
+            final byte temp = a[i];
             a[i] = a[smallIndex];
             a[smallIndex] = temp;
         }
     }
     
     /**
-     * Iterative implementation of a selection sort, which has &Omicron;(n) 
-     * total worst case performance. This implementation sorts in ascending 
-     * order.
+     * Sorts the given array of {@code short} values in ascending order using a
+     * selection sort, which has &Omicron;(n<sup>2</sup>) worst case performance
+     * and is not stable.
      * 
-     * @param a The array to sort using this algorithm. 
+     * @param a The array to sort using this algorithm.
      */
-    public static void insertionSort(int[] a) {
-        for (int i = 0; i < a.length; i++) {
-            int temp = a[i];   // The element to insert.
-            int nextIndex = i; // Next index of insertion candidate.
-            while (nextIndex > 0 && temp < a[nextIndex - 1]) {
-                a[nextIndex] = a[nextIndex - 1];
-                nextIndex--;
+    public static void selectionSort(short[] a) {
+        selectionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code short} values in
+     * ascending order using a selection sort, which has
+     * &Omicron;(n<sup>2</sup>) worst case performance and is not stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void selectionSort(short[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            int smallIndex = i;
+            for (int j = i + 1; j < toIndex; j++) {
+                if (a[j] < a[smallIndex]) {
+                    smallIndex = j;
+                }
             }
-            a[nextIndex] = temp;
+            // Swap the next smallest with this position.
+            final short temp = a[i];
+            a[i] = a[smallIndex];
+            a[smallIndex] = temp;
         }
     }
     
     /**
-     * Sorts a given array of integers in ascending order using a recursive 
-     * merge sort.
+     * Sorts the given array of {@code char} values in ascending order using a
+     * selection sort, which has &Omicron;(n<sup>2</sup>) worst case performance
+     * and is not stable.
      * 
      * @param a The array to sort using this algorithm.
      */
-    public static void mergeSort(int[] a) {
-        merge(a, new int[a.length], 0, a.length - 1);
+    public static void selectionSort(char[] a) {
+        selectionSort(a, 0, a.length);
     }
     
     /**
-     * Merges two adjacent array parts, each of which has been already sorted in
-     * ascending order.
+     * Sorts the given range of the given array of {@code char} values in
+     * ascending order using a selection sort, which has
+     * &Omicron;(n<sup>2</sup>) worst case performance and is not stable.
      * 
      * @param a The array to sort using this algorithm.
-     * @param temp A temporary array to aid in the recursive merge process.
-     * @param fromIndex The index to begin sorting in {@code a}.
-     * @param middleIndex The ending index of {@code a} of this part of the 
-     *        merge process.
-     * @param toIndex The index to stop sorting in {@code a}.
-     * @see #mergeSort(int[]) 
-     * @see #merge(int[], int, int, int[]) 
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
      */
-    private static void finishMerge(int a[], int[] temp, int fromIndex,
-            int middleIndex, int toIndex) 
-    {
-        int i = fromIndex;
-        int j = middleIndex + 1;
-        int k = fromIndex;
-        while (i <= middleIndex && j <= toIndex) {
-            if (a[i] < a[j]) {
-                temp[k] = a[i];
-                i++;
-            }
-            else {
-                temp[k] = a[j];
-                j++;
+    public static void selectionSort(char[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            int smallIndex = i;
+            for (int j = i + 1; j < toIndex; j++) {
+                if (a[j] < a[smallIndex]) {
+                    smallIndex = j;
+                }
             }
-            k++;
-        }
-        while (i <= middleIndex) {
-            temp[k] = a[i];
-            i++;
-            k++;
-        }
-        while (j <= toIndex) {
-            temp[k] = a[j];
-            j++;
-            k++;
-        }
-        for (k = fromIndex; k <= toIndex; k++) { // Fill and finish a[]int.
-            a[k] = temp[k];
+            // Swap the next smallest with this position.
+            final char temp = a[i];
+            a[i] = a[smallIndex];
+            a[smallIndex] = temp;
         }
     }
     
     /**
-     * Helper method for {@link #mergeSort(int[])}. Sorts the elements
-     * between the indeces {@code fromIndex} and {@code toIndex} in the given 
-     * {@code a} array.
+     * Sorts the given range of the given array of {@code int} values in
+     * ascending order using a selection sort, which has
+     * &Omicron;(n<sup>2</sup>) worst case performance and is not stable.
      * 
-     * @param a array to subsort using this algorithm. 
-     * @param temp A temporary array to aid in the recursive merge process.
-     * @param fromIndex The index to begin sorting in {@code a}.
-     * @param toIndex The index to stop sorting in {@code a}.
-     * @see #mergeSort(int[])
-     * @see #finishMerge(int[], int, int, int, int[])
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
      */
-    private static void merge(int[] a, int[] temp, int fromIndex, int toIndex) {
-        if (fromIndex < toIndex) {
-            int middleIndex = (fromIndex + toIndex) / 2;
-            merge(a, temp, fromIndex, middleIndex);
-            merge(a, temp, middleIndex + 1, toIndex);
-            finishMerge(a, temp, fromIndex, middleIndex, toIndex);
+    public static void selectionSort(int[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            int smallIndex = i;
+            for (int j = i + 1; j < toIndex; j++) {
+                if (a[j] < a[smallIndex]) {
+                    smallIndex = j;
+                }
+            }
+            // Swap the next smallest with this position.
+            final int temp = a[i];
+            a[i] = a[smallIndex];
+            a[smallIndex] = temp;
         }
     }
     
+    /**
+     * Sorts the given array of {@code long} values in ascending order using a
+     * selection sort, which has &Omicron;(n<sup>2</sup>) worst case performance
+     * and is not stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void selectionSort(long[] a) {
+        selectionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code long} values in
+     * ascending order using a selection sort, which has
+     * &Omicron;(n<sup>2</sup>) worst case performance and is not stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void selectionSort(long[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            int smallIndex = i;
+            for (int j = i + 1; j < toIndex; j++) {
+                if (a[j] < a[smallIndex]) {
+                    smallIndex = j;
+                }
+            }
+            // Swap the next smallest with this position.
+            final long temp = a[i];
+            a[i] = a[smallIndex];
+            a[smallIndex] = temp;
+        }
+    }
+    
+    /**
+     * Sorts the given array of {@code float} values in ascending order using a
+     * selection sort, which has &Omicron;(n<sup>2</sup>) worst case performance
+     * and is not stable. Values are ordered as by {@link Float#compare(float,
+     * float)}.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void selectionSort(float[] a) {
+        selectionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code float} values in
+     * ascending order using a selection sort, which has
+     * &Omicron;(n<sup>2</sup>) worst case performance and is not stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void selectionSort(float[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            int smallIndex = i;
+            for (int j = i + 1; j < toIndex; j++) {
+                if (Float.compare(a[j], a[smallIndex]) < 0) {
+                    smallIndex = j;
+                }
+            }
+            // Swap the next smallest with this position.
+            final float temp = a[i];
+            a[i] = a[smallIndex];
+            a[smallIndex] = temp;
+        }
+    }
+    
+    /**
+     * Sorts the given array of {@code double} values in ascending order using a
+     * selection sort, which has &Omicron;(n<sup>2</sup>) worst case performance
+     * and is not stable. Values are ordered as by {@link Double#compare(double,
+     * double)}.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void selectionSort(double[] a) {
+        selectionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code double} values in
+     * ascending order using a selection sort, which has
+     * &Omicron;(n<sup>2</sup>) worst case performance and is not stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void selectionSort(double[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            int smallIndex = i;
+            for (int j = i + 1; j < toIndex; j++) {
+                if (Double.compare(a[j], a[smallIndex]) < 0) {
+                    smallIndex = j;
+                }
+            }
+            // Swap the next smallest with this position.
+            final double temp = a[i];
+            a[i] = a[smallIndex];
+            a[smallIndex] = temp;
+        }
+    }
+    
+    /**
+     * Sorts the given array of objects in ascending order using a selection
+     * sort, which has &Omicron;(n<sup>2</sup>) worst case performance and is
+     * not stable.
+     * 
+     * @param <T> The type of the elements of the array.
+     * @param a The array to sort using this algorithm.
+     * @param c The {@code Comparator} that orders the elements.
+     */
+    public static <T> void selectionSort(T[] a, Comparator<? super T> c) {
+        selectionSort(a, 0, a.length, c);
+    }
+    
+    /**
+     * Sorts the given range of the given array of objects in ascending order
+     * using a selection sort, which has &Omicron;(n<sup>2</sup>) worst case
+     * performance and is not stable.
+     * 
+     * @param <T> The type of the elements of the array.
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @param c The {@code Comparator} that orders the elements.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static <T> void selectionSort(T[] a, int fromIndex, int toIndex, 
+            Comparator<? super T> c) 
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        for (int i = fromIndex; i < toIndex; i++) {
+            int smallIndex = i;
+            for (int j = i + 1; j < toIndex; j++) {
+                if (c.compare(a[j], a[smallIndex]) < 0) {
+                    smallIndex = j;
+                }
+            }
+            // Swap the next smallest with this position.
+            final T temp = a[i];
+            a[i] = a[smallIndex];
+            a[smallIndex] = temp;
+        }
+    }
+    
+    /**
+     * Iterative implementation of a selection sort, which has &Omicron;(n) 
+     * total worst case performance. This implementation sorts in ascending 
+     * order.
+     * 
+     * @param a The array to sort using this algorithm. 
+     */
+    public static void insertionSort(int[] a) {
+        insertionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given array of {@code byte} values in ascending order using an
+     * insertion sort, which has &Omicron;(n<sup>2</sup>) worst case
+     * performance, &Omicron;(n) performance for nearly sorted arrays, and is
+     * stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void insertionSort(byte[] a) {
+        insertionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code byte} values in
+     * ascending order using an insertion sort, which is stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void insertionSort(byte[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.insertionSort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of {@code short} values in ascending order using an
+     * insertion sort, which has &Omicron;(n<sup>2</sup>) worst case
+     * performance, &Omicron;(n) performance for nearly sorted arrays, and is
+     * stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void insertionSort(short[] a) {
+        insertionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code short} values in
+     * ascending order using an insertion sort, which is stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void insertionSort(short[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.insertionSort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of {@code char} values in ascending order using an
+     * insertion sort, which has &Omicron;(n<sup>2</sup>) worst case
+     * performance, &Omicron;(n) performance for nearly sorted arrays, and is
+     * stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void insertionSort(char[] a) {
+        insertionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code char} values in
+     * ascending order using an insertion sort, which is stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void insertionSort(char[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.insertionSort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code int} values in
+     * ascending order using an insertion sort, which is stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void insertionSort(int[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.insertionSort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of {@code long} values in ascending order using an
+     * insertion sort, which has &Omicron;(n<sup>2</sup>) worst case
+     * performance, &Omicron;(n) performance for nearly sorted arrays, and is
+     * stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void insertionSort(long[] a) {
+        insertionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code long} values in
+     * ascending order using an insertion sort, which is stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void insertionSort(long[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.insertionSort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of {@code float} values in ascending order using an
+     * insertion sort, which has &Omicron;(n<sup>2</sup>) worst case
+     * performance, &Omicron;(n) performance for nearly sorted arrays, and is
+     * stable. Values are ordered as by {@link Float#compare(float, float)}.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void insertionSort(float[] a) {
+        insertionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code float} values in
+     * ascending order using an insertion sort, which is stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void insertionSort(float[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.insertionSort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of {@code double} values in ascending order using
+     * an insertion sort, which has &Omicron;(n<sup>2</sup>) worst case
+     * performance, &Omicron;(n) performance for nearly sorted arrays, and is
+     * stable. Values are ordered as by {@link Double#compare(double, double)}.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void insertionSort(double[] a) {
+        insertionSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code double} values in
+     * ascending order using an insertion sort, which is stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void insertionSort(double[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.insertionSort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of objects in ascending order using an insertion
+     * sort, which has &Omicron;(n<sup>2</sup>) worst case performance,
+     * &Omicron;(n) performance for nearly sorted arrays, and is stable.
+     * 
+     * @param <T> The type of the elements of the array.
+     * @param a The array to sort using this algorithm.
+     * @param c The {@code Comparator} that orders the elements.
+     */
+    public static <T> void insertionSort(T[] a, Comparator<? super T> c) {
+        insertionSort(a, 0, a.length, c);
+    }
+    
+    /**
+     * Sorts the given range of the given array of objects in ascending order
+     * using an insertion sort, which is stable.
+     * 
+     * @param <T> The type of the elements of the array.
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @param c The {@code Comparator} that orders the elements.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static <T> void insertionSort(T[] a, int fromIndex, int toIndex, 
+            Comparator<? super T> c) 
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.insertionSort(a, fromIndex, toIndex, c);
+    }
+    
+    /**
+     * Sorts a given array of integers in ascending order using a merge sort.
+     * This method allocates a scratch array of the same length as the given
+     * array; to reuse memory across calls, see 
+     * {@link #mergeSort(int[], int[])}.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void mergeSort(int[] a) {
+        MergeSort.sort(a, new int[a.length], false);
+    }
+    
+    /**
+     * Sorts a given array of integers in ascending order using a merge sort 
+     * that uses the given array as scratch space. Ranges of 32 or fewer 
+     * elements are sorted by insertion sort, and the roles of the two arrays
+     * alternate between levels of the recursion, so the only copy between 
+     * them is made once, up front.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param scratch A distinct array at least as long as {@code a}, whose 
+     *        contents are overwritten. It may be reused across calls.
+     * @throws IllegalArgumentException if {@code scratch} is shorter than
+     *         {@code a} or is the same array.
+     */
+    public static void mergeSort(int[] a, int[] scratch) {
+        MergeSort.sort(a, scratch, false);
+    }
+    
+    /**
+     * Sorts a given array of integers in ascending order using a parallel 
+     * merge sort on the common {@code ForkJoinPool}. This method allocates a
+     * scratch array of the same length as the given array.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @see #parallelMergeSort(int[], int[]) 
+     */
+    public static void parallelMergeSort(int[] a) {
+        MergeSort.sort(a, new int[a.length], true);
+    }
+    
+    /**
+     * Sorts a given array of integers in ascending order using a parallel 
+     * merge sort on the common {@code ForkJoinPool}, using the given array 
+     * as scratch space.
+     * 
+     * <p> Ranges are split into fork/join tasks until they hold 8192 or fewer
+     * elements, which are then sorted sequentially as by 
+     * {@link #mergeSort(int[], int[])}. Large merges are themselves split in 
+     * two, so the final levels of the sort also scale with the amount of 
+     * cores.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param scratch A distinct array at least as long as {@code a}, whose 
+     *        contents are overwritten. It may be reused across calls.
+     * @throws IllegalArgumentException if {@code scratch} is shorter than
+     *         {@code a} or is the same array.
+     */
+    public static void parallelMergeSort(int[] a, int[] scratch) {
+        MergeSort.sort(a, scratch, true);
+    }
+    
+    /**
+     * Sorts the given array of {@code byte} values in ascending order using a
+     * merge sort, which has &Omicron;(n log n) worst case performance and is
+     * stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void mergeSort(byte[] a) {
+        mergeSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code byte} values in
+     * ascending order using a merge sort, which is stable. A scratch array as
+     * long as the range is allocated.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void mergeSort(byte[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.sort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of {@code short} values in ascending order using a
+     * merge sort, which has &Omicron;(n log n) worst case performance and is
+     * stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void mergeSort(short[] a) {
+        mergeSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code short} values in
+     * ascending order using a merge sort, which is stable. A scratch array as
+     * long as the range is allocated.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void mergeSort(short[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.sort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of {@code char} values in ascending order using a
+     * merge sort, which has &Omicron;(n log n) worst case performance and is
+     * stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void mergeSort(char[] a) {
+        mergeSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code char} values in
+     * ascending order using a merge sort, which is stable. A scratch array as
+     * long as the range is allocated.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void mergeSort(char[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.sort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code int} values in
+     * ascending order using a merge sort, which is stable. A scratch array as
+     * long as the range is allocated.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void mergeSort(int[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.sort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of {@code long} values in ascending order using a
+     * merge sort, which has &Omicron;(n log n) worst case performance and is
+     * stable.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void mergeSort(long[] a) {
+        mergeSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code long} values in
+     * ascending order using a merge sort, which is stable. A scratch array as
+     * long as the range is allocated.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void mergeSort(long[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.sort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of {@code float} values in ascending order using a
+     * merge sort, which has &Omicron;(n log n) worst case performance and is
+     * stable. Values are ordered as by {@link Float#compare(float, float)}.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void mergeSort(float[] a) {
+        mergeSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code float} values in
+     * ascending order using a merge sort, which is stable. A scratch array as
+     * long as the range is allocated.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void mergeSort(float[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.sort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of {@code double} values in ascending order using a
+     * merge sort, which has &Omicron;(n log n) worst case performance and is
+     * stable. Values are ordered as by {@link Double#compare(double, double)}.
+     * 
+     * @param a The array to sort using this algorithm.
+     */
+    public static void mergeSort(double[] a) {
+        mergeSort(a, 0, a.length);
+    }
+    
+    /**
+     * Sorts the given range of the given array of {@code double} values in
+     * ascending order using a merge sort, which is stable. A scratch array as
+     * long as the range is allocated.
+     * 
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void mergeSort(double[] a, int fromIndex, int toIndex) {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.sort(a, fromIndex, toIndex);
+    }
+    
+    /**
+     * Sorts the given array of objects in ascending order using a merge sort,
+     * which has &Omicron;(n log n) worst case performance and is stable.
+     * 
+     * @param <T> The type of the elements of the array.
+     * @param a The array to sort using this algorithm.
+     * @param c The {@code Comparator} that orders the elements.
+     */
+    public static <T> void mergeSort(T[] a, Comparator<? super T> c) {
+        mergeSort(a, 0, a.length, c);
+    }
+    
+    /**
+     * Sorts the given range of the given array of objects in ascending order
+     * using a merge sort, which is stable. A scratch array as long as the range
+     * is allocated.
+     * 
+     * @param <T> The type of the elements of the array.
+     * @param a The array to sort using this algorithm.
+     * @param fromIndex The first index of the range to sort, inclusive.
+     * @param toIndex The last index of the range to sort, exclusive.
+     * @param c The {@code Comparator} that orders the elements.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static <T> void mergeSort(T[] a, int fromIndex, int toIndex, 
+            Comparator<? super T> c) 
+    {
+        Ranges.check(a.length, fromIndex, toIndex);
+        MergeSort.sort(a, fromIndex, toIndex, c);
+    }
+    
+    /**
+     * Sorts the given array of integers in ascending order, choosing the
+     * algorithm by the size, presortedness and spread of values of the array.
+     * Small arrays are sorted by insertion sort, arrays made of long runs by
+     * merging the runs, arrays of few distinct values by counting them, and
+     * other arrays by a radix sort or, on multiple cores, a parallel merge
+     * sort.
+     * 
+     * <p> To see which algorithm was chosen and how much work it did, call
+     * {@link AdaptiveSort#sort(int[])} directly.
+     * 
+     * @param a The array to sort.
+     */
+    public static void sort(int[] a) {
+        AdaptiveSort.sort(a);
+    }
+    
     /**
      * Generates and returns a timestamp of the current instant at the time of
      * invocation using the following simple pattern:
      * 
      * <pre>{@code
-     * new SimpleDateFormat("MM/dd/yyyy h:mm:ss a");
+     * TimestampFormatter.of("MM/dd/yyyy h:mm:ss a");
      * }</pre>
      * 
+     * The text of the current second is cached, so repeated calls within a
+     * second only copy it. To append timestamps without allocation, or in
+     * another pattern or time zone, use a {@link TimestampFormatter} directly.
+     * 
      * @return A timestamp representing the current instant in time.
      */
     public static String timestamp() {
-        return new SimpleDateFormat("MM/dd/yyyy h:mm:ss a").format(new Date());
+        return TIMESTAMP.format();
     }
 
 }
@@ -0,0 +1,245 @@
+package functions;
+
+import java.util.Objects;
+
+/**
+ * The {@code ArrayKernels} class contains the hot loops of this library that
+ * may use the vector (SIMD) instructions of the processor: reductions and
+ * searches over arrays of {@code int}, searches over arrays of {@code char},
+ * and arithmetic over packed ARGB pixels.
+ *
+ * <p> This library is built as a multi-release JAR. This version of the class
+ * is the one loaded by Java 17 and later, from {@code META-INF/versions/17}.
+ * It runs the loops of {@link VectorKernels} with the incubating Vector API
+ * when the {@code jdk.incubator.vector} module is present, as with
+ * {@code java --add-modules jdk.incubator.vector}, and the vectors of the
+ * processor hold at least four {@code int} values. Otherwise, or if the
+ * system property {@code functions.scalarKernels} is {@code true}, it falls
+ * back to the scalar loops of {@link ScalarKernels}, which are all that the
+ * version for Java 8 through 16 runs. Both versions return the same results;
+ * {@link #isVectorized()} tells which is in use.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class ArrayKernels {
+
+    /**
+     * The system property that disables the vector loops when {@code true}.
+     */
+    private static final String SCALAR_PROPERTY = "functions.scalarKernels";
+
+    /**
+     * Whether the vector loops are in use.
+     */
+    private static final boolean VECTORIZED = vectorApiAvailable();
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private ArrayKernels() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Tests if the Vector API may be used. {@link VectorKernels} is loaded
+     * only if its module is present, since its classes would not link
+     * otherwise.
+     *
+     * @return {@code true} if the vector loops should be used.
+     */
+    private static boolean vectorApiAvailable() {
+        if (Boolean.getBoolean(SCALAR_PROPERTY)
+                || ModuleLayer.boot().findModule("jdk.incubator.vector")
+                        .isEmpty()) {
+            return false;
+        }
+        try {
+            return VectorKernels.intLanes() >= 4;
+        }
+        catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Tests if the methods of this class use vector instructions.
+     *
+     * @return {@code true} if the Vector API is in use.
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Ensures that a given range is within a given array and is not empty.
+     *
+     * @param length The length of the array.
+     * @param fromIndex The first index of the range, inclusive.
+     * @param toIndex The last index of the range, exclusive.
+     * @throws IllegalArgumentException if the range is empty.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    private static void nonEmptyRangeCheck(int length, int fromIndex,
+            int toIndex)
+    {
+        Ranges.check(length, fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            throw new IllegalArgumentException("Invalid empty range!");
+        }
+    }
+
+    /**
+     * Returns the least element of the given range of an array.
+     *
+     * @param a The array to scan.
+     * @param fromIndex The first index, inclusive.
+     * @param toIndex The last index, exclusive.
+     * @return The least element of the range.
+     * @throws IllegalArgumentException if the range is empty or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int min(int[] a, int fromIndex, int toIndex) {
+        Objects.requireNonNull(a, "Invalid null array!");
+        nonEmptyRangeCheck(a.length, fromIndex, toIndex);
+        return VECTORIZED
+                ? VectorKernels.min(a, fromIndex, toIndex)
+                : ScalarKernels.min(a, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the greatest element of the given range of an array.
+     *
+     * @param a The array to scan.
+     * @param fromIndex The first index, inclusive.
+     * @param toIndex The last index, exclusive.
+     * @return The greatest element of the range.
+     * @throws IllegalArgumentException if the range is empty or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int max(int[] a, int fromIndex, int toIndex) {
+        Objects.requireNonNull(a, "Invalid null array!");
+        nonEmptyRangeCheck(a.length, fromIndex, toIndex);
+        return VECTORIZED
+                ? VectorKernels.max(a, fromIndex, toIndex)
+                : ScalarKernels.max(a, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the sum of the elements of the given range of an array.
+     *
+     * @param a The array to scan.
+     * @param fromIndex The first index, inclusive.
+     * @param toIndex The last index, exclusive.
+     * @return The sum of the range, as a {@code long}, which cannot overflow.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static long sum(int[] a, int fromIndex, int toIndex) {
+        Objects.requireNonNull(a, "Invalid null array!");
+        Ranges.check(a.length, fromIndex, toIndex);
+        return VECTORIZED
+                ? VectorKernels.sum(a, fromIndex, toIndex)
+                : ScalarKernels.sum(a, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns the amount of the sixteen elements of an array from the given
+     * index that are less than a key, which is the rank of the key within a
+     * node of {@link SearchIndex}. The arguments are not checked.
+     *
+     * @param a The array to scan.
+     * @param from The index of the first of the sixteen elements.
+     * @param key The value to compare against.
+     * @return The amount of elements less than the key.
+     */
+    static int countLess16(int[] a, int from, int key) {
+        return VECTORIZED
+                ? VectorKernels.countLess16(a, from, key)
+                : ScalarKernels.countLess(a, from, from + 16, key);
+    }
+
+    /**
+     * Returns the index of the first occurrence of a key in the given range
+     * of an array.
+     *
+     * @param a The array to scan.
+     * @param fromIndex The first index, inclusive.
+     * @param toIndex The last index, exclusive.
+     * @param key The value to look for.
+     * @return The index of the key, or {@code -1} if it is absent.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int indexOf(int[] a, int fromIndex, int toIndex, int key) {
+        Objects.requireNonNull(a, "Invalid null array!");
+        Ranges.check(a.length, fromIndex, toIndex);
+        return VECTORIZED
+                ? VectorKernels.indexOf(a, fromIndex, toIndex, key)
+                : ScalarKernels.indexOf(a, fromIndex, toIndex, key);
+    }
+
+    /**
+     * Returns the index of the first occurrence of a character in the given
+     * range of an array.
+     *
+     * @param a The array to scan.
+     * @param fromIndex The first index, inclusive.
+     * @param toIndex The last index, exclusive.
+     * @param key The character to look for.
+     * @return The index of the key, or {@code -1} if it is absent.
+     * @throws IllegalArgumentException if {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static int indexOf(char[] a, int fromIndex, int toIndex, char key) {
+        Objects.requireNonNull(a, "Invalid null array!");
+        Ranges.check(a.length, fromIndex, toIndex);
+        return VECTORIZED
+                ? VectorKernels.indexOf(a, fromIndex, toIndex, key)
+                : ScalarKernels.indexOf(a, fromIndex, toIndex, key);
+    }
+
+    /**
+     * Multiplies the red, green and blue channels of the given range of packed
+     * ARGB pixels by the given factor, in place. Each channel is rounded down
+     * and saturates at {@code 255}; the alpha channel is kept.
+     *
+     * @param argb The pixels to scale.
+     * @param fromIndex The first index, inclusive.
+     * @param toIndex The last index, exclusive.
+     * @param factor The factor, between {@code 0} and {@code 255}, which is
+     *        applied to a precision of {@code 1 / 256}.
+     * @throws IllegalArgumentException if the factor is out of range or
+     *         {@code fromIndex > toIndex}.
+     * @throws ArrayIndexOutOfBoundsException if the range exceeds the array.
+     */
+    public static void scaleChannels(int[] argb, int fromIndex, int toIndex,
+            float factor)
+    {
+        Objects.requireNonNull(argb, "Invalid null array!");
+        Ranges.check(argb.length, fromIndex, toIndex);
+        int fixed = fixedPointFactor(factor);
+        if (VECTORIZED) {
+            VectorKernels.scaleChannels(argb, fromIndex, toIndex, fixed);
+        }
+        else {
+            ScalarKernels.scaleChannels(argb, fromIndex, toIndex, fixed);
+        }
+    }
+
+    /**
+     * Converts a channel factor to units of {@code 1 / 256}.
+     *
+     * @param factor The factor, between {@code 0} and {@code 255}.
+     * @return The factor in fixed point.
+     * @throws IllegalArgumentException if the factor is out of range.
+     */
+    private static int fixedPointFactor(float factor) {
+        if (!(factor >= 0.0f && factor <= 255.0f)) {
+            throw new IllegalArgumentException("Invalid factor : " + factor);
+        }
+        return Math.round(factor * 256.0f);
+    }
+
+}
@@ -0,0 +1,239 @@
+package functions;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@code VectorKernels} class contains the loops behind
+ * {@link ArrayKernels} written with the incubating Vector API, which the JIT
+ * compiles to the widest vector instructions of the processor.
+ *
+ * <p> Each loop processes whole vectors up to the last multiple of the vector
+ * length in the range, and finishes the remaining elements with the scalar
+ * loops of {@link ScalarKernels}. These methods do not check their
+ * arguments; {@code ArrayKernels} does, and loads this class only if the
+ * {@code jdk.incubator.vector} module is present.
+ *
+ * @author Oliver Abdulrahim
+ * @see ScalarKernels
+ */
+final class VectorKernels {
+
+    /**
+     * The species of the widest vectors of {@code int} values.
+     */
+    private static final VectorSpecies<Integer> INTS =
+            IntVector.SPECIES_PREFERRED;
+
+    /**
+     * The species of vectors of {@code long} values of the same width as
+     * {@link #INTS}, which hold half as many lanes.
+     */
+    private static final VectorSpecies<Long> LONGS =
+            LongVector.SPECIES_PREFERRED;
+
+    /**
+     * The species of the widest vectors of {@code short} values, which are
+     * used for {@code char} values.
+     */
+    private static final VectorSpecies<Short> SHORTS =
+            ShortVector.SPECIES_PREFERRED;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private VectorKernels() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Returns the amount of {@code int} values in each vector.
+     *
+     * @return The amount of lanes of {@link #INTS}.
+     */
+    static int intLanes() {
+        return INTS.length();
+    }
+
+    /**
+     * Returns the least element of the given non-empty range.
+     *
+     * @param a The array to scan.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @return The least element.
+     */
+    static int min(int[] a, int from, int to) {
+        int upper = from + INTS.loopBound(to - from);
+        if (upper == from) {
+            return ScalarKernels.min(a, from, to);
+        }
+        IntVector min = IntVector.fromArray(INTS, a, from);
+        for (int i = from + INTS.length(); i < upper; i += INTS.length()) {
+            min = min.min(IntVector.fromArray(INTS, a, i));
+        }
+        int result = min.reduceLanes(VectorOperators.MIN);
+        return (upper == to)
+                ? result
+                : Math.min(result, ScalarKernels.min(a, upper, to));
+    }
+
+    /**
+     * Returns the greatest element of the given non-empty range.
+     *
+     * @param a The array to scan.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @return The greatest element.
+     */
+    static int max(int[] a, int from, int to) {
+        int upper = from + INTS.loopBound(to - from);
+        if (upper == from) {
+            return ScalarKernels.max(a, from, to);
+        }
+        IntVector max = IntVector.fromArray(INTS, a, from);
+        for (int i = from + INTS.length(); i < upper; i += INTS.length()) {
+            max = max.max(IntVector.fromArray(INTS, a, i));
+        }
+        int result = max.reduceLanes(VectorOperators.MAX);
+        return (upper == to)
+                ? result
+                : Math.max(result, ScalarKernels.max(a, upper, to));
+    }
+
+    /**
+     * Returns the sum of the elements of the given range. Each vector of
+     * {@code int} values is widened into two vectors of {@code long} values
+     * before it is added, so the lanes cannot overflow.
+     *
+     * @param a The array to scan.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @return The sum.
+     */
+    static long sum(int[] a, int from, int to) {
+        int upper = from + INTS.loopBound(to - from);
+        LongVector low = LongVector.zero(LONGS);
+        LongVector high = LongVector.zero(LONGS);
+        for (int i = from; i < upper; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, a, i);
+            low = low.add(v.convertShape(VectorOperators.I2L, LONGS, 0));
+            high = high.add(v.convertShape(VectorOperators.I2L, LONGS, 1));
+        }
+        return low.add(high).reduceLanes(VectorOperators.ADD)
+                + ScalarKernels.sum(a, upper, to);
+    }
+
+    /**
+     * Returns the amount of the sixteen elements from a given index that are
+     * less than a key. The loop has a constant trip count, so that it is
+     * unrolled to one vector comparison per vector of the node.
+     *
+     * @param a The array to scan.
+     * @param from The index of the first of the sixteen elements.
+     * @param key The value to compare against.
+     * @return The amount of elements less than the key.
+     */
+    static int countLess16(int[] a, int from, int key) {
+        if (INTS.length() > 16) {
+            return ScalarKernels.countLess(a, from, from + 16, key);
+        }
+        int count = 0;
+        for (int i = 0; i < 16; i += INTS.length()) {
+            count += IntVector.fromArray(INTS, a, from + i)
+                    .compare(VectorOperators.LT, key)
+                    .trueCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the first occurrence of a key in a given range.
+     *
+     * @param a The array to scan.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @param key The value to look for.
+     * @return The index of the key, or {@code -1} if it is absent.
+     */
+    static int indexOf(int[] a, int from, int to, int key) {
+        int upper = from + INTS.loopBound(to - from);
+        for (int i = from; i < upper; i += INTS.length()) {
+            VectorMask<Integer> hits = IntVector.fromArray(INTS, a, i)
+                    .eq(key);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        return ScalarKernels.indexOf(a, upper, to, key);
+    }
+
+    /**
+     * Returns the index of the first occurrence of a key in a given range.
+     *
+     * @param a The array to scan.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @param key The character to look for.
+     * @return The index of the key, or {@code -1} if it is absent.
+     */
+    static int indexOf(char[] a, int from, int to, char key) {
+        int upper = from + SHORTS.loopBound(to - from);
+        for (int i = from; i < upper; i += SHORTS.length()) {
+            VectorMask<Short> hits = ShortVector.fromCharArray(SHORTS, a, i)
+                    .eq((short) key);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        return ScalarKernels.indexOf(a, upper, to, key);
+    }
+
+    /**
+     * Multiplies the red, green and blue channels of the given packed ARGB
+     * pixels by a fixed-point factor, saturating at {@code 255}, and keeps
+     * their alpha.
+     *
+     * @param argb The pixels to scale in place.
+     * @param from The first index, inclusive.
+     * @param to The last index, exclusive.
+     * @param factor The factor, in units of {@code 1 / 256}.
+     */
+    static void scaleChannels(int[] argb, int from, int to, int factor) {
+        int upper = from + INTS.loopBound(to - from);
+        for (int i = from; i < upper; i += INTS.length()) {
+            IntVector p = IntVector.fromArray(INTS, argb, i);
+            IntVector r = channel(p, 16, factor);
+            IntVector g = channel(p, 8, factor);
+            IntVector b = channel(p, 0, factor);
+            p.and(0xFF000000)
+                    .or(r.lanewise(VectorOperators.LSHL, 16))
+                    .or(g.lanewise(VectorOperators.LSHL, 8))
+                    .or(b)
+                    .intoArray(argb, i);
+        }
+        ScalarKernels.scaleChannels(argb, upper, to, factor);
+    }
+
+    /**
+     * Extracts and scales one channel of a vector of packed ARGB pixels.
+     *
+     * @param p The pixels.
+     * @param shift The position of the lowest bit of the channel.
+     * @param factor The factor, in units of {@code 1 / 256}.
+     * @return The scaled channel of each pixel, between {@code 0} and
+     *         {@code 255}.
+     */
+    private static IntVector channel(IntVector p, int shift, int factor) {
+        return p.lanewise(VectorOperators.LSHR, shift)
+                .and(0xFF)
+                .mul(factor)
+                .lanewise(VectorOperators.LSHR, 8)
+                .min(255);
+    }
+
+}
@@ -0,0 +1,175 @@
+package benchmarks;
+
+import collections.BoundedCache;
+import functions.DataGenerator;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code CacheHitRatioBenchmark} class contains a trace-driven simulation
+ * that compares the hit ratio of {@link BoundedCache} against a plain
+ * least-recently-used cache built from an access-ordered
+ * {@code LinkedHashMap}.
+ *
+ * <p> Each trace is a fixed, seeded sequence of integer keys that is replayed
+ * against both caches at several capacities. The traces model a skewed
+ * (Zipfian) workload, the same workload interrupted by large one-off scans,
+ * and a loop that is slightly larger than the cache.
+ *
+ * <p> The benchmarks are test sources, so they are not packaged. Run with
+ * {@code java -cp target/classes:target/test-classes
+ * benchmarks.CacheHitRatioBenchmark} after {@code mvn test-compile}.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class CacheHitRatioBenchmark {
+
+    /**
+     * The amount of requests in each trace.
+     */
+    private static final int REQUESTS = 2_000_000;
+
+    /**
+     * The amount of distinct keys in the skewed traces.
+     */
+    private static final int KEY_SPACE = 1_000_000;
+
+    /**
+     * The cache capacities to simulate.
+     */
+    private static final int[] CAPACITIES = { 1_000, 10_000, 50_000 };
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private CacheHitRatioBenchmark() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Runs every trace against both caches and prints their hit ratios.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        int[] zipf = new int[REQUESTS];
+        DataGenerator.zipfian(KEY_SPACE, 0.99d).parallelFill(zipf, 42L);
+        int[] scan = scanTrace(zipf, 100_000, 40_000);
+        System.out.printf("%-14s %10s %10s %10s%n", "trace", "capacity",
+                "LRU", "W-TinyLFU");
+        for (int capacity : CAPACITIES) {
+            report("zipf(0.99)", zipf, capacity);
+            report("zipf+scans", scan, capacity);
+            report("loop", loopTrace(REQUESTS, capacity + capacity / 2),
+                    capacity);
+        }
+    }
+
+    /**
+     * Replays the given trace against both caches with the given capacity and
+     * prints their hit ratios.
+     *
+     * @param name The name of the trace.
+     * @param trace The keys to request, in order.
+     * @param capacity The maximum amount of entries of each cache.
+     */
+    private static void report(String name, int[] trace, int capacity) {
+        System.out.printf("%-14s %10d %9.2f%% %9.2f%%%n", name, capacity,
+                100 * lruHitRatio(trace, capacity),
+                100 * tinyLfuHitRatio(trace, capacity));
+    }
+
+    /**
+     * Replays the given trace against an LRU cache.
+     *
+     * @param trace The keys to request, in order.
+     * @param capacity The maximum amount of entries of the cache.
+     * @return The fraction of requests that hit.
+     */
+    private static double lruHitRatio(int[] trace, int capacity) {
+        Map<Integer, Integer> lru = new LinkedHashMap<Integer, Integer>(
+                capacity * 2, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Integer, Integer> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+        long hits = 0;
+        for (int key : trace) {
+            if (lru.get(key) != null) {
+                hits++;
+            }
+            else {
+                lru.put(key, key);
+            }
+        }
+        return (double) hits / trace.length;
+    }
+
+    /**
+     * Replays the given trace against a {@code BoundedCache}.
+     *
+     * @param trace The keys to request, in order.
+     * @param capacity The maximum amount of entries of the cache.
+     * @return The fraction of requests that hit.
+     */
+    private static double tinyLfuHitRatio(int[] trace, int capacity) {
+        BoundedCache<Integer, Integer> cache = BoundedCache
+                .<Integer, Integer>builder()
+                .maximumSize(capacity)
+                .build();
+        for (int key : trace) {
+            if (cache.getIfPresent(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        return cache.stats().hitRate();
+    }
+
+    /**
+     * Returns a copy of the given trace in which a scan of never before seen
+     * keys is inserted at every period.
+     *
+     * @param base The trace to interrupt with scans.
+     * @param period The amount of base requests between scans.
+     * @param scanLength The amount of keys in each scan.
+     * @return The generated trace.
+     */
+    private static int[] scanTrace(int[] base, int period, int scanLength) {
+        int scans = base.length / period;
+        int[] trace = new int[base.length + scans * scanLength];
+        int next = 0;
+        int scanKey = Integer.MIN_VALUE; // Disjoint from the base keys
+        for (int i = 0; i < base.length; i++) {
+            if (i > 0 && i % period == 0) {
+                for (int j = 0; j < scanLength; j++) {
+                    trace[next++] = scanKey++;
+                }
+            }
+            trace[next++] = base[i];
+        }
+        return Arrays.copyOf(trace, next);
+    }
+
+    /**
+     * Generates a trace that requests the same sequence of keys in a loop.
+     *
+     * @param length The amount of requests.
+     * @param keys The amount of distinct keys in the loop.
+     * @return The generated trace.
+     */
+    private static int[] loopTrace(int length, int keys) {
+        int[] trace = new int[length];
+        for (int i = 0; i < length; i++) {
+            trace[i] = i % keys;
+        }
+        return trace;
+    }
+
+}
@@ -0,0 +1,261 @@
+package benchmarks;
+
+import functions.HexCodec;
+import functions.StreamCodec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * The {@code CodecThroughputBenchmark} class contains a benchmark that
+ * measures the throughput of the stages of {@link StreamCodec}, against the
+ * wrapping streams of {@link Base64.Encoder#wrap(OutputStream)} and
+ * {@link Base64.Decoder#wrap(InputStream)}.
+ *
+ * <p> Each measurement transfers a payload of the given size from a channel
+ * that repeats a random block in memory to a channel that discards what it
+ * is given, so that it measures the codecs and their buffering rather than a
+ * disk. Every round of a measurement reuses the same stage, and the best of
+ * the rounds after a warm-up round is reported in megabytes of payload per
+ * second.
+ *
+ * <p> The benchmarks are test sources, so they are not packaged. Run with
+ * {@code java -cp target/classes:target/test-classes
+ * benchmarks.CodecThroughputBenchmark [megabytes]} after
+ * {@code mvn test-compile}.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class CodecThroughputBenchmark {
+
+    /**
+     * The size of the random block, which is a multiple of the blocks of
+     * every codec, so that the text of the payload is its text repeated.
+     */
+    private static final int BLOCK = 3 << 16;
+
+    /**
+     * The amount of measured rounds.
+     */
+    private static final int ROUNDS = 3;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private CodecThroughputBenchmark() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * A transfer to measure.
+     */
+    @FunctionalInterface
+    private interface Transfer {
+
+        /**
+         * Runs the transfer.
+         *
+         * @return The amount of bytes written.
+         * @throws IOException if an I/O error occurs.
+         */
+        long run() throws IOException;
+
+    }
+
+    /**
+     * Measures every codec and prints the results.
+     *
+     * @param args The size of the payload in megabytes, {@code 256} by
+     *        default.
+     * @throws IOException if a codec rejects its own text.
+     */
+    public static void main(String[] args) throws IOException {
+        long megabytes = (args.length > 0) ? Long.parseLong(args[0]) : 256;
+        long size = (megabytes << 20) / BLOCK * BLOCK;
+        byte[] payload = new byte[BLOCK];
+        new Random(42L).nextBytes(payload);
+        byte[] hex = HexCodec.upperCase().encode(payload)
+                .getBytes(StandardCharsets.US_ASCII);
+        byte[] base64 = Base64.getEncoder().encode(payload);
+        long hexSize = size / BLOCK * hex.length;
+        long base64Size = size / BLOCK * base64.length;
+
+        StreamCodec.Stage hexEncoder = StreamCodec.hex().newEncoder();
+        StreamCodec.Stage hexDecoder = StreamCodec.hex().newDecoder();
+        StreamCodec.Stage encoder = StreamCodec.base64().newEncoder();
+        StreamCodec.Stage decoder = StreamCodec.base64().newDecoder();
+        System.out.printf("%-28s %10s%n", "transfer", "MB/s");
+        report("hex encode", size, () -> hexEncoder.transfer(
+                new RepeatingChannel(payload, size), new NullChannel()));
+        report("hex encode (streams)", size, () -> hexEncoder.transfer(
+                Channels.newInputStream(new RepeatingChannel(payload, size)),
+                Channels.newOutputStream(new NullChannel())));
+        report("hex decode", size, () -> hexDecoder.transfer(
+                new RepeatingChannel(hex, hexSize), new NullChannel()));
+        report("base64 encode", size, () -> encoder.transfer(
+                new RepeatingChannel(payload, size), new NullChannel()));
+        report("base64 decode", size, () -> decoder.transfer(
+                new RepeatingChannel(base64, base64Size), new NullChannel()));
+        report("Base64.Encoder.wrap", size,
+                () -> wrappedEncode(payload, size));
+        report("Base64.Decoder.wrap", size,
+                () -> wrappedDecode(base64, base64Size));
+    }
+
+    /**
+     * Runs a transfer for a warm-up round and the measured rounds, and prints
+     * the throughput of the best round.
+     *
+     * @param name The name of the transfer.
+     * @param size The amount of bytes of payload of the transfer.
+     * @param transfer The transfer to measure.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void report(String name, long size, Transfer transfer)
+            throws IOException
+    {
+        long checksum = transfer.run();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            checksum += transfer.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-28s %10.0f   (%d)%n", name, size * 1e3 / best,
+                checksum);
+    }
+
+    /**
+     * Encodes a payload through the wrapping stream of the Base64 encoder.
+     *
+     * @param block The block to repeat.
+     * @param size The amount of bytes of payload.
+     * @return The amount of bytes of payload written.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static long wrappedEncode(byte[] block, long size)
+            throws IOException
+    {
+        try (OutputStream out = Base64.getEncoder().wrap(
+                Channels.newOutputStream(new NullChannel())))
+        {
+            for (long i = 0; i < size; i += block.length) {
+                out.write(block);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Decodes a text through the wrapping stream of the Base64 decoder.
+     *
+     * @param block The block of text to repeat.
+     * @param size The amount of bytes of text.
+     * @return The amount of bytes of payload read.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static long wrappedDecode(byte[] block, long size)
+            throws IOException
+    {
+        byte[] buffer = new byte[1 << 16];
+        long read = 0;
+        try (InputStream in = Base64.getDecoder().wrap(
+                Channels.newInputStream(new RepeatingChannel(block, size))))
+        {
+            for (int n; (n = in.read(buffer)) >= 0; ) {
+                read += n;
+            }
+        }
+        return read;
+    }
+
+    /**
+     * The {@code RepeatingChannel} class contains a channel that reads a
+     * block repeatedly, up to a given amount of bytes.
+     */
+    private static final class RepeatingChannel
+            implements ReadableByteChannel
+    {
+
+        /**
+         * The block to repeat.
+         */
+        private final byte[] block;
+
+        /**
+         * The amount of bytes left to read.
+         */
+        private long remaining;
+
+        /**
+         * The position of the next byte to read in the block.
+         */
+        private int position;
+
+        /**
+         * Constructs a {@code RepeatingChannel} of the given block.
+         *
+         * @param block The block to repeat.
+         * @param size The amount of bytes to read in total.
+         */
+        RepeatingChannel(byte[] block, long size) {
+            this.block = block;
+            this.remaining = size;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int n = (int) Math.min(Math.min(dst.remaining(),
+                    block.length - position), remaining);
+            dst.put(block, position, n);
+            position = (position + n) % block.length;
+            remaining -= n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+    /**
+     * The {@code NullChannel} class contains a channel that discards every
+     * byte written to it.
+     */
+    private static final class NullChannel implements WritableByteChannel {
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
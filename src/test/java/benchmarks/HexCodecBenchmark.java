@@ -0,0 +1,118 @@
+package benchmarks;
+
+import functions.HexCodec;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * The {@code HexCodecBenchmark} class contains a benchmark of
+ * {@link HexCodec}, whose results are tested by
+ * {@code functions.HexCodecTest}.
+ *
+ * <p> The benchmark encodes and decodes a random payload of one megabyte, and
+ * reports the best of the measured rounds in megabytes of payload per second.
+ * The measured rounds follow {@value #WARM_UP_ROUNDS} rounds of warm-up, since
+ * a loop run only a few times over a payload this small is not yet compiled
+ * by the JIT compiler.
+ *
+ * <p> The benchmarks are test sources, so they are not packaged. Run with
+ * {@code java -cp target/classes:target/test-classes
+ * benchmarks.HexCodecBenchmark} after {@code mvn test-compile}.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class HexCodecBenchmark {
+
+    /**
+     * The size of the payload of the benchmark.
+     */
+    private static final int PAYLOAD = 1 << 20;
+
+    /**
+     * The amount of rounds run before measuring.
+     */
+    private static final int WARM_UP_ROUNDS = 30;
+
+    /**
+     * The amount of measured rounds.
+     */
+    private static final int ROUNDS = 10;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private HexCodecBenchmark() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * An operation to measure.
+     */
+    @FunctionalInterface
+    private interface Operation {
+
+        /**
+         * Runs the operation once over the whole payload.
+         *
+         * @return A value that depends on the result of the operation.
+         */
+        long run();
+
+    }
+
+    /**
+     * Measures the codec and prints the results.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        Random random = new Random(42L);
+        HexCodec codec = HexCodec.upperCase();
+        byte[] payload = new byte[PAYLOAD];
+        random.nextBytes(payload);
+        char[] chars = new char[2 * PAYLOAD];
+        byte[] ascii = new byte[2 * PAYLOAD];
+        byte[] decoded = new byte[PAYLOAD];
+        ByteBuffer src = ByteBuffer.allocateDirect(PAYLOAD);
+        ByteBuffer dst = ByteBuffer.allocateDirect(2 * PAYLOAD);
+        src.put(payload);
+        codec.encode(payload, 0, PAYLOAD, ascii, 0);
+        System.out.printf("%-28s %10s%n", "operation", "MB/s");
+        report("encode to char[]",
+                () -> codec.encode(payload, 0, PAYLOAD, chars, 0));
+        report("encode to ASCII byte[]",
+                () -> codec.encode(payload, 0, PAYLOAD, ascii, 0));
+        report("encode direct buffers", () -> {
+            src.clear();
+            dst.clear();
+            return codec.encode(src, dst);
+        });
+        report("decode from ASCII byte[]",
+                () -> codec.decode(ascii, 0, 2 * PAYLOAD, decoded, 0));
+        report("decode from char[]",
+                () -> codec.decode(chars, 0, 2 * PAYLOAD, decoded, 0));
+    }
+
+    /**
+     * Runs an operation for the warm-up rounds and the measured rounds, and
+     * prints the throughput of the best round.
+     *
+     * @param name The name of the operation.
+     * @param operation The operation to measure.
+     */
+    private static void report(String name, Operation operation) {
+        long checksum = 0;
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            checksum += operation.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            checksum += operation.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-28s %10.0f   (%d)%n", name, PAYLOAD * 1e3 / best,
+                checksum);
+    }
+
+}
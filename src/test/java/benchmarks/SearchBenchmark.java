@@ -0,0 +1,90 @@
+package benchmarks;
+
+import functions.DataGenerator;
+import functions.SearchIndex;
+import functions.Utilities;
+
+/**
+ * The {@code SearchBenchmark} class contains a micro-benchmark that compares
+ * the lookup throughput of {@link Utilities#binarySearch(int[], int, int,
+ * int)} against {@link SearchIndex} over sorted arrays of increasing size.
+ *
+ * <p> Each measurement runs the same sequence of random keys against both
+ * structures, after a warm-up round, and reports the mean time per lookup.
+ * The checksum of the results is printed so that the lookups cannot be
+ * eliminated as dead code.
+ *
+ * <p> The benchmarks are test sources, so they are not packaged. To measure
+ * the vector loops of Java 17 and later, which are only loaded from the
+ * multi-release JAR, run with {@code java --add-modules jdk.incubator.vector
+ * -cp target/Utilities-1.0.jar:target/test-classes benchmarks.SearchBenchmark}
+ * after {@code mvn package}.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class SearchBenchmark {
+
+    /**
+     * The amount of lookups in each measurement.
+     */
+    private static final int LOOKUPS = 5_000_000;
+
+    /**
+     * The array sizes to measure.
+     */
+    private static final int[] SIZES = {
+        1_000, 100_000, 1_000_000, 10_000_000, 50_000_000
+    };
+
+    /**
+     * The generator of the elements and of the keys to look up, which draws
+     * from the whole range of {@code int}.
+     */
+    private static final DataGenerator KEYS = DataGenerator.uniform(
+            Integer.MIN_VALUE, Integer.MAX_VALUE + 1L);
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private SearchBenchmark() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Measures both searches at every size and prints the results.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        System.out.printf("%12s %16s %16s %8s%n", "size", "binarySearch",
+                "SearchIndex", "speedup");
+        for (int size : SIZES) {
+            int[] sorted = new int[size];
+            KEYS.sorted().parallelFill(sorted, size);
+            SearchIndex index = SearchIndex.of(sorted);
+            int[] keys = new int[LOOKUPS];
+            KEYS.parallelFill(keys, -size);
+            long checksum = 0;
+            double binary = 0.0d;
+            double indexed = 0.0d;
+            for (int round = 0; round < 3; round++) { // The first is warm-up
+                long start = System.nanoTime();
+                for (int key : keys) {
+                    checksum += Utilities.binarySearch(sorted, 0, size, key);
+                }
+                long middle = System.nanoTime();
+                for (int key : keys) {
+                    checksum += index.indexOf(key);
+                }
+                long end = System.nanoTime();
+                if (round > 0) {
+                    binary += (double) (middle - start) / LOOKUPS;
+                    indexed += (double) (end - middle) / LOOKUPS;
+                }
+            }
+            System.out.printf("%12d %13.1f ns %13.1f ns %7.2fx  (%d)%n", size,
+                    binary / 2, indexed / 2, binary / indexed, checksum);
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package functions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import functions.AdaptiveSort.Strategy;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code AdaptiveSortTest} class contains tests of {@link AdaptiveSort}
+ * against {@link Arrays#sort(int[])}, with an input shaped for each of its
+ * strategies.
+ *
+ * <p> The parallel merge sort is only chosen if the common pool has more than
+ * one thread, as the build configures it to.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class AdaptiveSortTest {
+
+    /**
+     * Checks that short arrays are sorted by insertion sort.
+     */
+    @Test
+    void sortsShortArraysByInsertion() {
+        Random random = new Random(1L);
+        for (int n = 2; n <= 32; n++) {
+            check(random.ints(n).toArray(), Strategy.INSERTION);
+        }
+    }
+
+    /**
+     * Checks that ascending arrays are left as they are and that strictly
+     * descending arrays are reversed.
+     */
+    @Test
+    void recognizesPresortedArrays() {
+        int[] ascending = new int[10_000];
+        int[] descending = new int[10_000];
+        for (int i = 0; i < ascending.length; i++) {
+            ascending[i] = i / 3;
+            descending[i] = -3 * i;
+        }
+        check(ascending, Strategy.PRESORTED);
+        check(descending, Strategy.PRESORTED);
+        check(new int[0], Strategy.PRESORTED);
+        check(new int[] { 7 }, Strategy.PRESORTED);
+    }
+
+    /**
+     * Checks that an array of a few long runs, ascending and descending, is
+     * sorted by merging them.
+     */
+    @Test
+    void mergesLongRuns() {
+        Random random = new Random(2L);
+        int[] a = new int[8_000];
+        for (int run = 0; run < 8; run++) {
+            int[] values = random.ints(1_000).toArray();
+            Arrays.sort(values);
+            for (int i = 0; i < values.length; i++) {
+                a[run * 1_000 + i] = (run & 1) == 0 ? values[i]
+                        : values[values.length - 1 - i];
+            }
+        }
+        check(a, Strategy.MERGE);
+    }
+
+    /**
+     * Checks that arrays of a dense range of values, and of a few sparse
+     * values, are sorted by counting, and that a sparse array with a value
+     * that the sample missed is still sorted.
+     */
+    @Test
+    void countsFewValues() {
+        Random random = new Random(3L);
+        int[] dense = random.ints(10_000, -5_000, 5_000).toArray();
+        check(dense, Strategy.COUNTING);
+
+        int[] values = { Integer.MIN_VALUE, -1_000_000, 0, 42, 1 << 30,
+            Integer.MAX_VALUE };
+        int[] sparse = new int[10_000];
+        for (int i = 0; i < sparse.length; i++) {
+            sparse[i] = values[random.nextInt(values.length)];
+        }
+        check(sparse, Strategy.COUNTING);
+
+        sparse[random.nextInt(sparse.length)] = 123_456_789;
+        check(sparse, null);
+    }
+
+    /**
+     * Checks arrays of random values of every size class.
+     */
+    @Test
+    void sortsRandomArrays() {
+        Random random = new Random(4L);
+        check(random.ints(500).toArray(), Strategy.MERGE);
+        check(random.ints(10_000).toArray(), Strategy.RADIX);
+        check(random.ints(300_000).toArray(), Strategy.PARALLEL_MERGE);
+    }
+
+    /**
+     * Sorts the given array and compares the result to that of
+     * {@link Arrays#sort(int[])}.
+     *
+     * @param a The array to sort.
+     * @param strategy The expected strategy, or {@code null} if any strategy
+     *        is acceptable.
+     */
+    private static void check(int[] a, Strategy strategy) {
+        int[] expected = a.clone();
+        Arrays.sort(expected);
+        int[] actual = a.clone();
+        AdaptiveSort.Report report = AdaptiveSort.sort(actual);
+        assertArrayEquals(expected, actual, report.toString());
+        assertEquals(a.length, report.size());
+        if (strategy != null) {
+            assertEquals(strategy, report.strategy(), report.toString());
+        }
+    }
+
+}
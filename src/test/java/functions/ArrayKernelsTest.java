@@ -0,0 +1,171 @@
+package functions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code ArrayKernelsTest} class contains tests of {@link ArrayKernels}
+ * against the scalar loops of {@link ScalarKernels}.
+ *
+ * <p> On Java 17 and later, the build runs the tests with the classes of the
+ * multi-release overlay and the {@code jdk.incubator.vector} module, so that
+ * {@code ArrayKernels} runs the vector loops and these tests check that they
+ * return the same results as the scalar loops. Every range of every offset
+ * and length up to a few vectors is checked, so that the loops are checked
+ * with and without a partial vector at either end.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class ArrayKernelsTest {
+
+    /**
+     * The length of the arrays scanned, which spans several vectors of the
+     * widest vector shape.
+     */
+    private static final int LENGTH = 80;
+
+    /**
+     * Checks the reductions of every non-empty range.
+     */
+    @Test
+    void reductionsMatchScalar() {
+        Random random = new Random(1L);
+        for (int kind = 0; kind < 3; kind++) {
+            int[] a = new int[LENGTH];
+            for (int i = 0; i < LENGTH; i++) {
+                a[i] = kind == 0 ? random.nextInt()
+                        : kind == 1 ? random.nextInt(10)
+                        : (random.nextBoolean() ? Integer.MAX_VALUE
+                                : Integer.MIN_VALUE);
+            }
+            for (int from = 0; from < LENGTH; from++) {
+                for (int to = from + 1; to <= LENGTH; to++) {
+                    String range = "[" + from + ", " + to + ")";
+                    assertEquals(ScalarKernels.min(a, from, to),
+                            ArrayKernels.min(a, from, to), "min of " + range);
+                    assertEquals(ScalarKernels.max(a, from, to),
+                            ArrayKernels.max(a, from, to), "max of " + range);
+                    assertEquals(ScalarKernels.sum(a, from, to),
+                            ArrayKernels.sum(a, from, to), "sum of " + range);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the searches of every range for keys that occur once, several
+     * times and not at all.
+     */
+    @Test
+    void searchesMatchScalar() {
+        Random random = new Random(2L);
+        int[] a = new int[LENGTH];
+        char[] c = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            a[i] = random.nextInt(40) - 20;
+            c[i] = (char) (0xFFD0 + random.nextInt(48));
+        }
+        for (int from = 0; from <= LENGTH; from++) {
+            for (int to = from; to <= LENGTH; to++) {
+                for (int key = -21; key <= 20; key++) {
+                    assertEquals(ScalarKernels.indexOf(a, from, to, key),
+                            ArrayKernels.indexOf(a, from, to, key),
+                            "indexOf " + key + " in [" + from + ", " + to
+                            + ")");
+                }
+                for (int k = 0xFFCF; k <= Character.MAX_VALUE; k++) {
+                    char key = (char) k;
+                    assertEquals(ScalarKernels.indexOf(c, from, to, key),
+                            ArrayKernels.indexOf(c, from, to, key),
+                            "indexOf " + k + " in [" + from + ", " + to
+                            + ")");
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the counts of the elements of a node less than keys around and
+     * between its elements.
+     */
+    @Test
+    void countLess16MatchesScalar() {
+        Random random = new Random(3L);
+        int[] a = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            a[i] = random.nextInt(64) - 32;
+        }
+        a[5] = Integer.MIN_VALUE;
+        a[50] = Integer.MAX_VALUE;
+        int[] extremes = { Integer.MIN_VALUE, Integer.MIN_VALUE + 1,
+            Integer.MAX_VALUE - 1, Integer.MAX_VALUE };
+        for (int from = 0; from + 16 <= LENGTH; from++) {
+            for (int key = -33; key <= 32; key++) {
+                assertEquals(ScalarKernels.countLess(a, from, from + 16, key),
+                        ArrayKernels.countLess16(a, from, key),
+                        "countLess16 " + key + " from " + from);
+            }
+            for (int key : extremes) {
+                assertEquals(ScalarKernels.countLess(a, from, from + 16, key),
+                        ArrayKernels.countLess16(a, from, key),
+                        "countLess16 " + key + " from " + from);
+            }
+        }
+    }
+
+    /**
+     * Checks the scaling of the channels of every range of pixels, by
+     * factors that darken, keep and saturate them.
+     */
+    @Test
+    void scaleChannelsMatchesScalar() {
+        Random random = new Random(4L);
+        int[] pixels = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            pixels[i] = random.nextInt();
+        }
+        pixels[0] = 0xFFFFFFFF;
+        pixels[1] = 0x00000000;
+        float[] factors = { 0.0f, 0.25f, 0.5f, 1.0f, 1.7f, 3.0f, 255.0f,
+            1.0f / 256.0f };
+        for (float factor : factors) {
+            int fixed = Math.round(factor * 256.0f);
+            for (int from = 0; from <= LENGTH; from += 3) {
+                for (int to = from; to <= LENGTH; to++) {
+                    int[] expected = pixels.clone();
+                    ScalarKernels.scaleChannels(expected, from, to, fixed);
+                    int[] actual = pixels.clone();
+                    ArrayKernels.scaleChannels(actual, from, to, factor);
+                    assertArrayEquals(expected, actual, "scaleChannels by "
+                            + factor + " of [" + from + ", " + to + ")");
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that the arguments are validated the same way whichever loops
+     * are in use.
+     */
+    @Test
+    void rejectsInvalidArguments() {
+        int[] a = new int[4];
+        assertThrows(IllegalArgumentException.class,
+                () -> ArrayKernels.min(a, 2, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> ArrayKernels.sum(a, 3, 2));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> ArrayKernels.max(a, 0, 5));
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> ArrayKernels.indexOf(a, -1, 2, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ArrayKernels.scaleChannels(a, 0, 4, -1.0f));
+        assertThrows(IllegalArgumentException.class,
+                () -> ArrayKernels.scaleChannels(a, 0, 4, Float.NaN));
+    }
+
+}
@@ -0,0 +1,161 @@
+package functions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The {@code ExternalSortTest} class contains tests of {@link ExternalSort}
+ * against {@link Arrays#sort(long[])}.
+ *
+ * <p> The memory budgets are a few I/O buffers of a few dozen bytes, so that
+ * even small inputs are split into many runs, and the runs are merged in
+ * several passes of a few runs each.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class ExternalSortTest {
+
+    /**
+     * The directory of the input, output and run files.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Checks sorts of {@code long} keys that take one, two and several
+     * merge passes, in both byte orders.
+     *
+     * @throws IOException if a file cannot be read or written.
+     */
+    @Test
+    void sortsLongsInSeveralPasses() throws IOException {
+        Random random = new Random(1L);
+        for (ByteOrder order : new ByteOrder[] {
+                ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+            for (int count : new int[] { 0, 1, 11, 12, 13, 100, 5_000 }) {
+                long[] keys = random.longs(count).toArray();
+                if (count > 1) {
+                    keys[random.nextInt(count)] = Long.MIN_VALUE;
+                    keys[random.nextInt(count)] = Long.MAX_VALUE;
+                }
+                check(keys, order, 64, 256, true);
+                check(keys, order, 64, 512, false);
+            }
+        }
+    }
+
+    /**
+     * Checks sorts of {@code int} keys with many duplicates.
+     *
+     * @throws IOException if a file cannot be read or written.
+     */
+    @Test
+    void sortsIntsWithDuplicates() throws IOException {
+        Random random = new Random(2L);
+        for (int count : new int[] { 0, 7, 1_000, 20_000 }) {
+            int[] keys = random.ints(count, -50, 50).toArray();
+            Path input = directory.resolve("input");
+            Path output = directory.resolve("output");
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * count);
+            buffer.asIntBuffer().put(keys);
+            Files.write(input, buffer.array());
+            ExternalSort sorter = ExternalSort.builder()
+                    .memoryBudget(96)
+                    .bufferSize(32)
+                    .tempDirectory(directory)
+                    .build();
+            assertEquals(count, sorter.sortInts(input, output));
+
+            int[] expected = keys.clone();
+            Arrays.sort(expected);
+            int[] actual = new int[count];
+            ByteBuffer.wrap(Files.readAllBytes(output)).asIntBuffer()
+                    .get(actual);
+            assertArrayEquals(expected, actual, count + " keys");
+            assertRunsDeleted(input, output);
+        }
+    }
+
+    /**
+     * Checks that an input whose size is not a whole amount of keys is
+     * rejected.
+     *
+     * @throws IOException if a file cannot be written.
+     */
+    @Test
+    void rejectsPartialKeys() throws IOException {
+        Path input = directory.resolve("input");
+        Files.write(input, new byte[Long.BYTES + 3]);
+        ExternalSort sorter = ExternalSort.builder().build();
+        assertThrows(IOException.class,
+                () -> sorter.sortLongs(input, directory.resolve("output")));
+    }
+
+    /**
+     * Sorts the given keys through files and compares the result to that of
+     * {@link Arrays#sort(long[])}.
+     *
+     * @param keys The keys to sort.
+     * @param order The byte order of the files.
+     * @param bufferSize The size of each I/O buffer.
+     * @param memoryBudget The memory budget of the sort.
+     * @param parallel Whether chunks are sorted in parallel.
+     * @throws IOException if a file cannot be read or written.
+     */
+    private void check(long[] keys, ByteOrder order, int bufferSize,
+            long memoryBudget, boolean parallel) throws IOException
+    {
+        Path input = directory.resolve("input");
+        Path output = directory.resolve("output");
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * keys.length)
+                .order(order);
+        buffer.asLongBuffer().put(keys);
+        Files.write(input, buffer.array());
+        ExternalSort sorter = ExternalSort.builder()
+                .memoryBudget(memoryBudget)
+                .bufferSize(bufferSize)
+                .tempDirectory(directory)
+                .byteOrder(order)
+                .parallel(parallel)
+                .build();
+        assertEquals(keys.length, sorter.sortLongs(input, output));
+
+        long[] expected = keys.clone();
+        Arrays.sort(expected);
+        long[] actual = new long[keys.length];
+        ByteBuffer.wrap(Files.readAllBytes(output)).order(order)
+                .asLongBuffer().get(actual);
+        assertArrayEquals(expected, actual, keys.length + " keys, " + order
+                + ", budget " + memoryBudget);
+        assertRunsDeleted(input, output);
+    }
+
+    /**
+     * Checks that the sort left no run files behind.
+     *
+     * @param input The input file.
+     * @param output The output file.
+     * @throws IOException if the directory cannot be listed.
+     */
+    private void assertRunsDeleted(Path input, Path output)
+            throws IOException
+    {
+        try (Stream<Path> files = Files.list(directory)) {
+            assertArrayEquals(new Path[] { input, output },
+                    files.sorted().toArray(Path[] :: new));
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+package functions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code HexCodecTest} class contains tests of {@link HexCodec}.
+ *
+ * <p> Random payloads of every length from {@code 0} to
+ * {@value #MAX_LENGTH} bytes are round-tripped through every form of source
+ * and destination of the codec, in both cases, and the digits are compared
+ * against those of {@link String#format(String, Object...)}. Buffers are
+ * transferred through destinations of an odd, small capacity, so that every
+ * call stops partway through.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class HexCodecTest {
+
+    /**
+     * The length of the longest payload checked.
+     */
+    private static final int MAX_LENGTH = 500;
+
+    /**
+     * The capacity of the destination buffers.
+     */
+    private static final int CHUNK = 7;
+
+    /**
+     * Checks the upper case codec against {@code String.format("%02X")}.
+     */
+    @Test
+    void upperCaseMatchesStringFormat() {
+        Random random = new Random(42L);
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            byte[] payload = new byte[length];
+            random.nextBytes(payload);
+            check(HexCodec.upperCase(), payload, reference(payload, "%02X"));
+        }
+    }
+
+    /**
+     * Checks the lower case codec against {@code String.format("%02x")}.
+     */
+    @Test
+    void lowerCaseMatchesStringFormat() {
+        Random random = new Random(43L);
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            byte[] payload = new byte[length];
+            random.nextBytes(payload);
+            check(HexCodec.lowerCase(), payload, reference(payload, "%02x"));
+        }
+    }
+
+    /**
+     * Checks that malformed text is rejected.
+     */
+    @Test
+    void rejectsMalformedText() {
+        HexCodec codec = HexCodec.upperCase();
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode("ABC"));
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode("0G"));
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode("\u0660\u0661"));
+    }
+
+    /**
+     * Returns the digits of the given bytes, formatted one at a time.
+     *
+     * @param bytes The bytes to format.
+     * @param format The format of one byte.
+     * @return The digits of the bytes.
+     */
+    private static String reference(byte[] bytes, String format) {
+        StringBuilder sb = new StringBuilder(2 * bytes.length);
+        for (byte b : bytes) {
+            sb.append(String.format(format, b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Checks every form of encoding and decoding of the given payload.
+     *
+     * @param codec The codec to check.
+     * @param payload The bytes to encode.
+     * @param digits The expected digits of the payload.
+     */
+    private static void check(HexCodec codec, byte[] payload, String digits) {
+        int n = payload.length;
+        String of = " of " + n + " bytes";
+        byte[] ascii = digits.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(digits, codec.encode(payload), "encode" + of);
+
+        char[] chars = new char[2 * n + 2];
+        codec.encode(payload, 0, n, chars, 1);
+        assertEquals(digits, new String(chars, 1, 2 * n), "encode char[]" + of);
+        byte[] bytes = new byte[2 * n + 2];
+        codec.encode(payload, 0, n, bytes, 1);
+        assertArrayEquals(ascii, Arrays.copyOfRange(bytes, 1, 2 * n + 1),
+                "encode byte[]" + of);
+
+        assertArrayEquals(payload, codec.decode(digits), "decode" + of);
+        assertArrayEquals(payload, codec.decode(swapCase(digits)),
+                "decode of the other case" + of);
+        byte[] out = new byte[n + 1];
+        codec.decode(chars, 1, 2 * n, out, 1);
+        assertArrayEquals(payload, Arrays.copyOfRange(out, 1, n + 1),
+                "decode char[]" + of);
+        codec.decode(bytes, 1, 2 * n, out, 0);
+        assertArrayEquals(payload, Arrays.copyOf(out, n),
+                "decode byte[]" + of);
+        codec.decode(digits, 0, 2 * n, out, 1);
+        assertArrayEquals(payload, Arrays.copyOfRange(out, 1, n + 1),
+                "decode CharSequence" + of);
+
+        ByteBuffer source = ByteBuffer.allocateDirect(Math.max(1, n));
+        source.put(payload).flip();
+        ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK);
+        ByteBuffer text = ByteBuffer.allocate(2 * n);
+        while (source.hasRemaining()) {
+            chunk.clear();
+            codec.encode(source, chunk);
+            chunk.flip();
+            text.put(chunk);
+        }
+        assertArrayEquals(ascii, text.array(), "encode direct buffers" + of);
+        CharBuffer charText = CharBuffer.allocate(2 * n);
+        CharBuffer charChunk = CharBuffer.allocate(CHUNK);
+        source.rewind();
+        while (source.hasRemaining()) {
+            charChunk.clear();
+            codec.encode(source, charChunk);
+            charChunk.flip();
+            charText.put(charChunk);
+        }
+        assertEquals(digits, new String(charText.array()),
+                "encode CharBuffer" + of);
+
+        ByteBuffer digitSource = ByteBuffer.allocateDirect(Math.max(1, 2 * n));
+        digitSource.put(ascii).flip();
+        ByteBuffer result = ByteBuffer.allocate(n);
+        while (digitSource.hasRemaining()) {
+            chunk.clear();
+            codec.decode(digitSource, chunk);
+            chunk.flip();
+            result.put(chunk);
+        }
+        assertArrayEquals(payload, result.array(),
+                "decode direct buffers" + of);
+        CharBuffer charSource = CharBuffer.wrap(digits);
+        result.clear();
+        while (charSource.hasRemaining()) {
+            chunk.clear();
+            codec.decode(charSource, chunk);
+            chunk.flip();
+            result.put(chunk);
+        }
+        assertArrayEquals(payload, result.array(), "decode CharBuffer" + of);
+    }
+
+    /**
+     * Returns the given digits with the case of every letter swapped.
+     *
+     * @param digits The digits to convert.
+     * @return The digits in the other case.
+     */
+    private static String swapCase(String digits) {
+        char[] chars = digits.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            chars[i] = Character.isUpperCase(c)
+                    ? Character.toLowerCase(c)
+                    : Character.toUpperCase(c);
+        }
+        return new String(chars);
+    }
+
+}
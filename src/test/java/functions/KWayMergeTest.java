@@ -0,0 +1,235 @@
+package functions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code KWayMergeTest} class contains tests of {@link KWayMerge}
+ * against the concatenation of the shards sorted by
+ * {@link Arrays#sort(int[])}.
+ *
+ * <p> The parallel merges are given enough elements to be split into ranges
+ * by co-ranking when the common pool has several threads, as the build
+ * configures it to. Their shards hold long runs of equal values, so that
+ * range boundaries fall inside runs that span several shards.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class KWayMergeTest {
+
+    /**
+     * The amounts of shards merged.
+     */
+    private static final int[] SHARD_COUNTS = { 0, 1, 2, 3, 7, 16, 33 };
+
+    /**
+     * The total amount of elements of the parallel merges.
+     */
+    private static final int PARALLEL_TOTAL = 600_000;
+
+    /**
+     * Checks the sequential merges of {@code int} shards, into an array and
+     * into a consumer, with and without duplicates.
+     */
+    @Test
+    void mergesInts() {
+        Random random = new Random(1L);
+        for (int k : SHARD_COUNTS) {
+            for (int bound : new int[] { 4, Integer.MAX_VALUE }) {
+                int[][] shards = intShards(random, k, 200, bound);
+                int[] expected = sortedConcatenation(shards);
+                int[] out = new int[expected.length + 1];
+                assertEquals(expected.length, KWayMerge.merge(shards, out));
+                assertArrayEquals(expected, Arrays.copyOf(out,
+                        expected.length), k + " shards");
+
+                IntStream.Builder sink = IntStream.builder();
+                assertEquals(expected.length, KWayMerge.merge(shards, sink));
+                assertArrayEquals(expected, sink.build().toArray());
+
+                int[] distinct = IntStream.of(expected).distinct().toArray();
+                int n = KWayMerge.merge(shards, out, true);
+                assertArrayEquals(distinct, Arrays.copyOf(out, n),
+                        k + " shards, distinct");
+                sink = IntStream.builder();
+                assertEquals(distinct.length,
+                        KWayMerge.merge(shards, sink, true));
+                assertArrayEquals(distinct, sink.build().toArray());
+            }
+        }
+    }
+
+    /**
+     * Checks the sequential merges of {@code long} shards.
+     */
+    @Test
+    void mergesLongs() {
+        Random random = new Random(2L);
+        for (int k : SHARD_COUNTS) {
+            long[][] shards = longShards(random, k, 200, 8);
+            long[] expected = sortedConcatenation(shards);
+            long[] out = new long[expected.length];
+            assertEquals(expected.length, KWayMerge.merge(shards, out));
+            assertArrayEquals(expected, out, k + " shards");
+
+            LongStream.Builder sink = LongStream.builder();
+            assertEquals(expected.length, KWayMerge.merge(shards, sink));
+            assertArrayEquals(expected, sink.build().toArray());
+
+            long[] distinct = LongStream.of(expected).distinct().toArray();
+            int n = KWayMerge.merge(shards, out, true);
+            assertArrayEquals(distinct, Arrays.copyOf(out, n),
+                    k + " shards, distinct");
+        }
+    }
+
+    /**
+     * Checks that the parallel merges of {@code int} shards, which split the
+     * output by co-ranking, give the same result as the sequential merge.
+     */
+    @Test
+    void parallelMergeOfIntsMatchesSequential() {
+        Random random = new Random(3L);
+        for (int k : new int[] { 1, 2, 5, 16 }) {
+            for (int bound : new int[] { 3, 1_000, Integer.MAX_VALUE }) {
+                int[][] shards = intShards(random, k, PARALLEL_TOTAL / k,
+                        bound);
+                int[] expected = sortedConcatenation(shards);
+                int[] out = new int[expected.length];
+                assertEquals(expected.length,
+                        KWayMerge.parallelMerge(shards, out));
+                assertArrayEquals(expected, out,
+                        k + " shards of values below " + bound);
+
+                int[] distinct = IntStream.of(expected).distinct().toArray();
+                int n = KWayMerge.parallelMerge(shards, out, true);
+                assertArrayEquals(distinct, Arrays.copyOf(out, n),
+                        k + " shards of values below " + bound + ", distinct");
+            }
+        }
+    }
+
+    /**
+     * Checks that the parallel merges of {@code long} shards give the same
+     * result as the sequential merge, including shards of the extreme values
+     * of {@code long}.
+     */
+    @Test
+    void parallelMergeOfLongsMatchesSequential() {
+        Random random = new Random(4L);
+        for (int k : new int[] { 2, 9 }) {
+            long[][] shards = longShards(random, k, PARALLEL_TOTAL / k, 0);
+            long[] expected = sortedConcatenation(shards);
+            long[] out = new long[expected.length];
+            assertEquals(expected.length,
+                    KWayMerge.parallelMerge(shards, out));
+            assertArrayEquals(expected, out, k + " shards");
+        }
+    }
+
+    /**
+     * Checks that an output array too small for every shard is rejected.
+     */
+    @Test
+    void rejectsSmallOutput() {
+        int[][] shards = { { 1, 2 }, { 3 } };
+        assertThrows(IllegalArgumentException.class,
+                () -> KWayMerge.merge(shards, new int[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> KWayMerge.parallelMerge(shards, new int[2]));
+    }
+
+    /**
+     * Returns sorted {@code int} shards of random lengths.
+     *
+     * @param random The source of the elements.
+     * @param k The amount of shards.
+     * @param meanLength The mean length of a shard.
+     * @param bound The exclusive bound of the elements, which are drawn from
+     *        the whole range of {@code int} if it is
+     *        {@code Integer.MAX_VALUE}.
+     * @return The shards.
+     */
+    private static int[][] intShards(Random random, int k, int meanLength,
+            int bound)
+    {
+        int[][] shards = new int[k][];
+        for (int s = 0; s < k; s++) {
+            int[] shard = new int[random.nextInt(2 * meanLength + 1)];
+            for (int i = 0; i < shard.length; i++) {
+                shard[i] = bound == Integer.MAX_VALUE ? random.nextInt()
+                        : random.nextInt(bound);
+            }
+            Arrays.sort(shard);
+            shards[s] = shard;
+        }
+        return shards;
+    }
+
+    /**
+     * Returns sorted {@code long} shards of random lengths.
+     *
+     * @param random The source of the elements.
+     * @param k The amount of shards.
+     * @param meanLength The mean length of a shard.
+     * @param bound The exclusive bound of the elements, or {@code 0} to draw
+     *        from the whole range of {@code long} and its extreme values.
+     * @return The shards.
+     */
+    private static long[][] longShards(Random random, int k, int meanLength,
+            int bound)
+    {
+        long[][] shards = new long[k][];
+        for (int s = 0; s < k; s++) {
+            long[] shard = new long[random.nextInt(2 * meanLength + 1)];
+            for (int i = 0; i < shard.length; i++) {
+                if (bound > 0) {
+                    shard[i] = random.nextInt(bound);
+                }
+                else {
+                    int r = random.nextInt(8);
+                    shard[i] = r == 0 ? Long.MIN_VALUE
+                            : r == 1 ? Long.MAX_VALUE
+                            : random.nextLong();
+                }
+            }
+            Arrays.sort(shard);
+            shards[s] = shard;
+        }
+        return shards;
+    }
+
+    /**
+     * Returns the elements of every shard, sorted.
+     *
+     * @param shards The shards.
+     * @return The sorted concatenation of the shards.
+     */
+    private static int[] sortedConcatenation(int[][] shards) {
+        int[] all = Arrays.stream(shards).flatMapToInt(IntStream :: of)
+                .toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+    /**
+     * Returns the elements of every shard, sorted.
+     *
+     * @param shards The shards.
+     * @return The sorted concatenation of the shards.
+     */
+    private static long[] sortedConcatenation(long[][] shards) {
+        long[] all = Arrays.stream(shards).flatMapToLong(LongStream :: of)
+                .toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+}
@@ -0,0 +1,150 @@
+package functions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code MergeSortTest} class contains tests of the merge sorts of
+ * {@link Utilities}, which are implemented by {@link MergeSort}, against
+ * {@link Arrays#sort(int[])} and its overloads.
+ *
+ * <p> The arrays are long enough for the parallel sort to fork tasks and
+ * split merges, and the ranges sorted start and end away from the ends of
+ * the array, so that the offsets between the array and the scratch array are
+ * exercised.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class MergeSortTest {
+
+    /**
+     * The lengths of the arrays sorted.
+     */
+    private static final int[] LENGTHS = {
+        0, 1, 2, 31, 32, 33, 100, 1_000, 10_000, 100_003
+    };
+
+    /**
+     * Checks the sequential and parallel sorts of {@code int} arrays, with
+     * values in random, ascending, descending and nearly constant order.
+     */
+    @Test
+    void sortsInts() {
+        Random random = new Random(1L);
+        for (int length : LENGTHS) {
+            for (int kind = 0; kind < 4; kind++) {
+                int[] a = new int[length];
+                for (int i = 0; i < length; i++) {
+                    a[i] = kind == 0 ? random.nextInt()
+                            : kind == 1 ? i
+                            : kind == 2 ? length - i
+                            : random.nextInt(3);
+                }
+                int[] expected = a.clone();
+                Arrays.sort(expected);
+                int[] actual = a.clone();
+                Utilities.mergeSort(actual);
+                assertArrayEquals(expected, actual, "mergeSort of " + length);
+                actual = a.clone();
+                Utilities.parallelMergeSort(actual);
+                assertArrayEquals(expected, actual,
+                        "parallelMergeSort of " + length);
+                actual = a.clone();
+                Utilities.parallelMergeSort(actual, new int[length + 5]);
+                assertArrayEquals(expected, actual,
+                        "parallelMergeSort with scratch of " + length);
+            }
+        }
+    }
+
+    /**
+     * Checks the sorts of ranges of every other primitive type.
+     */
+    @Test
+    void sortsRangesOfOtherTypes() {
+        Random random = new Random(2L);
+        for (int length : LENGTHS) {
+            int from = length / 5;
+            int to = length - length / 7;
+            byte[] b = new byte[length];
+            random.nextBytes(b);
+            byte[] expectedB = b.clone();
+            Arrays.sort(expectedB, from, to);
+            Utilities.mergeSort(b, from, to);
+            assertArrayEquals(expectedB, b, "byte[] of " + length);
+
+            short[] s = new short[length];
+            char[] c = new char[length];
+            long[] l = new long[length];
+            float[] f = new float[length];
+            double[] d = new double[length];
+            for (int i = 0; i < length; i++) {
+                s[i] = (short) random.nextInt();
+                c[i] = (char) random.nextInt();
+                l[i] = random.nextLong();
+                f[i] = random.nextInt(8) == 0 ? -0.0f
+                        : random.nextInt(8) == 0 ? Float.NaN
+                        : (float) random.nextGaussian();
+                d[i] = random.nextInt(8) == 0 ? -0.0d
+                        : random.nextInt(8) == 0 ? Double.NaN
+                        : random.nextGaussian();
+            }
+            short[] expectedS = s.clone();
+            Arrays.sort(expectedS, from, to);
+            Utilities.mergeSort(s, from, to);
+            assertArrayEquals(expectedS, s, "short[] of " + length);
+            char[] expectedC = c.clone();
+            Arrays.sort(expectedC, from, to);
+            Utilities.mergeSort(c, from, to);
+            assertArrayEquals(expectedC, c, "char[] of " + length);
+            long[] expectedL = l.clone();
+            Arrays.sort(expectedL, from, to);
+            Utilities.mergeSort(l, from, to);
+            assertArrayEquals(expectedL, l, "long[] of " + length);
+            float[] expectedF = f.clone();
+            Arrays.sort(expectedF, from, to);
+            Utilities.mergeSort(f, from, to);
+            assertArrayEquals(expectedF, f, "float[] of " + length);
+            double[] expectedD = d.clone();
+            Arrays.sort(expectedD, from, to);
+            Utilities.mergeSort(d, from, to);
+            assertArrayEquals(expectedD, d, "double[] of " + length);
+        }
+    }
+
+    /**
+     * Checks that the sort of objects is stable, as that of
+     * {@link Arrays#sort(Object[], Comparator)} is.
+     */
+    @Test
+    void objectSortIsStable() {
+        Random random = new Random(3L);
+        Comparator<int[]> byKey = Comparator.comparingInt(e -> e[0]);
+        for (int length : LENGTHS) {
+            int[][] a = new int[length][];
+            for (int i = 0; i < length; i++) {
+                a[i] = new int[] { random.nextInt(10), i };
+            }
+            int[][] expected = a.clone();
+            Arrays.sort(expected, byKey);
+            int[][] actual = a.clone();
+            Utilities.mergeSort(actual, byKey);
+            assertArrayEquals(expected, actual, "Object[] of " + length);
+        }
+    }
+
+    /**
+     * Checks that a scratch array shorter than the array is rejected.
+     */
+    @Test
+    void rejectsShortScratch() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Utilities.mergeSort(new int[10], new int[9]));
+    }
+
+}
@@ -0,0 +1,264 @@
+package functions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code RadixSortTest} class contains tests of {@link RadixSort}
+ * against {@link Arrays#sort(int[])} and its overloads.
+ *
+ * <p> Each sort is run over every length from {@code 0} to beyond the
+ * insertion sort threshold, and over arrays long enough that the parallel
+ * sorts divide them into chunks when the common pool has several threads,
+ * as the build configures it to. The values are drawn from the whole range
+ * of the type, from a narrow range with many duplicates, and from the
+ * special values of each type.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class RadixSortTest {
+
+    /**
+     * The lengths of the arrays sorted, besides every length up to
+     * {@value #MAX_SHORT_LENGTH}.
+     */
+    private static final int[] LONG_LENGTHS = { 1_000, 300_001 };
+
+    /**
+     * The longest of the short arrays sorted.
+     */
+    private static final int MAX_SHORT_LENGTH = 130;
+
+    /**
+     * The special values of {@code float} and {@code double} mixed into the
+     * floating-point arrays, including a {@code NaN} with a non-standard bit
+     * pattern.
+     */
+    private static final double[] SPECIAL = {
+        Double.NaN, Double.longBitsToDouble(0x7ff8_0000_0000_1234L),
+        Double.longBitsToDouble(0xfff8_0000_0000_0000L), -0.0d, 0.0d,
+        Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.MIN_VALUE,
+        -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE
+    };
+
+    /**
+     * Checks the sorts of {@code int} arrays.
+     */
+    @Test
+    void sortsInts() {
+        Random random = new Random(1L);
+        for (int length : lengths()) {
+            for (int kind = 0; kind < 3; kind++) {
+                int[] a = new int[length];
+                for (int i = 0; i < length; i++) {
+                    a[i] = kind == 0 ? random.nextInt()
+                            : kind == 1 ? random.nextInt(16) - 8
+                            : (i & 1) == 0 ? Integer.MIN_VALUE
+                            : Integer.MAX_VALUE - random.nextInt(2);
+                }
+                int[] expected = a.clone();
+                Arrays.sort(expected);
+                int[] actual = a.clone();
+                RadixSort.sort(actual);
+                assertArrayEquals(expected, actual, "sort of " + length);
+                actual = a.clone();
+                RadixSort.parallelSort(actual);
+                assertArrayEquals(expected, actual,
+                        "parallelSort of " + length);
+            }
+        }
+    }
+
+    /**
+     * Checks the sorts of {@code long} arrays.
+     */
+    @Test
+    void sortsLongs() {
+        Random random = new Random(2L);
+        for (int length : lengths()) {
+            for (int kind = 0; kind < 2; kind++) {
+                long[] a = new long[length];
+                for (int i = 0; i < length; i++) {
+                    a[i] = kind == 0 ? random.nextLong()
+                            : random.nextInt(16) - 8;
+                }
+                long[] expected = a.clone();
+                Arrays.sort(expected);
+                long[] actual = a.clone();
+                RadixSort.sort(actual);
+                assertArrayEquals(expected, actual, "sort of " + length);
+                actual = a.clone();
+                RadixSort.parallelSort(actual);
+                assertArrayEquals(expected, actual,
+                        "parallelSort of " + length);
+            }
+        }
+    }
+
+    /**
+     * Checks that the sorts of {@code float} arrays order {@code -0.0f}
+     * before {@code 0.0f} and {@code NaN} last, as {@link Arrays#sort(float[])}
+     * does.
+     */
+    @Test
+    void sortsFloatsLikeArraysSort() {
+        Random random = new Random(3L);
+        for (int length : lengths()) {
+            float[] a = new float[length];
+            for (int i = 0; i < length; i++) {
+                a[i] = random.nextInt(4) == 0
+                        ? (float) SPECIAL[random.nextInt(SPECIAL.length)]
+                        : Float.intBitsToFloat(random.nextInt());
+            }
+            float[] expected = a.clone();
+            Arrays.sort(expected);
+            float[] actual = a.clone();
+            RadixSort.sort(actual);
+            assertArrayEquals(expected, actual, "sort of " + length);
+            actual = a.clone();
+            RadixSort.parallelSort(actual);
+            assertArrayEquals(expected, actual, "parallelSort of " + length);
+        }
+    }
+
+    /**
+     * Checks that the sorts of {@code double} arrays order {@code -0.0}
+     * before {@code 0.0} and {@code NaN} last, as
+     * {@link Arrays#sort(double[])} does.
+     */
+    @Test
+    void sortsDoublesLikeArraysSort() {
+        Random random = new Random(4L);
+        for (int length : lengths()) {
+            double[] a = new double[length];
+            for (int i = 0; i < length; i++) {
+                a[i] = random.nextInt(4) == 0
+                        ? SPECIAL[random.nextInt(SPECIAL.length)]
+                        : Double.longBitsToDouble(random.nextLong());
+            }
+            double[] expected = a.clone();
+            Arrays.sort(expected);
+            double[] actual = a.clone();
+            RadixSort.sort(actual);
+            assertArrayEquals(expected, actual, "sort of " + length);
+            actual = a.clone();
+            RadixSort.parallelSort(actual);
+            assertArrayEquals(expected, actual, "parallelSort of " + length);
+        }
+    }
+
+    /**
+     * Checks that the payload is permuted with the keys, and that equal keys
+     * keep the original order of their payloads.
+     */
+    @Test
+    void payloadSortIsStable() {
+        Random random = new Random(5L);
+        for (int length : lengths()) {
+            int[] keys = new int[length];
+            long[] longKeys = new long[length];
+            double[] doubleKeys = new double[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = random.nextInt(64) - 32;
+                longKeys[i] = keys[i] * 0x1_0000_0001L;
+                doubleKeys[i] = keys[i] == 0 && random.nextBoolean()
+                        ? -0.0d : keys[i] / 4.0d;
+            }
+            for (boolean parallel : new boolean[] { false, true }) {
+                int[] a = keys.clone();
+                int[] payload = indices(length);
+                if (parallel) {
+                    RadixSort.parallelSort(a, payload);
+                }
+                else {
+                    RadixSort.sort(a, payload);
+                }
+                for (int i = 0; i < length; i++) {
+                    assertEquals(keys[payload[i]], a[i]);
+                    assertTrue(i == 0 || a[i - 1] < a[i]
+                            || payload[i - 1] < payload[i],
+                            "unstable int sort at " + i + " of " + length);
+                }
+
+                long[] b = longKeys.clone();
+                payload = indices(length);
+                if (parallel) {
+                    RadixSort.parallelSort(b, payload);
+                }
+                else {
+                    RadixSort.sort(b, payload);
+                }
+                for (int i = 0; i < length; i++) {
+                    assertEquals(longKeys[payload[i]], b[i]);
+                    assertTrue(i == 0 || b[i - 1] < b[i]
+                            || payload[i - 1] < payload[i],
+                            "unstable long sort at " + i + " of " + length);
+                }
+
+                double[] c = doubleKeys.clone();
+                payload = indices(length);
+                if (parallel) {
+                    RadixSort.parallelSort(c, payload);
+                }
+                else {
+                    RadixSort.sort(c, payload);
+                }
+                for (int i = 0; i < length; i++) {
+                    assertEquals(doubleKeys[payload[i]], c[i]);
+                    assertTrue(i == 0
+                            || Double.compare(c[i - 1], c[i]) < 0
+                            || payload[i - 1] < payload[i],
+                            "unstable double sort at " + i + " of " + length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that a payload of another length is rejected.
+     */
+    @Test
+    void rejectsPayloadOfOtherLength() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RadixSort.sort(new int[3], new int[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> RadixSort.parallelSort(new double[3], new int[4]));
+    }
+
+    /**
+     * Returns the lengths of the arrays to sort.
+     *
+     * @return Every length up to {@value #MAX_SHORT_LENGTH}, then
+     *         {@link #LONG_LENGTHS}.
+     */
+    private static int[] lengths() {
+        int[] lengths = new int[MAX_SHORT_LENGTH + 1 + LONG_LENGTHS.length];
+        for (int i = 0; i <= MAX_SHORT_LENGTH; i++) {
+            lengths[i] = i;
+        }
+        System.arraycopy(LONG_LENGTHS, 0, lengths, MAX_SHORT_LENGTH + 1,
+                LONG_LENGTHS.length);
+        return lengths;
+    }
+
+    /**
+     * Returns the indices of an array of the given length, in order.
+     *
+     * @param length The length of the array.
+     * @return An array of {@code 0} to {@code length - 1}.
+     */
+    private static int[] indices(int length) {
+        int[] indices = new int[length];
+        for (int i = 0; i < length; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+}
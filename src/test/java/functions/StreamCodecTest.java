@@ -0,0 +1,193 @@
+package functions;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The {@code StreamCodecTest} class contains tests of {@link StreamCodec}.
+ *
+ * <p> Payloads are transferred with buffers of every size from the smallest
+ * up, through a channel that returns only a few bytes from each read, so
+ * that chunks end at every offset of a block. The text must be the same as
+ * that of the whole payload encoded at once by {@link Base64} or
+ * {@link HexCodec}, with padding only at its end.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class StreamCodecTest {
+
+    /**
+     * The length of the longest payload transferred.
+     */
+    private static final int MAX_LENGTH = 100;
+
+    /**
+     * The largest buffer size used.
+     */
+    private static final int MAX_BUFFER_SIZE = 16;
+
+    /**
+     * Checks Base64 encoding against {@link Base64#getEncoder()}.
+     *
+     * @throws IOException if a transfer fails.
+     */
+    @Test
+    void base64MatchesWholePayload() throws IOException {
+        checkAgainst(StreamCodec.base64(),
+                p -> Base64.getEncoder().encode(p), 1L);
+    }
+
+    /**
+     * Checks URL-safe Base64 encoding against
+     * {@link Base64#getUrlEncoder()}.
+     *
+     * @throws IOException if a transfer fails.
+     */
+    @Test
+    void base64UrlMatchesWholePayload() throws IOException {
+        checkAgainst(StreamCodec.base64Url(),
+                p -> Base64.getUrlEncoder().encode(p), 2L);
+    }
+
+    /**
+     * Checks hexadecimal encoding against {@link HexCodec#upperCase()}.
+     *
+     * @throws IOException if a transfer fails.
+     */
+    @Test
+    void hexMatchesWholePayload() throws IOException {
+        checkAgainst(StreamCodec.hex(), p -> HexCodec.upperCase().encode(p)
+                .getBytes(StandardCharsets.US_ASCII), 3L);
+    }
+
+    /**
+     * Checks that text that continues after its padding is rejected, even
+     * if the padding ends a chunk.
+     */
+    @Test
+    void rejectsInputAfterPadding() {
+        byte[] text = "QQ==QUJD".getBytes(StandardCharsets.US_ASCII);
+        for (int size = 4; size <= 8; size += 4) {
+            StreamCodec codec = StreamCodec.base64().withBufferSize(size);
+            assertThrows(IOException.class, () -> codec.newDecoder().transfer(
+                    new ByteArrayInputStream(text),
+                    new ByteArrayOutputStream()));
+        }
+    }
+
+    /**
+     * Checks that hexadecimal text of odd length is rejected.
+     */
+    @Test
+    void rejectsOddHexText() {
+        byte[] text = "ABC".getBytes(StandardCharsets.US_ASCII);
+        assertThrows(IOException.class, () -> StreamCodec.hex().newDecoder()
+                .transfer(new ByteArrayInputStream(text),
+                        new ByteArrayOutputStream()));
+    }
+
+    /**
+     * Encodes and decodes random payloads of every length up to
+     * {@value #MAX_LENGTH} bytes with every buffer size up to
+     * {@value #MAX_BUFFER_SIZE}, and compares the text to the expected text.
+     *
+     * @param codec The codec to check.
+     * @param reference Encodes a whole payload at once.
+     * @param seed The seed of the payloads.
+     * @throws IOException if a transfer fails.
+     */
+    private static void checkAgainst(StreamCodec codec, Encoder reference,
+            long seed) throws IOException
+    {
+        Random random = new Random(seed);
+        for (int size = 4; size <= MAX_BUFFER_SIZE; size++) {
+            StreamCodec.Stage encoder = codec.withBufferSize(size).newEncoder();
+            StreamCodec.Stage decoder = codec.withBufferSize(size).newDecoder();
+            for (int length = 0; length <= MAX_LENGTH; length++) {
+                byte[] payload = new byte[length];
+                random.nextBytes(payload);
+                byte[] expected = reference.encode(payload);
+                String of = " of " + length + " bytes, buffer size " + size;
+
+                ByteArrayOutputStream text = new ByteArrayOutputStream();
+                long written = encoder.transfer(trickle(payload, random),
+                        Channels.newChannel(text));
+                assertEquals(expected.length, written, "encoded size" + of);
+                assertArrayEquals(expected, text.toByteArray(), "encode" + of);
+
+                ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+                written = decoder.transfer(trickle(expected, random),
+                        Channels.newChannel(decoded));
+                assertEquals(length, written, "decoded size" + of);
+                assertArrayEquals(payload, decoded.toByteArray(),
+                        "decode" + of);
+            }
+        }
+    }
+
+    /**
+     * Returns a channel over the given bytes whose reads return between one
+     * and seven bytes at a time.
+     *
+     * @param bytes The contents of the channel.
+     * @param random The source of the read sizes.
+     * @return A new channel.
+     */
+    private static ReadableByteChannel trickle(byte[] bytes, Random random) {
+        ByteBuffer contents = ByteBuffer.wrap(bytes);
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                if (!contents.hasRemaining()) {
+                    return -1;
+                }
+                int n = Math.min(1 + random.nextInt(7),
+                        Math.min(contents.remaining(), dst.remaining()));
+                ByteBuffer slice = contents.duplicate();
+                slice.limit(slice.position() + n);
+                dst.put(slice);
+                contents.position(contents.position() + n);
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+
+            }
+        };
+    }
+
+    /**
+     * Encodes a whole payload at once.
+     */
+    @FunctionalInterface
+    private interface Encoder {
+
+        /**
+         * Returns the text of the given payload.
+         *
+         * @param payload The payload to encode.
+         * @return The text of the payload, in ASCII.
+         */
+        byte[] encode(byte[] payload);
+
+    }
+
+}